@@ -83,6 +83,23 @@ public interface Alphabet<I> extends ArrayWritable<I>, Collection<I>, Comparator
         }
     }
 
+    /**
+     * Converts the given word into an {@link IntWord} over this alphabet, i.e., a word that stores the indices of its
+     * symbols and caches its hash code.
+     *
+     * @param word
+     *         the word to convert
+     *
+     * @return the given word as an {@link IntWord}
+     *
+     * @throws IllegalArgumentException
+     *         if the word contains a symbol that does not belong to this alphabet
+     * @see IntWord#fromWord(Alphabet, Word)
+     */
+    default IntWord<I> toIntWord(Word<? extends I> word) {
+        return IntWord.fromWord(this, word);
+    }
+
     default <I2> Mapping<I2, I> translateFrom(Alphabet<I2> other) {
         if (other.size() > size()) {
             throw new IllegalArgumentException(
@@ -0,0 +1,366 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.words;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A word implementation that stores the {@link Alphabet#getSymbolIndex(Object) indices} of its symbols in an {@code
+ * int} array. Similar to {@link SharedWord}s, subwords share the storage of their original word.
+ * <p>
+ * The hash code of a word is cached. As {@link Word#hashCode()} is a polynomial hash of the symbols of a word, the
+ * storage additionally keeps the hash codes of all its prefixes (computed on demand), which allows to compute the hash
+ * codes of prefixes, suffixes and other subwords in constant time. Similarly, the hash codes of concatenations (and of
+ * words extended by a single symbol) are computed from the hash codes of their operands. The hash codes coincide with
+ * the ones of other word implementations, so {@link IntWord}s can be mixed with other words, e.g., as keys of a map.
+ * <p>
+ * Two {@link IntWord}s over the same alphabet instance are compared via their cached hash codes and symbol indices,
+ * without accessing the alphabet.
+ *
+ * @param <I>
+ *         input symbol class
+ *
+ * @author agent
+ */
+public final class IntWord<I> extends Word<I> {
+
+    // powers of Word.HASH_MULTIPLIER (modulo 2^32)
+    private static volatile int[] powers = {1};
+
+    private final Storage<I> storage;
+    private final int offset;
+    private final int length;
+    private final int hash;
+
+    private IntWord(Storage<I> storage, int offset, int length, int hash) {
+        this.storage = storage;
+        this.offset = offset;
+        this.length = length;
+        this.hash = hash;
+    }
+
+    /**
+     * Creates a word from the given symbol indices.
+     *
+     * @param alphabet
+     *         the alphabet which determines the symbols of the indices
+     * @param indices
+     *         the symbol indices
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the word consisting of the symbols of the given indices
+     */
+    public static <I> IntWord<I> fromIndices(Alphabet<I> alphabet, int... indices) {
+        return fromIndices(alphabet, indices, 0, indices.length);
+    }
+
+    /**
+     * Creates a word from a range of the given symbol indices. The indices are copied.
+     *
+     * @param alphabet
+     *         the alphabet which determines the symbols of the indices
+     * @param indices
+     *         the symbol indices
+     * @param offset
+     *         the starting index in the array
+     * @param length
+     *         the length of the resulting word (from the starting index on)
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the word consisting of the symbols of the given indices
+     */
+    public static <I> IntWord<I> fromIndices(Alphabet<I> alphabet, int[] indices, int offset, int length) {
+        final int size = alphabet.size();
+        for (int i = offset; i < offset + length; i++) {
+            if (indices[i] < 0 || indices[i] >= size) {
+                throw new IllegalArgumentException("Invalid symbol index: " + indices[i]);
+            }
+        }
+        return fromStorage(new Storage<>(alphabet, Arrays.copyOfRange(indices, offset, offset + length)));
+    }
+
+    /**
+     * Creates a word with the same symbols as the given word. If the given word already is an {@link IntWord} over
+     * the given alphabet, it is returned as is.
+     *
+     * @param alphabet
+     *         the alphabet which contains the symbols of the word
+     * @param word
+     *         the word
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the given word as an {@link IntWord}
+     *
+     * @throws IllegalArgumentException
+     *         if the word contains a symbol that does not belong to the alphabet
+     */
+    @SuppressWarnings("unchecked")
+    public static <I> IntWord<I> fromWord(Alphabet<I> alphabet, Word<? extends I> word) {
+        if (word instanceof IntWord && ((IntWord<?>) word).storage.alphabet == alphabet) {
+            return (IntWord<I>) word;
+        }
+
+        return fromSymbols(alphabet, word, word.length());
+    }
+
+    /**
+     * Creates a word from the given sequence of symbols, whose indices are validated with respect to the given
+     * alphabet.
+     *
+     * @throws IllegalArgumentException
+     *         if a symbol does not belong to the alphabet
+     */
+    static <I> IntWord<I> fromSymbols(Alphabet<I> alphabet, Iterable<? extends I> symbols, int length) {
+        final int size = alphabet.size();
+        final int[] indices = new int[length];
+        int i = 0;
+        for (I sym : symbols) {
+            final int idx = alphabet.getSymbolIndex(sym);
+            if (idx < 0 || idx >= size) {
+                throw new IllegalArgumentException("Symbol does not belong to the alphabet: " + sym);
+            }
+            indices[i++] = idx;
+        }
+
+        return fromStorage(new Storage<>(alphabet, indices));
+    }
+
+    private static <I> IntWord<I> fromStorage(Storage<I> storage) {
+        final int length = storage.symbols.length;
+        return new IntWord<>(storage, 0, length, hash(storage.prefixHashes(), 0, length));
+    }
+
+    /**
+     * Returns the alphabet of this word.
+     *
+     * @return the alphabet of this word
+     */
+    public Alphabet<I> getAlphabet() {
+        return storage.alphabet;
+    }
+
+    /**
+     * Returns the (alphabet) index of the symbol at the given position.
+     *
+     * @param index
+     *         the position
+     *
+     * @return the index of the symbol at the given position
+     */
+    public int getSymbolIndex(int index) {
+        return storage.symbols[offset + index];
+    }
+
+    /**
+     * Returns the (alphabet) indices of the symbols of this word.
+     *
+     * @return a new array containing the indices of the symbols of this word
+     */
+    public int[] toIntArray() {
+        return Arrays.copyOfRange(storage.symbols, offset, offset + length);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public I getSymbol(int index) {
+        return storage.alphabet.getSymbol(storage.symbols[offset + index]);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other instanceof IntWord) {
+            final IntWord<?> otherWord = (IntWord<?>) other;
+            if (otherWord.storage.alphabet == storage.alphabet) {
+                if (otherWord.hash != hash || otherWord.length != length) {
+                    return false;
+                }
+
+                final int[] symbols = storage.symbols, otherSymbols = otherWord.storage.symbols;
+                for (int i = 0; i < length; i++) {
+                    if (symbols[offset + i] != otherSymbols[otherWord.offset + i]) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return super.equals(other);
+    }
+
+    @Override
+    protected Word<I> subWordInternal(int fromIndex, int toIndex) {
+        final int from = offset + fromIndex, to = offset + toIndex;
+        return new IntWord<>(storage, from, toIndex - fromIndex, hash(storage.prefixHashes(), from, to));
+    }
+
+    @Override
+    public void writeToArray(int offset, @Nullable Object[] array, int tgtOfs, int num) {
+        final int[] symbols = storage.symbols;
+        final Alphabet<I> alphabet = storage.alphabet;
+        final int srcOfs = this.offset + offset;
+
+        for (int i = 0; i < num; i++) {
+            array[tgtOfs + i] = alphabet.getSymbol(symbols[srcOfs + i]);
+        }
+    }
+
+    @Override
+    public Word<I> append(I symbol) {
+        if (!storage.alphabet.containsSymbol(symbol)) {
+            return super.append(symbol);
+        }
+
+        final int[] symbols = Arrays.copyOfRange(storage.symbols, offset, offset + length + 1);
+        symbols[length] = storage.alphabet.getSymbolIndex(symbol);
+
+        final int newHash = hash * HASH_MULTIPLIER + symbolHash(symbol);
+        return new IntWord<>(new Storage<>(storage.alphabet, symbols), 0, length + 1, newHash);
+    }
+
+    @Override
+    public Word<I> prepend(I symbol) {
+        if (!storage.alphabet.containsSymbol(symbol)) {
+            return super.prepend(symbol);
+        }
+
+        final int[] symbols = new int[length + 1];
+        symbols[0] = storage.alphabet.getSymbolIndex(symbol);
+        System.arraycopy(storage.symbols, offset, symbols, 1, length);
+
+        // 5 * 89^(n+1) + h * 89^n + ... = (5 * 89^n + ...) + 89^n * (5 * 88 + h)
+        final int newHash = hash + pow(length) * (HASH_SEED * (HASH_MULTIPLIER - 1) + symbolHash(symbol));
+        return new IntWord<>(new Storage<>(storage.alphabet, symbols), 0, length + 1, newHash);
+    }
+
+    @Override
+    @SafeVarargs
+    protected final Word<I> concatInternal(Word<? extends I>... words) {
+        int totalLength = length;
+        for (Word<? extends I> w : words) {
+            if (!(w instanceof IntWord) || ((IntWord<?>) w).storage.alphabet != storage.alphabet) {
+                return super.concatInternal(words);
+            }
+            totalLength += w.length();
+        }
+
+        final int[] symbols = Arrays.copyOfRange(storage.symbols, offset, offset + totalLength);
+        int newHash = hash;
+        int pos = length;
+
+        for (Word<? extends I> w : words) {
+            final IntWord<?> iw = (IntWord<?>) w;
+            System.arraycopy(iw.storage.symbols, iw.offset, symbols, pos, iw.length);
+            pos += iw.length;
+
+            // H(uv) = H(u) * 89^|v| + H(v) - 5 * 89^|v|
+            final int p = pow(iw.length);
+            newHash = newHash * p + iw.hash - HASH_SEED * p;
+        }
+
+        return new IntWord<>(new Storage<>(storage.alphabet, symbols), 0, totalLength, newHash);
+    }
+
+    @Override
+    public Word<I> flatten() {
+        return this;
+    }
+
+    @Override
+    public Word<I> trimmed() {
+        if (offset == 0 && length == storage.symbols.length) {
+            return this;
+        }
+        return new IntWord<>(new Storage<>(storage.alphabet, toIntArray()), 0, length, hash);
+    }
+
+    /**
+     * Computes the hash code of the subword [from, to) of a storage with the given prefix hashes.
+     */
+    private static int hash(int[] prefixHashes, int from, int to) {
+        // sum_{i=from}^{to-1} h_i * 89^(to-1-i) = P[to] - P[from] * 89^(to-from)
+        final int p = pow(to - from);
+        return HASH_SEED * p + prefixHashes[to] - prefixHashes[from] * p;
+    }
+
+    private static int symbolHash(@Nullable Object symbol) {
+        return symbol == null ? 0 : symbol.hashCode();
+    }
+
+    private static int pow(int exponent) {
+        int[] table = powers;
+
+        if (exponent >= table.length) {
+            final int oldLength = table.length;
+            final int[] newTable = Arrays.copyOf(table, Math.max(exponent + 1, oldLength * 2));
+            for (int i = oldLength; i < newTable.length; i++) {
+                newTable[i] = newTable[i - 1] * HASH_MULTIPLIER;
+            }
+            powers = newTable;
+            table = newTable;
+        }
+
+        return table[exponent];
+    }
+
+    /**
+     * The (shared) storage of {@link IntWord}s.
+     */
+    private static final class Storage<I> implements Serializable {
+
+        private final Alphabet<I> alphabet;
+        private final int[] symbols;
+
+        // prefixHashes[i] contains the sum_{j=0}^{i-1} h_j * 89^(i-1-j), where h_j is the hash code of the j-th symbol
+        private transient volatile int @Nullable [] prefixHashes;
+
+        Storage(Alphabet<I> alphabet, int[] symbols) {
+            this.alphabet = alphabet;
+            this.symbols = symbols;
+        }
+
+        int[] prefixHashes() {
+            int[] result = prefixHashes;
+
+            if (result == null) {
+                result = new int[symbols.length + 1];
+                for (int i = 0; i < symbols.length; i++) {
+                    result[i + 1] = result[i] * HASH_MULTIPLIER + symbolHash(alphabet.getSymbol(symbols[i]));
+                }
+                prefixHashes = result;
+            }
+
+            return result;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.words;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A word that is represented by a node in the prefix tree of a {@link WordPool}. Each node only stores its last symbol
+ * and a reference to the node of its longest proper prefix, hence all words of a pool share the storage of their
+ * common prefixes.
+ * <p>
+ * Since the words of a pool are interned, two words of the same pool are equal iff they are the same instance. The hash
+ * code of a word is computed from the hash code of its parent upon creation.
+ * <p>
+ * Accessing a symbol by its index requires to locate the node of the corresponding prefix. In addition to its parent,
+ * each node stores a jump pointer to one of its ancestors (following the skew-binary scheme of Myers' random access
+ * lists), which allows to locate any ancestor in time logarithmic in the length of the word. Hence, {@link
+ * #getSymbol(int)} and all methods of {@link Word} that are based on it (such as {@link #firstSymbol()}, {@link
+ * #isSuffixOf(Word)} or {@link #asIntSeq(Alphabet)}) run in logarithmic time per access, while each node only requires
+ * constant memory. Bulk operations (iteration, {@link #writeToArray(int, Object[], int, int)}, etc.) run in linear
+ * time.
+ *
+ * @param <I>
+ *         input symbol class
+ *
+ * @author agent
+ */
+final class PooledWord<I> extends Word<I> {
+
+    final WordPool<I> pool;
+    final @Nullable PooledWord<I> parent;
+    // an ancestor of this node, only null for the root
+    private final @Nullable PooledWord<I> jump;
+    final I symbol;
+    final int length;
+    final int hash;
+
+    // either null, a single WordPool.ChildRef or a map from symbols to WordPool.ChildRefs; guarded by this
+    @Nullable Object children;
+
+    PooledWord(WordPool<I> pool, @Nullable PooledWord<I> parent, I symbol, int length, int hash) {
+        this.pool = pool;
+        this.parent = parent;
+        this.symbol = symbol;
+        this.length = length;
+        this.hash = hash;
+        this.jump = computeJump(parent);
+    }
+
+    /**
+     * Computes the jump pointer of a child of the given node. If the jumps of the parent and its jump target span the
+     * same distance, the jump of the child combines both. Otherwise, the child jumps to its parent. As a consequence,
+     * the jump targets only depend on the depth of a node and every ancestor can be reached in a logarithmic number of
+     * steps.
+     */
+    private static <I> @Nullable PooledWord<I> computeJump(@Nullable PooledWord<I> parent) {
+        if (parent == null) {
+            return null;
+        }
+
+        final PooledWord<I> parentJump = parent.jump;
+        if (parentJump != null) {
+            final PooledWord<I> secondJump = parentJump.jump;
+            if (secondJump != null && parent.length - parentJump.length == parentJump.length - secondJump.length) {
+                return secondJump;
+            }
+        }
+
+        return parent;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public I getSymbol(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(Integer.toString(index));
+        }
+        return ancestor(index + 1).symbol;
+    }
+
+    @Override
+    public I lastSymbol() {
+        if (length == 0) {
+            return super.lastSymbol();
+        }
+        return symbol;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other instanceof PooledWord && ((PooledWord<?>) other).pool == pool) {
+            return false;
+        }
+        return super.equals(other);
+    }
+
+    @Override
+    public Iterator<I> iterator() {
+        return Arrays.asList(toArray()).iterator();
+    }
+
+    @Override
+    public Spliterator<I> spliterator() {
+        return Arrays.spliterator(toArray());
+    }
+
+    @Override
+    public List<I> asList() {
+        return Collections.unmodifiableList(Arrays.asList(toArray()));
+    }
+
+    @Override
+    public void writeToArray(int offset, @Nullable Object[] array, int tgtOfs, int num) {
+        PooledWord<I> node = ancestor(offset + num);
+        for (int i = tgtOfs + num - 1; i >= tgtOfs; i--) {
+            array[i] = node.symbol;
+            node = node.parent;
+        }
+    }
+
+    @Override
+    protected Word<I> subWordInternal(int fromIndex, int toIndex) {
+        if (fromIndex == 0) {
+            return ancestor(toIndex);
+        }
+
+        final Object[] symbols = new Object[toIndex - fromIndex];
+        writeToArray(fromIndex, symbols, 0, symbols.length);
+        return pool.intern(pool.root(), symbols, 0, symbols.length);
+    }
+
+    @Override
+    public List<Word<I>> prefixes(boolean longestFirst) {
+        final List<Word<I>> result = new ArrayList<>(length + 1);
+        for (PooledWord<I> node = this; node != null; node = node.parent) {
+            result.add(node);
+        }
+        if (!longestFirst) {
+            Collections.reverse(result);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    @Override
+    public Word<I> append(I symbol) {
+        return pool.child(this, symbol);
+    }
+
+    @Override
+    public Word<I> prepend(I symbol) {
+        final Object[] symbols = new Object[length + 1];
+        symbols[0] = symbol;
+        writeToArray(0, symbols, 1, length);
+        return pool.intern(pool.root(), symbols, 0, symbols.length);
+    }
+
+    @Override
+    @SafeVarargs
+    protected final Word<I> concatInternal(Word<? extends I>... words) {
+        PooledWord<I> result = this;
+        for (Word<? extends I> w : words) {
+            result = pool.intern(result, w);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isPrefixOf(Word<?> other) {
+        if (other instanceof PooledWord && ((PooledWord<?>) other).pool == pool) {
+            final PooledWord<?> otherWord = (PooledWord<?>) other;
+            return otherWord.length >= length && otherWord.ancestor(length) == this;
+        }
+        return super.isPrefixOf(other);
+    }
+
+    @Override
+    public Word<I> longestCommonPrefix(Word<?> other) {
+        if (other instanceof PooledWord && ((PooledWord<?>) other).pool == pool) {
+            PooledWord<?> otherNode = (PooledWord<?>) other;
+            PooledWord<I> node = this;
+
+            if (node.length > otherNode.length) {
+                node = node.ancestor(otherNode.length);
+            } else {
+                otherNode = otherNode.ancestor(node.length);
+            }
+
+            // nodes of the same depth represent the same word iff they are identical. Since the jump targets only
+            // depend on the depth, both nodes can jump simultaneously as long as their jump targets differ
+            while (node != otherNode) {
+                if (node.jump != otherNode.jump) {
+                    node = node.jump;
+                    otherNode = otherNode.jump;
+                } else {
+                    node = node.parent;
+                    otherNode = otherNode.parent;
+                }
+            }
+
+            return node;
+        }
+        return super.longestCommonPrefix(other);
+    }
+
+    @Override
+    public Word<I> flatten() {
+        return this;
+    }
+
+    @Override
+    public Word<I> trimmed() {
+        return this;
+    }
+
+    /**
+     * Returns the node representing the prefix of the given length.
+     */
+    @SuppressWarnings("nullness") // the root has depth 0, hence we never walk past it
+    PooledWord<I> ancestor(int prefixLength) {
+        PooledWord<I> node = this;
+        while (node.length > prefixLength) {
+            final PooledWord<I> jump = node.jump;
+            node = jump.length >= prefixLength ? jump : node.parent;
+        }
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private I[] toArray() {
+        final Object[] result = new Object[length];
+        writeToArray(0, result, 0, length);
+        return (I[]) result;
+    }
+
+    /**
+     * Pooled words are serialized as regular (array-based) words, since the pool itself is not serializable.
+     */
+    private Object writeReplace() {
+        return new SharedWord<>(toArray());
+    }
+}
@@ -59,6 +59,10 @@ import java.util.stream.StreamSupport;
  */
 public abstract class Word<I> extends AbstractPrintable implements ArrayWritable<I>, Iterable<I>, Serializable {
 
+    // the initial value and the multiplier of the polynomial hash code of words (see #hashCode())
+    static final int HASH_SEED = 5;
+    static final int HASH_MULTIPLIER = 89;
+
     private static final String EMPTY_WORD_REP;
     private static final String WORD_DELIM_LEFT;
     private static final String WORD_DELIM_RIGHT;
@@ -229,9 +233,9 @@ public abstract class Word<I> extends AbstractPrintable implements ArrayWritable
 
     @Override
     public int hashCode() {
-        int hash = 5;
+        int hash = HASH_SEED;
         for (I sym : this) {
-            hash *= 89;
+            hash *= HASH_MULTIPLIER;
             hash += (sym != null) ? sym.hashCode() : 0;
         }
         return hash;
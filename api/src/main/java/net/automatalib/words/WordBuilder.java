@@ -367,6 +367,35 @@ public final class WordBuilder<I> extends AbstractList<I> {
         return new SharedWord<>(array, 0, length);
     }
 
+    /**
+     * Creates an {@link IntWord} from the contents of the internal storage, which stores the indices of the symbols
+     * with respect to the given alphabet.
+     *
+     * @param alphabet
+     *         the alphabet which contains the symbols of this builder
+     *
+     * @return the internal contents as an {@link IntWord}
+     *
+     * @throws IllegalArgumentException
+     *         if this builder contains a symbol that does not belong to the alphabet
+     */
+    public IntWord<I> toIntWord(Alphabet<I> alphabet) {
+        return IntWord.fromSymbols(alphabet, this, length);
+    }
+
+    /**
+     * Creates a word from the contents of the internal storage, which is interned in the given {@link WordPool}. Note
+     * that the returned word does not share the internal storage of this builder.
+     *
+     * @param pool
+     *         the pool in which the word is interned
+     *
+     * @return the internal contents as a pooled word
+     */
+    public Word<I> toWord(WordPool<I> pool) {
+        return pool.intern(pool.root(), array, 0, length);
+    }
+
     @Override
     public boolean add(I e) {
         append(e);
@@ -0,0 +1,266 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.words;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A factory for hash-consed words. All words of a pool are stored in a common prefix tree, in which each word is
+ * represented by a single node that only stores its last symbol and a reference to (the node of) its longest proper
+ * prefix. As a consequence:
+ * <ul>
+ * <li>The memory consumption of a pool is proportional to the number of distinct prefixes of its words, rather than
+ * the total length of its words.</li>
+ * <li>Appending a symbol to a pooled word ({@link Word#append(Object)}) runs in (amortized) constant time and does not
+ * copy any symbols. Similarly, prefixes ({@link Word#prefix(int)}, {@link Word#prefixes(boolean)}) are existing nodes
+ * of the tree.</li>
+ * <li>Equal words are interned to the same instance. Hence, two words of the same pool are equal iff they are
+ * identical, which allows comparing them (and computing their longest common prefix) without accessing their
+ * symbols. Hash codes are computed incrementally and coincide with the ones of other {@link Word} implementations.</li>
+ * </ul>
+ * The nodes of the tree only reference their successors (extensions) weakly, so the nodes of words which are no longer
+ * referenced (neither directly nor via a longer word) are reclaimed by the garbage collector.
+ * <p>
+ * Operations on pooled words that cannot be realized by navigating the prefix tree (e.g., computing suffixes or
+ * prepending symbols) re-intern the resulting symbols, i.e., run in time linear in the length of the result.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @param <I>
+ *         input symbol class
+ *
+ * @author agent
+ */
+public final class WordPool<I> {
+
+    private final ReferenceQueue<PooledWord<I>> queue = new ReferenceQueue<>();
+    @SuppressWarnings("nullness") // the symbol of the root is never accessed
+    private final PooledWord<I> root = new PooledWord<>(this, null, null, 0, Word.HASH_SEED);
+
+    /**
+     * Returns the (pooled) empty word.
+     *
+     * @return the empty word
+     */
+    public Word<I> epsilon() {
+        return root;
+    }
+
+    /**
+     * Returns the pooled word with the same symbols as the given word. If the given word already is a word of this
+     * pool, it is returned as is.
+     *
+     * @param word
+     *         the word to intern
+     *
+     * @return the pooled word that equals the given word
+     */
+    public Word<I> intern(Word<? extends I> word) {
+        return intern(root, word);
+    }
+
+    /**
+     * Returns the pooled word with the given symbols.
+     *
+     * @param symbols
+     *         the symbols of the word
+     *
+     * @return the pooled word consisting of the given symbols
+     */
+    @SafeVarargs
+    public final Word<I> fromSymbols(I... symbols) {
+        return intern(root, symbols, 0, symbols.length);
+    }
+
+    /**
+     * Returns the pooled word that results from appending the given symbol to the given word.
+     *
+     * @param word
+     *         the word
+     * @param symbol
+     *         the symbol to append
+     *
+     * @return the pooled word that equals {@code word.append(symbol)}
+     */
+    public Word<I> append(Word<? extends I> word, I symbol) {
+        return child(intern(root, word), symbol);
+    }
+
+    /**
+     * Returns the number of words currently stored in this pool (including the empty word). Words which are no longer
+     * referenced are only accounted for until they have been reclaimed by the garbage collector. Note that this method
+     * traverses the whole prefix tree.
+     *
+     * @return the number of words currently stored in this pool
+     */
+    @SuppressWarnings("unchecked")
+    public int size() {
+        expungeStaleEntries();
+
+        final Deque<PooledWord<I>> stack = new ArrayDeque<>();
+        stack.push(root);
+        int result = 0;
+
+        PooledWord<I> node;
+        while ((node = stack.poll()) != null) {
+            result++;
+            synchronized (node) {
+                final Object children = node.children;
+                if (children instanceof ChildRef) {
+                    pushIfPresent(stack, (ChildRef<I>) children);
+                } else if (children != null) {
+                    for (ChildRef<I> ref : ((Map<I, ChildRef<I>>) children).values()) {
+                        pushIfPresent(stack, ref);
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    PooledWord<I> root() {
+        return root;
+    }
+
+    @SuppressWarnings("unchecked")
+    PooledWord<I> intern(PooledWord<I> prefix, Word<? extends I> word) {
+        if (prefix == root && word instanceof PooledWord && ((PooledWord<?>) word).pool == this) {
+            return (PooledWord<I>) word;
+        }
+
+        PooledWord<I> result = prefix;
+        for (I sym : word) {
+            result = child(result, sym);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    PooledWord<I> intern(PooledWord<I> prefix, @Nullable Object[] symbols, int from, int to) {
+        PooledWord<I> result = prefix;
+        for (int i = from; i < to; i++) {
+            result = child(result, (I) symbols[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the (unique) node that extends the given node by the given symbol, creating it if necessary.
+     */
+    @SuppressWarnings("unchecked")
+    PooledWord<I> child(PooledWord<I> parent, I symbol) {
+        expungeStaleEntries();
+
+        synchronized (parent) {
+            final Object children = parent.children;
+            ChildRef<I> ref = null;
+
+            if (children instanceof ChildRef) {
+                final ChildRef<I> single = (ChildRef<I>) children;
+                if (Objects.equals(single.symbol, symbol)) {
+                    ref = single;
+                }
+            } else if (children != null) {
+                ref = ((Map<I, ChildRef<I>>) children).get(symbol);
+            }
+
+            if (ref != null) {
+                final PooledWord<I> child = ref.get();
+                if (child != null) {
+                    return child;
+                }
+            }
+
+            final int hash = parent.hash * Word.HASH_MULTIPLIER + (symbol == null ? 0 : symbol.hashCode());
+            final PooledWord<I> child = new PooledWord<>(this, parent, symbol, parent.length + 1, hash);
+            final ChildRef<I> newRef = new ChildRef<>(child, parent, symbol, queue);
+
+            if (children == null || children == ref) {
+                // no children yet or replacement of the (reclaimed) single child
+                parent.children = newRef;
+            } else if (children instanceof ChildRef) {
+                final ChildRef<I> single = (ChildRef<I>) children;
+                final Map<I, ChildRef<I>> map = new HashMap<>(4);
+                map.put(single.symbol, single);
+                map.put(symbol, newRef);
+                parent.children = map;
+            } else {
+                ((Map<I, ChildRef<I>>) children).put(symbol, newRef);
+            }
+
+            return child;
+        }
+    }
+
+    private static <I> void pushIfPresent(Deque<PooledWord<I>> stack, ChildRef<I> ref) {
+        final PooledWord<I> child = ref.get();
+        if (child != null) {
+            stack.push(child);
+        }
+    }
+
+    /**
+     * Removes the entries of reclaimed words from the children of their parents.
+     */
+    @SuppressWarnings("unchecked")
+    private void expungeStaleEntries() {
+        Reference<? extends PooledWord<I>> r;
+        while ((r = queue.poll()) != null) {
+            final ChildRef<I> ref = (ChildRef<I>) r;
+            final PooledWord<I> parent = ref.parent;
+
+            synchronized (parent) {
+                final Object children = parent.children;
+                if (children == ref) {
+                    parent.children = null;
+                } else if (children instanceof Map) {
+                    final Map<I, ChildRef<I>> map = (Map<I, ChildRef<I>>) children;
+                    // the entry may already have been replaced by a new child
+                    if (map.get(ref.symbol) == ref) {
+                        map.remove(ref.symbol);
+                    }
+                }
+            }
+
+        }
+    }
+
+    /**
+     * A weak reference to a child node, which additionally stores the information necessary to remove it from its
+     * parent once the child has been reclaimed.
+     */
+    private static final class ChildRef<I> extends WeakReference<PooledWord<I>> {
+
+        final PooledWord<I> parent;
+        final I symbol;
+
+        ChildRef(PooledWord<I> child, PooledWord<I> parent, I symbol, ReferenceQueue<PooledWord<I>> queue) {
+            super(child, queue);
+            this.parent = parent;
+            this.symbol = symbol;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.words;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author agent
+ */
+@Test
+public class IntWordTest extends AbstractNonemptyWordTest {
+
+    private static final Alphabet<Object> ALPHABET = new ListAlphabet(Arrays.asList(2, 1, 3, 7, 9));
+
+    // 2, 1, 3, 3, 7, 9
+    private static final int[] DATA = {0, 1, 2, 2, 3, 4};
+    private static final int OFFSET = 1;
+    private static final int LENGTH = 4;
+
+    @Override
+    protected Word<Object> testWord() {
+        return IntWord.fromIndices(ALPHABET, DATA).subWord(OFFSET, OFFSET + LENGTH);
+    }
+
+    @Override
+    protected List<Word<Object>> equalWords() {
+        return Arrays.asList(new SharedWord<>(Arrays.asList(1, 3, 3, 7)),
+                             IntWord.fromIndices(ALPHABET, 1, 2, 2, 3),
+                             IntWord.fromIndices(ALPHABET, DATA, OFFSET, LENGTH),
+                             ALPHABET.toIntWord(Word.fromSymbols(1, 3, 3, 7)),
+                             new WordBuilder<>().append(1, 3, 3, 7).toIntWord(ALPHABET),
+                             // same symbols, but a different alphabet instance
+                             IntWord.fromIndices(new ListAlphabet(Arrays.asList(7, 3, 1)), 2, 1, 1, 0));
+    }
+
+    @Override
+    protected List<Word<Object>> unequalWords() {
+        return Arrays.asList(IntWord.fromIndices(ALPHABET, DATA),
+                             IntWord.fromIndices(ALPHABET, 1, 2, 2, 4),
+                             IntWord.fromIndices(ALPHABET),
+                             new SharedWord<>(Arrays.asList(2, 4)),
+                             new EmptyWord());
+    }
+
+    @Override
+    protected List<Word<Object>> realPrefixes() {
+        return Arrays.asList(new EmptyWord(),
+                             IntWord.fromIndices(ALPHABET, 1, 2),
+                             new SharedWord<>(new Object[] {1, 3, 3}),
+                             new LetterWord<>(1));
+    }
+
+    @Override
+    protected List<Word<Object>> realSuffixes() {
+        return Arrays.asList(new EmptyWord(),
+                             IntWord.fromIndices(ALPHABET, 2, 3),
+                             new SharedWord<>(new Object[] {3, 3, 7}),
+                             new LetterWord<>(7));
+    }
+
+    @Test
+    public void testHashCodes() {
+        final Random random = new Random(42);
+        final int[] indices = new int[50];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = random.nextInt(ALPHABET.size());
+        }
+
+        final IntWord<Object> word = IntWord.fromIndices(ALPHABET, indices);
+        final Word<Object> reference = Word.fromList(word.asList());
+
+        for (int from = 0; from <= word.length(); from++) {
+            for (int to = from; to <= word.length(); to++) {
+                final Word<Object> sub = word.subWord(from, to);
+                Assert.assertTrue(sub instanceof IntWord);
+                Assert.assertEquals(sub.hashCode(), reference.subWord(from, to).hashCode());
+            }
+        }
+
+        final Word<Object> prefix = word.prefix(20), suffix = word.suffix(17);
+        final Word<Object> concat = prefix.concat(suffix, prefix);
+        Assert.assertTrue(concat instanceof IntWord);
+        Assert.assertEquals(concat, Word.fromWords(prefix, suffix, prefix));
+        Assert.assertEquals(concat.hashCode(), Word.fromList(concat.asList()).hashCode());
+
+        final Word<Object> appended = suffix.append(9), prepended = suffix.prepend(9);
+        Assert.assertTrue(appended instanceof IntWord);
+        Assert.assertTrue(prepended instanceof IntWord);
+        Assert.assertEquals(appended.hashCode(), Word.fromList(appended.asList()).hashCode());
+        Assert.assertEquals(prepended.hashCode(), Word.fromList(prepended.asList()).hashCode());
+
+        // symbols outside the alphabet fall back to a generic representation
+        final Word<Object> foreign = suffix.append(42);
+        Assert.assertFalse(foreign instanceof IntWord);
+        Assert.assertEquals(foreign.hashCode(), Word.fromList(foreign.asList()).hashCode());
+    }
+
+    @Test
+    public void testIndices() {
+        final IntWord<Object> word = IntWord.fromIndices(ALPHABET, DATA);
+        final IntWord<Object> sub = (IntWord<Object>) word.subWord(OFFSET, OFFSET + LENGTH);
+
+        Assert.assertSame(sub.getAlphabet(), ALPHABET);
+        Assert.assertEquals(sub.getSymbolIndex(0), 1);
+        Assert.assertEquals(sub.toIntArray(), new int[] {1, 2, 2, 3});
+        Assert.assertSame(ALPHABET.toIntWord(sub), sub);
+        Assert.assertEquals(sub.trimmed(), sub);
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> IntWord.fromIndices(ALPHABET, 0, 5));
+    }
+
+    @Test
+    public void testUnknownSymbols() {
+        // the alphabet reports unknown symbols with an index of -1
+        Assert.assertThrows(IllegalArgumentException.class, () -> ALPHABET.toIntWord(Word.fromSymbols(1, 4)));
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> new WordBuilder<>().append(1, 4).toIntWord(ALPHABET));
+    }
+
+    private static final class ListAlphabet extends AbstractList<Object> implements Alphabet<Object> {
+
+        private final List<Object> symbols;
+
+        ListAlphabet(List<Object> symbols) {
+            this.symbols = symbols;
+        }
+
+        @Override
+        public Object get(int index) {
+            return symbols.get(index);
+        }
+
+        @Override
+        public int size() {
+            return symbols.size();
+        }
+
+        @Override
+        public Object getSymbol(int index) {
+            return symbols.get(index);
+        }
+
+        @Override
+        public int getSymbolIndex(Object symbol) {
+            return symbols.indexOf(symbol);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.words;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author agent
+ */
+@Test
+public class PooledWordTest extends AbstractNonemptyWordTest {
+
+    // lazily initialized, so that the Word class is not initialized before the test suite is set up
+    private WordPool<Object> pool;
+
+    @Override
+    protected Word<Object> testWord() {
+        return pool().fromSymbols(1, 3, 3, 7);
+    }
+
+    @Override
+    protected List<Word<Object>> equalWords() {
+        return Arrays.asList(new SharedWord<>(Arrays.asList(1, 3, 3, 7)),
+                             pool().fromSymbols(1, 3, 3, 7),
+                             pool().intern(Word.fromSymbols(1, 3, 3, 7)),
+                             pool().fromSymbols(1, 3).concat(Word.fromSymbols(3, 7)),
+                             new WordBuilder<>().append(1, 3, 3, 7).toWord(pool()),
+                             new WordPool<>().fromSymbols(1, 3, 3, 7));
+    }
+
+    @Override
+    protected List<Word<Object>> unequalWords() {
+        return Arrays.asList(pool().fromSymbols(1, 3, 3),
+                             pool().fromSymbols(1, 3, 3, 7, 9),
+                             pool().fromSymbols(1, 3, 3, 9),
+                             pool().epsilon(),
+                             new SharedWord<>(Arrays.asList(2, 4)),
+                             new EmptyWord());
+    }
+
+    @Override
+    protected List<Word<Object>> realPrefixes() {
+        return Arrays.asList(new EmptyWord(), pool().fromSymbols(1, 3), new SharedWord<>(new Object[] {1, 3, 3}),
+                             new LetterWord<>(1));
+    }
+
+    @Override
+    protected List<Word<Object>> realSuffixes() {
+        return Arrays.asList(new EmptyWord(), pool().fromSymbols(3, 7), new SharedWord<>(new Object[] {3, 3, 7}),
+                             new LetterWord<>(7));
+    }
+
+    private WordPool<Object> pool() {
+        if (pool == null) {
+            pool = new WordPool<>();
+        }
+        return pool;
+    }
+
+    @Test
+    public void testInterning() {
+        final WordPool<Object> pool = new WordPool<>();
+        final Word<Object> word = pool.fromSymbols(1, 2, 3, 4, 5);
+
+        Assert.assertSame(pool.epsilon().append(1).append(2).append(3).append(4).append(5), word);
+        Assert.assertSame(pool.intern(Word.fromSymbols(1, 2, 3, 4, 5)), word);
+        Assert.assertSame(pool.intern(word), word);
+        Assert.assertSame(pool.append(Word.fromSymbols(1, 2, 3, 4), 5), word);
+        Assert.assertSame(new WordBuilder<>().append(1, 2, 3, 4, 5).toWord(pool), word);
+        Assert.assertSame(pool.fromSymbols(1, 2).concat(pool.fromSymbols(3), Word.fromSymbols(4, 5)), word);
+        Assert.assertSame(word.subWord(1).prepend(1), word);
+        Assert.assertSame(word.subWord(2), pool.fromSymbols(3, 4, 5));
+        Assert.assertEquals(word.hashCode(), Word.fromSymbols(1, 2, 3, 4, 5).hashCode());
+        Assert.assertEquals(pool.epsilon().hashCode(), Word.epsilon().hashCode());
+
+        // prefixes are nodes of the tree
+        final List<Word<Object>> prefixes = word.prefixes(false);
+        Assert.assertEquals(prefixes.size(), word.length() + 1);
+        for (int i = 0; i <= word.length(); i++) {
+            Assert.assertSame(prefixes.get(i), word.prefix(i));
+            Assert.assertSame(prefixes.get(i), pool.intern(Word.fromSymbols(1, 2, 3, 4, 5).prefix(i)));
+        }
+        Assert.assertSame(word.prefixes(true).get(0), word);
+
+        final Word<Object> other = pool.fromSymbols(1, 2, 3, 9);
+        Assert.assertSame(word.longestCommonPrefix(other), pool.fromSymbols(1, 2, 3));
+        Assert.assertSame(other.longestCommonPrefix(word), pool.fromSymbols(1, 2, 3));
+        Assert.assertTrue(word.prefix(3).isPrefixOf(other));
+        Assert.assertFalse(word.prefix(4).isPrefixOf(other));
+        Assert.assertFalse(word.isPrefixOf(word.prefix(4)));
+    }
+
+    @Test
+    public void testRandomAccess() {
+        final WordPool<Object> pool = new WordPool<>();
+        final Integer[] symbols = new Integer[10000];
+        for (int i = 0; i < symbols.length; i++) {
+            symbols[i] = i % 7;
+        }
+
+        final Word<Object> word = pool.fromSymbols((Object[]) symbols);
+        final Word<Object> reference = Word.fromSymbols((Object[]) symbols);
+
+        Assert.assertEquals(word.asList(), reference.asList());
+        for (int i = 0; i < symbols.length; i++) {
+            Assert.assertEquals(word.getSymbol(i), symbols[i]);
+        }
+        Assert.assertEquals(word.firstSymbol(), 0);
+        Assert.assertTrue(reference.isPrefixOf(word));
+        Assert.assertTrue(reference.suffix(5000).isSuffixOf(word));
+        Assert.assertEquals(reference.longestCommonSuffix(word), reference);
+        Assert.assertEquals(word.subWord(3, 10), reference.subWord(3, 10));
+
+        final Object[] array = new Object[5];
+        word.writeToArray(100, array, 0, 5);
+        Assert.assertEquals(array, new Object[] {2, 3, 4, 5, 6});
+
+        // prefixes of all lengths are located via the jump pointers
+        for (int i = 0; i <= symbols.length; i += 37) {
+            final Word<Object> prefix = word.prefix(i);
+            Assert.assertEquals(prefix.length(), i);
+            Assert.assertEquals(prefix, reference.prefix(i));
+            Assert.assertSame(word.longestCommonPrefix(prefix.append(-1)), prefix);
+        }
+    }
+
+    @Test
+    public void testRandomAccessMemory() {
+        final WordPool<Object> pool = new WordPool<>();
+        final int length = 20000;
+
+        final List<Word<Object>> prefixes = new ArrayList<>(length + 1);
+        Word<Object> word = pool.epsilon();
+        prefixes.add(word);
+        for (int i = 0; i < length; i++) {
+            word = word.append(i);
+            prefixes.add(word);
+        }
+
+        final long before = usedMemory();
+
+        // random access on every prefix of the chain must not allocate per-word storage
+        for (int i = 1; i <= length; i++) {
+            final Word<Object> prefix = prefixes.get(i);
+            Assert.assertEquals(prefix.firstSymbol(), 0);
+            Assert.assertEquals(prefix.getSymbol(i / 2), i / 2);
+            Assert.assertEquals(prefix.asIntSeq(Object::hashCode).get(i - 1), i - 1);
+        }
+
+        final long after = usedMemory();
+
+        // copying the symbols of each prefix would require length^2 / 2 (i.e., 2 * 10^8) references
+        Assert.assertTrue(after - before < 32L * 1024 * 1024, "Heap grew by " + (after - before) + " bytes");
+        Assert.assertEquals(pool.size(), length + 1);
+    }
+
+    private static long usedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Test
+    public void testReclamation() throws InterruptedException {
+        final WordPool<Object> pool = new WordPool<>();
+        final Word<Object> kept = pool.fromSymbols(1, 2, 3);
+
+        Word<Object> branch = kept;
+        for (int i = 0; i < 100; i++) {
+            branch = branch.append(i);
+        }
+        Assert.assertEquals(pool.size(), 104);
+
+        // the prefixes of a referenced word are kept alive by the word itself
+        branch = branch.prefix(50);
+        for (int i = 0; i < 10 && pool.size() > 51; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(pool.size(), 51);
+        Assert.assertSame(pool.intern(kept.concat(Word.fromList(branch.suffix(47).asList()))), branch);
+
+        branch = null;
+        for (int i = 0; i < 10 && pool.size() > 4; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(pool.size(), 4);
+        Assert.assertSame(pool.fromSymbols(1, 2, 3), kept);
+    }
+}
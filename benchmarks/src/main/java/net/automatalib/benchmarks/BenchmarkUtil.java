@@ -0,0 +1,54 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+
+/**
+ * Shared utility methods for setting up the benchmark states.
+ *
+ * @author agent
+ */
+final class BenchmarkUtil {
+
+    /**
+     * The fixed seed used for all randomly generated benchmark data, so that different runs operate on the same inputs.
+     */
+    static final long SEED = 42;
+
+    private BenchmarkUtil() {}
+
+    static <I> List<Word<I>> randomWords(Random random, Alphabet<I> alphabet, int numWords, int length) {
+        final List<Word<I>> result = new ArrayList<>(numWords);
+        final WordBuilder<I> wb = new WordBuilder<>(length);
+
+        for (int i = 0; i < numWords; i++) {
+            for (int j = 0; j < length; j++) {
+                wb.append(alphabet.getSymbol(random.nextInt(alphabet.size())));
+            }
+            result.add(wb.toWord());
+            wb.clear();
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,84 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.util.automata.equivalence.DeterministicEquivalenceTest;
+import net.automatalib.util.automata.equivalence.NearLinearEquivalenceTest;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the equivalence checks of deterministic automata. Both automata are generated from the same seed and
+ * therefore are equivalent, which constitutes the worst case for the checks since the complete state space needs to be
+ * explored.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class EquivalenceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    @Param({"2", "20"})
+    public int alphabetSize;
+
+    @Param({"COMPACT_DFA", "FAST_DFA", "COMPACT_MEALY"})
+    public ModelType type;
+
+    private Alphabet<Integer> alphabet;
+    private UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> automaton1;
+    private UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> automaton2;
+
+    @Setup
+    public void setUp() {
+        this.alphabet = Alphabets.integers(0, alphabetSize - 1);
+        this.automaton1 = type.createRandom(new Random(BenchmarkUtil.SEED), size, alphabet);
+        this.automaton2 = type.createRandom(new Random(BenchmarkUtil.SEED), size, alphabet);
+    }
+
+    @Benchmark
+    public @Nullable Word<Integer> nearLinear() {
+        return NearLinearEquivalenceTest.findSeparatingWord(automaton1, automaton2, alphabet);
+    }
+
+    @Benchmark
+    public @Nullable Word<Integer> deterministicLarge() {
+        return DeterministicEquivalenceTest.findSeparatingWordLarge(automaton1, automaton2, alphabet);
+    }
+}
@@ -0,0 +1,125 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.incremental.dfa.IncrementalDFABuilder;
+import net.automatalib.incremental.dfa.dag.IncrementalDFADAGBuilder;
+import net.automatalib.incremental.mealy.IncrementalMealyBuilder;
+import net.automatalib.incremental.mealy.dag.IncrementalMealyDAGBuilder;
+import net.automatalib.incremental.mealy.tree.IncrementalMealyTreeBuilder;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the incremental construction of automata from (query) traces. The traces are computed from a random
+ * target system, so that the insertions never conflict. Each invocation inserts all traces into a fresh builder.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class IncrementalBenchmark {
+
+    private static final int TARGET_SIZE = 100;
+
+    @Param({"1000", "10000"})
+    public int numWords;
+
+    @Param({"10", "50"})
+    public int wordLength;
+
+    @Param({"2", "20"})
+    public int alphabetSize;
+
+    private Alphabet<Integer> alphabet;
+    private List<Word<Integer>> inputs;
+    private List<Word<Integer>> outputs;
+    private boolean[] acceptance;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(BenchmarkUtil.SEED);
+
+        this.alphabet = Alphabets.integers(0, alphabetSize - 1);
+        this.inputs = BenchmarkUtil.randomWords(random, alphabet, numWords, wordLength);
+        this.outputs = new ArrayList<>(numWords);
+        this.acceptance = new boolean[numWords];
+
+        final CompactMealy<Integer, Integer> mealy =
+                RandomAutomata.randomMealy(random, TARGET_SIZE, alphabet, Arrays.asList(0, 1), false);
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(random, TARGET_SIZE, alphabet, false);
+
+        for (int i = 0; i < numWords; i++) {
+            final Word<Integer> input = inputs.get(i);
+            outputs.add(mealy.computeOutput(input));
+            acceptance[i] = dfa.accepts(input);
+        }
+    }
+
+    @Benchmark
+    public IncrementalMealyBuilder<Integer, Integer> mealyDAG() {
+        return insertAll(new IncrementalMealyDAGBuilder<>(alphabet));
+    }
+
+    @Benchmark
+    public IncrementalMealyBuilder<Integer, Integer> mealyTree() {
+        return insertAll(new IncrementalMealyTreeBuilder<>(alphabet));
+    }
+
+    @Benchmark
+    public IncrementalDFABuilder<Integer> dfaDAG() {
+        final IncrementalDFABuilder<Integer> builder = new IncrementalDFADAGBuilder<>(alphabet);
+
+        for (int i = 0; i < numWords; i++) {
+            builder.insert(inputs.get(i), acceptance[i]);
+        }
+
+        return builder;
+    }
+
+    private IncrementalMealyBuilder<Integer, Integer> insertAll(IncrementalMealyBuilder<Integer, Integer> builder) {
+        for (int i = 0; i < numWords; i++) {
+            builder.insert(inputs.get(i), outputs.get(i));
+        }
+
+        return builder;
+    }
+}
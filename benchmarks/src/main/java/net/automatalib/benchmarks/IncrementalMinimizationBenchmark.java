@@ -0,0 +1,133 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.simple.SimpleDeterministicAutomaton.IntAbstraction;
+import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization;
+import net.automatalib.util.automata.minimizer.hopcroft.IncrementalHopcroftMinimizer;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the re-minimization of a DFA after a local modification, i.e., the {@link
+ * IncrementalHopcroftMinimizer} compared to a minimization from scratch via {@link HopcroftMinimization}. The DFA is
+ * the (completed) prefix-tree acceptor of random words, and each invocation flips the acceptance of one of its
+ * states.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class IncrementalMinimizationBenchmark {
+
+    private static final int WORD_LENGTH = 20;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    @Param({"2", "20"})
+    public int alphabetSize;
+
+    private Alphabet<Integer> alphabet;
+    private CompactDFA<Integer> dfa;
+    private IncrementalHopcroftMinimizer<Integer> minimizer;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        this.alphabet = Alphabets.integers(0, alphabetSize - 1);
+        this.random = new Random(BenchmarkUtil.SEED);
+        this.dfa = createPrefixTreeAcceptor();
+        this.minimizer = new IncrementalHopcroftMinimizer<>(dfa, alphabet);
+    }
+
+    /**
+     * Measures the update of the partition of the incremental minimizer, without the construction of the minimal DFA.
+     *
+     * @return the minimizer
+     */
+    @Benchmark
+    public IncrementalHopcroftMinimizer<Integer> incremental() {
+        minimizer.update(flipRandomState());
+        return minimizer;
+    }
+
+    @Benchmark
+    public CompactDFA<Integer> hopcroft() {
+        flipRandomState();
+        return HopcroftMinimization.minimizeDFA(dfa, alphabet);
+    }
+
+    private int flipRandomState() {
+        final int state = random.nextInt(dfa.size());
+        dfa.setAccepting(state, !dfa.isAccepting(state));
+        return state;
+    }
+
+    private CompactDFA<Integer> createPrefixTreeAcceptor() {
+        final CompactDFA<Integer> result = new CompactDFA<>(alphabet, size + 1);
+        final int sink = result.addIntState(false);
+        final int init = result.addIntInitialState(false);
+
+        for (int i = 0; i < alphabetSize; i++) {
+            result.setTransition(sink, i, sink);
+        }
+
+        while (result.size() <= size) {
+            int curr = init;
+            for (int j = 0; j < WORD_LENGTH; j++) {
+                final int sym = random.nextInt(alphabetSize);
+                int succ = result.getSuccessor(curr, sym);
+                if (succ == IntAbstraction.INVALID_STATE) {
+                    succ = result.addIntState(false);
+                    result.setTransition(curr, sym, succ);
+                }
+                curr = succ;
+            }
+            result.setAccepting(curr, true);
+        }
+
+        // complete the tree with the sink
+        for (int s = 0; s < result.size(); s++) {
+            for (int i = 0; i < alphabetSize; i++) {
+                if (result.getSuccessor(s, i) == IntAbstraction.INVALID_STATE) {
+                    result.setTransition(s, i, sink);
+                }
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,116 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.UniversalDeterministicAutomaton.FullIntAbstraction;
+import net.automatalib.util.partitionrefinement.PaigeTarjan;
+import net.automatalib.util.partitionrefinement.PaigeTarjanInitializers;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the minimization of deterministic automata, i.e.,
+ * {@link net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization} and the underlying {@link PaigeTarjan}
+ * partition refinement.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class MinimizationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    @Param({"2", "20"})
+    public int alphabetSize;
+
+    @Param({"COMPACT_DFA", "FAST_DFA", "COMPACT_MEALY"})
+    public ModelType type;
+
+    private Alphabet<Integer> alphabet;
+    private UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> automaton;
+    private FullIntAbstraction<?, ?, ?> abstraction;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        this.alphabet = Alphabets.integers(0, alphabetSize - 1);
+        this.automaton = type.createRandom(new Random(BenchmarkUtil.SEED), size, alphabet);
+        this.abstraction = automaton.fullIntAbstraction(alphabet);
+        this.pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    @Benchmark
+    public UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> hopcroft() {
+        return type.minimize(automaton, alphabet);
+    }
+
+    /**
+     * Measures the minimization whose state equivalences are computed in parallel, using as many threads as there are
+     * available processors.
+     *
+     * @return the minimized automaton
+     */
+    @Benchmark
+    public UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> hopcroftParallel() {
+        return type.minimize(automaton, alphabet, pool);
+    }
+
+    /**
+     * Measures the pure partition refinement (including the initialization of the data structure) without the
+     * construction of the resulting automaton.
+     *
+     * @return the number of blocks of the coarsest stable partition
+     */
+    @Benchmark
+    public int paigeTarjan() {
+        final PaigeTarjan pt = new PaigeTarjan();
+
+        PaigeTarjanInitializers.initCompleteDeterministic(pt, abstraction, type.getInitialPartitioning(), false);
+
+        pt.initWorklist(false);
+        pt.computeCoarsestStablePartition();
+
+        return pt.getNumBlocks();
+    }
+}
@@ -0,0 +1,212 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.fsa.impl.FastDFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.util.partitionrefinement.AutomatonInitialPartitioning;
+import net.automatalib.words.Alphabet;
+
+/**
+ * The types of automata over which the benchmarks of this module are parameterized. Each type knows how to generate a
+ * random instance of itself and how to minimize it, so that benchmarks can be written independently of the concrete
+ * automaton implementation.
+ *
+ * @author agent
+ */
+public enum ModelType {
+
+    COMPACT_DFA {
+        @Override
+        public UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> createRandom(Random random,
+                                                                                 int size,
+                                                                                 Alphabet<Integer> alphabet) {
+            return RandomAutomata.randomDeterministic(random,
+                                                      size,
+                                                      alphabet,
+                                                      DFA.STATE_PROPERTIES,
+                                                      DFA.TRANSITION_PROPERTIES,
+                                                      new CompactDFA<>(alphabet),
+                                                      false);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked") // automaton is created by #createRandom
+        public UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> minimize(
+                UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> automaton,
+                Alphabet<Integer> alphabet) {
+            return HopcroftMinimization.minimizeDFA((DFA<?, Integer>) automaton, alphabet);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked") // automaton is created by #createRandom
+        public UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> minimize(
+                UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> automaton,
+                Alphabet<Integer> alphabet,
+                ForkJoinPool pool) {
+            return HopcroftMinimization.minimizeDFA((DFA<?, Integer>) automaton, alphabet, pool);
+        }
+
+        @Override
+        public AutomatonInitialPartitioning getInitialPartitioning() {
+            return AutomatonInitialPartitioning.BY_STATE_PROPERTY;
+        }
+    },
+
+    FAST_DFA {
+        @Override
+        public UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> createRandom(Random random,
+                                                                                 int size,
+                                                                                 Alphabet<Integer> alphabet) {
+            return RandomAutomata.randomDeterministic(random,
+                                                      size,
+                                                      alphabet,
+                                                      DFA.STATE_PROPERTIES,
+                                                      DFA.TRANSITION_PROPERTIES,
+                                                      new FastDFA<>(alphabet),
+                                                      false);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked") // automaton is created by #createRandom
+        public UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> minimize(
+                UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> automaton,
+                Alphabet<Integer> alphabet) {
+            return HopcroftMinimization.minimizeDFA((DFA<?, Integer>) automaton, alphabet);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked") // automaton is created by #createRandom
+        public UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> minimize(
+                UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> automaton,
+                Alphabet<Integer> alphabet,
+                ForkJoinPool pool) {
+            return HopcroftMinimization.minimizeDFA((DFA<?, Integer>) automaton, alphabet, pool);
+        }
+
+        @Override
+        public AutomatonInitialPartitioning getInitialPartitioning() {
+            return AutomatonInitialPartitioning.BY_STATE_PROPERTY;
+        }
+    },
+
+    COMPACT_MEALY {
+        @Override
+        public UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> createRandom(Random random,
+                                                                                 int size,
+                                                                                 Alphabet<Integer> alphabet) {
+            return RandomAutomata.randomDeterministic(random,
+                                                      size,
+                                                      alphabet,
+                                                      Collections.singleton(null),
+                                                      OUTPUTS,
+                                                      new CompactMealy<>(alphabet),
+                                                      false);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked") // automaton is created by #createRandom
+        public UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> minimize(
+                UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> automaton,
+                Alphabet<Integer> alphabet) {
+            return HopcroftMinimization.minimizeMealy((MealyMachine<?, Integer, ?, ?>) automaton, alphabet);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked") // automaton is created by #createRandom
+        public UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> minimize(
+                UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> automaton,
+                Alphabet<Integer> alphabet,
+                ForkJoinPool pool) {
+            return HopcroftMinimization.minimizeMealy((MealyMachine<?, Integer, ?, ?>) automaton, alphabet, pool);
+        }
+
+        @Override
+        public AutomatonInitialPartitioning getInitialPartitioning() {
+            return AutomatonInitialPartitioning.BY_TRANSITION_PROPERTIES;
+        }
+    };
+
+    private static final List<Integer> OUTPUTS = Arrays.asList(0, 1);
+
+    /**
+     * Generates a random, complete and non-minimized automaton of this type.
+     *
+     * @param random
+     *         the randomness source
+     * @param size
+     *         the number of states of the generated automaton
+     * @param alphabet
+     *         the input alphabet of the generated automaton
+     *
+     * @return the randomly generated automaton
+     */
+    public abstract UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> createRandom(Random random,
+                                                                                      int size,
+                                                                                      Alphabet<Integer> alphabet);
+
+    /**
+     * Minimizes the given automaton (which must have been created by {@link #createRandom(Random, int, Alphabet)} of
+     * the same type) using {@link HopcroftMinimization}.
+     *
+     * @param automaton
+     *         the automaton to minimize
+     * @param alphabet
+     *         the input alphabet of the automaton
+     *
+     * @return the minimized automaton
+     */
+    public abstract UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> minimize(
+            UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> automaton,
+            Alphabet<Integer> alphabet);
+
+    /**
+     * Minimizes the given automaton (which must have been created by {@link #createRandom(Random, int, Alphabet)} of
+     * the same type) using the parallel variant of {@link HopcroftMinimization}.
+     *
+     * @param automaton
+     *         the automaton to minimize
+     * @param alphabet
+     *         the input alphabet of the automaton
+     * @param pool
+     *         the pool whose threads are used for computing the state equivalences
+     *
+     * @return the minimized automaton
+     */
+    public abstract UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> minimize(
+            UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> automaton,
+            Alphabet<Integer> alphabet,
+            ForkJoinPool pool);
+
+    /**
+     * Returns the initial partitioning that is appropriate for the semantics of this automaton type.
+     *
+     * @return the initial partitioning
+     */
+    public abstract AutomatonInitialPartitioning getInitialPartitioning();
+}
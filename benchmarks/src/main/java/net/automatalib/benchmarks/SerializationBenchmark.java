@@ -0,0 +1,89 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.serialization.InputModelData;
+import net.automatalib.serialization.saf.SAFSerializationDFA;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the (de-)serialization of automata in the SAF format.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class SerializationBenchmark {
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"2", "20"})
+    public int alphabetSize;
+
+    @Param({"COMPACT_DFA", "FAST_DFA"})
+    public ModelType type;
+
+    private Alphabet<Integer> alphabet;
+    private DFA<?, Integer> automaton;
+    private byte[] serialized;
+
+    @Setup
+    @SuppressWarnings("unchecked") // we only use DFA types
+    public void setUp() throws IOException {
+        this.alphabet = Alphabets.integers(0, alphabetSize - 1);
+        this.automaton = (DFA<?, Integer>) type.createRandom(new Random(BenchmarkUtil.SEED), size, alphabet);
+        this.serialized = write().toByteArray();
+    }
+
+    @Benchmark
+    public InputModelData<Integer, DFA<Integer, Integer>> readDFA() throws IOException {
+        return SAFSerializationDFA.getInstance().readModel(serialized);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream writeDFA() throws IOException {
+        return write();
+    }
+
+    private ByteArrayOutputStream write() throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream(serialized == null ? 0 : serialized.length);
+        SAFSerializationDFA.getInstance().writeModel(baos, automaton, alphabet);
+        return baos;
+    }
+}
@@ -0,0 +1,205 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.smartcollections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A binary min-heap over the {@code int} elements of a fixed range {@code [0, capacity - 1]}, prioritized by {@code
+ * float} keys. In contrast to {@link BinaryHeap}, this heap does not require element objects or {@link
+ * ElementReference}s: the position of each element in the heap is tracked by an index array, which allows to decrease
+ * the key of an element in logarithmic time. Hence, this heap is suited for, e.g., Dijkstra's algorithm over densely
+ * numbered nodes.
+ *
+ * @author agent
+ */
+public final class IndexedFloatHeap {
+
+    private static final int NOT_CONTAINED = -1;
+
+    private final int[] heap;
+    private final int[] positions;
+    private final float[] keys;
+    private int size;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity
+     *         the number of elements, i.e., elements have to be in the range {@code [0, capacity - 1]}
+     */
+    public IndexedFloatHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.keys = new float[capacity];
+        Arrays.fill(positions, NOT_CONTAINED);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns whether the given element is currently contained in the heap.
+     *
+     * @param elem
+     *         the element
+     *
+     * @return {@code true} if the element is contained in the heap, {@code false} otherwise
+     */
+    public boolean contains(int elem) {
+        return positions[elem] != NOT_CONTAINED;
+    }
+
+    /**
+     * Returns the key of the given element. If the element is not contained in the heap, the key that the element had
+     * when it was last contained is returned.
+     *
+     * @param elem
+     *         the element
+     *
+     * @return the key of the element
+     */
+    public float getKey(int elem) {
+        return keys[elem];
+    }
+
+    /**
+     * Inserts the given element into the heap.
+     *
+     * @param elem
+     *         the element, which must not be contained in the heap
+     * @param key
+     *         the key of the element
+     */
+    public void insert(int elem, float key) {
+        if (contains(elem)) {
+            throw new IllegalArgumentException("Element " + elem + " is already contained in the heap");
+        }
+
+        keys[elem] = key;
+        heap[size] = elem;
+        positions[elem] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Decreases the key of the given element.
+     *
+     * @param elem
+     *         the element, which must be contained in the heap
+     * @param key
+     *         the new key of the element, which must not be greater than the current key
+     */
+    public void decreaseKey(int elem, float key) {
+        final int pos = positions[elem];
+        if (pos == NOT_CONTAINED) {
+            throw new IllegalArgumentException("Element " + elem + " is not contained in the heap");
+        }
+        if (key > keys[elem]) {
+            throw new IllegalArgumentException("Cannot increase the key of element " + elem);
+        }
+
+        keys[elem] = key;
+        siftUp(pos);
+    }
+
+    /**
+     * Returns the element with the minimal key without removing it.
+     *
+     * @return the element with the minimal key
+     *
+     * @throws NoSuchElementException
+     *         if the heap is empty
+     */
+    public int peekMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heap[0];
+    }
+
+    /**
+     * Removes and returns the element with the minimal key.
+     *
+     * @return the element with the minimal key
+     *
+     * @throws NoSuchElementException
+     *         if the heap is empty
+     */
+    public int extractMin() {
+        final int min = peekMin();
+        positions[min] = NOT_CONTAINED;
+
+        final int last = heap[--size];
+        if (size > 0) {
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+
+        return min;
+    }
+
+    private void siftUp(int pos) {
+        final int elem = heap[pos];
+        final float key = keys[elem];
+
+        int curr = pos;
+        while (curr > 0) {
+            final int parentPos = (curr - 1) >>> 1;
+            final int parent = heap[parentPos];
+            if (keys[parent] <= key) {
+                break;
+            }
+            heap[curr] = parent;
+            positions[parent] = curr;
+            curr = parentPos;
+        }
+
+        heap[curr] = elem;
+        positions[elem] = curr;
+    }
+
+    private void siftDown(int pos) {
+        final int elem = heap[pos];
+        final float key = keys[elem];
+
+        int curr = pos;
+        int child;
+        while ((child = 2 * curr + 1) < size) {
+            final int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]]) {
+                child = right;
+            }
+            final int childElem = heap[child];
+            if (key <= keys[childElem]) {
+                break;
+            }
+            heap[curr] = childElem;
+            positions[childElem] = curr;
+            curr = child;
+        }
+
+        heap[curr] = elem;
+        positions[elem] = curr;
+    }
+}
@@ -0,0 +1,166 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.smartcollections;
+
+import java.util.Arrays;
+
+/**
+ * A primitive, open-addressing hash table that assigns consecutive indices (starting at {@code 0}) to distinct {@code
+ * long} keys in the order of their insertion. Besides looking up the index of a key, the key of an index can be
+ * retrieved in constant time. Hence, this class can be used as the combined visited-set and work list of breadth-first
+ * searches whose states are encoded as {@code long}s, without boxing a single key.
+ *
+ * @author agent
+ */
+public final class LongIndexer {
+
+    /**
+     * The index returned by {@link #indexOf(long)} for keys that have not been added.
+     */
+    public static final int NOT_FOUND = -1;
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    private long[] keys;
+    private int size;
+
+    private int[] table;
+    private int mask;
+
+    /**
+     * Default constructor.
+     */
+    public LongIndexer() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param initialCapacity
+     *         the number of keys that can be added before the internal storage needs to be resized
+     */
+    public LongIndexer(int initialCapacity) {
+        final int capacity = Math.max(initialCapacity, DEFAULT_INITIAL_CAPACITY);
+        this.keys = new long[capacity];
+        this.table = new int[Integer.highestOneBit(capacity - 1) << 2];
+        this.mask = table.length - 1;
+        Arrays.fill(table, NOT_FOUND);
+    }
+
+    /**
+     * Returns the number of added keys.
+     *
+     * @return the number of added keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the key of the given index.
+     *
+     * @param index
+     *         the index, which must be in the range {@code [0, size() - 1]}
+     *
+     * @return the key of the given index
+     */
+    public long getKey(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(Integer.toString(index));
+        }
+        return keys[index];
+    }
+
+    /**
+     * Returns the index of the given key.
+     *
+     * @param key
+     *         the key
+     *
+     * @return the index of the given key, or {@link #NOT_FOUND} if the key has not been added
+     */
+    public int indexOf(long key) {
+        int pos = hash(key) & mask;
+        int idx;
+        while ((idx = table[pos]) != NOT_FOUND) {
+            if (keys[idx] == key) {
+                return idx;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Returns the index of the given key, adding the key if necessary. A newly added key receives the index {@link
+     * #size()} (before the call), which allows callers to detect whether the key has been added.
+     *
+     * @param key
+     *         the key
+     *
+     * @return the index of the given key
+     */
+    public int add(long key) {
+        int pos = hash(key) & mask;
+        int idx;
+        while ((idx = table[pos]) != NOT_FOUND) {
+            if (keys[idx] == key) {
+                return idx;
+            }
+            pos = (pos + 1) & mask;
+        }
+
+        idx = size++;
+        if (idx >= keys.length) {
+            keys = Arrays.copyOf(keys, ArrayUtil.computeNewCapacity(keys.length, size));
+        }
+        keys[idx] = key;
+        table[pos] = idx;
+
+        // keep the load factor below 1/2
+        if (size * 2 > table.length) {
+            rehash();
+        }
+
+        return idx;
+    }
+
+    private void rehash() {
+        table = new int[table.length * 2];
+        mask = table.length - 1;
+        Arrays.fill(table, NOT_FOUND);
+
+        for (int idx = 0; idx < size; idx++) {
+            int pos = hash(keys[idx]) & mask;
+            while (table[pos] != NOT_FOUND) {
+                pos = (pos + 1) & mask;
+            }
+            table[pos] = idx;
+        }
+    }
+
+    private static int hash(long key) {
+        // finalization step of MurmurHash3, since keys are often composed of small, dense integers
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
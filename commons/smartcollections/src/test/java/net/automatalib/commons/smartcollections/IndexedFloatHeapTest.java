@@ -0,0 +1,98 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.smartcollections;
+
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author agent
+ */
+public class IndexedFloatHeapTest {
+
+    @Test
+    public void testHeapOrder() {
+        final int size = 1000;
+        final IndexedFloatHeap heap = new IndexedFloatHeap(size);
+        final PriorityQueue<Float> expected = new PriorityQueue<>();
+        final float[] keys = new float[size];
+        final Random random = new Random(42);
+
+        for (int i = 0; i < size; i++) {
+            keys[i] = random.nextFloat();
+            heap.insert(i, keys[i]);
+        }
+
+        // decrease the keys of every other element
+        for (int i = 0; i < size; i += 2) {
+            keys[i] -= random.nextFloat();
+            heap.decreaseKey(i, keys[i]);
+        }
+
+        for (float key : keys) {
+            expected.add(key);
+        }
+
+        Assert.assertEquals(heap.size(), size);
+
+        while (!expected.isEmpty()) {
+            final int min = heap.peekMin();
+            Assert.assertEquals(heap.extractMin(), min);
+            Assert.assertFalse(heap.contains(min));
+            Assert.assertEquals(heap.getKey(min), expected.poll().floatValue());
+        }
+
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testReinsert() {
+        final IndexedFloatHeap heap = new IndexedFloatHeap(3);
+
+        heap.insert(0, 1.0f);
+        heap.insert(1, 2.0f);
+        Assert.assertEquals(heap.extractMin(), 0);
+
+        heap.insert(0, 3.0f);
+        heap.insert(2, 0.5f);
+        Assert.assertEquals(heap.extractMin(), 2);
+        Assert.assertEquals(heap.extractMin(), 1);
+        Assert.assertEquals(heap.extractMin(), 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDuplicateInsert() {
+        final IndexedFloatHeap heap = new IndexedFloatHeap(1);
+        heap.insert(0, 1.0f);
+        heap.insert(0, 2.0f);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testIncreaseKey() {
+        final IndexedFloatHeap heap = new IndexedFloatHeap(1);
+        heap.insert(0, 1.0f);
+        heap.decreaseKey(0, 2.0f);
+    }
+
+    @Test(expectedExceptions = NoSuchElementException.class)
+    public void testEmpty() {
+        new IndexedFloatHeap(1).extractMin();
+    }
+}
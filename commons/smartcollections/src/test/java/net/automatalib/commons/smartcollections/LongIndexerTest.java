@@ -0,0 +1,59 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.smartcollections;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author agent
+ */
+public class LongIndexerTest {
+
+    @Test
+    public void testIndices() {
+        final LongIndexer indexer = new LongIndexer();
+        final Map<Long, Integer> expected = new HashMap<>();
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 10000; i++) {
+            // small key space to provoke duplicates
+            final long key = ((long) random.nextInt(100) << 32) | random.nextInt(100);
+            final Integer expectedIdx = expected.computeIfAbsent(key, k -> expected.size());
+
+            Assert.assertEquals(indexer.add(key), expectedIdx.intValue());
+        }
+
+        Assert.assertEquals(indexer.size(), expected.size());
+
+        for (Map.Entry<Long, Integer> e : expected.entrySet()) {
+            Assert.assertEquals(indexer.indexOf(e.getKey()), e.getValue().intValue());
+            Assert.assertEquals(indexer.getKey(e.getValue()), e.getKey().longValue());
+        }
+
+        Assert.assertEquals(indexer.indexOf(-1L), LongIndexer.NOT_FOUND);
+        Assert.assertEquals(indexer.indexOf(Long.MAX_VALUE), LongIndexer.NOT_FOUND);
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testInvalidIndex() {
+        new LongIndexer().getKey(0);
+    }
+}
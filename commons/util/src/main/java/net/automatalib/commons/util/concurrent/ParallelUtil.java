@@ -0,0 +1,144 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.util.concurrent;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+import net.automatalib.commons.util.functions.BiIntConsumer;
+
+/**
+ * Utility methods for executing data-parallel loops over integer ranges in a given {@link ForkJoinPool}.
+ * <p>
+ * Ranges are recursively split into chunks (of at least a given minimal size) which are then processed by the worker
+ * threads of the pool. All methods block until the complete range has been processed. Memory effects of the processed
+ * chunks are visible to the calling thread once the respective method returns.
+ *
+ * @author agent
+ */
+public final class ParallelUtil {
+
+    /**
+     * The default minimal number of elements that a chunk should contain.
+     */
+    public static final int DEFAULT_MIN_CHUNK_SIZE = 1024;
+
+    /**
+     * The number of chunks per thread that we aim for to compensate for unevenly distributed work.
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private ParallelUtil() {}
+
+    /**
+     * Applies the given action to every index of the range {@code [from, to)} in parallel.
+     *
+     * @param pool
+     *         the pool whose threads should execute the action
+     * @param from
+     *         the lower bound of the range (inclusive)
+     * @param to
+     *         the upper bound of the range (exclusive)
+     * @param action
+     *         the action to apply
+     */
+    public static void forEach(ForkJoinPool pool, int from, int to, IntConsumer action) {
+        forEachChunk(pool, from, to, DEFAULT_MIN_CHUNK_SIZE, (low, high) -> {
+            for (int i = low; i < high; i++) {
+                action.accept(i);
+            }
+        });
+    }
+
+    /**
+     * Splits the range {@code [from, to)} into disjoint chunks and applies the given action to the bounds of each chunk
+     * in parallel. Processing chunks rather than single indices allows the action to allocate (temporary) data only
+     * once per chunk.
+     *
+     * @param pool
+     *         the pool whose threads should execute the action
+     * @param from
+     *         the lower bound of the range (inclusive)
+     * @param to
+     *         the upper bound of the range (exclusive)
+     * @param action
+     *         the action to apply, receiving the lower (inclusive) and upper (exclusive) bound of each chunk
+     */
+    public static void forEachChunk(ForkJoinPool pool, int from, int to, BiIntConsumer action) {
+        forEachChunk(pool, from, to, DEFAULT_MIN_CHUNK_SIZE, action);
+    }
+
+    /**
+     * Splits the range {@code [from, to)} into disjoint chunks and applies the given action to the bounds of each chunk
+     * in parallel. Processing chunks rather than single indices allows the action to allocate (temporary) data only
+     * once per chunk.
+     *
+     * @param pool
+     *         the pool whose threads should execute the action
+     * @param from
+     *         the lower bound of the range (inclusive)
+     * @param to
+     *         the upper bound of the range (exclusive)
+     * @param minChunkSize
+     *         the minimal size of a chunk. Ranges smaller than this value are processed by the calling thread
+     * @param action
+     *         the action to apply, receiving the lower (inclusive) and upper (exclusive) bound of each chunk
+     */
+    public static void forEachChunk(ForkJoinPool pool, int from, int to, int minChunkSize, BiIntConsumer action) {
+        final int size = to - from;
+
+        if (size <= 0) {
+            return;
+        }
+
+        final int numChunks = pool.getParallelism() * CHUNKS_PER_THREAD;
+        final int chunkSize = Math.max(Math.max(1, minChunkSize), (size + numChunks - 1) / numChunks);
+
+        if (size <= chunkSize) {
+            action.accept(from, to);
+        } else {
+            pool.invoke(new RangeAction(from, to, chunkSize, action));
+        }
+    }
+
+    private static final class RangeAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int low;
+        private final int high;
+        private final int chunkSize;
+        private final transient BiIntConsumer action;
+
+        RangeAction(int low, int high, int chunkSize, BiIntConsumer action) {
+            this.low = low;
+            this.high = high;
+            this.chunkSize = chunkSize;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= chunkSize) {
+                action.accept(low, high);
+            } else {
+                final int mid = (low + high) >>> 1;
+                invokeAll(new RangeAction(low, mid, chunkSize, action), new RangeAction(mid, high, chunkSize, action));
+            }
+        }
+    }
+}
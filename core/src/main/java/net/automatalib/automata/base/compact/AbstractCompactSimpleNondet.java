@@ -15,19 +15,29 @@
  */
 package net.automatalib.automata.base.compact;
 
+import java.util.AbstractSet;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
 import java.util.Set;
+import java.util.function.IntConsumer;
 
-import com.google.common.collect.Sets;
+import net.automatalib.commons.smartcollections.IntSeq;
+import net.automatalib.ts.powerset.CompactPowersetDTS;
 import net.automatalib.words.Alphabet;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Abstract super class that refines {@link AbstractCompact} for transition-property-less automata. As a result,
  * transitions may be represented as integers (where a transition object effectively <i>is</i> the successor).
+ * <p>
+ * The successors of each state/input pair are stored in a primitive, sorted {@code int} array whose first element
+ * denotes the number of successors. Besides the (boxed) {@link Set}-based view of the {@link #getTransitions(int, int)}
+ * methods, this class offers primitive accessors (see {@link #getIntTransitions(int, int)}, {@link
+ * #forEachSuccessor(int, int, IntConsumer)} and {@link #getSuccessor(int, int, int)}) which allow to traverse the
+ * successors without boxing.
  *
  * @param <I>
  *         input symbol type
@@ -41,15 +51,16 @@ public abstract class AbstractCompactSimpleNondet<I, SP> extends AbstractCompact
 
     //protected final TIntSet initial;
     protected final Set<Integer> initial; // TODO: replace by primitive specialization
-    //protected TIntSet[] transitions;
-    protected @Nullable Set<Integer>[] transitions; // TODO: replace by primitive specialization
+    /**
+     * The successors of each state/input pair. Each (non-{@code null}) entry is a sorted array whose first element
+     * denotes the number of successors, which are stored in the subsequent positions of the array.
+     */
+    protected int[] @Nullable [] transitions;
 
-    @SuppressWarnings("unchecked")
     public AbstractCompactSimpleNondet(Alphabet<I> alphabet, int stateCapacity, float resizeFactor) {
         super(alphabet, stateCapacity, resizeFactor);
 
-        //this.transitions = new TIntSet[stateCapacity * alphabetSize];
-        this.transitions = new Set[stateCapacity * numInputs()]; // TODO: replace by primitive specialization
+        this.transitions = new int[stateCapacity * numInputs()][];
 
         //this.initial = new TIntHashSet();
         this.initial = new HashSet<>(); // TODO: replace by primitive specialization
@@ -59,11 +70,9 @@ public abstract class AbstractCompactSimpleNondet<I, SP> extends AbstractCompact
         super(alphabet, other);
         this.transitions = other.transitions.clone();
         for (int i = 0; i < transitions.length; i++) {
-            //TIntSet tgts = transitions[i];
-            Set<Integer> tgts = transitions[i]; // TODO: replace by primitive specialization
+            final int[] tgts = transitions[i];
             if (tgts != null) {
-                //transitions[i] = new TIntHashSet(tgts);
-                transitions[i] = new HashSet<>(tgts); // TODO: replace by primitive specialization
+                transitions[i] = Arrays.copyOf(tgts, tgts[0] + 1);
             }
         }
 
@@ -72,9 +81,8 @@ public abstract class AbstractCompactSimpleNondet<I, SP> extends AbstractCompact
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     protected void updateTransitionStorage(Payload payload) {
-        this.transitions = (Set<Integer>[]) updateTransitionStorage(this.transitions, Set[]::new, null, payload);
+        this.transitions = updateTransitionStorage(this.transitions, int[][]::new, null, payload);
     }
 
     @Override
@@ -116,11 +124,22 @@ public abstract class AbstractCompactSimpleNondet<I, SP> extends AbstractCompact
     }
 
     public void removeTransition(int stateId, int inputIdx, int successorId) {
-        //TIntCollection successors = transitions[transIdx];
-        Collection<Integer> successors =
-                transitions[toMemoryIndex(stateId, inputIdx)]; // TODO: replace by primitive specialization
-        if (successors != null) {
-            successors.remove(successorId);
+        final int transIdx = toMemoryIndex(stateId, inputIdx);
+        final int[] successors = transitions[transIdx];
+        if (successors == null) {
+            return;
+        }
+
+        final int size = successors[0];
+        final int idx = Arrays.binarySearch(successors, 1, size + 1, successorId);
+
+        if (idx > 0) {
+            if (size == 1) {
+                transitions[transIdx] = null;
+            } else {
+                System.arraycopy(successors, idx + 1, successors, idx, size - idx);
+                successors[0] = size - 1;
+            }
         }
     }
 
@@ -159,15 +178,35 @@ public abstract class AbstractCompactSimpleNondet<I, SP> extends AbstractCompact
     }
 
     public void addTransition(int stateId, int inputIdx, int succId) {
-        int transIdx = toMemoryIndex(stateId, inputIdx);
-        //TIntSet successors = transitions[transIdx];
-        Set<Integer> successors = transitions[transIdx]; // TODO: replace by primitive specialization
+        final int transIdx = toMemoryIndex(stateId, inputIdx);
+        final int[] successors = transitions[transIdx];
+
         if (successors == null) {
-            //successors = new TIntHashSet();
-            successors = new HashSet<>(); // TODO: replace by primitive specialization
-            transitions[transIdx] = successors;
+            transitions[transIdx] = new int[] {1, succId};
+            return;
         }
-        successors.add(succId);
+
+        final int size = successors[0];
+        final int idx = Arrays.binarySearch(successors, 1, size + 1, succId);
+
+        if (idx > 0) {
+            return;
+        }
+
+        final int insertIdx = -idx - 1;
+        final int[] target;
+
+        if (size + 1 < successors.length) {
+            target = successors;
+        } else {
+            target = new int[successors.length + (successors.length >> 1) + 1];
+            System.arraycopy(successors, 0, target, 0, insertIdx);
+            transitions[transIdx] = target;
+        }
+
+        System.arraycopy(successors, insertIdx, target, insertIdx + 1, size + 1 - insertIdx);
+        target[insertIdx] = succId;
+        target[0] = size + 1;
     }
 
     @Override
@@ -185,28 +224,41 @@ public abstract class AbstractCompactSimpleNondet<I, SP> extends AbstractCompact
         setTransitions(state.intValue(), input, transitions);
     }
 
-    //public void setTransitions(int state, I input, TIntCollection successors) {
-    public void setTransitions(int state,
-                               I input,
-                               Collection<? extends Integer> successors) { // TODO: replace by primitive specialization
+    public void setTransitions(int state, I input, Collection<? extends Integer> successors) {
         setTransitions(state, getSymbolIndex(input), successors);
     }
 
-    //public void setTransitions(int state, int inputIdx, TIntCollection successors) {
-    public void setTransitions(int state,
-                               int inputIdx,
-                               Collection<? extends Integer> successors) { // TODO: replace by primitive specialization
-        int transIdx = toMemoryIndex(state, inputIdx);
-        //TIntSet succs = transitions[transIdx];
-        Set<Integer> succs = transitions[transIdx]; // TODO: replace by primitive specialization
-        if (succs == null) {
-            //succs = new TIntHashSet(successors);
-            succs = Sets.newHashSetWithExpectedSize(successors.size()); // TODO: replace by primitive specialization
-            transitions[transIdx] = succs;
-        } else {
-            succs.clear();
+    public void setTransitions(int state, int inputIdx, Collection<? extends Integer> successors) {
+        final int[] succs = new int[successors.size()];
+        int i = 0;
+        for (Integer s : successors) {
+            succs[i++] = s;
         }
-        succs.addAll(successors);
+        setTransitions(state, inputIdx, succs);
+    }
+
+    public void setTransitions(int state, int inputIdx, int... successors) {
+        final int transIdx = toMemoryIndex(state, inputIdx);
+
+        if (successors.length == 0) {
+            transitions[transIdx] = null;
+            return;
+        }
+
+        final int[] succs = new int[successors.length + 1];
+        System.arraycopy(successors, 0, succs, 1, successors.length);
+        Arrays.sort(succs, 1, succs.length);
+
+        // remove duplicates
+        int size = 1;
+        for (int i = 2; i < succs.length; i++) {
+            if (succs[i] != succs[size]) {
+                succs[++size] = succs[i];
+            }
+        }
+        succs[0] = size;
+
+        transitions[transIdx] = succs;
     }
 
     @Override
@@ -216,20 +268,127 @@ public abstract class AbstractCompactSimpleNondet<I, SP> extends AbstractCompact
 
     @Override
     public Collection<Integer> getTransitions(Integer state, I input) {
-        //return new TIntSetDecorator(getTransitions(state.intValue(), input));
-        return getTransitions(state.intValue(), input); // TODO: replace by primitive specialization
+        return getTransitions(state.intValue(), input);
     }
 
-    //public TIntSet getTransitions(int state, I input) {
-    public Set<Integer> getTransitions(int state, I input) { // TODO: replace by primitive specialization
+    public Set<Integer> getTransitions(int state, I input) {
         return getTransitions(state, getSymbolIndex(input));
     }
 
-    //public TIntSet getTransitions(int state, int inputIdx) {
-    public Set<Integer> getTransitions(int state, int inputIdx) { // TODO: replace by primitive specialization
-        Set<Integer> transition = transitions[toMemoryIndex(state, inputIdx)];
+    /**
+     * Returns an unmodifiable (boxed) view on the successors of the given state for the given input. The view reflects
+     * subsequent modifications of the automaton. For a traversal without boxing, see {@link #getIntTransitions(int,
+     * int)} or {@link #forEachSuccessor(int, int, IntConsumer)}.
+     *
+     * @param state
+     *         the state id
+     * @param inputIdx
+     *         the index of the input symbol
+     *
+     * @return an unmodifiable view on the successors
+     */
+    public Set<Integer> getTransitions(int state, int inputIdx) {
+        return new SuccessorSetView(state, inputIdx);
+    }
+
+    public IntSeq getIntTransitions(int state, I input) {
+        return getIntTransitions(state, getSymbolIndex(input));
+    }
+
+    /**
+     * Returns the successors of the given state for the given input in ascending order. The returned sequence is a
+     * snapshot, i.e., it does not reflect subsequent modifications of the automaton.
+     *
+     * @param state
+     *         the state id
+     * @param inputIdx
+     *         the index of the input symbol
+     *
+     * @return the successors of the given state for the given input
+     */
+    public IntSeq getIntTransitions(int state, int inputIdx) {
+        final int[] successors = transitions[toMemoryIndex(state, inputIdx)];
+
+        if (successors == null) {
+            return IntSeq.of();
+        }
+
+        return IntSeq.of(Arrays.copyOfRange(successors, 1, successors[0] + 1));
+    }
+
+    public void forEachSuccessor(int state, I input, IntConsumer action) {
+        forEachSuccessor(state, getSymbolIndex(input), action);
+    }
+
+    /**
+     * Passes the successors of the given state for the given input (in ascending order) to the given consumer.
+     *
+     * @param state
+     *         the state id
+     * @param inputIdx
+     *         the index of the input symbol
+     * @param action
+     *         the consumer of the successor ids
+     */
+    public void forEachSuccessor(int state, int inputIdx, IntConsumer action) {
+        final int[] successors = transitions[toMemoryIndex(state, inputIdx)];
+
+        if (successors != null) {
+            for (int i = 1; i <= successors[0]; i++) {
+                action.accept(successors[i]);
+            }
+        }
+    }
 
-        return transition == null ? Collections.emptySet() : transition;
+    public boolean hasTransition(int state, int inputIdx, int successor) {
+        final int[] successors = transitions[toMemoryIndex(state, inputIdx)];
+        return successors != null && Arrays.binarySearch(successors, 1, successors[0] + 1, successor) > 0;
+    }
+
+    /**
+     * Returns the number of successors of the given state for the given input. Together with {@link
+     * #getSuccessor(int, int, int)}, this allows to traverse the successors without copying them (see {@link
+     * #getIntTransitions(int, int)}) or passing them to a consumer (see {@link #forEachSuccessor(int, int,
+     * IntConsumer)}), e.g., if the traversal may throw checked exceptions.
+     *
+     * @param state
+     *         the state id
+     * @param inputIdx
+     *         the index of the input symbol
+     *
+     * @return the number of successors of the given state for the given input
+     */
+    public int numSuccessors(int state, int inputIdx) {
+        final int[] successors = transitions[toMemoryIndex(state, inputIdx)];
+        return successors == null ? 0 : successors[0];
+    }
+
+    /**
+     * Returns the successor of the given state for the given input at the given position, where the successors are
+     * sorted in ascending order.
+     *
+     * @param state
+     *         the state id
+     * @param inputIdx
+     *         the index of the input symbol
+     * @param index
+     *         the position of the successor, must be less than {@link #numSuccessors(int, int)}
+     *
+     * @return the {@code index}-th successor of the given state for the given input
+     */
+    public int getSuccessor(int state, int inputIdx, int index) {
+        final int[] successors = transitions[toMemoryIndex(state, inputIdx)];
+
+        if (successors == null || index < 0 || index >= successors[0]) {
+            throw new IndexOutOfBoundsException(Integer.toString(index));
+        }
+
+        return successors[index + 1];
+    }
+
+    @Override
+    public CompactPowersetDTS<I> powersetView() {
+        return new CompactPowersetDTS<>(this);
     }
 
     @Override
@@ -237,4 +396,48 @@ public abstract class AbstractCompactSimpleNondet<I, SP> extends AbstractCompact
         //return new TIntSetDecorator(initial);
         return initial; // TODO: replace by primitive specialization
     }
+
+    private final class SuccessorSetView extends AbstractSet<Integer> {
+
+        private final int state;
+        private final int inputIdx;
+
+        SuccessorSetView(int state, int inputIdx) {
+            this.state = state;
+            this.inputIdx = inputIdx;
+        }
+
+        @Override
+        public PrimitiveIterator.OfInt iterator() {
+            final IntSeq successors = getIntTransitions(state, inputIdx);
+
+            return new PrimitiveIterator.OfInt() {
+
+                private int idx;
+
+                @Override
+                public int nextInt() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return successors.get(idx++);
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return idx < successors.size();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return numSuccessors(state, inputIdx);
+        }
+
+        @Override
+        public boolean contains(@Nullable Object o) {
+            return o instanceof Integer && hasTransition(state, inputIdx, (Integer) o);
+        }
+    }
 }
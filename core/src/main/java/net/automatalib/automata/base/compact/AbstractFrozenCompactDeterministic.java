@@ -0,0 +1,335 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.base.compact;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.concepts.InputAlphabetHolder;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.concepts.StateLocalInput;
+import net.automatalib.commons.util.collections.CollectionsUtil;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Abstract super class for immutable ("frozen") snapshots of compact, deterministic automata.
+ * <p>
+ * Instead of a dense {@code states x inputs} array, the transitions are stored in a compressed sparse row (CSR) format:
+ * the (defined) transitions of each state are stored contiguously and ordered by their input index, together with the
+ * respective successor. Transitions are addressed by an edge index (their position in the CSR arrays), which can be
+ * used by subclasses to store transition properties. If every state defines a transition for every input symbol, the
+ * input indices are not stored at all, as the edge index can be computed directly. As a result, partially defined
+ * automata with large alphabets require significantly less memory than their mutable counterparts.
+ * <p>
+ * All data of this class is immutable. Hence, instances can be safely shared between threads without any additional
+ * synchronization.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <T>
+ *         transition type
+ * @param <SP>
+ *         state property type
+ * @param <TP>
+ *         transition property type
+ *
+ * @author agent
+ */
+public abstract class AbstractFrozenCompactDeterministic<I, T, SP, TP>
+        implements UniversalDeterministicAutomaton<Integer, I, T, SP, TP>,
+                   UniversalDeterministicAutomaton.StateIntAbstraction<I, T, SP, TP>,
+                   UniversalDeterministicAutomaton.FullIntAbstraction<T, SP, TP>,
+                   StateIDs<Integer>,
+                   StateLocalInput<Integer, I>,
+                   InputAlphabetHolder<I>,
+                   Serializable {
+
+    protected static final int INVALID_STATE = FullIntAbstraction.INVALID_STATE;
+
+    private final Alphabet<I> alphabet;
+    private final int alphabetSize;
+    private final int numStates;
+    private final int initial;
+
+    /**
+     * The edge indices of the transitions of state {@code s} range from {@code offsets[s]} (inclusive) to {@code
+     * offsets[s + 1]} (exclusive).
+     */
+    private final int[] offsets;
+    /**
+     * The input indices of each edge, or {@code null} if the automaton is complete.
+     */
+    private final int @Nullable [] inputs;
+    /**
+     * The successor of each edge.
+     */
+    private final int[] successors;
+
+    /**
+     * Constructor.
+     *
+     * @param alphabet
+     *         the input alphabet
+     * @param numStates
+     *         the number of states
+     * @param initial
+     *         the id of the initial state, or {@link #INVALID_STATE} if there is no initial state
+     * @param transitions
+     *         the dense transition array (as used by {@link AbstractCompact} and its subclasses) whose entries at index
+     *         {@code state * alphabet.size() + input} denote the respective successor (or {@link #INVALID_STATE} if
+     *         undefined)
+     */
+    protected AbstractFrozenCompactDeterministic(Alphabet<I> alphabet, int numStates, int initial, int[] transitions) {
+        this.alphabet = alphabet;
+        this.alphabetSize = alphabet.size();
+        this.numStates = numStates;
+        this.initial = initial;
+
+        final int denseSize = numStates * alphabetSize;
+        int numEdges = 0;
+        for (int i = 0; i < denseSize; i++) {
+            if (transitions[i] != INVALID_STATE) {
+                numEdges++;
+            }
+        }
+
+        final boolean complete = numEdges == denseSize;
+
+        this.offsets = new int[numStates + 1];
+        this.inputs = complete ? null : new int[numEdges];
+        this.successors = new int[numEdges];
+
+        int edge = 0;
+        for (int s = 0; s < numStates; s++) {
+            offsets[s] = edge;
+            final int base = s * alphabetSize;
+            for (int i = 0; i < alphabetSize; i++) {
+                final int succ = transitions[base + i];
+                if (succ != INVALID_STATE) {
+                    if (inputs != null) {
+                        inputs[edge] = i;
+                    }
+                    successors[edge++] = succ;
+                }
+            }
+        }
+        offsets[numStates] = edge;
+    }
+
+    /**
+     * Returns the number of (defined) transitions of this automaton, i.e., the number of edge indices.
+     *
+     * @return the number of transitions
+     */
+    public int numTransitions() {
+        return successors.length;
+    }
+
+    /**
+     * Returns the edge index of the transition of the given state for the given input.
+     *
+     * @param state
+     *         the state id
+     * @param input
+     *         the input index
+     *
+     * @return the edge index of the transition, or {@code -1} if the transition is undefined
+     */
+    protected final int getEdgeIndex(int state, int input) {
+        final int low = offsets[state];
+        final int high = offsets[state + 1];
+
+        if (inputs == null || high - low == alphabetSize) {
+            return low + input;
+        }
+
+        int lo = low;
+        int hi = high - 1;
+
+        while (lo <= hi) {
+            final int mid = (lo + hi) >>> 1;
+            final int midInput = inputs[mid];
+            if (midInput < input) {
+                lo = mid + 1;
+            } else if (midInput > input) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the successor of the transition with the given edge index.
+     *
+     * @param edge
+     *         the edge index
+     *
+     * @return the successor of the transition
+     */
+    protected final int getEdgeSuccessor(int edge) {
+        return successors[edge];
+    }
+
+    /**
+     * Returns the transition object for the given edge index.
+     *
+     * @param edge
+     *         the (valid) edge index
+     *
+     * @return the transition object
+     */
+    protected abstract T toTransition(int edge);
+
+    @Override
+    public @Nullable T getTransition(int state, int input) {
+        final int edge = getEdgeIndex(state, input);
+        return edge < 0 ? null : toTransition(edge);
+    }
+
+    @Override
+    public @Nullable T getTransition(int state, I input) {
+        return getTransition(state, alphabet.getSymbolIndex(input));
+    }
+
+    @Override
+    public @Nullable T getTransition(Integer state, I input) {
+        return getTransition(state.intValue(), input);
+    }
+
+    @Override
+    public int getSuccessor(int state, int input) {
+        final int edge = getEdgeIndex(state, input);
+        return edge < 0 ? INVALID_STATE : successors[edge];
+    }
+
+    @Override
+    public int getSuccessor(int state, I input) {
+        return getSuccessor(state, alphabet.getSymbolIndex(input));
+    }
+
+    @Override
+    public @Nullable Integer getSuccessor(Integer state, I input) {
+        return toState(getSuccessor(state.intValue(), input));
+    }
+
+    @Override
+    // Overridden for performance reasons (to prevent autoboxing of default implementation)
+    public @Nullable Integer getSuccessor(Integer state, Iterable<? extends I> input) {
+        int current = state;
+
+        for (I sym : input) {
+            if (current == INVALID_STATE) {
+                break;
+            }
+            current = getSuccessor(current, sym);
+        }
+
+        return toState(current);
+    }
+
+    @Override
+    public Integer getSuccessor(T transition) {
+        return getIntSuccessor(transition);
+    }
+
+    @Override
+    public SP getStateProperty(Integer state) {
+        return getStateProperty(state.intValue());
+    }
+
+    @Override
+    public @Nullable Integer getInitialState() {
+        return toState(initial);
+    }
+
+    @Override
+    public int getIntInitialState() {
+        return initial;
+    }
+
+    @Override
+    public Collection<Integer> getStates() {
+        return CollectionsUtil.intRange(0, numStates);
+    }
+
+    @Override
+    public int size() {
+        return numStates;
+    }
+
+    @Override
+    public int numInputs() {
+        return alphabetSize;
+    }
+
+    @Override
+    public Alphabet<I> getInputAlphabet() {
+        return alphabet;
+    }
+
+    @Override
+    public StateIDs<Integer> stateIDs() {
+        return this;
+    }
+
+    @Override
+    public int getStateId(Integer state) {
+        return state.intValue();
+    }
+
+    @Override
+    public Integer getState(int id) {
+        return id;
+    }
+
+    @Override
+    public Collection<I> getLocalInputs(Integer state) {
+        final int low = offsets[state];
+        final int high = offsets[state + 1];
+        final List<I> result = new ArrayList<>(high - low);
+
+        for (int edge = low; edge < high; edge++) {
+            result.add(alphabet.getSymbol(inputs == null ? edge - low : inputs[edge]));
+        }
+
+        return result;
+    }
+
+    @Override
+    public FullIntAbstraction<T, SP, TP> fullIntAbstraction(Alphabet<I> alphabet) {
+        if (Objects.equals(this.alphabet, alphabet)) {
+            return this;
+        }
+        return UniversalDeterministicAutomaton.super.fullIntAbstraction(alphabet);
+    }
+
+    @Override
+    public StateIntAbstraction<I, T, SP, TP> stateIntAbstraction() {
+        return this;
+    }
+
+    protected static @Nullable Integer toState(int id) {
+        return (id != INVALID_STATE) ? id : null;
+    }
+}
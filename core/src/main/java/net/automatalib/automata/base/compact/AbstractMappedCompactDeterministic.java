@@ -0,0 +1,362 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.base.compact;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.concepts.InputAlphabetHolder;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.concepts.StateLocalInput;
+import net.automatalib.commons.util.collections.CollectionsUtil;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Abstract super class for read-only compact, deterministic automata whose data is stored in a memory-mapped file
+ * rather than on the Java heap.
+ * <p>
+ * The file layout mirrors the array-based layout of {@link AbstractCompact}: after a fixed-size header (see {@link
+ * Header}), the file contains the dense {@code states x inputs} transition array, followed by the sections of the
+ * respective subclass (e.g., state or transition properties). All values are stored as little-endian {@code int}s, so
+ * that opening a file only requires mapping it into memory, but no parsing.
+ * <p>
+ * The data of instances of this class is never modified and can therefore be safely shared between threads without any
+ * additional synchronization. The mapped memory is released once the instance is garbage collected.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <T>
+ *         transition type
+ * @param <SP>
+ *         state property type
+ * @param <TP>
+ *         transition property type
+ *
+ * @author agent
+ */
+public abstract class AbstractMappedCompactDeterministic<I, T, SP, TP>
+        implements UniversalDeterministicAutomaton<Integer, I, T, SP, TP>,
+                   UniversalDeterministicAutomaton.StateIntAbstraction<I, T, SP, TP>,
+                   UniversalDeterministicAutomaton.FullIntAbstraction<T, SP, TP>,
+                   StateIDs<Integer>,
+                   StateLocalInput<Integer, I>,
+                   InputAlphabetHolder<I> {
+
+    protected static final int INVALID_STATE = FullIntAbstraction.INVALID_STATE;
+
+    private final Alphabet<I> alphabet;
+    private final int alphabetSize;
+    private final int numStates;
+    private final int initial;
+    private final MappedIntArray transitions;
+
+    protected AbstractMappedCompactDeterministic(Alphabet<I> alphabet, Header header, MappedIntArray transitions) {
+        this.alphabet = alphabet;
+        this.alphabetSize = header.numInputs;
+        this.numStates = header.numStates;
+        this.initial = header.initial;
+        this.transitions = transitions;
+    }
+
+    @Override
+    public int getSuccessor(int state, int input) {
+        return transitions.get(toMemoryIndex(state, input));
+    }
+
+    @Override
+    public int getSuccessor(int state, I input) {
+        return getSuccessor(state, alphabet.getSymbolIndex(input));
+    }
+
+    @Override
+    public @Nullable Integer getSuccessor(Integer state, I input) {
+        return toState(getSuccessor(state.intValue(), input));
+    }
+
+    @Override
+    // Overridden for performance reasons (to prevent autoboxing of default implementation)
+    public @Nullable Integer getSuccessor(Integer state, Iterable<? extends I> input) {
+        int current = state;
+
+        for (I sym : input) {
+            if (current == INVALID_STATE) {
+                break;
+            }
+            current = getSuccessor(current, sym);
+        }
+
+        return toState(current);
+    }
+
+    @Override
+    public @Nullable T getTransition(int state, I input) {
+        return getTransition(state, alphabet.getSymbolIndex(input));
+    }
+
+    @Override
+    public @Nullable T getTransition(Integer state, I input) {
+        return getTransition(state.intValue(), input);
+    }
+
+    @Override
+    public Integer getSuccessor(T transition) {
+        return getIntSuccessor(transition);
+    }
+
+    @Override
+    public SP getStateProperty(Integer state) {
+        return getStateProperty(state.intValue());
+    }
+
+    @Override
+    public @Nullable Integer getInitialState() {
+        return toState(initial);
+    }
+
+    @Override
+    public int getIntInitialState() {
+        return initial;
+    }
+
+    @Override
+    public Collection<Integer> getStates() {
+        return CollectionsUtil.intRange(0, numStates);
+    }
+
+    @Override
+    public int size() {
+        return numStates;
+    }
+
+    @Override
+    public int numInputs() {
+        return alphabetSize;
+    }
+
+    @Override
+    public Alphabet<I> getInputAlphabet() {
+        return alphabet;
+    }
+
+    @Override
+    public StateIDs<Integer> stateIDs() {
+        return this;
+    }
+
+    @Override
+    public int getStateId(Integer state) {
+        return state.intValue();
+    }
+
+    @Override
+    public Integer getState(int id) {
+        return id;
+    }
+
+    @Override
+    public Collection<I> getLocalInputs(Integer state) {
+        final List<I> result = new ArrayList<>(alphabetSize);
+        for (int i = 0; i < alphabetSize; i++) {
+            if (getSuccessor(state.intValue(), i) != INVALID_STATE) {
+                result.add(alphabet.getSymbol(i));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public FullIntAbstraction<T, SP, TP> fullIntAbstraction(Alphabet<I> alphabet) {
+        if (Objects.equals(this.alphabet, alphabet)) {
+            return this;
+        }
+        return UniversalDeterministicAutomaton.super.fullIntAbstraction(alphabet);
+    }
+
+    @Override
+    public StateIntAbstraction<I, T, SP, TP> stateIntAbstraction() {
+        return this;
+    }
+
+    protected final int toMemoryIndex(int stateId, int inputId) {
+        return stateId * alphabetSize + inputId;
+    }
+
+    protected static @Nullable Integer toState(int id) {
+        return (id != INVALID_STATE) ? id : null;
+    }
+
+    /**
+     * Writes the header and the dense transition array of the given automaton to the given channel.
+     *
+     * @param channel
+     *         the channel to write to
+     * @param header
+     *         the header of the automaton
+     * @param automaton
+     *         the automaton whose transitions should be written
+     *
+     * @throws IOException
+     *         if writing fails
+     */
+    protected static void writeTransitions(FileChannel channel,
+                                           Header header,
+                                           FullIntAbstraction<?, ?, ?> automaton) throws IOException {
+        header.write(channel);
+
+        final MappedIntArray data = header.mapTransitions(channel, MapMode.READ_WRITE);
+        final int numInputs = header.numInputs;
+
+        for (int s = 0; s < header.numStates; s++) {
+            final int base = s * numInputs;
+            for (int i = 0; i < numInputs; i++) {
+                data.put(base + i, automaton.getSuccessor(s, i));
+            }
+        }
+
+        data.force();
+    }
+
+    /**
+     * The header of a mapped automaton file. The header consists of {@link #HEADER_INTS} {@code int}s: a magic number,
+     * the file format version, the type of the stored automaton, the number of states, the number of inputs, the
+     * initial state and (currently unused) reserved fields.
+     */
+    protected static final class Header {
+
+        public static final int HEADER_INTS = 8;
+
+        private static final int MAGIC = 0x414D4150; // "AMAP"
+        private static final int VERSION = 1;
+
+        private final int type;
+        private final int numStates;
+        private final int numInputs;
+        private final int initial;
+
+        public Header(int type, int numStates, int numInputs, int initial) {
+            this.type = type;
+            this.numStates = numStates;
+            this.numInputs = numInputs;
+            this.initial = initial;
+        }
+
+        /**
+         * Reads and validates the header of the given channel.
+         *
+         * @param channel
+         *         the channel to read from
+         * @param expectedType
+         *         the expected automaton type
+         * @param alphabet
+         *         the input alphabet, whose size has to match the number of inputs of the stored automaton
+         *
+         * @return the header
+         *
+         * @throws IOException
+         *         if the header cannot be read or does not describe an automaton of the expected type
+         */
+        public static Header read(FileChannel channel, int expectedType, Alphabet<?> alphabet) throws IOException {
+            if (channel.size() < MappedIntArray.byteSize(HEADER_INTS)) {
+                throw new IOException("File is too small to contain a mapped automaton");
+            }
+
+            final MappedIntArray data = MappedIntArray.map(channel, MapMode.READ_ONLY, 0, HEADER_INTS);
+
+            if (data.get(0) != MAGIC) {
+                throw new IOException("File does not contain a mapped automaton");
+            }
+            if (data.get(1) != VERSION) {
+                throw new IOException("Unsupported version: " + data.get(1));
+            }
+            if (data.get(2) != expectedType) {
+                throw new IOException("Unexpected automaton type: " + data.get(2) + " (expected " + expectedType + ')');
+            }
+
+            final Header header = new Header(data.get(2), data.get(3), data.get(4), data.get(5));
+
+            if (header.numInputs != alphabet.size()) {
+                throw new IllegalArgumentException(
+                        "Alphabet sizes must match, but they do not (stored/given): " + header.numInputs + " vs. " +
+                        alphabet.size());
+            }
+
+            return header;
+        }
+
+        /**
+         * Writes this header to the beginning of the given channel.
+         *
+         * @param channel
+         *         the channel to write to
+         *
+         * @throws IOException
+         *         if writing the header fails
+         */
+        public void write(FileChannel channel) throws IOException {
+            final MappedIntArray data = MappedIntArray.map(channel, MapMode.READ_WRITE, 0, HEADER_INTS);
+
+            data.put(0, MAGIC);
+            data.put(1, VERSION);
+            data.put(2, type);
+            data.put(3, numStates);
+            data.put(4, numInputs);
+            data.put(5, initial);
+
+            data.force();
+        }
+
+        /**
+         * Maps the transition section of the given channel.
+         *
+         * @param channel
+         *         the channel to map
+         * @param mode
+         *         the mapping mode
+         *
+         * @return the mapped transition array
+         *
+         * @throws IOException
+         *         if the mapping fails
+         */
+        public MappedIntArray mapTransitions(FileChannel channel, MapMode mode) throws IOException {
+            return MappedIntArray.map(channel, mode, MappedIntArray.byteSize(HEADER_INTS), numTransitions());
+        }
+
+        /**
+         * Returns the position (in bytes) of the first section after the transition section.
+         *
+         * @return the position of the first section after the transition section
+         */
+        public long getDataOffset() {
+            return MappedIntArray.byteSize(HEADER_INTS) + MappedIntArray.byteSize(numTransitions());
+        }
+
+        public int getNumStates() {
+            return numStates;
+        }
+
+        public int numTransitions() {
+            return Math.multiplyExact(numStates, numInputs);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.base.compact;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * An {@code int} array that is stored in a memory-mapped region of a file. Since a single mapped buffer is limited to
+ * {@link Integer#MAX_VALUE} bytes, the array is split into several chunks, each of which is mapped individually.
+ * <p>
+ * Values are stored in {@link ByteOrder#LITTLE_ENDIAN little-endian} byte order. Read accesses do not modify any state
+ * of this class and are therefore thread-safe.
+ *
+ * @author agent
+ */
+public final class MappedIntArray {
+
+    private static final int CHUNK_SHIFT = 28; // 2^28 ints per chunk, i.e. 1 GiB
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final MappedByteBuffer[] buffers;
+    private final IntBuffer[] chunks;
+    private final int length;
+
+    private MappedIntArray(MappedByteBuffer[] buffers, IntBuffer[] chunks, int length) {
+        this.buffers = buffers;
+        this.chunks = chunks;
+        this.length = length;
+    }
+
+    /**
+     * Maps a region of the given channel as an {@code int} array.
+     *
+     * @param channel
+     *         the channel to map
+     * @param mode
+     *         the mapping mode, see {@link FileChannel#map(MapMode, long, long)}
+     * @param position
+     *         the position (in bytes) within the file at which the mapped region starts
+     * @param length
+     *         the number of {@code int} values of the mapped region
+     *
+     * @return the mapped array
+     *
+     * @throws IOException
+     *         if the mapping fails
+     */
+    public static MappedIntArray map(FileChannel channel, MapMode mode, long position, int length)
+            throws IOException {
+        final int numChunks = (int) ((length + (long) CHUNK_MASK) >>> CHUNK_SHIFT);
+        final MappedByteBuffer[] buffers = new MappedByteBuffer[numChunks];
+        final IntBuffer[] chunks = new IntBuffer[numChunks];
+
+        for (int i = 0; i < numChunks; i++) {
+            final long offset = (long) i << CHUNK_SHIFT;
+            final long chunkLength = Math.min(CHUNK_SIZE, length - offset);
+
+            buffers[i] = channel.map(mode, position + offset * Integer.BYTES, chunkLength * Integer.BYTES);
+            chunks[i] = buffers[i].order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        }
+
+        return new MappedIntArray(buffers, chunks, length);
+    }
+
+    public int get(int index) {
+        return chunks[index >>> CHUNK_SHIFT].get(index & CHUNK_MASK);
+    }
+
+    public void put(int index, int value) {
+        chunks[index >>> CHUNK_SHIFT].put(index & CHUNK_MASK, value);
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Forces any changes made to the (writable) mapped regions to be written to the storage device.
+     *
+     * @see MappedByteBuffer#force()
+     */
+    public void force() {
+        for (MappedByteBuffer buffer : buffers) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Returns the number of bytes required to store an array of the given length.
+     *
+     * @param length
+     *         the number of {@code int} values
+     *
+     * @return the number of bytes required
+     */
+    public static long byteSize(int length) {
+        return (long) length * Integer.BYTES;
+    }
+}
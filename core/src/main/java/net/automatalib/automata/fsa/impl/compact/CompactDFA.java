@@ -102,6 +102,19 @@ public class CompactDFA<I> extends AbstractCompactSimpleDeterministic<I, Boolean
         return acceptance.get(stateId);
     }
 
+    /**
+     * Creates an immutable snapshot of this automaton. The snapshot stores its transitions in a compressed sparse row
+     * format and can be shared between threads without additional synchronization. Subsequent modifications of this
+     * automaton are not reflected by the snapshot.
+     *
+     * @return an immutable snapshot of this automaton
+     *
+     * @see FrozenCompactDFA
+     */
+    public FrozenCompactDFA<I> freeze() {
+        return new FrozenCompactDFA<>(getInputAlphabet(), size(), getIntInitialState(), transitions, acceptance);
+    }
+
     @Override
     public boolean isAccepting(Integer state) {
         return isAccepting(state.intValue());
@@ -0,0 +1,71 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.fsa.impl.compact;
+
+import java.util.BitSet;
+
+import net.automatalib.automata.base.compact.AbstractFrozenCompactDeterministic;
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.words.Alphabet;
+
+/**
+ * An immutable snapshot of a {@link CompactDFA}, see {@link CompactDFA#freeze()}.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author agent
+ * @see AbstractFrozenCompactDeterministic
+ */
+public class FrozenCompactDFA<I> extends AbstractFrozenCompactDeterministic<I, Integer, Boolean, Void>
+        implements DFA<Integer, I> {
+
+    private final BitSet acceptance;
+
+    FrozenCompactDFA(Alphabet<I> alphabet, int numStates, int initial, int[] transitions, BitSet acceptance) {
+        super(alphabet, numStates, initial, transitions);
+        this.acceptance = (BitSet) acceptance.clone();
+    }
+
+    @Override
+    protected Integer toTransition(int edge) {
+        return getEdgeSuccessor(edge);
+    }
+
+    @Override
+    public int getIntSuccessor(Integer transition) {
+        return transition;
+    }
+
+    @Override
+    public Boolean getStateProperty(int state) {
+        return isAccepting(state);
+    }
+
+    @Override
+    public Void getTransitionProperty(Integer transition) {
+        return null;
+    }
+
+    public boolean isAccepting(int state) {
+        return acceptance.get(state);
+    }
+
+    @Override
+    public boolean isAccepting(Integer state) {
+        return isAccepting(state.intValue());
+    }
+}
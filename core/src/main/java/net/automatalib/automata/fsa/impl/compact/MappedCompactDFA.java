@@ -0,0 +1,161 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.fsa.impl.compact;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import net.automatalib.automata.base.compact.AbstractMappedCompactDeterministic;
+import net.automatalib.automata.base.compact.MappedIntArray;
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A read-only {@link DFA} whose transitions and acceptance information are stored in a memory-mapped file. Files can
+ * be created via {@link #write(CompactDFA, Path)} and opened via {@link #open(Path, Alphabet)}.
+ * <p>
+ * In addition to the sections of {@link AbstractMappedCompactDeterministic}, the file contains the acceptance of each
+ * state as a bit vector (32 states per {@code int}).
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author agent
+ * @see AbstractMappedCompactDeterministic
+ */
+public class MappedCompactDFA<I> extends AbstractMappedCompactDeterministic<I, Integer, Boolean, Void>
+        implements DFA<Integer, I> {
+
+    private static final int TYPE = 0;
+
+    private final MappedIntArray acceptance;
+
+    private MappedCompactDFA(Alphabet<I> alphabet,
+                             Header header,
+                             MappedIntArray transitions,
+                             MappedIntArray acceptance) {
+        super(alphabet, header, transitions);
+        this.acceptance = acceptance;
+    }
+
+    /**
+     * Writes the given automaton to the given file, replacing any existing content.
+     *
+     * @param dfa
+     *         the automaton to write
+     * @param file
+     *         the file to write to
+     *
+     * @throws IOException
+     *         if writing fails
+     */
+    public static void write(CompactDFA<?> dfa, Path file) throws IOException {
+        final int numStates = dfa.size();
+        final Header header = new Header(TYPE, numStates, dfa.numInputs(), dfa.getIntInitialState());
+
+        try (FileChannel channel = FileChannel.open(file,
+                                                    StandardOpenOption.CREATE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING,
+                                                    StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE)) {
+            writeTransitions(channel, header, dfa);
+
+            final MappedIntArray acc =
+                    MappedIntArray.map(channel, MapMode.READ_WRITE, header.getDataOffset(), numWords(numStates));
+
+            for (int s = 0; s < numStates; s++) {
+                if (dfa.isAccepting(s)) {
+                    final int word = s >>> 5;
+                    acc.put(word, acc.get(word) | (1 << s));
+                }
+            }
+
+            acc.force();
+        }
+    }
+
+    /**
+     * Opens an automaton that has previously been written via {@link #write(CompactDFA, Path)}. The file is mapped in
+     * read-only mode, hence its contents are only loaded on access.
+     *
+     * @param file
+     *         the file to open
+     * @param alphabet
+     *         the input alphabet of the automaton
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the mapped automaton
+     *
+     * @throws IOException
+     *         if the file cannot be read or does not contain a mapped DFA
+     * @throws IllegalArgumentException
+     *         if the size of the given alphabet does not match the number of inputs of the stored automaton
+     */
+    public static <I> MappedCompactDFA<I> open(Path file, Alphabet<I> alphabet) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final Header header = Header.read(channel, TYPE, alphabet);
+            final int numWords = numWords(header.getNumStates());
+
+            if (channel.size() < header.getDataOffset() + MappedIntArray.byteSize(numWords)) {
+                throw new IOException("File is truncated");
+            }
+
+            final MappedIntArray transitions = header.mapTransitions(channel, MapMode.READ_ONLY);
+            final MappedIntArray acceptance =
+                    MappedIntArray.map(channel, MapMode.READ_ONLY, header.getDataOffset(), numWords);
+
+            return new MappedCompactDFA<>(alphabet, header, transitions, acceptance);
+        }
+    }
+
+    private static int numWords(int numStates) {
+        return (numStates + 31) >>> 5;
+    }
+
+    @Override
+    public @Nullable Integer getTransition(int state, int input) {
+        return toState(getSuccessor(state, input));
+    }
+
+    @Override
+    public int getIntSuccessor(Integer transition) {
+        return transition;
+    }
+
+    @Override
+    public Boolean getStateProperty(int state) {
+        return isAccepting(state);
+    }
+
+    @Override
+    public Void getTransitionProperty(Integer transition) {
+        return null;
+    }
+
+    public boolean isAccepting(int state) {
+        return (acceptance.get(state >>> 5) & (1 << state)) != 0;
+    }
+
+    @Override
+    public boolean isAccepting(Integer state) {
+        return isAccepting(state.intValue());
+    }
+}
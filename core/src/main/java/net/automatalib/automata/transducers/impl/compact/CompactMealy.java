@@ -149,6 +149,32 @@ public class CompactMealy<I, O> extends AbstractCompactDeterministic<I, CompactT
         return new CompactTransition<>(idx, succ, output);
     }
 
+    @Override
+    // Overridden for performance reasons (to prevent the allocation of transition objects)
+    public int getSuccessor(int state, int input) {
+        return transitions[toMemoryIndex(state, input)];
+    }
+
+    @Override
+    // Overridden for performance reasons (to prevent the allocation of transition objects)
+    @SuppressWarnings("unchecked")
+    public @Nullable O getTransitionProperty(int state, int input) {
+        return (O) outputs[toMemoryIndex(state, input)];
+    }
+
+    /**
+     * Creates an immutable snapshot of this automaton. The snapshot stores its transitions in a compressed sparse row
+     * format and can be shared between threads without additional synchronization. Subsequent modifications of this
+     * automaton are not reflected by the snapshot.
+     *
+     * @return an immutable snapshot of this automaton
+     *
+     * @see FrozenCompactMealy
+     */
+    public FrozenCompactMealy<I, O> freeze() {
+        return new FrozenCompactMealy<>(getInputAlphabet(), size(), getIntInitialState(), transitions, outputs);
+    }
+
     public static final class Creator<I, O> implements AutomatonCreator<CompactMealy<I, O>, I> {
 
         @Override
@@ -0,0 +1,102 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.transducers.impl.compact;
+
+import net.automatalib.automata.base.compact.AbstractFrozenCompactDeterministic;
+import net.automatalib.automata.base.compact.CompactTransition;
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable snapshot of a {@link CompactMealy}, see {@link CompactMealy#freeze()}.
+ * <p>
+ * Transitions returned by this automaton are detached copies, i.e., modifying their properties has no effect on the
+ * automaton.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <O>
+ *         output symbol type
+ *
+ * @author agent
+ * @see AbstractFrozenCompactDeterministic
+ */
+public class FrozenCompactMealy<I, O> extends AbstractFrozenCompactDeterministic<I, CompactTransition<O>, Void, O>
+        implements MealyMachine<Integer, I, CompactTransition<O>, O> {
+
+    private final @Nullable Object[] outputs;
+
+    FrozenCompactMealy(Alphabet<I> alphabet,
+                       int numStates,
+                       int initial,
+                       int[] transitions,
+                       @Nullable Object[] outputs) {
+        super(alphabet, numStates, initial, transitions);
+
+        // edges are stored in the same (row-major) order as the dense transition array
+        this.outputs = new Object[numTransitions()];
+        final int denseSize = numStates * alphabet.size();
+        for (int i = 0, edge = 0; i < denseSize; i++) {
+            if (transitions[i] != INVALID_STATE) {
+                this.outputs[edge++] = outputs[i];
+            }
+        }
+    }
+
+    @Override
+    protected CompactTransition<O> toTransition(int edge) {
+        return new CompactTransition<>(getEdgeSuccessor(edge), getEdgeOutput(edge));
+    }
+
+    @Override
+    public int getIntSuccessor(CompactTransition<O> transition) {
+        return transition.getSuccId();
+    }
+
+    @Override
+    public Void getStateProperty(int state) {
+        return null;
+    }
+
+    @Override
+    public O getTransitionProperty(CompactTransition<O> transition) {
+        return transition.getProperty();
+    }
+
+    @Override
+    public O getTransitionOutput(CompactTransition<O> transition) {
+        return transition.getProperty();
+    }
+
+    @Override
+    // Overridden for performance reasons (to prevent the allocation of transition objects)
+    public @Nullable O getTransitionProperty(int state, int input) {
+        final int edge = getEdgeIndex(state, input);
+        return edge < 0 ? null : getEdgeOutput(edge);
+    }
+
+    @Override
+    // Overridden for performance reasons (to prevent the allocation of transition objects)
+    public @Nullable O getOutput(Integer state, I input) {
+        return getTransitionProperty(state.intValue(), getInputAlphabet().getSymbolIndex(input));
+    }
+
+    @SuppressWarnings("unchecked")
+    private O getEdgeOutput(int edge) {
+        return (O) outputs[edge];
+    }
+}
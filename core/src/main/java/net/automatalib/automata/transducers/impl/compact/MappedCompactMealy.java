@@ -0,0 +1,187 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.transducers.impl.compact;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import net.automatalib.automata.base.compact.AbstractMappedCompactDeterministic;
+import net.automatalib.automata.base.compact.CompactTransition;
+import net.automatalib.automata.base.compact.MappedIntArray;
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A read-only {@link MealyMachine} whose transitions and outputs are stored in a memory-mapped file. Files can be
+ * created via {@link #write(CompactMealy, Alphabet, Path)} and opened via {@link #open(Path, Alphabet, Alphabet)}.
+ * <p>
+ * In addition to the sections of {@link AbstractMappedCompactDeterministic}, the file contains the index (with respect
+ * to the output alphabet) of the output of each transition. Transitions returned by this automaton are detached
+ * copies, i.e., modifying their properties has no effect on the automaton.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <O>
+ *         output symbol type
+ *
+ * @author agent
+ * @see AbstractMappedCompactDeterministic
+ */
+public class MappedCompactMealy<I, O> extends AbstractMappedCompactDeterministic<I, CompactTransition<O>, Void, O>
+        implements MealyMachine<Integer, I, CompactTransition<O>, O> {
+
+    private static final int TYPE = 1;
+    private static final int NO_OUTPUT = -1;
+
+    private final Alphabet<O> outputAlphabet;
+    private final MappedIntArray outputs;
+
+    private MappedCompactMealy(Alphabet<I> alphabet,
+                               Alphabet<O> outputAlphabet,
+                               Header header,
+                               MappedIntArray transitions,
+                               MappedIntArray outputs) {
+        super(alphabet, header, transitions);
+        this.outputAlphabet = outputAlphabet;
+        this.outputs = outputs;
+    }
+
+    /**
+     * Writes the given automaton to the given file, replacing any existing content.
+     *
+     * @param mealy
+     *         the automaton to write
+     * @param outputAlphabet
+     *         the output alphabet which is used to encode the transition outputs. It must contain all outputs of the
+     *         given automaton
+     * @param file
+     *         the file to write to
+     * @param <O>
+     *         output symbol type
+     *
+     * @throws IOException
+     *         if writing fails
+     */
+    public static <O> void write(CompactMealy<?, O> mealy, Alphabet<O> outputAlphabet, Path file)
+            throws IOException {
+        final int numStates = mealy.size();
+        final int numInputs = mealy.numInputs();
+        final Header header = new Header(TYPE, numStates, numInputs, mealy.getIntInitialState());
+
+        try (FileChannel channel = FileChannel.open(file,
+                                                    StandardOpenOption.CREATE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING,
+                                                    StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE)) {
+            writeTransitions(channel, header, mealy);
+
+            final MappedIntArray out =
+                    MappedIntArray.map(channel, MapMode.READ_WRITE, header.getDataOffset(), header.numTransitions());
+
+            for (int s = 0; s < numStates; s++) {
+                final int base = s * numInputs;
+                for (int i = 0; i < numInputs; i++) {
+                    final O output = mealy.getTransitionProperty(s, i);
+                    out.put(base + i, output == null ? NO_OUTPUT : outputAlphabet.getSymbolIndex(output));
+                }
+            }
+
+            out.force();
+        }
+    }
+
+    /**
+     * Opens an automaton that has previously been written via {@link #write(CompactMealy, Alphabet, Path)}. The file
+     * is mapped in read-only mode, hence its contents are only loaded on access.
+     *
+     * @param file
+     *         the file to open
+     * @param alphabet
+     *         the input alphabet of the automaton
+     * @param outputAlphabet
+     *         the output alphabet that has been used for writing the automaton
+     * @param <I>
+     *         input symbol type
+     * @param <O>
+     *         output symbol type
+     *
+     * @return the mapped automaton
+     *
+     * @throws IOException
+     *         if the file cannot be read or does not contain a mapped Mealy machine
+     * @throws IllegalArgumentException
+     *         if the size of the given alphabet does not match the number of inputs of the stored automaton
+     */
+    public static <I, O> MappedCompactMealy<I, O> open(Path file, Alphabet<I> alphabet, Alphabet<O> outputAlphabet)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final Header header = Header.read(channel, TYPE, alphabet);
+
+            if (channel.size() < header.getDataOffset() + MappedIntArray.byteSize(header.numTransitions())) {
+                throw new IOException("File is truncated");
+            }
+
+            final MappedIntArray transitions = header.mapTransitions(channel, MapMode.READ_ONLY);
+            final MappedIntArray outputs =
+                    MappedIntArray.map(channel, MapMode.READ_ONLY, header.getDataOffset(), header.numTransitions());
+
+            return new MappedCompactMealy<>(alphabet, outputAlphabet, header, transitions, outputs);
+        }
+    }
+
+    @Override
+    public @Nullable CompactTransition<O> getTransition(int state, int input) {
+        final int succ = getSuccessor(state, input);
+        return succ == INVALID_STATE ? null : new CompactTransition<>(succ, getTransitionProperty(state, input));
+    }
+
+    @Override
+    public int getIntSuccessor(CompactTransition<O> transition) {
+        return transition.getSuccId();
+    }
+
+    @Override
+    public Void getStateProperty(int state) {
+        return null;
+    }
+
+    @Override
+    public O getTransitionProperty(CompactTransition<O> transition) {
+        return transition.getProperty();
+    }
+
+    @Override
+    public O getTransitionOutput(CompactTransition<O> transition) {
+        return transition.getProperty();
+    }
+
+    @Override
+    // Overridden for performance reasons (to prevent the allocation of transition objects)
+    public @Nullable O getTransitionProperty(int state, int input) {
+        final int idx = outputs.get(toMemoryIndex(state, input));
+        return idx == NO_OUTPUT ? null : outputAlphabet.getSymbol(idx);
+    }
+
+    @Override
+    // Overridden for performance reasons (to prevent the allocation of transition objects)
+    public @Nullable O getOutput(Integer state, I input) {
+        return getTransitionProperty(state.intValue(), getInputAlphabet().getSymbolIndex(input));
+    }
+}
@@ -0,0 +1,53 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelchecking.modelchecker.cache;
+
+import java.util.Collection;
+
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.modelchecking.ModelChecker;
+import net.automatalib.modelchecking.ModelCheckerCache.DFAModelCheckerCache;
+
+/**
+ * A DFAModelCheckerCache that associates the cached counter examples with the structure of the DFA that has been passed
+ * to {@link ModelChecker#findCounterExample(Object, Collection, Object)}.
+ * <p>
+ * In active learning, the same hypothesis (up to isomorphism) is often checked several times, e.g., for different
+ * properties or after a counter example did not lead to a refinement. Contrary to the {@link
+ * SizeDFAModelCheckerCache}, these results remain available regardless of the automata checked in between, and results
+ * are never returned for a structurally different DFA of the same size. The cache is bounded and evicts the least
+ * recently used results.
+ *
+ * @param <I>
+ *         the input type
+ * @param <P>
+ *         the property type
+ * @param <R>
+ *         the counterexample type
+ *
+ * @author agent
+ */
+public class StructuralDFAModelCheckerCache<I, P, R> extends StructuralModelCheckerCache<I, DFA<?, I>, P, R>
+        implements DFAModelCheckerCache<I, P, R> {
+
+    public StructuralDFAModelCheckerCache(DFAModelChecker<I, P, R> modelChecker) {
+        this(modelChecker, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public StructuralDFAModelCheckerCache(DFAModelChecker<I, P, R> modelChecker, int maximumSize) {
+        super(modelChecker, maximumSize);
+    }
+}
@@ -0,0 +1,124 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelchecking.modelchecker.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.commons.util.mappings.MutableMapping;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A canonical representation of the structure of (the initially connected part of) a deterministic automaton. The
+ * states are numbered in the order in which they are discovered by a breadth-first search from the initial state that
+ * explores the inputs in their iteration order. Hence, two automata have equal fingerprints iff their initially
+ * connected parts are isomorphic (including state and transition properties), regardless of their state identifiers.
+ * <p>
+ * The fingerprint stores the complete canonical transition table, so equal hash codes of unequal automata never cause
+ * two fingerprints to be considered equal.
+ *
+ * @author agent
+ */
+final class StructuralFingerprint {
+
+    private static final int UNDEFINED = -1;
+
+    // successors[s * numInputs + i] is the canonical id of the i-successor of s
+    private final int[] successors;
+    // the state property of s followed by the properties of its outgoing transitions
+    private final @Nullable Object[] properties;
+    private final int hash;
+
+    private StructuralFingerprint(int[] successors, @Nullable Object[] properties) {
+        this.successors = successors;
+        this.properties = properties;
+        this.hash = 31 * Arrays.hashCode(successors) + Arrays.hashCode(properties);
+    }
+
+    static <S, I, T> StructuralFingerprint of(UniversalDeterministicAutomaton<S, I, T, ?, ?> automaton,
+                                              Collection<? extends I> inputs) {
+        final S init = automaton.getInitialState();
+
+        if (init == null) {
+            return new StructuralFingerprint(new int[0], new Object[0]);
+        }
+
+        final int numInputs = inputs.size();
+        final int size = automaton.size();
+        final int[] successors = new int[size * numInputs];
+        final @Nullable Object[] properties = new Object[size * (numInputs + 1)];
+
+        final MutableMapping<S, @Nullable Integer> ids = automaton.createStaticStateMapping();
+        final List<S> order = new ArrayList<>(size);
+
+        ids.put(init, 0);
+        order.add(init);
+
+        int succIdx = 0, propIdx = 0;
+
+        // the list of discovered states doubles as the BFS queue
+        for (int i = 0; i < order.size(); i++) {
+            final S state = order.get(i);
+            properties[propIdx++] = automaton.getStateProperty(state);
+
+            for (I input : inputs) {
+                final T trans = automaton.getTransition(state, input);
+
+                if (trans == null) {
+                    successors[succIdx++] = UNDEFINED;
+                    propIdx++;
+                    continue;
+                }
+
+                final S succ = automaton.getSuccessor(trans);
+                Integer id = ids.get(succ);
+
+                if (id == null) {
+                    id = order.size();
+                    ids.put(succ, id);
+                    order.add(succ);
+                }
+
+                successors[succIdx++] = id;
+                properties[propIdx++] = automaton.getTransitionProperty(trans);
+            }
+        }
+
+        return new StructuralFingerprint(Arrays.copyOf(successors, succIdx), Arrays.copyOf(properties, propIdx));
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StructuralFingerprint)) {
+            return false;
+        }
+
+        final StructuralFingerprint that = (StructuralFingerprint) o;
+        return hash == that.hash && Arrays.equals(successors, that.successors) &&
+               Arrays.equals(properties, that.properties);
+    }
+}
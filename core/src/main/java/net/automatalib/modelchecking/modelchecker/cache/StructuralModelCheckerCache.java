@@ -0,0 +1,214 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelchecking.modelchecker.cache;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.modelchecking.ModelChecker;
+import net.automatalib.modelchecking.ModelCheckerCache;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An implementation of a cache for model checkers. Based on the structure of the automaton, the input alphabet and the
+ * property.
+ * <p>
+ * Contrary to the {@link SizeModelCheckerCache}, cached results are not discarded when the size of the automaton
+ * changes. Instead, each result is associated with a {@link StructuralFingerprint canonical representation} of the
+ * checked automaton. Hence, a result is re-used for any automaton that is isomorphic to the checked one (e.g., a
+ * hypothesis that did not change after a refinement), even if other automata have been checked in between, and an
+ * automaton whose structure changed is always checked again, even if its size stays the same.
+ * <p>
+ * The number of cached results is bounded. If the bound is exceeded, the least recently used result is evicted. The
+ * cache can be accessed concurrently. Note that the model checker is invoked outside of any lock, so concurrent misses
+ * for the same key may invoke the model checker more than once.
+ *
+ * @param <I>
+ *         the input type
+ * @param <A>
+ *         the automaton type
+ * @param <P>
+ *         the property type
+ * @param <R>
+ *         the result type of a call to {@link #findCounterExample(UniversalDeterministicAutomaton, Collection,
+ *         Object)}.
+ *
+ * @author agent
+ */
+class StructuralModelCheckerCache<I, A extends UniversalDeterministicAutomaton<?, I, ?, ?, ?>, P, R>
+        implements ModelCheckerCache<I, A, P, R> {
+
+    /**
+     * The default maximum number of cached results.
+     */
+    static final int DEFAULT_MAXIMUM_SIZE = 128;
+
+    private final ModelChecker<I, A, P, R> modelChecker;
+    private final int maximumSize;
+
+    /**
+     * The actual cache (in access order). We need to wrap R in an {@link Optional} because results from
+     * {@link ModelChecker#findCounterExample(Object, Collection, Object)} can be null. Guarded by this.
+     */
+    private final Map<Key<I, P>, Optional<R>> counterExamples;
+
+    // statistics, guarded by this
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    StructuralModelCheckerCache(ModelChecker<I, A, P, R> modelChecker, int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("The maximum size must be positive: " + maximumSize);
+        }
+
+        this.modelChecker = modelChecker;
+        this.maximumSize = maximumSize;
+        this.counterExamples = new LinkedHashMap<Key<I, P>, Optional<R>>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key<I, P>, Optional<R>> eldest) {
+                if (size() > StructuralModelCheckerCache.this.maximumSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * The cached implementation for finding counter examples.
+     *
+     * @see ModelChecker#findCounterExample(Object, Collection, Object)
+     */
+    @Override
+    public @Nullable R findCounterExample(A automaton, Collection<? extends I> inputs, P property) {
+        final UniversalDeterministicAutomaton<?, I, ?, ?, ?> structure = automaton;
+        final Key<I, P> key = new Key<>(StructuralFingerprint.of(structure, inputs), inputs, property);
+
+        synchronized (this) {
+            final Optional<R> cached = counterExamples.get(key);
+            if (cached != null) {
+                hits++;
+                return cached.orElse(null);
+            }
+            misses++;
+        }
+
+        final Optional<R> result = Optional.ofNullable(modelChecker.findCounterExample(automaton, inputs, property));
+
+        synchronized (this) {
+            counterExamples.put(key, result);
+        }
+
+        return result.orElse(null);
+    }
+
+    @Override
+    public synchronized void clear() {
+        counterExamples.clear();
+    }
+
+    /**
+     * Returns the maximum number of results stored in this cache.
+     *
+     * @return the maximum number of results stored in this cache
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns the number of results currently stored in this cache.
+     *
+     * @return the number of results currently stored in this cache
+     */
+    public synchronized int size() {
+        return counterExamples.size();
+    }
+
+    /**
+     * Returns the number of queries that have been answered from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of queries that have been delegated to the model checker.
+     *
+     * @return the number of cache misses
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of results that have been evicted from the cache due to its size limit. Results removed by
+     * {@link #clear()} are not counted.
+     *
+     * @return the number of evicted results
+     */
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * The key of a cached result.
+     */
+    private static final class Key<I, P> {
+
+        private final StructuralFingerprint fingerprint;
+        private final Collection<? extends I> inputs;
+        private final P property;
+        private final int hash;
+
+        Key(StructuralFingerprint fingerprint, Collection<? extends I> inputs, P property) {
+            this.fingerprint = fingerprint;
+            this.inputs = inputs;
+            this.property = property;
+            this.hash = Objects.hash(fingerprint, inputs, property);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            final Key<?, ?> that = (Key<?, ?>) o;
+            return hash == that.hash && fingerprint.equals(that.fingerprint) && Objects.equals(inputs, that.inputs) &&
+                   Objects.equals(property, that.property);
+        }
+    }
+}
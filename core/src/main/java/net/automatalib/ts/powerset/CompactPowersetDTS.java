@@ -0,0 +1,90 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.ts.powerset;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+import net.automatalib.automata.base.compact.AbstractCompactSimpleNondet;
+import net.automatalib.ts.PowersetViewTS;
+
+/**
+ * A powerset view for {@link AbstractCompactSimpleNondet}-based automata. Sets of states are represented by {@link
+ * BitSet}s of state ids, which are computed via the primitive successor accessors of the automaton.
+ * <p>
+ * As the transitions of {@link AbstractCompactSimpleNondet}s directly correspond to their successors, a transition of
+ * this view is represented by the same set of state ids as its successor.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author agent
+ */
+public class CompactPowersetDTS<I> implements PowersetViewTS<BitSet, I, BitSet, Integer, Integer> {
+
+    private final AbstractCompactSimpleNondet<I, ?> ts;
+
+    public CompactPowersetDTS(AbstractCompactSimpleNondet<I, ?> ts) {
+        this.ts = ts;
+    }
+
+    @Override
+    public BitSet getInitialState() {
+        final BitSet result = new BitSet();
+        for (Integer init : ts.getInitialStates()) {
+            result.set(init);
+        }
+        return result;
+    }
+
+    @Override
+    public BitSet getSuccessor(BitSet transition) {
+        return transition;
+    }
+
+    @Override
+    public BitSet getSuccessor(BitSet state, I input) {
+        return getTransition(state, input);
+    }
+
+    @Override
+    public BitSet getTransition(BitSet state, I input) {
+        final int inputIdx = ts.getInputAlphabet().getSymbolIndex(input);
+        final BitSet result = new BitSet();
+
+        for (int s = state.nextSetBit(0); s >= 0; s = state.nextSetBit(s + 1)) {
+            ts.forEachSuccessor(s, inputIdx, result::set);
+        }
+
+        return result;
+    }
+
+    @Override
+    public Collection<Integer> getOriginalStates(BitSet state) {
+        final List<Integer> result = new ArrayList<>(state.cardinality());
+        for (int s = state.nextSetBit(0); s >= 0; s = state.nextSetBit(s + 1)) {
+            result.add(s);
+        }
+        return result;
+    }
+
+    @Override
+    public Collection<Integer> getOriginalTransitions(BitSet transition) {
+        return getOriginalStates(transition);
+    }
+}
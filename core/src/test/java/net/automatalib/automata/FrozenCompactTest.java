@@ -0,0 +1,161 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata;
+
+import java.util.Random;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.fsa.impl.compact.FrozenCompactDFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.automata.transducers.impl.compact.FrozenCompactMealy;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the frozen (CSR-based) snapshots of compact automata.
+ *
+ * @author agent
+ */
+public class FrozenCompactTest {
+
+    private static final Alphabet<Integer> ALPHABET = Alphabets.integers(0, 9);
+    private static final int SIZE = 100;
+
+    @DataProvider(name = "densities")
+    public static Object[][] densities() {
+        return new Object[][] {{0.0}, {0.3}, {1.0}};
+    }
+
+    @Test(dataProvider = "densities")
+    public void testDFA(double density) {
+        final Random random = new Random(42);
+        final CompactDFA<Integer> dfa = new CompactDFA<>(ALPHABET);
+
+        for (int i = 0; i < SIZE; i++) {
+            dfa.addState(random.nextBoolean());
+        }
+        dfa.setInitialState(0);
+
+        for (int s = 0; s < SIZE; s++) {
+            for (int i = 0; i < ALPHABET.size(); i++) {
+                if (random.nextDouble() < density) {
+                    dfa.setTransition(s, i, random.nextInt(SIZE));
+                }
+            }
+        }
+
+        final FrozenCompactDFA<Integer> frozen = dfa.freeze();
+        checkEquals(dfa, frozen);
+
+        for (int s = 0; s < SIZE; s++) {
+            Assert.assertEquals(frozen.isAccepting(s), dfa.isAccepting(s));
+            Assert.assertEquals(frozen.getLocalInputs(s), dfa.getLocalInputs(s));
+        }
+
+        final Word<Integer> word = Word.fromSymbols(1, 2, 3, 4);
+        Assert.assertEquals(frozen.accepts(word), dfa.accepts(word));
+        Assert.assertEquals(frozen.getState(word), dfa.getState(word));
+
+        // modifications of the original automaton must not affect the snapshot
+        final CompactDFA<Integer> copy = new CompactDFA<>(dfa);
+        dfa.flipAcceptance();
+        dfa.removeAllTransitions(0);
+        dfa.addState();
+        checkEquals(copy, frozen);
+    }
+
+    @Test(dataProvider = "densities")
+    public void testMealy(double density) {
+        final Random random = new Random(42);
+        final CompactMealy<Integer, String> mealy = new CompactMealy<>(ALPHABET);
+
+        for (int i = 0; i < SIZE; i++) {
+            mealy.addState();
+        }
+        mealy.setInitialState(0);
+
+        for (int s = 0; s < SIZE; s++) {
+            for (int i = 0; i < ALPHABET.size(); i++) {
+                if (random.nextDouble() < density) {
+                    mealy.setTransition(s, i, random.nextInt(SIZE), Integer.toString(random.nextInt(3)));
+                }
+            }
+        }
+
+        final FrozenCompactMealy<Integer, String> frozen = mealy.freeze();
+        checkEquals(mealy, frozen);
+
+        for (int s = 0; s < SIZE; s++) {
+            for (Integer i : ALPHABET) {
+                Assert.assertEquals(frozen.getOutput(s, i), mealy.getOutput(s, i));
+            }
+        }
+
+        final Word<Integer> word = Word.fromSymbols(1, 2, 3, 4);
+        Assert.assertEquals(frozen.computeOutput(word), mealy.computeOutput(word));
+
+        // modifications of the original automaton must not affect the snapshot
+        final CompactMealy<Integer, String> copy = new CompactMealy<>(ALPHABET);
+        for (int s = 0; s < SIZE; s++) {
+            copy.addState();
+        }
+        copy.setInitialState(0);
+        for (int s = 0; s < SIZE; s++) {
+            for (int i = 0; i < ALPHABET.size(); i++) {
+                final int succ = mealy.getSuccessor(s, i);
+                if (succ >= 0) {
+                    copy.setTransition(s, i, succ, mealy.getTransitionProperty(s, i));
+                }
+            }
+        }
+
+        mealy.removeAllTransitions(0);
+        mealy.setTransition(1, 0, 2, "changed");
+        checkEquals(copy, frozen);
+    }
+
+    private static <T1, T2, SP, TP> void checkEquals(UniversalDeterministicAutomaton.FullIntAbstraction<T1, SP, TP> expected,
+                                                     UniversalDeterministicAutomaton.FullIntAbstraction<T2, SP, TP> actual) {
+        Assert.assertEquals(actual.size(), expected.size());
+        Assert.assertEquals(actual.numInputs(), expected.numInputs());
+        Assert.assertEquals(actual.getIntInitialState(), expected.getIntInitialState());
+
+        for (int s = 0; s < expected.size(); s++) {
+            Assert.assertEquals(actual.getStateProperty(s), expected.getStateProperty(s));
+
+            for (int i = 0; i < expected.numInputs(); i++) {
+                final T1 expectedTrans = expected.getTransition(s, i);
+                final T2 actualTrans = actual.getTransition(s, i);
+
+                Assert.assertEquals(actual.getSuccessor(s, i), expected.getSuccessor(s, i));
+                Assert.assertEquals(actual.getTransitionProperty(s, i), expected.getTransitionProperty(s, i));
+
+                if (expectedTrans == null) {
+                    Assert.assertNull(actualTrans);
+                } else {
+                    Assert.assertNotNull(actualTrans);
+                    Assert.assertEquals(actual.getIntSuccessor(actualTrans), expected.getIntSuccessor(expectedTrans));
+                    Assert.assertEquals(actual.getTransitionProperty(actualTrans),
+                                        expected.getTransitionProperty(expectedTrans));
+                }
+            }
+        }
+    }
+}
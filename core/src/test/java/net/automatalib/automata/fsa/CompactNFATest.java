@@ -0,0 +1,180 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.fsa;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.commons.smartcollections.IntSeq;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import net.automatalib.words.impl.GrowingMapAlphabet;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the primitive successor storage of {@link CompactNFA}s.
+ *
+ * @author agent
+ */
+public class CompactNFATest {
+
+    private static final Alphabet<String> ALPHABET = Alphabets.fromArray("a", "b");
+
+    @Test
+    public void testAddAndRemove() {
+        final CompactNFA<String> nfa = new CompactNFA<>(ALPHABET);
+
+        for (int i = 0; i < 20; i++) {
+            nfa.addState();
+        }
+
+        // insert in non-sorted order and with duplicates
+        final int[] succs = {7, 3, 19, 0, 3, 12, 5, 7, 1, 18, 4};
+        final Set<Integer> expected = new TreeSet<>();
+
+        for (int s : succs) {
+            nfa.addTransition(0, "a", s);
+            expected.add(s);
+            checkSuccessors(nfa, 0, "a", expected);
+        }
+
+        checkSuccessors(nfa, 0, "b", Collections.emptySet());
+
+        nfa.removeTransition(0, "a", 3);
+        nfa.removeTransition(0, "a", 0);
+        nfa.removeTransition(0, "a", 19);
+        nfa.removeTransition(0, "a", 2); // not contained
+        expected.removeAll(Arrays.asList(3, 0, 19));
+        checkSuccessors(nfa, 0, "a", expected);
+
+        for (int s : new ArrayList<>(expected)) {
+            nfa.removeTransition(0, "a", s);
+        }
+        checkSuccessors(nfa, 0, "a", Collections.emptySet());
+    }
+
+    @Test
+    public void testSetTransitions() {
+        final CompactNFA<String> nfa = new CompactNFA<>(ALPHABET);
+
+        for (int i = 0; i < 5; i++) {
+            nfa.addState();
+        }
+
+        nfa.setTransitions(1, "b", Arrays.asList(4, 2, 2, 0));
+        checkSuccessors(nfa, 1, "b", new TreeSet<>(Arrays.asList(0, 2, 4)));
+
+        // setting the transitions from the (live) view of the same transitions
+        nfa.setTransitions(1, "b", nfa.getTransitions(1, "b"));
+        checkSuccessors(nfa, 1, "b", new TreeSet<>(Arrays.asList(0, 2, 4)));
+
+        nfa.setTransitions(1, 1, 3, 1, 3);
+        checkSuccessors(nfa, 1, "b", new TreeSet<>(Arrays.asList(1, 3)));
+
+        nfa.setTransitions(1, "b", Collections.emptySet());
+        checkSuccessors(nfa, 1, "b", Collections.emptySet());
+    }
+
+    @Test
+    public void testViews() {
+        final CompactNFA<String> nfa = new CompactNFA<>(ALPHABET);
+
+        final int s0 = nfa.addInitialState(false);
+        final int s1 = nfa.addState(true);
+
+        final Set<Integer> view = nfa.getTransitions(s0, "a");
+        final IntSeq snapshot = nfa.getIntTransitions(s0, "a");
+
+        nfa.addTransition(s0, "a", s1);
+        nfa.addTransition(s0, "a", s0);
+
+        Assert.assertEquals(view, new TreeSet<>(Arrays.asList(s0, s1)));
+        Assert.assertTrue(view.contains(s1));
+        Assert.assertFalse(view.contains("s1"));
+        Assert.assertEquals(snapshot.size(), 0);
+
+        Assert.assertThrows(UnsupportedOperationException.class, () -> view.add(s1));
+
+        // snapshots are not affected by modifications of the (in-place updated) successor array
+        final IntSeq nonEmptySnapshot = nfa.getIntTransitions(s0, "a");
+
+        nfa.removeTransition(s0, "a", s0);
+
+        Assert.assertEquals(nonEmptySnapshot.size(), 2);
+        Assert.assertEquals(nonEmptySnapshot.get(0), s0);
+        Assert.assertEquals(nonEmptySnapshot.get(1), s1);
+    }
+
+    @Test
+    public void testCopyAndGrowingAlphabet() {
+        final Alphabet<String> alphabet = new GrowingMapAlphabet<>(ALPHABET);
+        final CompactNFA<String> nfa = new CompactNFA<>(alphabet);
+
+        final int s0 = nfa.addInitialState(false);
+        final int s1 = nfa.addState(true);
+
+        nfa.addTransition(s0, "a", s0);
+        nfa.addTransition(s0, "a", s1);
+        nfa.addTransition(s1, "b", s0);
+
+        final CompactNFA<Integer> copy = nfa.translate(Alphabets.integers(0, 1));
+
+        nfa.addAlphabetSymbol("c");
+        nfa.addTransition(s1, "c", s1);
+        final int s2 = nfa.addState();
+        nfa.addTransition(s0, "a", s2);
+
+        checkSuccessors(nfa, s0, "a", new TreeSet<>(Arrays.asList(s0, s1, s2)));
+        checkSuccessors(nfa, s1, "b", Collections.singleton(s0));
+        checkSuccessors(nfa, s1, "c", Collections.singleton(s1));
+
+        // modifications of the original automaton must not affect the copy
+        checkSuccessors(copy, s0, 0, new TreeSet<>(Arrays.asList(0, 1)));
+        checkSuccessors(copy, s1, 1, Collections.singleton(s0));
+    }
+
+    private static <I> void checkSuccessors(CompactNFA<I> nfa, int state, I input, Set<Integer> expected) {
+        final List<Integer> expectedList = new ArrayList<>(expected);
+
+        Assert.assertEquals(nfa.getTransitions(state, input), expected);
+        Assert.assertEquals(nfa.getSuccessors(state, input), expected);
+        Assert.assertEquals(new ArrayList<>(nfa.getTransitions(state, input)), expectedList);
+
+        final IntSeq seq = nfa.getIntTransitions(state, input);
+        final List<Integer> seqList = new ArrayList<>(seq.size());
+        seq.forEach(seqList::add);
+        Assert.assertEquals(seqList, expectedList);
+
+        final List<Integer> consumerList = new ArrayList<>();
+        nfa.forEachSuccessor(state, input, consumerList::add);
+        Assert.assertEquals(consumerList, expectedList);
+
+        final int inputIdx = nfa.getInputAlphabet().getSymbolIndex(input);
+        final int numSuccs = nfa.numSuccessors(state, inputIdx);
+        final List<Integer> indexedList = new ArrayList<>(numSuccs);
+        for (int i = 0; i < numSuccs; i++) {
+            indexedList.add(nfa.getSuccessor(state, inputIdx, i));
+        }
+        Assert.assertEquals(indexedList, expectedList);
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> nfa.getSuccessor(state, inputIdx, numSuccs));
+    }
+}
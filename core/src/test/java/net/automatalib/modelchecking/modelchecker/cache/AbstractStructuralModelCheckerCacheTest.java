@@ -0,0 +1,166 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelchecking.modelchecker.cache;
+
+import net.automatalib.automata.MutableDeterministic;
+import net.automatalib.modelchecking.ModelChecker;
+import net.automatalib.words.Alphabet;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Abstract super class for structure based modelchecker caches.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <R>
+ *         counterexample type
+ * @param <MA>
+ *         mutable automaton type
+ * @param <MC>
+ *         model checker type
+ * @param <C>
+ *         cache type
+ *
+ * @author agent
+ */
+public abstract class AbstractStructuralModelCheckerCacheTest<I, R, MA extends MutableDeterministic<?, I, ?, ?, ?>, MC extends ModelChecker<I, ? super MA, Object, R> & ModelCheckCounter, C extends StructuralModelCheckerCache<I, ? super MA, Object, R>> {
+
+    private Object property;
+    private R counterexample;
+
+    private MC modelCheckerMockUp;
+    private C cache;
+    private MA automaton;
+
+    @BeforeClass
+    public void setUp() {
+        this.property = new Object();
+        this.counterexample = getCounterexample();
+
+        this.automaton = getAutomaton();
+        this.modelCheckerMockUp = getModelChecker(automaton, property, counterexample);
+        this.cache = getCache(modelCheckerMockUp, StructuralModelCheckerCache.DEFAULT_MAXIMUM_SIZE);
+    }
+
+    @Test
+    public void testCacheMiss() {
+        check(cache, 1, 0);
+    }
+
+    @Test(dependsOnMethods = "testCacheMiss")
+    public void testCacheHit() {
+        check(cache, 1, 1);
+    }
+
+    @Test(dependsOnMethods = "testCacheHit")
+    public void testStructureChange() {
+        // same size, different structure
+        toggle(automaton, getAlphabet().getSymbol(0));
+        check(cache, 2, 1);
+    }
+
+    @Test(dependsOnMethods = "testStructureChange")
+    public void testStructureRevert() {
+        // the result for the original structure is still cached
+        toggle(automaton, getAlphabet().getSymbol(0));
+        check(cache, 2, 2);
+        Assert.assertEquals(cache.size(), 2);
+    }
+
+    @Test(dependsOnMethods = "testStructureRevert")
+    public void testUnreachableState() {
+        automaton.addState();
+        check(cache, 2, 3);
+    }
+
+    @Test(dependsOnMethods = "testUnreachableState")
+    public void testCacheClear() {
+        cache.clear();
+        check(cache, 3, 3);
+    }
+
+    @Test
+    public void testEviction() {
+        final MA automaton = getAutomaton();
+        final MC modelChecker = getModelChecker(automaton, property, counterexample);
+        final C cache = getCache(modelChecker, 1);
+        final I input = getAlphabet().getSymbol(0);
+
+        Assert.assertSame(cache.findCounterExample(automaton, getAlphabet(), property), counterexample);
+        toggle(automaton, input);
+        Assert.assertSame(cache.findCounterExample(automaton, getAlphabet(), property), counterexample);
+        toggle(automaton, input);
+        Assert.assertSame(cache.findCounterExample(automaton, getAlphabet(), property), counterexample);
+
+        Assert.assertEquals(modelChecker.getChecks(), 3);
+        Assert.assertEquals(cache.getEvictionCount(), 2);
+        Assert.assertEquals(cache.getMissCount(), 3);
+        Assert.assertEquals(cache.size(), 1);
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> getCache(modelChecker, 0));
+    }
+
+    private void check(C cache, int expectedChecks, int expectedHits) {
+        final Object ce = cache.findCounterExample(this.automaton, getAlphabet(), property);
+        Assert.assertSame(ce, counterexample);
+        Assert.assertEquals(this.modelCheckerMockUp.getChecks(), expectedChecks);
+        Assert.assertEquals(cache.getMissCount(), expectedChecks);
+        Assert.assertEquals(cache.getHitCount(), expectedHits);
+    }
+
+    /**
+     * Redirects the given transition of the initial state either to the initial state or to another state.
+     */
+    private void toggle(MA automaton, I input) {
+        final MutableDeterministic<?, I, ?, ?, ?> mutable = automaton;
+        toggleInternal(mutable, input);
+    }
+
+    private static <S, I, T> void toggleInternal(MutableDeterministic<S, I, T, ?, ?> automaton, I input) {
+        final S init = automaton.getInitialState();
+        Assert.assertNotNull(init);
+        final T trans = automaton.getTransition(init, input);
+        Assert.assertNotNull(trans);
+
+        S target = init;
+        if (init.equals(automaton.getSuccessor(trans))) {
+            for (S s : automaton.getStates()) {
+                if (!s.equals(init)) {
+                    target = s;
+                    break;
+                }
+            }
+        }
+
+        automaton.setTransition(init, input, automaton.copyTransition(trans, target));
+    }
+
+    protected abstract MC getModelChecker(MA automaton, Object property, R counterexample);
+
+    protected abstract C getCache(MC mockup, int maximumSize);
+
+    /**
+     * Returns a complete automaton over {@link #getAlphabet()} with at least two (reachable) states.
+     */
+    protected abstract MA getAutomaton();
+
+    protected abstract Alphabet<I> getAlphabet();
+
+    protected abstract R getCounterexample();
+
+}
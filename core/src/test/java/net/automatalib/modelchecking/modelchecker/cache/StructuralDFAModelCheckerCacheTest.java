@@ -0,0 +1,78 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelchecking.modelchecker.cache;
+
+import net.automatalib.automata.fsa.MutableDFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.modelchecking.Lasso.DFALasso;
+import net.automatalib.modelchecking.modelchecker.cache.ModelCheckerMock.DFAModelCheckerMock;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.mockito.Mockito;
+
+/**
+ * @author agent
+ */
+public class StructuralDFAModelCheckerCacheTest
+        extends AbstractStructuralModelCheckerCacheTest<Character, DFALasso<Character>, MutableDFA<?, Character>, DFAModelCheckerMock<Character>, StructuralDFAModelCheckerCache<Character, Object, DFALasso<Character>>> {
+
+    private static final Alphabet<Character> ALPHABET = Alphabets.characters('a', 'b');
+
+    @Override
+    protected DFAModelCheckerMock<Character> getModelChecker(MutableDFA<?, Character> automaton,
+                                                             Object property,
+                                                             DFALasso<Character> counterexample) {
+        return new DFAModelCheckerMock<>(automaton, property, counterexample);
+    }
+
+    @Override
+    protected StructuralDFAModelCheckerCache<Character, Object, DFALasso<Character>> getCache(DFAModelCheckerMock<Character> mockup,
+                                                                                              int maximumSize) {
+        return new StructuralDFAModelCheckerCache<>(mockup, maximumSize);
+    }
+
+    @Override
+    protected MutableDFA<?, Character> getAutomaton() {
+        return buildDFA(ALPHABET);
+    }
+
+    @Override
+    protected Alphabet<Character> getAlphabet() {
+        return ALPHABET;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected DFALasso<Character> getCounterexample() {
+        return (DFALasso<Character>) Mockito.mock(DFALasso.class);
+    }
+
+    static CompactDFA<Character> buildDFA(Alphabet<Character> alphabet) {
+        final CompactDFA<Character> dfa = new CompactDFA<>(alphabet);
+        final int q0 = dfa.addInitialState(false);
+        final int q1 = dfa.addState(true);
+
+        final int a = alphabet.getSymbolIndex('a');
+        final int b = alphabet.getSymbolIndex('b');
+
+        dfa.setTransition(q0, a, q0);
+        dfa.setTransition(q0, b, q1);
+        dfa.setTransition(q1, a, q0);
+        dfa.setTransition(q1, b, q0);
+
+        return dfa;
+    }
+}
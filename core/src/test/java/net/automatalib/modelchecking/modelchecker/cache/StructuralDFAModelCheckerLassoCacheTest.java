@@ -0,0 +1,61 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelchecking.modelchecker.cache;
+
+import net.automatalib.automata.fsa.MutableDFA;
+import net.automatalib.modelchecking.Lasso.DFALasso;
+import net.automatalib.modelchecking.modelchecker.cache.ModelCheckerMock.DFAModelCheckerMock;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.mockito.Mockito;
+
+/**
+ * @author agent
+ */
+public class StructuralDFAModelCheckerLassoCacheTest
+        extends AbstractStructuralModelCheckerCacheTest<Character, DFALasso<Character>, MutableDFA<?, Character>, DFAModelCheckerMock<Character>, StructuralDFAModelCheckerLassoCache<Character, Object>> {
+
+    private static final Alphabet<Character> ALPHABET = Alphabets.characters('a', 'b');
+
+    @Override
+    protected DFAModelCheckerMock<Character> getModelChecker(MutableDFA<?, Character> automaton,
+                                                             Object property,
+                                                             DFALasso<Character> counterexample) {
+        return new DFAModelCheckerMock<>(automaton, property, counterexample);
+    }
+
+    @Override
+    protected StructuralDFAModelCheckerLassoCache<Character, Object> getCache(DFAModelCheckerMock<Character> mockup,
+                                                                                              int maximumSize) {
+        return new StructuralDFAModelCheckerLassoCache<>(mockup, maximumSize);
+    }
+
+    @Override
+    protected MutableDFA<?, Character> getAutomaton() {
+        return StructuralDFAModelCheckerCacheTest.buildDFA(ALPHABET);
+    }
+
+    @Override
+    protected Alphabet<Character> getAlphabet() {
+        return ALPHABET;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected DFALasso<Character> getCounterexample() {
+        return (DFALasso<Character>) Mockito.mock(DFALasso.class);
+    }
+}
@@ -0,0 +1,62 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelchecking.modelchecker.cache;
+
+import net.automatalib.automata.transducers.MutableMealyMachine;
+import net.automatalib.modelchecking.Lasso.MealyLasso;
+import net.automatalib.modelchecking.modelchecker.cache.ModelCheckerMock.MealyModelCheckerMock;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.mockito.Mockito;
+
+/**
+ * @author agent
+ */
+public class StructuralMealyModelCheckerLassoCacheTest
+        extends AbstractStructuralModelCheckerCacheTest<Character, MealyLasso<Character, String>, MutableMealyMachine<?, Character, ?, String>, MealyModelCheckerMock<Character, String>, StructuralMealyModelCheckerLassoCache<Character, String, Object>> {
+
+    private static final Alphabet<Character> ALPHABET = Alphabets.characters('a', 'b');
+
+    @Override
+    protected MealyModelCheckerMock<Character, String> getModelChecker(MutableMealyMachine<?, Character, ?, String> automaton,
+                                                                       Object property,
+                                                                       MealyLasso<Character, String> counterexample) {
+        return new MealyModelCheckerMock<>(automaton, property, counterexample);
+    }
+
+    @Override
+    protected StructuralMealyModelCheckerLassoCache<Character, String, Object> getCache(
+            MealyModelCheckerMock<Character, String> mockup,
+            int maximumSize) {
+        return new StructuralMealyModelCheckerLassoCache<>(mockup, maximumSize);
+    }
+
+    @Override
+    protected MutableMealyMachine<?, Character, ?, String> getAutomaton() {
+        return StructuralMealyModelCheckerCacheTest.buildMealy(ALPHABET);
+    }
+
+    @Override
+    protected Alphabet<Character> getAlphabet() {
+        return ALPHABET;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected MealyLasso<Character, String> getCounterexample() {
+        return (MealyLasso<Character, String>) Mockito.mock(MealyLasso.class);
+    }
+}
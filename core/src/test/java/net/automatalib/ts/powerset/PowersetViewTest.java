@@ -16,6 +16,7 @@
 package net.automatalib.ts.powerset;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -54,6 +55,14 @@ public class PowersetViewTest {
         checkConstructedSystem(powersetDTS, system, HashSet::new);
     }
 
+    @Test
+    public void testCompactPowerset() {
+        final ConstructedSystem<CompactNFA<Character>, Integer> system = constructSystem(CompactNFA::new);
+        final CompactPowersetDTS<Character> powersetDTS = system.automaton.powersetView();
+
+        checkConstructedSystem(powersetDTS, system, PowersetViewTest::toBitSet);
+    }
+
     private static <S, A extends MutableNFA<S, Character>> ConstructedSystem<A, S> constructSystem(Function<Alphabet<Character>, A> constructor) {
         final Alphabet<Character> alphabet = Alphabets.characters('a', 'c');
         final A nfa = constructor.apply(alphabet);
@@ -129,6 +138,16 @@ public class PowersetViewTest {
         return result;
     }
 
+    private static BitSet toBitSet(Collection<Integer> from) {
+        final BitSet result = new BitSet();
+
+        for (final Integer s : from) {
+            result.set(s);
+        }
+
+        return result;
+    }
+
     private static class ConstructedSystem<A, OS> {
 
         private final A automaton;
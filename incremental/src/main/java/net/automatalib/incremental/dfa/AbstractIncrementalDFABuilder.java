@@ -18,6 +18,7 @@ package net.automatalib.incremental.dfa;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import net.automatalib.automata.concepts.InputAlphabetHolder;
@@ -66,6 +67,14 @@ public abstract class AbstractIncrementalDFABuilder<I> implements IncrementalDFA
         insert(word, true);
     }
 
+    protected static void checkBatchSize(List<?> words, List<?> acceptances) {
+        if (words.size() != acceptances.size()) {
+            throw new IllegalArgumentException(
+                    "Number of words and acceptances must match, but they do not: " + words.size() + " vs. " +
+                    acceptances.size());
+        }
+    }
+
     protected abstract static class AbstractGraphView<I, N, E> implements GraphView<I, N, E> {
 
         @Override
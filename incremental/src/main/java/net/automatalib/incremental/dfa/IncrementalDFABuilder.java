@@ -15,6 +15,9 @@
  */
 package net.automatalib.incremental.dfa;
 
+import java.util.Iterator;
+import java.util.List;
+
 import net.automatalib.SupportsGrowingAlphabet;
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.graphs.Graph;
@@ -69,6 +72,32 @@ public interface IncrementalDFABuilder<I> extends IncrementalConstruction<DFA<?,
      */
     void insert(Word<? extends I> word);
 
+    /**
+     * Inserts a batch of words into the automaton, with the given acceptance values. This is semantically equivalent to
+     * inserting each word individually via {@link #insert(Word, boolean)}, but implementations may process the batch
+     * more efficiently (e.g., by sharing the work for common prefixes).
+     *
+     * @param words
+     *         the words to insert
+     * @param acceptances
+     *         the acceptance values of the words, i.e., the {@code i}-th acceptance value denotes whether or not the
+     *         {@code i}-th word should be marked as accepting
+     *
+     * @throws ConflictException
+     *         if the newly provided information conflicts with existing information (or other information of the batch).
+     *         Unless stated otherwise by an implementation, the batch may have been incorporated partially in this case
+     * @throws IllegalArgumentException
+     *         if the number of words and acceptance values differ
+     */
+    default void insertAll(List<? extends Word<? extends I>> words, List<Boolean> acceptances) {
+        AbstractIncrementalDFABuilder.checkBatchSize(words, acceptances);
+
+        final Iterator<Boolean> accIt = acceptances.iterator();
+        for (Word<? extends I> word : words) {
+            insert(word, accIt.next());
+        }
+    }
+
     @Override
     GraphView<I, ?, ?> asGraph();
 
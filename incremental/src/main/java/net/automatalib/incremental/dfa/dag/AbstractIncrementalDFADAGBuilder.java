@@ -40,7 +40,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 public abstract class AbstractIncrementalDFADAGBuilder<I> extends AbstractIncrementalDFABuilder<I> {
 
-    protected final Map<StateSignature, State> register = new HashMap<>();
+    protected final StateRegister register = new StateRegister();
     protected final State init;
     protected State sink;
 
@@ -48,7 +48,7 @@ public abstract class AbstractIncrementalDFADAGBuilder<I> extends AbstractIncrem
         super(inputAlphabet);
         StateSignature sig = new StateSignature(alphabetSize, Acceptance.DONT_KNOW);
         this.init = new State(sig);
-        register.put(sig, init);
+        register.put(init);
     }
 
     @Override
@@ -326,7 +326,7 @@ public abstract class AbstractIncrementalDFADAGBuilder<I> extends AbstractIncrem
             return other;
         }
 
-        register.put(sig, state);
+        register.put(state);
         return state;
     }
 
@@ -345,7 +345,7 @@ public abstract class AbstractIncrementalDFADAGBuilder<I> extends AbstractIncrem
         }
 
         state = new State(sig);
-        register.put(sig, state);
+        register.put(state);
         for (int i = 0; i < sig.successors.array.length; i++) {
             State succ = sig.successors.array[i];
             if (succ != null) {
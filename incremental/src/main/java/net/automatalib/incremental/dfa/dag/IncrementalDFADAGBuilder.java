@@ -16,9 +16,13 @@
 package net.automatalib.incremental.dfa.dag;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Deque;
 import java.util.Iterator;
+import java.util.List;
 
+import net.automatalib.commons.util.comparison.CmpUtil;
 import net.automatalib.incremental.ConflictException;
 import net.automatalib.incremental.dfa.Acceptance;
 import net.automatalib.words.Alphabet;
@@ -182,6 +186,17 @@ public class IncrementalDFADAGBuilder<I> extends AbstractIncrementalDFADAGBuilde
         }
 
         if (conf != null) {
+            // The states preceding the confluence state will be updated afterwards. Hide them, so that none of the
+            // clones can be merged with one of their (outdated) signatures.
+            final Iterator<PathElem> iter = path.descendingIterator();
+            State prefixState = iter.next().state;
+            while (prefixState != conf) {
+                if (prefixState != init) {
+                    hide(prefixState);
+                }
+                prefixState = iter.next().state;
+            }
+
             PathElem next;
             do {
                 next = path.pop();
@@ -190,6 +205,15 @@ public class IncrementalDFADAGBuilder<I> extends AbstractIncrementalDFADAGBuilde
                 state = clone(state, idx, last);
                 last = state;
             } while (next.state != conf);
+
+            // Since all remaining states have been hidden, all of them need to be re-registered
+            while (path.size() > 1) {
+                next = path.pop();
+                last = unhide(next.state, next.transIdx, last);
+            }
+
+            updateInitSignature(path.pop().transIdx, last);
+            return;
         }
 
         while (path.size() > 1) {
@@ -208,6 +232,274 @@ public class IncrementalDFADAGBuilder<I> extends AbstractIncrementalDFADAGBuilde
         updateInitSignature(finalIdx, last);
     }
 
+    /**
+     * Inserts a batch of words with the given acceptance values.
+     * <p>
+     * The batch is sorted lexicographically and incorporated in a single (iterative) traversal of the DAG: the work for
+     * common prefixes is shared among all words of the batch and each affected state is re-canonicalized only once,
+     * after all words of its sub-tree have been processed. States that are reachable via a confluence are not updated
+     * in place but replaced by (canonical) copies, which separates them from the other paths. States that become
+     * unreachable by this procedure are removed afterwards.
+     * <p>
+     * In contrast to the sequential insertion of the words, this operation is atomic: if any word of the batch
+     * conflicts with existing information (or other words of the batch), a {@link ConflictException} is thrown before
+     * any modification takes place.
+     *
+     * @param words
+     *         the words to insert
+     * @param acceptances
+     *         the acceptance values of the words
+     */
+    @Override
+    public void insertAll(List<? extends Word<? extends I>> words, List<Boolean> acceptances) {
+        checkBatchSize(words, acceptances);
+
+        final int size = words.size();
+        final BatchEntry[] batch = new BatchEntry[size];
+        final Iterator<Boolean> accIt = acceptances.iterator();
+
+        int i = 0;
+        for (Word<? extends I> word : words) {
+            final int[] indices = new int[word.length()];
+            int j = 0;
+            for (I sym : word) {
+                indices[j++] = inputAlphabet.getSymbolIndex(sym);
+            }
+            batch[i++] = new BatchEntry(indices, Acceptance.fromBoolean(accIt.next()));
+        }
+
+        Arrays.sort(batch, (e1, e2) -> CmpUtil.lexCompare(e1.word, e2.word));
+
+        validateBatch(batch);
+
+        // the initial state is updated in place, so process its sub-trees individually
+        i = 0;
+        while (i < size && batch[i].word.length == 0) {
+            updateInitSignature(batch[i].acc);
+            i++;
+        }
+
+        final List<State> replaced = new ArrayList<>();
+        while (i < size) {
+            final int idx = batch[i].word[0];
+            final int next = nextGroup(batch, i, size, 0);
+
+            final State oldSucc = init.getSuccessor(idx);
+            final State newSucc = insertBatch(oldSucc, batch, i, next, replaced);
+
+            if (oldSucc != newSucc) {
+                updateInitSignature(idx, newSucc);
+                if (oldSucc != null) {
+                    replaced.add(oldSucc);
+                }
+            }
+            i = next;
+        }
+
+        for (State s : replaced) {
+            removeIfUnreachable(s);
+        }
+    }
+
+    /**
+     * Checks whether the given (sorted) batch conflicts with the stored information or within itself. The batch is
+     * processed iteratively, re-using the states reached by the common prefix of consecutive words.
+     */
+    private void validateBatch(BatchEntry[] batch) {
+        int maxLength = 0;
+        for (BatchEntry entry : batch) {
+            maxLength = Math.max(maxLength, entry.word.length);
+        }
+
+        // path[d] is the state reached by the first d symbols of the current word, if it exists
+        final @Nullable State[] path = new State[maxLength + 1];
+        path[0] = init;
+
+        for (int i = 0; i < batch.length; i++) {
+            final int[] word = batch[i].word;
+            final int prefixLength = (i == 0) ? 0 : commonPrefixLength(batch[i - 1].word, word);
+
+            for (int d = prefixLength; d < word.length; d++) {
+                final State state = path[d];
+                path[d + 1] = (state == null) ? null : state.getSuccessor(word[d]);
+            }
+
+            final Acceptance acc;
+            if (i > 0 && prefixLength == word.length && prefixLength == batch[i - 1].word.length) {
+                // duplicates are adjacent in the sorted batch
+                acc = batch[i - 1].acc;
+            } else {
+                final State state = path[word.length];
+                acc = (state == null) ? Acceptance.DONT_KNOW : state.getAcceptance();
+            }
+
+            final Acceptance wordAcc = batch[i].acc;
+            if (acc.conflicts(wordAcc.toBoolean())) {
+                throw new ConflictException("Incompatible acceptances: " + acc + " vs " + wordAcc);
+            }
+        }
+    }
+
+    /**
+     * Incorporates the given (sorted) range of the batch, whose words share a common prefix of length one, into the
+     * sub-DAG of the given state. The sub-DAG is traversed in post-order using an explicit stack, so that the depth of
+     * the traversal is not limited by the call stack.
+     *
+     * @param state
+     *         the state reached by the common prefix, or {@code null} if no such state exists
+     * @param replaced
+     *         a list for collecting states that may have become unreachable
+     *
+     * @return the canonical state that represents the information of the given state and the batch
+     */
+    private State insertBatch(@Nullable State state, BatchEntry[] batch, int low, int high, List<State> replaced) {
+        final Deque<BatchFrame> stack = new ArrayDeque<>();
+        stack.push(enterBatch(state, false, batch, low, high, 1));
+
+        while (true) {
+            final BatchFrame frame = stack.element();
+
+            if (frame.pos < frame.high) {
+                // descend into the group of words that share the next symbol
+                frame.idx = batch[frame.pos].word[frame.depth];
+                frame.next = nextGroup(batch, frame.pos, frame.high, frame.depth);
+
+                final State oldSucc = (frame.state == null) ? null : frame.state.getSuccessor(frame.idx);
+                stack.push(enterBatch(oldSucc, frame.shared, batch, frame.pos, frame.next, frame.depth + 1));
+                continue;
+            }
+
+            stack.pop();
+            final State newState = leaveBatch(frame);
+            final BatchFrame parent = stack.peek();
+
+            if (parent == null) {
+                return newState;
+            }
+
+            final State oldSucc = frame.state;
+            if (oldSucc != newState) {
+                if (parent.sig == null) {
+                    parent.sig = parent.state.getSignature().duplicate();
+                }
+                if (parent.inPlace) {
+                    if (oldSucc != null) {
+                        oldSucc.decreaseIncoming();
+                        replaced.add(oldSucc);
+                    }
+                    newState.increaseIncoming();
+                }
+                parent.sig.successors.array[parent.idx] = newState;
+            }
+            parent.pos = parent.next;
+        }
+    }
+
+    /**
+     * Prepares the traversal of the given (sorted) range of the batch, whose words share a common prefix of the given
+     * length, by incorporating the words that end in the given state.
+     *
+     * @param confluent
+     *         whether or not the path to the given state contains a confluence, i.e., whether or not the state is
+     *         (indirectly) shared with other paths and therefore must not be modified in place
+     */
+    private BatchFrame enterBatch(@Nullable State state,
+                                  boolean confluent,
+                                  BatchEntry[] batch,
+                                  int low,
+                                  int high,
+                                  int depth) {
+        Acceptance acc = (state == null) ? Acceptance.DONT_KNOW : state.getAcceptance();
+
+        int i = low;
+        // words that end in this state come first
+        while (i < high && batch[i].word.length == depth) {
+            acc = batch[i].acc;
+            i++;
+        }
+
+        final boolean shared = confluent || (state != null && state.isConfluence());
+        final boolean inPlace = state != null && !shared;
+
+        StateSignature sig = null;
+        if (state == null) {
+            sig = new StateSignature(alphabetSize, acc);
+        } else if (inPlace) {
+            // hide the state while processing its sub-DAG, so that it cannot be merged with any of the new states
+            hide(state);
+            sig = state.getSignature();
+            sig.acceptance = acc;
+        } else if (state.getAcceptance() != acc) {
+            sig = state.getSignature().duplicate();
+            sig.acceptance = acc;
+        }
+
+        return new BatchFrame(state, shared, inPlace, sig, i, high, depth);
+    }
+
+    /**
+     * Finishes the traversal of the sub-DAG of the given frame.
+     *
+     * @return the canonical state that represents the information of the state of the frame and the batch
+     */
+    private State leaveBatch(BatchFrame frame) {
+        final StateSignature sig = frame.sig;
+
+        if (sig == null) {
+            // the (shared) state has not changed
+            return frame.state;
+        }
+
+        sig.updateHashCode();
+        return frame.inPlace ? replaceOrRegister(frame.state) : replaceOrRegister(sig);
+    }
+
+    private static int nextGroup(BatchEntry[] batch, int low, int high, int depth) {
+        final int idx = batch[low].word[depth];
+        int i = low + 1;
+        while (i < high && batch[i].word[depth] == idx) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int commonPrefixLength(int[] w1, int[] w2) {
+        final int length = Math.min(w1.length, w2.length);
+        int i = 0;
+        while (i < length && w1[i] == w2[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Removes the given state from the register, if it has no incoming transitions anymore. This process is
+     * propagated to all successors of the state.
+     */
+    private void removeIfUnreachable(State state) {
+        final Deque<State> stack = new ArrayDeque<>();
+        stack.push(state);
+
+        while (!stack.isEmpty()) {
+            final State s = stack.pop();
+            final StateSignature sig = s.getSignature();
+
+            // states that have been merged with an equivalent state are not registered (anymore)
+            if (s.getNumIncoming() > 0 || s == init || register.get(sig) != s) {
+                continue;
+            }
+
+            register.remove(sig);
+
+            for (State succ : sig.successors.array) {
+                if (succ != null) {
+                    succ.decreaseIncoming();
+                    stack.push(succ);
+                }
+            }
+        }
+    }
+
     /**
      * Creates a suffix state sequence, i.e., a linear sequence of states connected by transitions labeled by the
      * letters of the given suffix word.
@@ -259,4 +551,58 @@ public class IncrementalDFADAGBuilder<I> extends AbstractIncrementalDFADAGBuilde
         return s;
     }
 
+    private static final class BatchEntry {
+
+        private final int[] word;
+        private final Acceptance acc;
+
+        BatchEntry(int[] word, Acceptance acc) {
+            this.word = word;
+            this.acc = acc;
+        }
+    }
+
+    /**
+     * A state of the (iterative) traversal of {@link #insertBatch(State, BatchEntry[], int, int, List)}.
+     */
+    private static final class BatchFrame {
+
+        private final @Nullable State state;
+        private final boolean shared;
+        private final boolean inPlace;
+        private @Nullable StateSignature sig;
+        private final int high;
+        private final int depth;
+
+        /**
+         * The start of the group of words that is (or is to be) processed next.
+         */
+        private int pos;
+
+        /**
+         * The end of the group of words that is currently processed.
+         */
+        private int next;
+
+        /**
+         * The symbol index of the group of words that is currently processed.
+         */
+        private int idx;
+
+        BatchFrame(@Nullable State state,
+                   boolean shared,
+                   boolean inPlace,
+                   @Nullable StateSignature sig,
+                   int pos,
+                   int high,
+                   int depth) {
+            this.state = state;
+            this.shared = shared;
+            this.inPlace = inPlace;
+            this.sig = sig;
+            this.pos = pos;
+            this.high = high;
+            this.depth = depth;
+        }
+    }
 }
@@ -31,6 +31,7 @@ final class State implements Serializable {
     public static final State SINK = new State(new StateSignature(0, Acceptance.FALSE));
 
     private final StateSignature signature;
+    private final int hash;
     private int numIncoming;
 
     /**
@@ -41,9 +42,21 @@ final class State implements Serializable {
      */
     State(StateSignature signature) {
         this.signature = signature;
+        this.hash = System.identityHashCode(this);
         this.numIncoming = 0;
     }
 
+    /**
+     * Returns a hash value of this state, which is cached upon construction. Since states are compared by identity, the
+     * value is consistent with {@link #equals(Object)}, but can be accessed without a (virtual) method call when
+     * computing the hash values of signatures.
+     *
+     * @return the hash value of this state
+     */
+    public int getHash() {
+        return hash;
+    }
+
     /**
      * Increases the number of incoming transitions.
      */
@@ -58,6 +71,15 @@ final class State implements Serializable {
         numIncoming--;
     }
 
+    /**
+     * Retrieves the number of incoming transitions.
+     *
+     * @return the number of incoming transitions
+     */
+    public int getNumIncoming() {
+        return numIncoming;
+    }
+
     /**
      * Checks whether this node is a confluence node (i.e. has more than one incoming transitions).
      *
@@ -16,7 +16,6 @@
 package net.automatalib.incremental.dfa.dag;
 
 import java.io.Serializable;
-import java.util.Arrays;
 
 import net.automatalib.commons.smartcollections.ResizingArrayStorage;
 import net.automatalib.incremental.dfa.Acceptance;
@@ -49,8 +48,10 @@ final class StateSignature implements Serializable {
     public void updateHashCode() {
         final int prime = 31;
         int result = 1;
-        result = prime * result + acceptance.hashCode();
-        result = prime * result + Arrays.hashCode(successors.array);
+        result = prime * result + acceptance.ordinal();
+        for (State succ : successors.array) {
+            result = prime * result + (succ == null ? 0 : succ.getHash());
+        }
         hashCode = result;
     }
 
@@ -75,7 +76,20 @@ final class StateSignature implements Serializable {
         final StateSignature other = (StateSignature) obj;
 
         return (hashCode == other.hashCode) && (acceptance == other.acceptance) &&
-               Arrays.equals(successors.array, other.successors.array);
+               successorsEqual(successors.array, other.successors.array);
+    }
+
+    private static boolean successorsEqual(State[] succs1, State[] succs2) {
+        if (succs1.length != succs2.length) {
+            return false;
+        }
+        // states are unique, hence identity comparison suffices
+        for (int i = 0; i < succs1.length; i++) {
+            if (succs1[i] != succs2[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 
 }
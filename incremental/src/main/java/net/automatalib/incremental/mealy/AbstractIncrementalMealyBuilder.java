@@ -35,6 +35,14 @@ public abstract class AbstractIncrementalMealyBuilder<I, O> implements Increment
         return lookup(word, unused);
     }
 
+    protected static void checkBatchSize(List<?> inputWords, List<?> outputWords) {
+        if (inputWords.size() != outputWords.size()) {
+            throw new IllegalArgumentException(
+                    "Number of input and output words must match, but they do not: " + inputWords.size() + " vs. " +
+                    outputWords.size());
+        }
+    }
+
     @Override
     public Word<O> lookup(Word<? extends I> inputWord) {
         WordBuilder<O> wb = new WordBuilder<>(inputWord.size());
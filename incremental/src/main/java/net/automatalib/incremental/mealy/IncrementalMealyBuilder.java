@@ -15,6 +15,7 @@
  */
 package net.automatalib.incremental.mealy;
 
+import java.util.Iterator;
 import java.util.List;
 
 import net.automatalib.SupportsGrowingAlphabet;
@@ -57,6 +58,33 @@ public interface IncrementalMealyBuilder<I, O>
      */
     void insert(Word<? extends I> inputWord, Word<? extends O> outputWord);
 
+    /**
+     * Incorporates a batch of input/output words into the stored information. This is semantically equivalent to
+     * inserting each pair individually via {@link #insert(Word, Word)}, but implementations may process the batch more
+     * efficiently (e.g., by sharing the work for common prefixes).
+     *
+     * @param inputWords
+     *         the input words
+     * @param outputWords
+     *         the corresponding output words, i.e., the {@code i}-th output word corresponds to the {@code i}-th input
+     *         word
+     *
+     * @throws ConflictException
+     *         if the newly provided information conflicts with existing information (or other information of the batch).
+     *         Unless stated otherwise by an implementation, the batch may have been incorporated partially in this case
+     * @throws IllegalArgumentException
+     *         if the number of input and output words differ
+     */
+    default void insertAll(List<? extends Word<? extends I>> inputWords,
+                           List<? extends Word<? extends O>> outputWords) {
+        AbstractIncrementalMealyBuilder.checkBatchSize(inputWords, outputWords);
+
+        final Iterator<? extends Word<? extends O>> outIt = outputWords.iterator();
+        for (Word<? extends I> input : inputWords) {
+            insert(input, outIt.next());
+        }
+    }
+
     @Override
     GraphView<I, O, ?, ?> asGraph();
 
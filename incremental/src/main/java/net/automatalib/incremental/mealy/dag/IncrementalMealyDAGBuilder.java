@@ -17,6 +17,7 @@ package net.automatalib.incremental.mealy.dag;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
@@ -31,6 +32,7 @@ import net.automatalib.automata.concepts.InputAlphabetHolder;
 import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.automata.transducers.MealyMachine;
 import net.automatalib.commons.util.IntDisjointSets;
+import net.automatalib.commons.util.comparison.CmpUtil;
 import net.automatalib.commons.util.UnionFind;
 import net.automatalib.incremental.ConflictException;
 import net.automatalib.incremental.mealy.AbstractIncrementalMealyBuilder;
@@ -56,7 +58,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBuilder<I, O>
         implements InputAlphabetHolder<I> {
 
-    private final Map<@Nullable StateSignature<O>, State<O>> register = new HashMap<>();
+    private final StateRegister<O> register = new StateRegister<>();
     private final Alphabet<I> inputAlphabet;
     private int alphabetSize;
     private final State<O> init;
@@ -72,7 +74,6 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
         this.alphabetSize = inputAlphabet.size();
         StateSignature<O> initSig = new StateSignature<>(alphabetSize);
         this.init = new State<>(initSig);
-        register.put(null, init);
     }
 
     @Override
@@ -84,6 +85,7 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
         final int newAlphabetSize = this.inputAlphabet.size();
         // even if the symbol was already in the alphabet, we need to make sure to be able to store the new symbol
         if (alphabetSize < newAlphabetSize) {
+            init.ensureInputCapacity(newAlphabetSize);
             register.values().forEach(n -> n.ensureInputCapacity(newAlphabetSize));
             alphabetSize = newAlphabetSize;
         }
@@ -245,6 +247,17 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
             // prefixes reaching the confluence state (we do not know anything
             // about them
             // plus the suffix).
+            // The states preceding the confluence state will be updated afterwards. Hide them, so that none of the
+            // clones can be merged with one of their (outdated) signatures.
+            final Iterator<PathElem<O>> iter = path.descendingIterator();
+            State<O> prefixState = iter.next().state;
+            while (prefixState != conf) {
+                if (prefixState != init) {
+                    hide(prefixState);
+                }
+                prefixState = iter.next().state;
+            }
+
             PathElem<O> next;
             do {
                 next = path.pop();
@@ -253,6 +266,17 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
                 state = clone(state, idx, last);
                 last = state;
             } while (next.state != conf);
+
+            // Since all remaining states have been hidden, all of them need to be re-registered
+            while (path.size() > 1) {
+                next = path.pop();
+                State<O> state = next.state;
+                int idx = next.transIdx;
+                last = unhide(state, idx, last, state.getOutput(idx));
+            }
+
+            updateInitSignature(path.pop().transIdx, last);
+            return;
         }
 
         // Finally, we have to refresh all the signatures, iterating backwards
@@ -273,6 +297,282 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
         updateInitSignature(finalIdx, last);
     }
 
+    /**
+     * Incorporates a batch of input/output words into the stored information.
+     * <p>
+     * The batch is sorted lexicographically and incorporated in a single (iterative) traversal of the DAG: the work for
+     * common prefixes is shared among all words of the batch and each affected state is re-canonicalized only once,
+     * after all words of its sub-tree have been processed. States that are reachable via a confluence are not updated
+     * in place but replaced by (canonical) copies, which separates them from the other paths. States that become
+     * unreachable by this procedure are removed afterwards.
+     * <p>
+     * In contrast to the sequential insertion of the words, this operation is atomic: if any word of the batch
+     * conflicts with existing information (or other words of the batch), a {@link ConflictException} is thrown before
+     * any modification takes place.
+     *
+     * @param inputWords
+     *         the input words
+     * @param outputWords
+     *         the corresponding output words
+     */
+    @Override
+    public void insertAll(List<? extends Word<? extends I>> inputWords, List<? extends Word<? extends O>> outputWords) {
+        checkBatchSize(inputWords, outputWords);
+
+        final int size = inputWords.size();
+        @SuppressWarnings("unchecked") // we only store entries of type BatchEntry<O>
+        final BatchEntry<O>[] batch = new BatchEntry[size];
+        final Iterator<? extends Word<? extends O>> outIt = outputWords.iterator();
+
+        int i = 0;
+        for (Word<? extends I> word : inputWords) {
+            final int[] indices = new int[word.length()];
+            int j = 0;
+            for (I sym : word) {
+                indices[j++] = inputAlphabet.getSymbolIndex(sym);
+            }
+            batch[i++] = new BatchEntry<>(indices, outIt.next());
+        }
+
+        Arrays.sort(batch, (e1, e2) -> CmpUtil.lexCompare(e1.word, e2.word));
+
+        validateBatch(batch);
+
+        // the initial state is updated in place, so process its sub-trees individually
+        i = 0;
+        while (i < size && batch[i].word.length == 0) {
+            i++;
+        }
+
+        final List<State<O>> replaced = new ArrayList<>();
+        while (i < size) {
+            final int idx = batch[i].word[0];
+            final int next = nextGroup(batch, i, size, 0);
+
+            final State<O> oldSucc = init.getSuccessor(idx);
+            final State<O> newSucc = insertBatch(oldSucc, batch, i, next, replaced);
+
+            if (oldSucc != newSucc) {
+                updateInitSignature(idx, newSucc, batch[i].output.getSymbol(0));
+                if (oldSucc != null) {
+                    replaced.add(oldSucc);
+                }
+            }
+            i = next;
+        }
+
+        for (State<O> s : replaced) {
+            removeIfUnreachable(s);
+        }
+    }
+
+    /**
+     * Checks whether the given (sorted) batch conflicts with the stored information or within itself. The batch is
+     * processed iteratively, re-using the states reached by the common prefix of consecutive words.
+     */
+    private void validateBatch(BatchEntry<O>[] batch) {
+        int maxLength = 0;
+        for (BatchEntry<O> entry : batch) {
+            maxLength = Math.max(maxLength, entry.word.length);
+        }
+
+        // path[d] is the state reached by the first d symbols of the current word, if it exists
+        @SuppressWarnings("unchecked") // we only store states of type State<O>
+        final @Nullable State<O>[] path = new State[maxLength + 1];
+        path[0] = init;
+
+        for (int i = 0; i < batch.length; i++) {
+            final int[] word = batch[i].word;
+            final Word<? extends O> output = batch[i].output;
+            int d = 0;
+
+            if (i > 0) {
+                // the outputs of the common prefix have to match the ones of the previous word
+                final Word<? extends O> prevOutput = batch[i - 1].output;
+                final int prefixLength = commonPrefixLength(batch[i - 1].word, word);
+
+                while (d < prefixLength) {
+                    final O out = prevOutput.getSymbol(d);
+                    final O otherOut = output.getSymbol(d);
+                    if (!Objects.equals(out, otherOut)) {
+                        throw new ConflictException("Incompatible output symbols: " + out + " vs " + otherOut);
+                    }
+                    d++;
+                }
+            }
+
+            while (d < word.length) {
+                final State<O> state = path[d];
+                final State<O> succ = (state == null) ? null : state.getSuccessor(word[d]);
+                final O out = output.getSymbol(d);
+
+                if (succ != null && !Objects.equals(out, state.getOutput(word[d]))) {
+                    throw new ConflictException("Incompatible output symbols: " + out + " vs " +
+                                                state.getOutput(word[d]));
+                }
+
+                path[++d] = succ;
+            }
+        }
+    }
+
+    /**
+     * Incorporates the given (sorted) range of the batch, whose words share a common prefix of length one, into the
+     * sub-DAG of the given state. The sub-DAG is traversed in post-order using an explicit stack, so that the depth of
+     * the traversal is not limited by the call stack.
+     *
+     * @param state
+     *         the state reached by the common prefix, or {@code null} if no such state exists
+     * @param replaced
+     *         a list for collecting states that may have become unreachable
+     *
+     * @return the canonical state that represents the information of the given state and the batch
+     */
+    private State<O> insertBatch(@Nullable State<O> state,
+                                 BatchEntry<O>[] batch,
+                                 int low,
+                                 int high,
+                                 List<State<O>> replaced) {
+        final Deque<BatchFrame<O>> stack = new ArrayDeque<>();
+        stack.push(enterBatch(state, false, batch, low, high, 1));
+
+        while (true) {
+            final BatchFrame<O> frame = stack.element();
+
+            if (frame.pos < frame.high) {
+                // descend into the group of words that share the next symbol
+                frame.idx = batch[frame.pos].word[frame.depth];
+                frame.next = nextGroup(batch, frame.pos, frame.high, frame.depth);
+
+                final State<O> oldSucc = (frame.state == null) ? null : frame.state.getSuccessor(frame.idx);
+                stack.push(enterBatch(oldSucc, frame.shared, batch, frame.pos, frame.next, frame.depth + 1));
+                continue;
+            }
+
+            stack.pop();
+            final State<O> newState = leaveBatch(frame);
+            final BatchFrame<O> parent = stack.peek();
+
+            if (parent == null) {
+                return newState;
+            }
+
+            final State<O> oldSucc = frame.state;
+            if (oldSucc != newState) {
+                if (parent.sig == null) {
+                    parent.sig = parent.state.getSignature().duplicate();
+                }
+                if (parent.inPlace) {
+                    if (oldSucc != null) {
+                        oldSucc.decreaseIncoming();
+                        replaced.add(oldSucc);
+                    }
+                    newState.increaseIncoming();
+                }
+                parent.sig.successors.array[parent.idx] = newState;
+                parent.sig.outputs.array[parent.idx] = batch[parent.pos].output.getSymbol(parent.depth);
+            }
+            parent.pos = parent.next;
+        }
+    }
+
+    /**
+     * Prepares the traversal of the given (sorted) range of the batch, whose words share a common prefix of the given
+     * length, by skipping the words that end in the given state.
+     *
+     * @param confluent
+     *         whether or not the path to the given state contains a confluence, i.e., whether or not the state is
+     *         (indirectly) shared with other paths and therefore must not be modified in place
+     */
+    private BatchFrame<O> enterBatch(@Nullable State<O> state,
+                                     boolean confluent,
+                                     BatchEntry<O>[] batch,
+                                     int low,
+                                     int high,
+                                     int depth) {
+        int i = low;
+        while (i < high && batch[i].word.length == depth) {
+            i++;
+        }
+
+        final boolean shared = confluent || (state != null && state.isConfluence());
+        final boolean inPlace = state != null && !shared;
+
+        StateSignature<O> sig = null;
+        if (state == null) {
+            sig = new StateSignature<>(alphabetSize);
+        } else if (inPlace) {
+            // hide the state while processing its sub-DAG, so that it cannot be merged with any of the new states
+            hide(state);
+            sig = state.getSignature();
+        }
+
+        return new BatchFrame<>(state, shared, inPlace, sig, i, high, depth);
+    }
+
+    /**
+     * Finishes the traversal of the sub-DAG of the given frame.
+     *
+     * @return the canonical state that represents the information of the state of the frame and the batch
+     */
+    private State<O> leaveBatch(BatchFrame<O> frame) {
+        final StateSignature<O> sig = frame.sig;
+
+        if (sig == null) {
+            // the (shared) state has not changed
+            return frame.state;
+        }
+
+        sig.updateHashCode();
+        return frame.inPlace ? replaceOrRegister(frame.state) : replaceOrRegister(sig);
+    }
+
+    private static int nextGroup(BatchEntry<?>[] batch, int low, int high, int depth) {
+        final int idx = batch[low].word[depth];
+        int i = low + 1;
+        while (i < high && batch[i].word[depth] == idx) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int commonPrefixLength(int[] w1, int[] w2) {
+        final int length = Math.min(w1.length, w2.length);
+        int i = 0;
+        while (i < length && w1[i] == w2[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Removes the given state from the register, if it has no incoming transitions anymore. This process is
+     * propagated to all successors of the state.
+     */
+    private void removeIfUnreachable(State<O> state) {
+        final Deque<State<O>> stack = new ArrayDeque<>();
+        stack.push(state);
+
+        while (!stack.isEmpty()) {
+            final State<O> s = stack.pop();
+            final StateSignature<O> sig = s.getSignature();
+
+            // states that have been merged with an equivalent state are not registered (anymore)
+            if (s.getNumIncoming() > 0 || register.get(sig) != s) {
+                continue;
+            }
+
+            register.remove(sig);
+
+            for (State<O> succ : sig.successors.array) {
+                if (succ != null) {
+                    succ.decreaseIncoming();
+                    stack.push(succ);
+                }
+            }
+        }
+    }
+
     private State<O> hiddenClone(State<O> other) {
         StateSignature<O> sig = other.getSignature().duplicate();
 
@@ -428,7 +728,7 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
             return other;
         }
 
-        register.put(sig, state);
+        register.put(state);
         return state;
     }
 
@@ -439,7 +739,7 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
         }
 
         state = new State<>(sig);
-        register.put(sig, state);
+        register.put(state);
         for (int i = 0; i < sig.successors.array.length; i++) {
             State<O> succ = sig.successors.array[i];
             if (succ != null) {
@@ -480,7 +780,8 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
         Map<State<O>, Integer> ids = new HashMap<>();
         StateIDs<S> mealyIds = mealy.stateIDs();
 
-        int thisStates = register.size();
+        // the initial state is not stored in the register
+        int thisStates = register.size() + 1;
         int id1 = getStateId(init1, ids), id2 = mealyIds.getStateId(init2) + thisStates;
 
         IntDisjointSets uf = new UnionFind(thisStates + mealy.size());
@@ -625,7 +926,11 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
 
         @Override
         public Collection<State<O>> getNodes() {
-            return Collections.unmodifiableCollection(register.values());
+            // the initial state is not stored in the register
+            final List<State<O>> result = new ArrayList<>(register.size() + 1);
+            result.add(init);
+            result.addAll(register.values());
+            return Collections.unmodifiableList(result);
         }
 
         @Override
@@ -694,4 +999,62 @@ public class IncrementalMealyDAGBuilder<I, O> extends AbstractIncrementalMealyBu
             return src.getOutput(transition.transIdx);
         }
     }
+
+    private static final class BatchEntry<O> {
+
+        private final int[] word;
+        private final Word<? extends O> output;
+
+        BatchEntry(int[] word, Word<? extends O> output) {
+            this.word = word;
+            this.output = output;
+        }
+    }
+
+    /**
+     * A state of the (iterative) traversal of {@link #insertBatch(State, BatchEntry[], int, int, List)}.
+     *
+     * @param <O>
+     *         output symbol type
+     */
+    private static final class BatchFrame<O> {
+
+        private final @Nullable State<O> state;
+        private final boolean shared;
+        private final boolean inPlace;
+        private @Nullable StateSignature<O> sig;
+        private final int high;
+        private final int depth;
+
+        /**
+         * The start of the group of words that is (or is to be) processed next.
+         */
+        private int pos;
+
+        /**
+         * The end of the group of words that is currently processed.
+         */
+        private int next;
+
+        /**
+         * The symbol index of the group of words that is currently processed.
+         */
+        private int idx;
+
+        BatchFrame(@Nullable State<O> state,
+                   boolean shared,
+                   boolean inPlace,
+                   @Nullable StateSignature<O> sig,
+                   int pos,
+                   int high,
+                   int depth) {
+            this.state = state;
+            this.shared = shared;
+            this.inPlace = inPlace;
+            this.sig = sig;
+            this.pos = pos;
+            this.high = high;
+            this.depth = depth;
+        }
+    }
 }
@@ -22,10 +22,23 @@ import net.automatalib.commons.smartcollections.ResizingArrayStorage;
 public final class State<O> implements Serializable {
 
     private final StateSignature<O> signature;
+    private final int hash;
     private int numIncoming;
 
     public State(StateSignature<O> signature) {
         this.signature = signature;
+        this.hash = System.identityHashCode(this);
+    }
+
+    /**
+     * Returns a hash value of this state, which is cached upon construction. Since states are compared by identity, the
+     * value is consistent with {@link #equals(Object)}, but can be accessed without a (virtual) method call when
+     * computing the hash values of signatures.
+     *
+     * @return the hash value of this state
+     */
+    public int getHash() {
+        return hash;
     }
 
     public void increaseIncoming() {
@@ -0,0 +1,238 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy.dag;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A register of canonical states, indexed by their {@link StateSignature signatures}.
+ * <p>
+ * This class replaces a general-purpose {@code Map<StateSignature<O>, State<O>>}: states are stored in a single array
+ * using open addressing (linear probing with backward-shift deletion), and the cached hash values of the signatures are
+ * stored in a parallel {@code int} array. Hence, neither lookups nor insertions allocate any objects, and signatures
+ * are only compared element-wise if their hash values match.
+ * <p>
+ * As with a regular hash map, the signature of a state must not be modified while the state is contained in the
+ * register.
+ *
+ * @param <O>
+ *         output symbol type
+ *
+ * @author agent
+ */
+final class StateRegister<O> implements Serializable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private @Nullable State<O>[] states;
+    private int[] hashes;
+    private int size;
+    private int shift;
+
+    StateRegister() {
+        this.states = newArray(DEFAULT_CAPACITY);
+        this.hashes = new int[DEFAULT_CAPACITY];
+        this.shift = Integer.SIZE - Integer.numberOfTrailingZeros(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Returns the state with the given signature.
+     *
+     * @param sig
+     *         the signature
+     *
+     * @return the registered state with the given signature, or {@code null} if no such state exists
+     */
+    @Nullable State<O> get(StateSignature<O> sig) {
+        final int slot = findSlot(sig);
+        return slot < 0 ? null : states[slot];
+    }
+
+    /**
+     * Registers the given state under its current signature, replacing any state with an equal signature.
+     *
+     * @param state
+     *         the state to register
+     */
+    void put(State<O> state) {
+        final StateSignature<O> sig = state.getSignature();
+        final int hash = sig.hashCode();
+        final int mask = states.length - 1;
+
+        int slot = indexFor(hash);
+        State<O> curr;
+        while ((curr = states[slot]) != null) {
+            if (hashes[slot] == hash && sig.equals(curr.getSignature())) {
+                states[slot] = state;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        states[slot] = state;
+        hashes[slot] = hash;
+
+        if (++size > (states.length >>> 1)) {
+            resize();
+        }
+    }
+
+    /**
+     * Removes the state with the given signature from the register.
+     *
+     * @param sig
+     *         the signature
+     *
+     * @return the removed state, or {@code null} if no state with the given signature was registered
+     */
+    @Nullable State<O> remove(StateSignature<O> sig) {
+        int slot = findSlot(sig);
+        if (slot < 0) {
+            return null;
+        }
+
+        final State<O> result = states[slot];
+        final int mask = states.length - 1;
+
+        // backward-shift deletion: move subsequent entries of the probe sequence into the freed slot
+        int next = (slot + 1) & mask;
+        State<O> curr;
+        while ((curr = states[next]) != null) {
+            final int ideal = indexFor(hashes[next]);
+            if (((next - ideal) & mask) >= ((next - slot) & mask)) {
+                states[slot] = curr;
+                hashes[slot] = hashes[next];
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+
+        states[slot] = null;
+        size--;
+
+        return result;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns a (live) collection view of all registered states. The view must not be used while the register is
+     * modified.
+     *
+     * @return a collection view of all registered states
+     */
+    Collection<State<O>> values() {
+        return new AbstractCollection<State<O>>() {
+
+            @Override
+            public Iterator<State<O>> iterator() {
+                return new ValueIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int findSlot(StateSignature<O> sig) {
+        final int hash = sig.hashCode();
+        final int mask = states.length - 1;
+
+        int slot = indexFor(hash);
+        State<O> curr;
+        while ((curr = states[slot]) != null) {
+            if (hashes[slot] == hash && sig.equals(curr.getSignature())) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <O> State<O>[] newArray(int capacity) {
+        return (State<O>[]) new State<?>[capacity];
+    }
+
+    private int indexFor(int hash) {
+        // Fibonacci hashing, see Knuth, TAOCP Vol. 3
+        return (hash * 0x9E3779B9) >>> shift;
+    }
+
+    private void resize() {
+        final State<O>[] oldStates = states;
+        final int[] oldHashes = hashes;
+        final int newCapacity = oldStates.length << 1;
+        final int mask = newCapacity - 1;
+
+        this.states = newArray(newCapacity);
+        this.hashes = new int[newCapacity];
+        this.shift--;
+
+        for (int i = 0; i < oldStates.length; i++) {
+            final State<O> state = oldStates[i];
+            if (state != null) {
+                final int hash = oldHashes[i];
+                int slot = indexFor(hash);
+                while (states[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                states[slot] = state;
+                hashes[slot] = hash;
+            }
+        }
+    }
+
+    private final class ValueIterator implements Iterator<State<O>> {
+
+        private int next = advance(0);
+
+        private int advance(int from) {
+            int i = from;
+            while (i < states.length && states[i] == null) {
+                i++;
+            }
+            return i;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < states.length;
+        }
+
+        @Override
+        public State<O> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            @SuppressWarnings("nullness") // we only stop at non-null slots
+            final State<O> result = states[next];
+            next = advance(next + 1);
+            return result;
+        }
+    }
+}
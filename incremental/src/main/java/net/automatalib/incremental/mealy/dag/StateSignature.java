@@ -47,7 +47,9 @@ final class StateSignature<O> implements Serializable {
         final int prime = 31;
         int result = 1;
         result = prime * result + Arrays.hashCode(outputs.array);
-        result = prime * result + Arrays.hashCode(successors.array);
+        for (State<O> succ : successors.array) {
+            result = prime * result + (succ == null ? 0 : succ.getHash());
+        }
         hashCode = result;
     }
 
@@ -65,10 +67,23 @@ final class StateSignature<O> implements Serializable {
             return false;
         }
 
-        final StateSignature other = (StateSignature) obj;
+        final StateSignature<?> other = (StateSignature<?>) obj;
+
+        return (hashCode == other.hashCode) && successorsEqual(successors.array, other.successors.array) &&
+               Arrays.equals(outputs.array, other.outputs.array);
+    }
 
-        return (hashCode == other.hashCode) && Arrays.equals(outputs.array, other.outputs.array) &&
-               Arrays.equals(successors.array, other.successors.array);
+    private static boolean successorsEqual(State<?>[] succs1, State<?>[] succs2) {
+        if (succs1.length != succs2.length) {
+            return false;
+        }
+        // states are unique, hence identity comparison suffices
+        for (int i = 0; i < succs1.length; i++) {
+            if (succs1[i] != succs2[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 
 }
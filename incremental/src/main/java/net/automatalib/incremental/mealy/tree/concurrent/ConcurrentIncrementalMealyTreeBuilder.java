@@ -0,0 +1,149 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy.tree.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import com.google.common.base.Objects;
+import net.automatalib.automata.concepts.InputAlphabetHolder;
+import net.automatalib.incremental.ConflictException;
+import net.automatalib.incremental.mealy.tree.AbstractIncrementalMealyTreeBuilder;
+import net.automatalib.incremental.mealy.tree.AnnotatedEdge;
+import net.automatalib.incremental.mealy.tree.Edge;
+import net.automatalib.incremental.mealy.tree.IncrementalMealyTreeBuilder;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A thread-safe variation of the {@link IncrementalMealyTreeBuilder}, which allows multiple threads to concurrently
+ * {@link #insert(Word, Word) insert} and {@link #lookup(Word, List) lookup} information without any external
+ * synchronization.
+ * <p>
+ * The successors of each tree-node are stored in an {@link java.util.concurrent.atomic.AtomicReferenceArray}. Since
+ * edges are never removed from the tree, new edges are added via a single compare-and-set operation, and concurrent
+ * insertions of the same input word converge on the same edge. Hence, neither inserts nor lookups block. If two
+ * threads concurrently insert the same input word with different outputs, at least one of them observes a {@link
+ * ConflictException}.
+ * <p>
+ * The views returned by {@link #asGraph()} and {@link #asTransitionSystem()} operate on the live tree-structure, i.e.,
+ * they are weakly consistent: they may or may not reflect concurrently inserted information, but never show an
+ * inconsistent state of a single edge.
+ * <p>
+ * <b>Note:</b> {@link #addAlphabetSymbol(Object)} must not be invoked concurrently with any other operation of this
+ * builder.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <O>
+ *         output symbol type
+ *
+ * @author agent
+ */
+public class ConcurrentIncrementalMealyTreeBuilder<I, O> extends AbstractIncrementalMealyTreeBuilder<Node<O>, I, O>
+        implements InputAlphabetHolder<I> {
+
+    private final Alphabet<I> inputAlphabet;
+    private volatile int alphabetSize;
+
+    public ConcurrentIncrementalMealyTreeBuilder(Alphabet<I> inputAlphabet) {
+        super(new Node<>(inputAlphabet.size()));
+        this.inputAlphabet = inputAlphabet;
+        this.alphabetSize = inputAlphabet.size();
+    }
+
+    @Override
+    public void insert(Word<? extends I> input, Word<? extends O> outputWord) {
+        Node<O> curr = root;
+
+        Iterator<? extends O> outputIt = outputWord.iterator();
+        for (I sym : input) {
+            O out = outputIt.next();
+            int symIdx = inputAlphabet.getSymbolIndex(sym);
+            Edge<Node<O>, O> edge = curr.getEdge(symIdx);
+            if (edge == null) {
+                // may return an edge concurrently inserted by another thread, so we still need to check the output
+                edge = curr.setEdgeIfAbsent(symIdx, new Edge<>(out, createNode()));
+            }
+            if (!Objects.equal(out, edge.getOutput())) {
+                throw new ConflictException();
+            }
+            curr = edge.getTarget();
+        }
+    }
+
+    @Override
+    public synchronized void addAlphabetSymbol(I symbol) {
+        if (!inputAlphabet.containsSymbol(symbol)) {
+            Alphabets.toGrowingAlphabetOrThrowException(inputAlphabet).addSymbol(symbol);
+        }
+
+        final int newAlphabetSize = inputAlphabet.size();
+        // even if the symbol was already in the alphabet, we need to make sure to be able to store the new symbol
+        if (alphabetSize < newAlphabetSize) {
+            ensureInputCapacity(root, alphabetSize, newAlphabetSize);
+            alphabetSize = newAlphabetSize;
+        }
+    }
+
+    private void ensureInputCapacity(Node<O> node, int oldAlphabetSize, int newAlphabetSize) {
+        node.ensureInputCapacity(newAlphabetSize);
+        for (int i = 0; i < oldAlphabetSize; i++) {
+            final Node<O> child = node.getSuccessor(i);
+            if (child != null) {
+                ensureInputCapacity(child, oldAlphabetSize, newAlphabetSize);
+            }
+        }
+    }
+
+    @Override
+    protected @Nullable Edge<Node<O>, O> getEdge(Node<O> node, I symbol) {
+        return node.getEdge(inputAlphabet.getSymbolIndex(symbol));
+    }
+
+    @Override
+    protected Node<O> createNode() {
+        return new Node<>(alphabetSize);
+    }
+
+    @Override
+    protected Node<O> insertNode(Node<O> parent, I symIdx, O output) {
+        final Edge<Node<O>, O> edge = new Edge<>(output, createNode());
+        return parent.setEdgeIfAbsent(inputAlphabet.getSymbolIndex(symIdx), edge).getTarget();
+    }
+
+    @Override
+    protected Collection<AnnotatedEdge<Node<O>, I, O>> getOutgoingEdges(Node<O> node) {
+        final int size = alphabetSize;
+        List<AnnotatedEdge<Node<O>, I, O>> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Edge<Node<O>, O> edge = node.getEdge(i);
+            if (edge != null) {
+                result.add(new AnnotatedEdge<>(edge, inputAlphabet.getSymbol(i)));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Alphabet<I> getInputAlphabet() {
+        return inputAlphabet;
+    }
+}
@@ -0,0 +1,77 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy.tree.concurrent;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import net.automatalib.incremental.mealy.tree.Edge;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+final class Node<O> implements Serializable {
+
+    private volatile AtomicReferenceArray<@Nullable Edge<Node<O>, O>> outEdges;
+
+    Node(int alphabetSize) {
+        this.outEdges = new AtomicReferenceArray<>(alphabetSize);
+    }
+
+    @Nullable Edge<Node<O>, O> getEdge(int idx) {
+        return outEdges.get(idx);
+    }
+
+    /**
+     * Atomically sets the edge for the given input index, if no edge has been set before.
+     *
+     * @return the edge that is stored for the given index after this operation, i.e., either the given edge or the edge
+     * that has been set before
+     */
+    Edge<Node<O>, O> setEdgeIfAbsent(int idx, Edge<Node<O>, O> edge) {
+        final AtomicReferenceArray<@Nullable Edge<Node<O>, O>> edges = outEdges;
+        if (edges.compareAndSet(idx, null, edge)) {
+            return edge;
+        }
+        // once set, edges are never removed
+        @SuppressWarnings("nullness")
+        final Edge<Node<O>, O> existing = edges.get(idx);
+        return existing;
+    }
+
+    @Nullable Node<O> getSuccessor(int idx) {
+        final Edge<Node<O>, O> edge = outEdges.get(idx);
+        if (edge != null) {
+            return edge.getTarget();
+        }
+        return null;
+    }
+
+    /**
+     * Grows the edge storage of this node to the given capacity. Must not be called concurrently with any other method
+     * of this node.
+     */
+    void ensureInputCapacity(int capacity) {
+        final AtomicReferenceArray<@Nullable Edge<Node<O>, O>> edges = outEdges;
+        final int length = edges.length();
+
+        if (length < capacity) {
+            final AtomicReferenceArray<@Nullable Edge<Node<O>, O>> newEdges = new AtomicReferenceArray<>(capacity);
+            for (int i = 0; i < length; i++) {
+                newEdges.set(i, edges.get(i));
+            }
+            this.outEdges = newEdges;
+        }
+    }
+}
@@ -16,6 +16,8 @@
 package net.automatalib.incremental.dfa;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.Collections;
 
 import javax.swing.SwingUtilities;
 
@@ -227,4 +229,21 @@ public abstract class AbstractIncrementalDFABuilderTest {
         Assert.assertEquals(growableBuilder.lookup(input2), Acceptance.FALSE);
     }
 
+    @Test
+    public void testInsertAll() {
+        final IncrementalDFABuilder<Character> builder = createIncrementalDFABuilder(TEST_ALPHABET);
+
+        builder.insertAll(Arrays.asList(W_1, W_2, W_3, W_4), Arrays.asList(true, false, true, false));
+
+        Assert.assertEquals(builder.lookup(W_1), Acceptance.TRUE);
+        Assert.assertEquals(builder.lookup(W_2), Acceptance.FALSE);
+        Assert.assertEquals(builder.lookup(W_3), Acceptance.TRUE);
+        Assert.assertEquals(builder.lookup(W_4), Acceptance.FALSE);
+        Assert.assertEquals(builder.lookup(Word.fromString("ab")), Acceptance.DONT_KNOW);
+
+        Assert.assertThrows(ConflictException.class,
+                            () -> builder.insertAll(Collections.singletonList(W_1), Collections.singletonList(false)));
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> builder.insertAll(Collections.singletonList(W_1), Collections.emptyList()));
+    }
 }
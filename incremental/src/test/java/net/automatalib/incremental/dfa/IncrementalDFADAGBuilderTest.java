@@ -16,20 +16,28 @@
 package net.automatalib.incremental.dfa;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import net.automatalib.commons.util.Pair;
+import net.automatalib.incremental.ConflictException;
 import net.automatalib.incremental.IntegrationUtil;
 import net.automatalib.incremental.IntegrationUtil.ParsedTraces;
 import net.automatalib.incremental.dfa.dag.IncrementalDFADAGBuilder;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 @Test
 public class IncrementalDFADAGBuilderTest extends AbstractIncrementalDFABuilderTest {
 
+    private static final int BATCH_SIZE = 50;
+    private static final int LONG_WORD_LENGTH = 100_000;
+
     @Override
     protected <I> IncrementalDFABuilder<I> createIncrementalDFABuilder(Alphabet<I> alphabet) {
         return new IncrementalDFADAGBuilder<>(alphabet);
@@ -57,4 +65,109 @@ public class IncrementalDFADAGBuilderTest extends AbstractIncrementalDFABuilderT
             Assert.assertEquals(trace.getSecond().booleanValue(), cache.lookup(trace.getFirst()).toBoolean());
         }
     }
+
+    /**
+     * Checks that cloning the states behind a confluence does not merge any of the clones with a (not yet updated)
+     * state of the current prefix path.
+     */
+    @Test
+    public void testConfluenceCloning() {
+        final Alphabet<Character> alphabet = Alphabets.characters('a', 'b');
+        final IncrementalDFABuilder<Character> builder = createIncrementalDFABuilder(alphabet);
+        final List<Word<Character>> words = Arrays.asList(Word.fromString("aaa"),
+                                                          Word.fromString("aa"),
+                                                          Word.fromString("ba"),
+                                                          Word.fromString("baa"),
+                                                          Word.fromString("a"),
+                                                          Word.fromString("aaaa"),
+                                                          Word.fromString("aaab"));
+
+        for (Word<Character> w : words) {
+            builder.insert(w, false);
+        }
+
+        for (Word<Character> w : words) {
+            Assert.assertEquals(builder.lookup(w), Acceptance.FALSE);
+        }
+    }
+
+    /**
+     * Checks that inserting the traces of {@link #testIntegration()} in batches yields the same (minimal) DAG as
+     * inserting them individually.
+     */
+    @Test
+    public void testBatchIntegration() throws IOException {
+        final ParsedTraces<Integer, Boolean> parsedData = IntegrationUtil.parseDFATraces();
+        final Alphabet<Integer> alphabet = parsedData.alphabet;
+        final List<Pair<Word<Integer>, Boolean>> traces = parsedData.traces;
+
+        final IncrementalDFABuilder<Integer> sequential = createIncrementalDFABuilder(alphabet);
+        final IncrementalDFABuilder<Integer> batched = createIncrementalDFABuilder(alphabet);
+
+        for (Pair<Word<Integer>, Boolean> trace : traces) {
+            sequential.insert(trace.getFirst(), trace.getSecond());
+        }
+
+        // insert the first half individually, so that batches are also merged into existing (confluent) structures
+        final int half = traces.size() / 2;
+        for (Pair<Word<Integer>, Boolean> trace : traces.subList(0, half)) {
+            batched.insert(trace.getFirst(), trace.getSecond());
+        }
+        for (int i = half; i < traces.size(); i += BATCH_SIZE) {
+            final List<Pair<Word<Integer>, Boolean>> batch = traces.subList(i, Math.min(i + BATCH_SIZE, traces.size()));
+            batched.insertAll(batch.stream().map(Pair::getFirst).collect(Collectors.toList()),
+                              batch.stream().map(Pair::getSecond).collect(Collectors.toList()));
+        }
+
+        for (Pair<Word<Integer>, Boolean> trace : traces) {
+            Assert.assertEquals(batched.lookup(trace.getFirst()), sequential.lookup(trace.getFirst()));
+        }
+
+        // both DAGs are minimal, hence they need to have the same size
+        Assert.assertEquals(batched.asGraph().size(), sequential.asGraph().size());
+    }
+
+    @Test
+    public void testAtomicBatchConflict() {
+        final Alphabet<Character> alphabet = Alphabets.characters('a', 'c');
+        final IncrementalDFABuilder<Character> builder = createIncrementalDFABuilder(alphabet);
+
+        builder.insert(Word.fromString("abc"), true);
+        builder.insert(Word.fromString("bbc"), true);
+
+        final int size = builder.asGraph().size();
+
+        Assert.assertThrows(ConflictException.class,
+                            () -> builder.insertAll(Arrays.asList(Word.fromString("ab"), Word.fromString("bbc")),
+                                                    Arrays.asList(true, false)));
+
+        Assert.assertEquals(builder.asGraph().size(), size);
+        Assert.assertEquals(builder.lookup(Word.fromString("ab")), Acceptance.DONT_KNOW);
+    }
+
+    /**
+     * Checks that the batch insertion does not recurse per symbol, i.e., that long words do not exhaust the call stack.
+     */
+    @Test
+    public void testBatchLongWords() {
+        final Alphabet<Character> alphabet = Alphabets.characters('a', 'b');
+        final IncrementalDFABuilder<Character> sequential = createIncrementalDFABuilder(alphabet);
+        final IncrementalDFABuilder<Character> batched = createIncrementalDFABuilder(alphabet);
+
+        final Word<Character> prefix = Word.fromList(Collections.nCopies(LONG_WORD_LENGTH, 'a'));
+        final List<Word<Character>> words = Arrays.asList(prefix.append('a'), prefix.append('b'), prefix);
+        final List<Boolean> acceptances = Arrays.asList(true, false, true);
+
+        // insert the words in two batches, so that the second one is merged into the existing chain of states
+        batched.insertAll(words.subList(0, 2), acceptances.subList(0, 2));
+        batched.insertAll(words.subList(2, 3), acceptances.subList(2, 3));
+
+        for (int i = 0; i < words.size(); i++) {
+            sequential.insert(words.get(i), acceptances.get(i));
+            Assert.assertEquals(batched.lookup(words.get(i)), Acceptance.fromBoolean(acceptances.get(i)));
+        }
+
+        Assert.assertEquals(batched.lookup(prefix.prefix(LONG_WORD_LENGTH / 2)), Acceptance.DONT_KNOW);
+        Assert.assertEquals(batched.asGraph().size(), sequential.asGraph().size());
+    }
 }
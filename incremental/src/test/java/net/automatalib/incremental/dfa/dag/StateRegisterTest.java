@@ -0,0 +1,84 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.dfa.dag;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import net.automatalib.incremental.dfa.Acceptance;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Compares the {@link StateRegister} against a regular {@link HashMap}.
+ *
+ * @author agent
+ */
+public class StateRegisterTest {
+
+    @Test
+    public void testRandomOperations() {
+        final Random random = new Random(42);
+        final int numSuccs = 3;
+
+        // a pool of successor states to build signatures from
+        final List<State> pool = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            pool.add(new State(new StateSignature(numSuccs, Acceptance.DONT_KNOW)));
+        }
+
+        final StateRegister register = new StateRegister();
+        final Map<StateSignature, State> reference = new HashMap<>();
+
+        for (int i = 0; i < 20000; i++) {
+            final StateSignature sig = new StateSignature(numSuccs, Acceptance.values()[random.nextInt(3)]);
+            for (int j = 0; j < numSuccs; j++) {
+                if (random.nextBoolean()) {
+                    sig.successors.array[j] = pool.get(random.nextInt(pool.size()));
+                }
+            }
+            sig.updateHashCode();
+
+            switch (random.nextInt(3)) {
+                case 0:
+                    final State state = new State(sig);
+                    register.put(state);
+                    reference.put(sig, state);
+                    break;
+                case 1:
+                    Assert.assertSame(register.remove(sig), reference.remove(sig));
+                    break;
+                default:
+                    Assert.assertSame(register.get(sig), reference.get(sig));
+            }
+
+            Assert.assertEquals(register.size(), reference.size());
+        }
+
+        Assert.assertEquals(new HashSet<>(register.values()), new HashSet<>(reference.values()));
+
+        for (StateSignature sig : new ArrayList<>(reference.keySet())) {
+            Assert.assertSame(register.remove(sig), reference.remove(sig));
+        }
+
+        Assert.assertEquals(register.size(), 0);
+        Assert.assertTrue(register.values().isEmpty());
+    }
+}
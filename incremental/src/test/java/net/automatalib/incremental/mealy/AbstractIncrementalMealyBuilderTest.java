@@ -17,6 +17,8 @@ package net.automatalib.incremental.mealy;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 
 import javax.swing.SwingUtilities;
 
@@ -242,4 +244,21 @@ public abstract class AbstractIncrementalMealyBuilderTest {
         Assert.assertEquals(growableBuilder.lookup(input2), Word.fromLetter('1'));
     }
 
+    @Test
+    public void testInsertAll() {
+        final IncrementalMealyBuilder<Character, Character> builder = createIncrementalMealyBuilder(TEST_ALPHABET);
+
+        builder.insertAll(Arrays.asList(W_1, W_2, W_3), Arrays.asList(W_1_O, W_2_O, W_3_O));
+
+        Assert.assertEquals(builder.lookup(W_1), W_1_O);
+        Assert.assertEquals(builder.lookup(W_2), W_2_O);
+        Assert.assertEquals(builder.lookup(W_3), W_3_O);
+        Assert.assertFalse(builder.hasDefinitiveInformation(Word.fromString("b")));
+
+        Assert.assertThrows(ConflictException.class,
+                            () -> builder.insertAll(Collections.singletonList(W_1),
+                                                    Collections.singletonList(W_3_O)));
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> builder.insertAll(Collections.singletonList(W_1), Collections.emptyList()));
+    }
 }
@@ -0,0 +1,150 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.incremental.mealy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.incremental.ConflictException;
+import net.automatalib.incremental.mealy.tree.concurrent.ConcurrentIncrementalMealyTreeBuilder;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test
+public class ConcurrentIncrementalMealyTreeBuilderTest extends AbstractIncrementalMealyBuilderTest {
+
+    private static final int THREADS = 4;
+
+    private ExecutorService executor;
+
+    @BeforeClass
+    public void setUpExecutor() {
+        this.executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterClass
+    public void tearDownExecutor() {
+        this.executor.shutdown();
+    }
+
+    @Override
+    protected <I, O> IncrementalMealyBuilder<I, O> createIncrementalMealyBuilder(Alphabet<I> alphabet) {
+        return new ConcurrentIncrementalMealyTreeBuilder<>(alphabet);
+    }
+
+    @Test
+    public void testConcurrentInsert() throws InterruptedException, ExecutionException {
+        final Random random = new Random(42);
+        final Alphabet<Integer> inputs = Alphabets.integers(0, 3);
+        final Alphabet<Integer> outputs = Alphabets.integers(0, 2);
+        final CompactMealy<Integer, Integer> mealy = RandomAutomata.randomMealy(random, 50, inputs, outputs);
+
+        final List<Word<Integer>> words = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            final WordBuilder<Integer> wb = new WordBuilder<>();
+            final int length = random.nextInt(16);
+            for (int j = 0; j < length; j++) {
+                wb.append(inputs.getSymbol(random.nextInt(inputs.size())));
+            }
+            words.add(wb.toWord());
+        }
+
+        final ConcurrentIncrementalMealyTreeBuilder<Integer, Integer> builder =
+                new ConcurrentIncrementalMealyTreeBuilder<>(inputs);
+        final CountDownLatch latch = new CountDownLatch(THREADS);
+        final List<Future<?>> futures = new ArrayList<>(THREADS);
+
+        for (int t = 0; t < THREADS; t++) {
+            // every thread inserts all words, but in a different order, to provoke contention on the same nodes
+            final List<Word<Integer>> shuffled = new ArrayList<>(words);
+            Collections.shuffle(shuffled, new Random(t));
+            futures.add(executor.submit(() -> {
+                latch.countDown();
+                latch.await();
+                for (Word<Integer> w : shuffled) {
+                    builder.insert(w, mealy.computeOutput(w));
+                    Assert.assertEquals(builder.lookup(w), mealy.computeOutput(w));
+                }
+                return null;
+            }));
+        }
+
+        for (Future<?> f : futures) {
+            f.get();
+        }
+
+        for (Word<Integer> w : words) {
+            Assert.assertTrue(builder.hasDefinitiveInformation(w));
+            Assert.assertEquals(builder.lookup(w), mealy.computeOutput(w));
+        }
+
+        Assert.assertNull(builder.findSeparatingWord(mealy, inputs, false));
+    }
+
+    @Test
+    public void testConcurrentConflict() throws InterruptedException, ExecutionException {
+        final Alphabet<Integer> inputs = Alphabets.integers(0, 1);
+        final Word<Integer> input = Word.fromSymbols(0, 1, 0);
+
+        for (int round = 0; round < 50; round++) {
+            final ConcurrentIncrementalMealyTreeBuilder<Integer, Integer> builder =
+                    new ConcurrentIncrementalMealyTreeBuilder<>(inputs);
+            final CountDownLatch latch = new CountDownLatch(THREADS);
+            final List<Future<Boolean>> futures = new ArrayList<>(THREADS);
+
+            for (int t = 0; t < THREADS; t++) {
+                final Word<Integer> output = Word.fromSymbols(t, t, t);
+                final Callable<Boolean> task = () -> {
+                    latch.countDown();
+                    latch.await();
+                    try {
+                        builder.insert(input, output);
+                        return true;
+                    } catch (ConflictException ce) {
+                        return false;
+                    }
+                };
+                futures.add(executor.submit(task));
+            }
+
+            int successes = 0;
+            for (Future<Boolean> f : futures) {
+                if (f.get()) {
+                    successes++;
+                }
+            }
+
+            // all outputs differ in the first symbol, so exactly one thread may win
+            Assert.assertEquals(successes, 1);
+        }
+    }
+}
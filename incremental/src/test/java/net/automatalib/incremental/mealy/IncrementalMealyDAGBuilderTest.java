@@ -16,20 +16,28 @@
 package net.automatalib.incremental.mealy;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import net.automatalib.commons.util.Pair;
+import net.automatalib.incremental.ConflictException;
 import net.automatalib.incremental.IntegrationUtil;
 import net.automatalib.incremental.IntegrationUtil.ParsedTraces;
 import net.automatalib.incremental.mealy.dag.IncrementalMealyDAGBuilder;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 @Test
 public class IncrementalMealyDAGBuilderTest extends AbstractIncrementalMealyBuilderTest {
 
+    private static final int BATCH_SIZE = 50;
+    private static final int LONG_WORD_LENGTH = 100_000;
+
     @Override
     protected <I, O> IncrementalMealyBuilder<I, O> createIncrementalMealyBuilder(Alphabet<I> alphabet) {
         return new IncrementalMealyDAGBuilder<>(alphabet);
@@ -57,4 +65,115 @@ public class IncrementalMealyDAGBuilderTest extends AbstractIncrementalMealyBuil
             Assert.assertEquals(trace.getSecond(), cache.lookup(trace.getFirst()));
         }
     }
+
+    /**
+     * Checks that cloning the states behind a confluence does not merge any of the clones with a (not yet updated)
+     * state of the current prefix path.
+     */
+    @Test
+    public void testConfluenceCloning() {
+        final Alphabet<Character> alphabet = Alphabets.characters('a', 'b');
+        final IncrementalMealyBuilder<Character, Character> builder = createIncrementalMealyBuilder(alphabet);
+        final List<Word<Character>> inputs = Arrays.asList(Word.fromString("bbb"),
+                                                           Word.fromString("aaab"),
+                                                           Word.fromString("bbbb"),
+                                                           Word.fromString("bbba"));
+        final List<Word<Character>> outputs = Arrays.asList(Word.fromString("xxx"),
+                                                            Word.fromString("yyyx"),
+                                                            Word.fromString("xxxx"),
+                                                            Word.fromString("xxxy"));
+
+        for (int i = 0; i < inputs.size(); i++) {
+            builder.insert(inputs.get(i), outputs.get(i));
+        }
+
+        for (int i = 0; i < inputs.size(); i++) {
+            Assert.assertEquals(builder.lookup(inputs.get(i)), outputs.get(i));
+        }
+    }
+
+    /**
+     * Checks that inserting the traces of {@link #testIntegration()} in batches yields the same (minimal) DAG as
+     * inserting them individually.
+     */
+    @Test
+    public void testBatchIntegration() throws IOException {
+        final ParsedTraces<Integer, Word<Integer>> parsedData = IntegrationUtil.parseMealyTraces();
+        final Alphabet<Integer> alphabet = parsedData.alphabet;
+        final List<Pair<Word<Integer>, Word<Integer>>> traces = parsedData.traces;
+
+        final IncrementalMealyBuilder<Integer, Integer> sequential = createIncrementalMealyBuilder(alphabet);
+        final IncrementalMealyBuilder<Integer, Integer> batched = createIncrementalMealyBuilder(alphabet);
+
+        for (Pair<Word<Integer>, Word<Integer>> trace : traces) {
+            sequential.insert(trace.getFirst(), trace.getSecond());
+        }
+
+        // insert the first half individually, so that batches are also merged into existing (confluent) structures
+        final int half = traces.size() / 2;
+        for (Pair<Word<Integer>, Word<Integer>> trace : traces.subList(0, half)) {
+            batched.insert(trace.getFirst(), trace.getSecond());
+        }
+        for (int i = half; i < traces.size(); i += BATCH_SIZE) {
+            final List<Pair<Word<Integer>, Word<Integer>>> batch =
+                    traces.subList(i, Math.min(i + BATCH_SIZE, traces.size()));
+            batched.insertAll(batch.stream().map(Pair::getFirst).collect(Collectors.toList()),
+                              batch.stream().map(Pair::getSecond).collect(Collectors.toList()));
+        }
+
+        for (Pair<Word<Integer>, Word<Integer>> trace : traces) {
+            Assert.assertEquals(batched.lookup(trace.getFirst()), trace.getSecond());
+        }
+
+        // both DAGs are minimal, hence they need to have the same size
+        Assert.assertEquals(batched.asGraph().size(), sequential.asGraph().size());
+    }
+
+    @Test
+    public void testAtomicBatchConflict() {
+        final Alphabet<Character> alphabet = Alphabets.characters('a', 'c');
+        final IncrementalMealyBuilder<Character, Character> builder = createIncrementalMealyBuilder(alphabet);
+
+        builder.insert(Word.fromString("abc"), Word.fromString("xyz"));
+        builder.insert(Word.fromString("bbc"), Word.fromString("xyz"));
+
+        final int size = builder.asGraph().size();
+
+        Assert.assertThrows(ConflictException.class,
+                            () -> builder.insertAll(Arrays.asList(Word.fromString("abca"), Word.fromString("bbc")),
+                                                    Arrays.asList(Word.fromString("xyzw"), Word.fromString("xyy"))));
+
+        Assert.assertEquals(builder.asGraph().size(), size);
+        Assert.assertFalse(builder.hasDefinitiveInformation(Word.fromString("abca")));
+    }
+
+    /**
+     * Checks that the batch insertion does not recurse per symbol, i.e., that long words do not exhaust the call stack.
+     */
+    @Test
+    public void testBatchLongWords() {
+        final Alphabet<Character> alphabet = Alphabets.characters('a', 'b');
+        final IncrementalMealyBuilder<Character, Character> sequential = createIncrementalMealyBuilder(alphabet);
+        final IncrementalMealyBuilder<Character, Character> batched = createIncrementalMealyBuilder(alphabet);
+
+        final Word<Character> prefix = Word.fromList(Collections.nCopies(LONG_WORD_LENGTH, 'a'));
+        final Word<Character> prefixOutput = Word.fromList(Collections.nCopies(LONG_WORD_LENGTH, 'x'));
+        final List<Word<Character>> words = Arrays.asList(prefix.append('a'), prefix.append('b'), prefix.append('b'));
+        final List<Word<Character>> outputs =
+                Arrays.asList(prefixOutput.append('x'), prefixOutput.append('y'), prefixOutput.append('y'));
+
+        // insert the words in two batches, so that the second one is merged into the existing chain of states
+        batched.insertAll(words.subList(0, 1), outputs.subList(0, 1));
+        batched.insertAll(words.subList(1, 3), outputs.subList(1, 3));
+
+        for (int i = 0; i < words.size(); i++) {
+            sequential.insert(words.get(i), outputs.get(i));
+            Assert.assertEquals(batched.lookup(words.get(i)), outputs.get(i));
+        }
+
+        Assert.assertThrows(ConflictException.class,
+                            () -> batched.insertAll(Collections.singletonList(prefix.append('b')),
+                                                    Collections.singletonList(prefixOutput.append('z'))));
+        Assert.assertEquals(batched.asGraph().size(), sequential.asGraph().size());
+    }
 }
@@ -0,0 +1,167 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.automatalib.automata.MutableDeterministic;
+import net.automatalib.exception.ModelCheckingException;
+import net.automatalib.modelcheckers.ltl.LTLFormula.Kind;
+import net.automatalib.modelchecking.Lasso;
+import net.automatalib.modelchecking.modelchecker.AbstractUnfoldingModelChecker;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An LTL model checker that runs natively on the JVM, i.e., without invoking any external tools.
+ * <p>
+ * Properties are given in the LTL syntax of LTSmin (e.g. {@code [](letter == "a" -> X <>letter == "b")}). The negation
+ * of a property is translated into a generalized Büchi automaton, whose product with the hypothesis is explored
+ * on-the-fly until an accepting lasso (i.e. a counterexample) is found. Büchi automata are cached per property, so
+ * checking the same property on several hypotheses translates it only once.
+ * <p>
+ * Only infinite runs of the hypothesis are considered, i.e., a property is satisfied if all infinite runs satisfy it.
+ *
+ * @param <I>
+ *         the input type
+ * @param <A>
+ *         the automaton type
+ * @param <L>
+ *         the lasso type
+ *
+ * @author agent
+ */
+public abstract class AbstractLTLModelChecker<I, A, L extends Lasso<I, ?>>
+        extends AbstractUnfoldingModelChecker<I, A, String, L> {
+
+    /**
+     * The default minimum number of unfolds.
+     */
+    public static final int DEFAULT_MINIMUM_UNFOLDS = 3;
+
+    /**
+     * The default multiplier.
+     */
+    public static final double DEFAULT_MULTIPLIER = 1.0;
+
+    private final Map<String, BuchiAutomaton> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new AbstractLTLModelChecker with {@link #DEFAULT_MINIMUM_UNFOLDS} and {@link #DEFAULT_MULTIPLIER}.
+     */
+    protected AbstractLTLModelChecker() {
+        this(DEFAULT_MINIMUM_UNFOLDS, DEFAULT_MULTIPLIER);
+    }
+
+    /**
+     * Constructs a new AbstractLTLModelChecker.
+     *
+     * @param minimumUnfolds
+     *         the minimum number of unfolds
+     * @param multiplier
+     *         the multiplier
+     *
+     * @see AbstractUnfoldingModelChecker#AbstractUnfoldingModelChecker(int, double)
+     */
+    protected AbstractLTLModelChecker(int minimumUnfolds, double multiplier) {
+        super(minimumUnfolds, multiplier);
+    }
+
+    /**
+     * Returns the keys that may be used in atomic propositions of a property.
+     *
+     * @return the admissible keys
+     */
+    protected abstract Set<String> getKeys();
+
+    /**
+     * Searches the product of the hypothesis (described by the given initial state and steps) and the Büchi automaton
+     * of the negated property for an accepting lasso.
+     *
+     * @throws ModelCheckingException
+     *         if the property is not well-formed
+     */
+    <S> LassoSearch.@Nullable Lasso<S> search(S init, int numInputs, LassoSearch.Steps<S> steps, String property) {
+        final BuchiAutomaton buchi;
+
+        try {
+            buchi = cache.computeIfAbsent(property, this::translateNegation);
+        } catch (IllegalArgumentException iae) {
+            throw new ModelCheckingException(iae);
+        }
+
+        return new LassoSearch<>(buchi, numInputs, steps).search(init);
+    }
+
+    private BuchiAutomaton translateNegation(String property) {
+        return BuchiAutomaton.of(LTLFormula.unary(Kind.NOT, LTLParser.parse(property, getKeys())));
+    }
+
+    /**
+     * Writes the given lasso into the given (empty) automaton, whose states correspond to the positions of the lasso.
+     *
+     * @param lasso
+     *         the lasso
+     * @param inputs
+     *         the inputs (referenced by index in the lasso)
+     * @param automaton
+     *         the automaton to write the lasso to
+     * @param stateProperty
+     *         the state property of all states
+     * @param transitionProperty
+     *         the transition property for the i-th step of the lasso, given the source state and the input
+     */
+    <S, T, SP, TP> void buildLasso(LassoSearch.Lasso<S> lasso,
+                                   List<? extends I> inputs,
+                                   MutableDeterministic<Integer, I, T, SP, TP> automaton,
+                                   SP stateProperty,
+                                   TransitionPropertyFunction<S, I, TP> transitionProperty) {
+        final List<S> states = new ArrayList<>(lasso.prefixStates);
+        states.addAll(lasso.loopStates);
+
+        final List<Integer> steps = new ArrayList<>(lasso.prefixInputs);
+        steps.addAll(lasso.loopInputs);
+
+        final int size = states.size();
+        final int loopBegin = lasso.prefixStates.size();
+
+        for (int i = 0; i < size; i++) {
+            if (i == 0) {
+                automaton.addInitialState(stateProperty);
+            } else {
+                automaton.addState(stateProperty);
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            final I input = inputs.get(steps.get(i));
+            final int target = i + 1 < size ? i + 1 : loopBegin;
+            automaton.addTransition(i, input, target, transitionProperty.apply(states.get(i), input));
+        }
+    }
+
+    /**
+     * Computes the transition property of a lasso step.
+     */
+    @FunctionalInterface
+    interface TransitionPropertyFunction<S, I, TP> {
+
+        TP apply(S state, I input);
+    }
+}
@@ -0,0 +1,316 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltl;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import net.automatalib.modelcheckers.ltl.LTLFormula.Kind;
+
+/**
+ * A generalized Büchi automaton with state-based labels and state-based acceptance, constructed from an LTL formula by
+ * the tableau construction of Gerth, Peled, Vardi and Wolper ("Simple On-the-fly Automatic Verification of Linear
+ * Temporal Logic", 1995).
+ * <p>
+ * A node constrains the step of a run at which the automaton visits the node: all {@link #getPositiveLiterals(int)
+ * positive literals} of the node must hold and all {@link #getNegativeLiterals(int) negative literals} must not hold.
+ * A run is accepting, iff it visits each {@link #getNumAcceptanceSets() acceptance set} infinitely often.
+ *
+ * @author agent
+ */
+final class BuchiAutomaton {
+
+    private static final int INIT = -1;
+
+    private final int[] initialNodes;
+    private final int[][] successors;
+    private final LTLFormula[][] positiveLiterals;
+    private final LTLFormula[][] negativeLiterals;
+    private final BitSet[] acceptance;
+    private final int numAcceptanceSets;
+
+    private BuchiAutomaton(int[] initialNodes,
+                           int[][] successors,
+                           LTLFormula[][] positiveLiterals,
+                           LTLFormula[][] negativeLiterals,
+                           BitSet[] acceptance,
+                           int numAcceptanceSets) {
+        this.initialNodes = initialNodes;
+        this.successors = successors;
+        this.positiveLiterals = positiveLiterals;
+        this.negativeLiterals = negativeLiterals;
+        this.acceptance = acceptance;
+        this.numAcceptanceSets = numAcceptanceSets;
+    }
+
+    /**
+     * Constructs the automaton that accepts exactly the runs which satisfy the given formula.
+     *
+     * @param formula
+     *         the formula
+     *
+     * @return the Büchi automaton for the formula
+     */
+    static BuchiAutomaton of(LTLFormula formula) {
+        final LTLFormula nnf = formula.toNNF(false);
+        final List<Node> nodes = new ArrayList<>();
+
+        final Node init = new Node();
+        init.incoming.add(INIT);
+        init.pending.add(nnf);
+        expand(init, nodes);
+
+        final List<LTLFormula> untils = new ArrayList<>();
+        collectUntils(nnf, untils);
+
+        final int size = nodes.size();
+        final List<Integer> initialNodes = new ArrayList<>();
+        final List<List<Integer>> successors = new ArrayList<>(size);
+        final LTLFormula[][] positiveLiterals = new LTLFormula[size][];
+        final LTLFormula[][] negativeLiterals = new LTLFormula[size][];
+        final BitSet[] acceptance = new BitSet[size];
+
+        for (int i = 0; i < size; i++) {
+            successors.add(new ArrayList<>());
+        }
+
+        for (int i = 0; i < size; i++) {
+            final Node node = nodes.get(i);
+
+            for (int pred : node.incoming) {
+                if (pred == INIT) {
+                    initialNodes.add(i);
+                } else {
+                    successors.get(pred).add(i);
+                }
+            }
+
+            final List<LTLFormula> positive = new ArrayList<>();
+            final List<LTLFormula> negative = new ArrayList<>();
+
+            for (LTLFormula f : node.processed) {
+                if (f.kind == Kind.ATOM) {
+                    positive.add(f);
+                } else if (f.kind == Kind.NOT) {
+                    negative.add(f.operand());
+                }
+            }
+
+            positiveLiterals[i] = positive.toArray(new LTLFormula[0]);
+            negativeLiterals[i] = negative.toArray(new LTLFormula[0]);
+
+            // a node is accepting w.r.t. an until-formula, if it does not need to satisfy it or it fulfills it
+            final BitSet accepting = new BitSet(untils.size());
+            for (int u = 0; u < untils.size(); u++) {
+                final LTLFormula until = untils.get(u);
+                if (!node.processed.contains(until) || node.processed.contains(until.right())) {
+                    accepting.set(u);
+                }
+            }
+            acceptance[i] = accepting;
+        }
+
+        final int[][] successorArray = new int[size][];
+        for (int i = 0; i < size; i++) {
+            successorArray[i] = successors.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        return new BuchiAutomaton(initialNodes.stream().mapToInt(Integer::intValue).toArray(),
+                                  successorArray,
+                                  positiveLiterals,
+                                  negativeLiterals,
+                                  acceptance,
+                                  untils.size());
+    }
+
+    int size() {
+        return successors.length;
+    }
+
+    int[] getInitialNodes() {
+        return initialNodes;
+    }
+
+    int[] getSuccessors(int node) {
+        return successors[node];
+    }
+
+    LTLFormula[] getPositiveLiterals(int node) {
+        return positiveLiterals[node];
+    }
+
+    LTLFormula[] getNegativeLiterals(int node) {
+        return negativeLiterals[node];
+    }
+
+    BitSet getAcceptance(int node) {
+        return acceptance[node];
+    }
+
+    int getNumAcceptanceSets() {
+        return numAcceptanceSets;
+    }
+
+    private static void expand(Node node, List<Node> nodes) {
+        while (!node.pending.isEmpty()) {
+            final LTLFormula f = node.pending.iterator().next();
+            node.pending.remove(f);
+
+            if (node.processed.contains(f)) {
+                continue;
+            }
+
+            switch (f.kind) {
+                case TRUE:
+                    // keep track of true, because it may be the right-hand side of an until-formula
+                    node.processed.add(f);
+                    break;
+                case FALSE:
+                    return;
+                case ATOM:
+                case NOT:
+                    if (contradicts(f, node.processed)) {
+                        return;
+                    }
+                    node.processed.add(f);
+                    break;
+                case AND:
+                    node.processed.add(f);
+                    node.addPending(f.left());
+                    node.addPending(f.right());
+                    break;
+                case NEXT:
+                    node.processed.add(f);
+                    node.next.add(f.operand());
+                    break;
+                case OR:
+                case UNTIL:
+                case RELEASE: {
+                    node.processed.add(f);
+                    final Node split = node.copy();
+
+                    if (f.kind == Kind.OR) {
+                        node.addPending(f.left());
+                        split.addPending(f.right());
+                    } else if (f.kind == Kind.UNTIL) {
+                        // left U right == right || (left && X(left U right))
+                        node.addPending(f.left());
+                        node.next.add(f);
+                        split.addPending(f.right());
+                    } else {
+                        // left R right == right && (left || X(left R right))
+                        node.addPending(f.right());
+                        node.next.add(f);
+                        split.addPending(f.left());
+                        split.addPending(f.right());
+                    }
+
+                    expand(split, nodes);
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("Formula is not in negation normal form: " + f);
+            }
+        }
+
+        for (Node other : nodes) {
+            if (other.processed.equals(node.processed) && other.next.equals(node.next)) {
+                other.incoming.addAll(node.incoming);
+                return;
+            }
+        }
+
+        node.id = nodes.size();
+        nodes.add(node);
+
+        final Node succ = new Node();
+        succ.incoming.add(node.id);
+        succ.pending.addAll(node.next);
+        expand(succ, nodes);
+    }
+
+    /**
+     * Checks whether the given literal contradicts the given set of formulas. Besides complementary literals, two atomic
+     * propositions with the same key but different labels are contradicting, because a step has only a single value
+     * per key.
+     */
+    private static boolean contradicts(LTLFormula literal, Set<LTLFormula> formulas) {
+        if (literal.kind == Kind.NOT) {
+            return formulas.contains(literal.operand());
+        }
+
+        for (LTLFormula f : formulas) {
+            if (f.kind == Kind.NOT && f.operand().equals(literal)) {
+                return true;
+            } else if (f.kind == Kind.ATOM && Objects.equals(f.key, literal.key) &&
+                       !Objects.equals(f.label, literal.label)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static void collectUntils(LTLFormula formula, List<LTLFormula> untils) {
+        if (formula.kind == Kind.UNTIL && !untils.contains(formula)) {
+            untils.add(formula);
+        }
+        if (formula.left != null) {
+            collectUntils(formula.left, untils);
+        }
+        if (formula.right != null) {
+            collectUntils(formula.right, untils);
+        }
+    }
+
+    private static final class Node {
+
+        int id = INIT;
+        final Set<Integer> incoming;
+        final Set<LTLFormula> pending;
+        final Set<LTLFormula> processed;
+        final Set<LTLFormula> next;
+
+        Node() {
+            this(new HashSet<>(), new LinkedHashSet<>(), new HashSet<>(), new HashSet<>());
+        }
+
+        private Node(Set<Integer> incoming, Set<LTLFormula> pending, Set<LTLFormula> processed, Set<LTLFormula> next) {
+            this.incoming = incoming;
+            this.pending = pending;
+            this.processed = processed;
+            this.next = next;
+        }
+
+        void addPending(LTLFormula formula) {
+            if (!processed.contains(formula)) {
+                pending.add(formula);
+            }
+        }
+
+        Node copy() {
+            return new Node(new HashSet<>(incoming),
+                            new LinkedHashSet<>(pending),
+                            new HashSet<>(processed),
+                            new HashSet<>(next));
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltl;
+
+import java.util.Objects;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable LTL formula. Atomic propositions are of the form {@code key == "label"} and hold for a step of a run, iff
+ * the step's value for the given key (e.g. its input symbol) has the given string representation.
+ * <p>
+ * Formulas are compared structurally, so that they can be used as elements of (hash-based) sets.
+ *
+ * @author agent
+ */
+final class LTLFormula {
+
+    static final LTLFormula TRUE = new LTLFormula(Kind.TRUE, null, null, null, null);
+    static final LTLFormula FALSE = new LTLFormula(Kind.FALSE, null, null, null, null);
+
+    final Kind kind;
+    final @Nullable LTLFormula left;
+    final @Nullable LTLFormula right;
+    final @Nullable String key;
+    final @Nullable String label;
+    private final int hash;
+
+    private LTLFormula(Kind kind,
+                       @Nullable LTLFormula left,
+                       @Nullable LTLFormula right,
+                       @Nullable String key,
+                       @Nullable String label) {
+        this.kind = kind;
+        this.left = left;
+        this.right = right;
+        this.key = key;
+        this.label = label;
+        this.hash = Objects.hash(kind, left, right, key, label);
+    }
+
+    static LTLFormula atom(String key, String label) {
+        return new LTLFormula(Kind.ATOM, null, null, key, label);
+    }
+
+    static LTLFormula unary(Kind kind, LTLFormula operand) {
+        return new LTLFormula(kind, operand, null, null, null);
+    }
+
+    static LTLFormula binary(Kind kind, LTLFormula left, LTLFormula right) {
+        return new LTLFormula(kind, left, right, null, null);
+    }
+
+    /**
+     * Returns whether this formula is a literal, i.e., an atomic proposition or a negated atomic proposition.
+     *
+     * @return {@code true} if this formula is a literal, {@code false} otherwise
+     */
+    boolean isLiteral() {
+        return kind == Kind.ATOM || kind == Kind.NOT && operand().kind == Kind.ATOM;
+    }
+
+    /**
+     * Returns the formula in negation normal form, i.e., a formula that is built from literals, {@link Kind#TRUE},
+     * {@link Kind#FALSE}, {@link Kind#AND}, {@link Kind#OR}, {@link Kind#NEXT}, {@link Kind#UNTIL} and {@link
+     * Kind#RELEASE} only.
+     *
+     * @param negate
+     *         whether to return the negation normal form of the negation of this formula
+     *
+     * @return the formula in negation normal form
+     */
+    LTLFormula toNNF(boolean negate) {
+        switch (kind) {
+            case TRUE:
+                return negate ? FALSE : TRUE;
+            case FALSE:
+                return negate ? TRUE : FALSE;
+            case ATOM:
+                return negate ? unary(Kind.NOT, this) : this;
+            case NOT:
+                return operand().toNNF(!negate);
+            case AND:
+                return negate ? or(left().toNNF(true), right().toNNF(true)) :
+                        and(left().toNNF(false), right().toNNF(false));
+            case OR:
+                return negate ? and(left().toNNF(true), right().toNNF(true)) :
+                        or(left().toNNF(false), right().toNNF(false));
+            case IMPLIES:
+                return negate ? and(left().toNNF(false), right().toNNF(true)) :
+                        or(left().toNNF(true), right().toNNF(false));
+            case EQUIVALENT:
+                return or(and(left().toNNF(false), right().toNNF(negate)),
+                          and(left().toNNF(true), right().toNNF(!negate)));
+            case NEXT:
+                return unary(Kind.NEXT, operand().toNNF(negate));
+            case ALWAYS:
+                return negate ? binary(Kind.UNTIL, TRUE, operand().toNNF(true)) :
+                        binary(Kind.RELEASE, FALSE, operand().toNNF(false));
+            case EVENTUALLY:
+                return negate ? binary(Kind.RELEASE, FALSE, operand().toNNF(true)) :
+                        binary(Kind.UNTIL, TRUE, operand().toNNF(false));
+            case UNTIL:
+                return binary(negate ? Kind.RELEASE : Kind.UNTIL, left().toNNF(negate), right().toNNF(negate));
+            case RELEASE:
+                return binary(negate ? Kind.UNTIL : Kind.RELEASE, left().toNNF(negate), right().toNNF(negate));
+            default:
+                throw new IllegalStateException("Unknown formula kind: " + kind);
+        }
+    }
+
+    LTLFormula operand() {
+        return left();
+    }
+
+    @SuppressWarnings("nullness") // only called on formulas with (at least) one operand
+    LTLFormula left() {
+        return left;
+    }
+
+    @SuppressWarnings("nullness") // only called on formulas with two operands
+    LTLFormula right() {
+        return right;
+    }
+
+    private static LTLFormula and(LTLFormula left, LTLFormula right) {
+        if (left.kind == Kind.FALSE || right.kind == Kind.TRUE) {
+            return left;
+        } else if (left.kind == Kind.TRUE || right.kind == Kind.FALSE) {
+            return right;
+        }
+        return binary(Kind.AND, left, right);
+    }
+
+    private static LTLFormula or(LTLFormula left, LTLFormula right) {
+        if (left.kind == Kind.TRUE || right.kind == Kind.FALSE) {
+            return left;
+        } else if (left.kind == Kind.FALSE || right.kind == Kind.TRUE) {
+            return right;
+        }
+        return binary(Kind.OR, left, right);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LTLFormula)) {
+            return false;
+        }
+
+        final LTLFormula that = (LTLFormula) o;
+        return hash == that.hash && kind == that.kind && Objects.equals(left, that.left) &&
+               Objects.equals(right, that.right) && Objects.equals(key, that.key) &&
+               Objects.equals(label, that.label);
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case TRUE:
+                return "true";
+            case FALSE:
+                return "false";
+            case ATOM:
+                return key + " == \"" + Objects.toString(label).replace("\"", "\\\"") + '"';
+            case NOT:
+                return "!(" + operand() + ')';
+            case NEXT:
+                return "X(" + operand() + ')';
+            case ALWAYS:
+                return "[](" + operand() + ')';
+            case EVENTUALLY:
+                return "<>(" + operand() + ')';
+            default:
+                return "(" + left() + ") " + kind.symbol + " (" + right() + ')';
+        }
+    }
+
+    /**
+     * The kinds of formulas.
+     */
+    enum Kind {
+        TRUE("true"),
+        FALSE("false"),
+        ATOM("=="),
+        NOT("!"),
+        AND("&&"),
+        OR("||"),
+        IMPLIES("->"),
+        EQUIVALENT("<->"),
+        NEXT("X"),
+        ALWAYS("[]"),
+        EVENTUALLY("<>"),
+        UNTIL("U"),
+        RELEASE("R");
+
+        final String symbol;
+
+        Kind(String symbol) {
+            this.symbol = symbol;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.modelcheckers.ltl.LassoSearch.Steps;
+import net.automatalib.modelchecking.Lasso.DFALasso;
+import net.automatalib.modelchecking.ModelCheckerLasso.DFAModelCheckerLasso;
+import net.automatalib.modelchecking.lasso.DFALassoImpl;
+import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A native LTL model checker for DFAs.
+ * <p>
+ * Atomic propositions are of the form {@code letter == "a"} and hold for a step of a run, iff the string representation
+ * of the step's input symbol equals the given label. Analogous to {@code LTSminLTLDFA}, a run may only visit accepting
+ * states of the DFA.
+ *
+ * @param <I>
+ *         the input type
+ *
+ * @author agent
+ */
+public class LTLModelCheckerDFA<I> extends AbstractLTLModelChecker<I, DFA<?, I>, DFALasso<I>>
+        implements DFAModelCheckerLasso<I, String> {
+
+    /**
+     * The key for atomic propositions about input symbols.
+     */
+    public static final String LETTER = "letter";
+
+    public LTLModelCheckerDFA() {
+        super();
+    }
+
+    public LTLModelCheckerDFA(int minimumUnfolds, double multiplier) {
+        super(minimumUnfolds, multiplier);
+    }
+
+    @Override
+    protected Set<String> getKeys() {
+        return Collections.singleton(LETTER);
+    }
+
+    @Override
+    public @Nullable DFALasso<I> findCounterExample(DFA<?, I> automaton,
+                                                    Collection<? extends I> inputs,
+                                                    String property) {
+        return findLasso(automaton, inputs, property);
+    }
+
+    private <S> @Nullable DFALasso<I> findLasso(DFA<S, I> automaton,
+                                                Collection<? extends I> inputs,
+                                                String property) {
+        final S init = automaton.getInitialState();
+
+        if (init == null || !automaton.isAccepting(init)) {
+            return null;
+        }
+
+        final List<I> inputList = new ArrayList<>(inputs);
+        final LassoSearch.Lasso<S> lasso = search(init, inputList.size(), new Steps<S>() {
+
+            @Override
+            public @Nullable S getSuccessor(S state, int input) {
+                final S succ = automaton.getSuccessor(state, inputList.get(input));
+                return succ != null && automaton.isAccepting(succ) ? succ : null;
+            }
+
+            @Override
+            public boolean satisfies(S state, int input, LTLFormula atom) {
+                return String.valueOf(inputList.get(input)).equals(atom.label);
+            }
+        }, property);
+
+        if (lasso == null) {
+            return null;
+        }
+
+        final CompactDFA<I> result = new CompactDFA<>(Alphabets.fromCollection(inputs));
+        buildLasso(lasso, inputList, result, true, (s, i) -> null);
+
+        return new DFALassoImpl<>(result, inputs, computeUnfolds(automaton.size()));
+    }
+}
@@ -0,0 +1,143 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.modelcheckers.ltl.LassoSearch.Steps;
+import net.automatalib.modelchecking.Lasso.MealyLasso;
+import net.automatalib.modelchecking.ModelCheckerLasso.MealyModelCheckerLasso;
+import net.automatalib.modelchecking.lasso.MealyLassoImpl;
+import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A native LTL model checker for Mealy machines.
+ * <p>
+ * Each step of a run consists of an input symbol and the output symbol of the corresponding transition. Atomic
+ * propositions are of the form {@code input == "a"} or {@code output == "1"} and hold for a step, iff the string
+ * representation of the respective symbol equals the given label (cf. the synchronous semantics of {@code
+ * LTSminLTLIO}). Transitions whose output is contained in the {@link #getSkipOutputs() skipped outputs} are not
+ * taken by any run.
+ *
+ * @param <I>
+ *         the input type
+ * @param <O>
+ *         the output type
+ *
+ * @author agent
+ */
+public class LTLModelCheckerMealy<I, O> extends AbstractLTLModelChecker<I, MealyMachine<?, I, ?, O>, MealyLasso<I, O>>
+        implements MealyModelCheckerLasso<I, O, String> {
+
+    /**
+     * The key for atomic propositions about input symbols.
+     */
+    public static final String INPUT = "input";
+
+    /**
+     * The key for atomic propositions about output symbols.
+     */
+    public static final String OUTPUT = "output";
+
+    private static final Set<String> KEYS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(INPUT, OUTPUT)));
+
+    /**
+     * @see #getSkipOutputs()
+     * @see #setSkipOutputs(Collection)
+     */
+    private Collection<? super O> skipOutputs;
+
+    public LTLModelCheckerMealy() {
+        this(Collections.emptySet());
+    }
+
+    public LTLModelCheckerMealy(Collection<? super O> skipOutputs) {
+        this(DEFAULT_MINIMUM_UNFOLDS, DEFAULT_MULTIPLIER, skipOutputs);
+    }
+
+    public LTLModelCheckerMealy(int minimumUnfolds, double multiplier, Collection<? super O> skipOutputs) {
+        super(minimumUnfolds, multiplier);
+        this.skipOutputs = skipOutputs;
+    }
+
+    @Override
+    public Collection<? super O> getSkipOutputs() {
+        return skipOutputs;
+    }
+
+    @Override
+    public void setSkipOutputs(Collection<? super O> skipOutputs) {
+        this.skipOutputs = skipOutputs;
+    }
+
+    @Override
+    protected Set<String> getKeys() {
+        return KEYS;
+    }
+
+    @Override
+    public @Nullable MealyLasso<I, O> findCounterExample(MealyMachine<?, I, ?, O> automaton,
+                                                         Collection<? extends I> inputs,
+                                                         String property) {
+        return findLasso(automaton, inputs, property);
+    }
+
+    private <S, T> @Nullable MealyLasso<I, O> findLasso(MealyMachine<S, I, T, O> automaton,
+                                                        Collection<? extends I> inputs,
+                                                        String property) {
+        final S init = automaton.getInitialState();
+
+        if (init == null) {
+            return null;
+        }
+
+        final List<I> inputList = new ArrayList<>(inputs);
+        final LassoSearch.Lasso<S> lasso = search(init, inputList.size(), new Steps<S>() {
+
+            @Override
+            public @Nullable S getSuccessor(S state, int input) {
+                final T trans = automaton.getTransition(state, inputList.get(input));
+                return trans == null || skipOutputs.contains(automaton.getTransitionOutput(trans)) ? null :
+                        automaton.getSuccessor(trans);
+            }
+
+            @Override
+            public boolean satisfies(S state, int input, LTLFormula atom) {
+                final I i = inputList.get(input);
+                final Object value = INPUT.equals(atom.key) ? i : automaton.getOutput(state, i);
+                return String.valueOf(value).equals(atom.label);
+            }
+        }, property);
+
+        if (lasso == null) {
+            return null;
+        }
+
+        final CompactMealy<I, O> result = new CompactMealy<>(Alphabets.fromCollection(inputs));
+        buildLasso(lasso, inputList, result, null, automaton::getOutput);
+
+        return new MealyLassoImpl<>(result, inputs, computeUnfolds(automaton.size()));
+    }
+}
@@ -0,0 +1,220 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltl;
+
+import java.util.Collection;
+
+import net.automatalib.modelcheckers.ltl.LTLFormula.Kind;
+
+/**
+ * A parser for LTL formulas in the syntax of LTSmin, e.g. {@code [](letter == "a" -> X <>letter == "b")}.
+ * <p>
+ * The operators are (in order of decreasing precedence):
+ * <ul>
+ * <li>{@code !}, {@code []}, {@code <>}, {@code X} (prefix),</li>
+ * <li>{@code U}, {@code R} (right-associative),</li>
+ * <li>{@code &&},</li>
+ * <li>{@code ||},</li>
+ * <li>{@code <->},</li>
+ * <li>{@code ->} (right-associative).</li>
+ * </ul>
+ * Atomic propositions are {@code true}, {@code false} and {@code key == "label"}, where the admissible keys are given
+ * upon parsing. Quotes inside labels are escaped with a backslash.
+ *
+ * @author agent
+ */
+final class LTLParser {
+
+    private final String formula;
+    private final Collection<String> keys;
+    private int pos;
+
+    private LTLParser(String formula, Collection<String> keys) {
+        this.formula = formula;
+        this.keys = keys;
+    }
+
+    /**
+     * Parses the given formula.
+     *
+     * @param formula
+     *         the formula to parse
+     * @param keys
+     *         the admissible keys of atomic propositions
+     *
+     * @return the parsed formula
+     *
+     * @throws IllegalArgumentException
+     *         if the formula is not well-formed
+     */
+    static LTLFormula parse(String formula, Collection<String> keys) {
+        final LTLParser parser = new LTLParser(formula, keys);
+        final LTLFormula result = parser.implication();
+
+        parser.skipWhitespace();
+        if (parser.pos < formula.length()) {
+            throw parser.error("Unexpected input");
+        }
+
+        return result;
+    }
+
+    private LTLFormula implication() {
+        final LTLFormula left = equivalence();
+
+        if (consume("->")) {
+            return LTLFormula.binary(Kind.IMPLIES, left, implication());
+        }
+
+        return left;
+    }
+
+    private LTLFormula equivalence() {
+        LTLFormula result = disjunction();
+
+        while (consume("<->")) {
+            result = LTLFormula.binary(Kind.EQUIVALENT, result, disjunction());
+        }
+
+        return result;
+    }
+
+    private LTLFormula disjunction() {
+        LTLFormula result = conjunction();
+
+        while (consume("||")) {
+            result = LTLFormula.binary(Kind.OR, result, conjunction());
+        }
+
+        return result;
+    }
+
+    private LTLFormula conjunction() {
+        LTLFormula result = temporal();
+
+        while (consume("&&")) {
+            result = LTLFormula.binary(Kind.AND, result, temporal());
+        }
+
+        return result;
+    }
+
+    private LTLFormula temporal() {
+        final LTLFormula left = unary();
+
+        if (consume("U")) {
+            return LTLFormula.binary(Kind.UNTIL, left, temporal());
+        } else if (consume("R")) {
+            return LTLFormula.binary(Kind.RELEASE, left, temporal());
+        }
+
+        return left;
+    }
+
+    private LTLFormula unary() {
+        if (consume("!")) {
+            return LTLFormula.unary(Kind.NOT, unary());
+        } else if (consume("[]")) {
+            return LTLFormula.unary(Kind.ALWAYS, unary());
+        } else if (consume("<>")) {
+            return LTLFormula.unary(Kind.EVENTUALLY, unary());
+        } else if (consume("X")) {
+            return LTLFormula.unary(Kind.NEXT, unary());
+        } else if (consume("(")) {
+            final LTLFormula result = implication();
+            expect(")");
+            return result;
+        }
+
+        return atom();
+    }
+
+    private LTLFormula atom() {
+        skipWhitespace();
+
+        if (formula.regionMatches(true, pos, "true", 0, 4) && !isIdentifierPart(pos + 4)) {
+            pos += 4;
+            return LTLFormula.TRUE;
+        } else if (formula.regionMatches(true, pos, "false", 0, 5) && !isIdentifierPart(pos + 5)) {
+            pos += 5;
+            return LTLFormula.FALSE;
+        }
+
+        final int start = pos;
+        while (isIdentifierPart(pos)) {
+            pos++;
+        }
+
+        final String key = formula.substring(start, pos);
+
+        if (key.isEmpty()) {
+            throw error("Expected an atomic proposition");
+        } else if (!keys.contains(key)) {
+            pos = start;
+            throw error("Unknown key '" + key + "', expected one of " + keys);
+        }
+
+        expect("==");
+        expect("\"");
+
+        final StringBuilder label = new StringBuilder();
+
+        while (pos < formula.length() && formula.charAt(pos) != '"') {
+            if (formula.startsWith("\\\"", pos)) {
+                pos++;
+            }
+            label.append(formula.charAt(pos++));
+        }
+
+        if (pos == formula.length()) {
+            throw error("Unterminated label");
+        }
+        pos++;
+
+        return LTLFormula.atom(key, label.toString());
+    }
+
+    private boolean consume(String token) {
+        skipWhitespace();
+
+        if (formula.startsWith(token, pos)) {
+            pos += token.length();
+            return true;
+        }
+
+        return false;
+    }
+
+    private void expect(String token) {
+        if (!consume(token)) {
+            throw error("Expected '" + token + '\'');
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < formula.length() && Character.isWhitespace(formula.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private boolean isIdentifierPart(int idx) {
+        return idx < formula.length() && Character.isLetterOrDigit(formula.charAt(idx));
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + pos + " of formula: " + formula);
+    }
+}
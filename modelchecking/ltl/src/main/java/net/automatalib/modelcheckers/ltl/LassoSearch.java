@@ -0,0 +1,400 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An on-the-fly emptiness check for the product of a (deterministic) hypothesis and a {@link BuchiAutomaton}.
+ * <p>
+ * The product is explored by an iterative version of Tarjan's SCC algorithm. The search stops as soon as an SCC is
+ * completed which contains a cycle that visits all acceptance sets of the Büchi automaton. Hence, only the part of the
+ * product which is explored until the first accepting SCC is found is ever constructed.
+ *
+ * @param <S>
+ *         the state type of the hypothesis
+ *
+ * @author agent
+ */
+final class LassoSearch<S> {
+
+    private static final int UNDISCOVERED = -1;
+
+    private final BuchiAutomaton buchi;
+    private final int numInputs;
+    private final Steps<S> steps;
+
+    // product state id -> attributes, ids are assigned in the order of discovery
+    private final List<S> states = new ArrayList<>();
+    private int[] nodes = new int[16];
+    private int[] lowlinks = new int[16];
+    private int[] parents = new int[16];
+    private int[] parentInputs = new int[16];
+    private int[] components = new int[16];
+    private final BitSet onStack = new BitSet();
+    private final BitSet selfLoop = new BitSet();
+
+    // hypothesis state -> (Büchi node -> product state id)
+    private final Map<S, int[]> ids = new HashMap<>();
+
+    private final Deque<Integer> tarjanStack = new ArrayDeque<>();
+    private int numComponents;
+
+    LassoSearch(BuchiAutomaton buchi, int numInputs, Steps<S> steps) {
+        this.buchi = buchi;
+        this.numInputs = numInputs;
+        this.steps = steps;
+    }
+
+    /**
+     * Searches for an accepting lasso in the product.
+     *
+     * @param init
+     *         the initial state of the hypothesis
+     *
+     * @return an accepting lasso, or {@code null} if the product does not contain an accepting lasso
+     */
+    @Nullable Lasso<S> search(S init) {
+        for (int node : buchi.getInitialNodes()) {
+            if (getId(init, node) == UNDISCOVERED) {
+                final Lasso<S> result = explore(discover(init, node, UNDISCOVERED, UNDISCOVERED));
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private @Nullable Lasso<S> explore(int root) {
+        final Deque<Frame<S>> callStack = new ArrayDeque<>();
+        callStack.push(new Frame<>(root));
+
+        while (!callStack.isEmpty()) {
+            final Frame<S> frame = callStack.peek();
+            final int v = frame.id;
+
+            if (frame.advance(this)) {
+                final int w = getOrDiscover(frame.successor, frame.successorNode(this), v, frame.input);
+
+                if (w == v) {
+                    selfLoop.set(v);
+                }
+
+                if (frame.discovered) {
+                    callStack.push(new Frame<>(w));
+                } else if (onStack.get(w)) {
+                    lowlinks[v] = Math.min(lowlinks[v], w);
+                }
+            } else {
+                callStack.pop();
+
+                if (lowlinks[v] == v) {
+                    final Lasso<S> lasso = completeComponent(v);
+                    if (lasso != null) {
+                        return lasso;
+                    }
+                }
+
+                final Frame<S> parent = callStack.peek();
+                if (parent != null) {
+                    lowlinks[parent.id] = Math.min(lowlinks[parent.id], lowlinks[v]);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private @Nullable Lasso<S> completeComponent(int root) {
+        final int component = numComponents++;
+        final BitSet acceptance = new BitSet();
+        int size = 0;
+        int w;
+
+        do {
+            w = tarjanStack.pop();
+            onStack.clear(w);
+            components[w] = component;
+            acceptance.or(buchi.getAcceptance(nodes[w]));
+            size++;
+        } while (w != root);
+
+        if ((size > 1 || selfLoop.get(root)) && acceptance.cardinality() == buchi.getNumAcceptanceSets()) {
+            return buildLasso(root, component);
+        }
+
+        return null;
+    }
+
+    private Lasso<S> buildLasso(int root, int component) {
+        final List<S> prefixStates = new ArrayList<>();
+        final List<Integer> prefixInputs = new ArrayList<>();
+
+        for (int v = root; parents[v] != UNDISCOVERED; v = parents[v]) {
+            prefixStates.add(states.get(parents[v]));
+            prefixInputs.add(parentInputs[v]);
+        }
+
+        Collections.reverse(prefixStates);
+        Collections.reverse(prefixInputs);
+
+        final List<S> loopStates = new ArrayList<>();
+        final List<Integer> loopInputs = new ArrayList<>();
+
+        // visit every acceptance set and return to the root, staying within the component
+        int current = root;
+        for (int set = 0; set < buchi.getNumAcceptanceSets(); set++) {
+            if (!buchi.getAcceptance(nodes[current]).get(set)) {
+                current = findPath(current, component, set, loopStates, loopInputs);
+            }
+        }
+        findPath(current, component, -1, loopStates, loopInputs);
+
+        return new Lasso<>(prefixStates, prefixInputs, loopStates, loopInputs);
+    }
+
+    /**
+     * Appends a shortest (non-empty) path within the given component from the given product state to a product state
+     * of the given acceptance set (or to the root of the component, if {@code set < 0}).
+     *
+     * @return the target of the path
+     */
+    private int findPath(int source, int component, int set, List<S> pathStates, List<Integer> pathInputs) {
+        final Map<Integer, Integer> predecessors = new HashMap<>();
+        final Map<Integer, Integer> predecessorInputs = new HashMap<>();
+        final Deque<Integer> queue = new ArrayDeque<>();
+
+        queue.add(source);
+
+        while (!queue.isEmpty()) {
+            final int v = queue.poll();
+            final Frame<S> frame = new Frame<>(v);
+
+            while (frame.advance(this)) {
+                final int w = getId(frame.successor, frame.successorNode(this));
+
+                if (w == UNDISCOVERED || components[w] != component || predecessors.containsKey(w)) {
+                    continue;
+                }
+
+                predecessors.put(w, v);
+                predecessorInputs.put(w, frame.input);
+
+                final boolean found = set < 0 ? w == lowlinks[w] : buchi.getAcceptance(nodes[w]).get(set);
+
+                if (found) {
+                    final List<S> segmentStates = new ArrayList<>();
+                    final List<Integer> segmentInputs = new ArrayList<>();
+
+                    int x = w;
+                    do {
+                        final int pred = predecessors.get(x);
+                        segmentStates.add(states.get(pred));
+                        segmentInputs.add(predecessorInputs.get(x));
+                        x = pred;
+                    } while (x != source);
+
+                    Collections.reverse(segmentStates);
+                    Collections.reverse(segmentInputs);
+                    pathStates.addAll(segmentStates);
+                    pathInputs.addAll(segmentInputs);
+
+                    return w;
+                }
+
+                queue.add(w);
+            }
+        }
+
+        throw new IllegalStateException("Component is not strongly connected");
+    }
+
+    private int getId(S state, int node) {
+        final int[] stateIds = ids.get(state);
+        return stateIds == null ? UNDISCOVERED : stateIds[node];
+    }
+
+    private int getOrDiscover(S state, int node, int parent, int parentInput) {
+        final int id = getId(state, node);
+        return id == UNDISCOVERED ? discover(state, node, parent, parentInput) : id;
+    }
+
+    private int discover(S state, int node, int parent, int parentInput) {
+        final int id = states.size();
+
+        if (id == nodes.length) {
+            final int newCapacity = id * 2;
+            nodes = Arrays.copyOf(nodes, newCapacity);
+            lowlinks = Arrays.copyOf(lowlinks, newCapacity);
+            parents = Arrays.copyOf(parents, newCapacity);
+            parentInputs = Arrays.copyOf(parentInputs, newCapacity);
+            components = Arrays.copyOf(components, newCapacity);
+        }
+
+        states.add(state);
+        nodes[id] = node;
+        lowlinks[id] = id;
+        parents[id] = parent;
+        parentInputs[id] = parentInput;
+        components[id] = UNDISCOVERED;
+
+        ids.computeIfAbsent(state, s -> {
+            final int[] stateIds = new int[buchi.size()];
+            Arrays.fill(stateIds, UNDISCOVERED);
+            return stateIds;
+        })[node] = id;
+
+        tarjanStack.push(id);
+        onStack.set(id);
+
+        return id;
+    }
+
+    /**
+     * Checks whether the step from the given hypothesis state via the given input satisfies the literals of the given
+     * Büchi node.
+     */
+    private boolean satisfies(S state, int input, int node) {
+        for (LTLFormula atom : buchi.getPositiveLiterals(node)) {
+            if (!steps.satisfies(state, input, atom)) {
+                return false;
+            }
+        }
+        for (LTLFormula atom : buchi.getNegativeLiterals(node)) {
+            if (steps.satisfies(state, input, atom)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The semantics of the steps of the hypothesis.
+     *
+     * @param <S>
+     *         the state type of the hypothesis
+     */
+    interface Steps<S> {
+
+        /**
+         * Returns the successor of the given state for the given input, or {@code null} if a run cannot continue with
+         * the given input.
+         *
+         * @param state
+         *         the source state
+         * @param input
+         *         the index of the input
+         *
+         * @return the successor state, or {@code null}
+         */
+        @Nullable S getSuccessor(S state, int input);
+
+        /**
+         * Returns whether the step from the given state via the given input satisfies the given atomic proposition.
+         *
+         * @param state
+         *         the source state
+         * @param input
+         *         the index of the input
+         * @param atom
+         *         the atomic proposition
+         *
+         * @return {@code true} if the step satisfies the atomic proposition, {@code false} otherwise
+         */
+        boolean satisfies(S state, int input, LTLFormula atom);
+    }
+
+    /**
+     * An accepting lasso of the product, projected onto the hypothesis. The i-th state is the source of the step with
+     * the i-th input. The loop leads back to the first state of the loop.
+     *
+     * @param <S>
+     *         the state type of the hypothesis
+     */
+    static final class Lasso<S> {
+
+        final List<S> prefixStates;
+        final List<Integer> prefixInputs;
+        final List<S> loopStates;
+        final List<Integer> loopInputs;
+
+        Lasso(List<S> prefixStates, List<Integer> prefixInputs, List<S> loopStates, List<Integer> loopInputs) {
+            this.prefixStates = prefixStates;
+            this.prefixInputs = prefixInputs;
+            this.loopStates = loopStates;
+            this.loopInputs = loopInputs;
+        }
+    }
+
+    /**
+     * An iterator over the product successors of a product state.
+     */
+    private static final class Frame<S> {
+
+        final int id;
+        int input = -1;
+        int successorIdx;
+        @Nullable S successor;
+        boolean discovered;
+
+        Frame(int id) {
+            this.id = id;
+        }
+
+        /**
+         * Advances to the next product successor.
+         *
+         * @return {@code true} if there is a next successor, {@code false} otherwise
+         */
+        @SuppressWarnings("nullness") // successor is non-null whenever successorIdx < successors.length
+        boolean advance(LassoSearch<S> search) {
+            final S state = search.states.get(id);
+            final int node = search.nodes[id];
+            final int[] successors = search.buchi.getSuccessors(node);
+
+            successorIdx++;
+
+            while (successor == null || successorIdx >= successors.length) {
+                if (++input >= search.numInputs) {
+                    return false;
+                }
+
+                successorIdx = 0;
+                successor = successors.length > 0 && search.satisfies(state, input, node) ?
+                        search.steps.getSuccessor(state, input) : null;
+            }
+
+            discovered = search.getId(successor, successors[successorIdx]) == UNDISCOVERED;
+            return true;
+        }
+
+        int successorNode(LassoSearch<S> search) {
+            return search.buchi.getSuccessors(search.nodes[id])[successorIdx];
+        }
+    }
+}
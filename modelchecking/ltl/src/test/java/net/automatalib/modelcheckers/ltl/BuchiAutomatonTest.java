@@ -0,0 +1,107 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltl;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import net.automatalib.modelcheckers.ltl.LTLFormula.Kind;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author agent
+ */
+public class BuchiAutomatonTest {
+
+    private static final Collection<String> KEYS = Collections.singleton("letter");
+
+    private static final LTLFormula A = LTLFormula.atom("letter", "a");
+    private static final LTLFormula B = LTLFormula.atom("letter", "b");
+
+    @Test
+    public void testParser() {
+        Assert.assertEquals(LTLParser.parse("letter == \"a\"", KEYS), A);
+        Assert.assertEquals(LTLParser.parse("TRUE", KEYS), LTLFormula.TRUE);
+        Assert.assertEquals(LTLParser.parse("letter == \"a\\\"b\"", KEYS), LTLFormula.atom("letter", "a\"b"));
+
+        // precedence and associativity
+        Assert.assertEquals(LTLParser.parse("[] letter == \"a\" -> letter == \"b\" -> letter == \"a\"", KEYS),
+                            LTLFormula.binary(Kind.IMPLIES,
+                                              LTLFormula.unary(Kind.ALWAYS, A),
+                                              LTLFormula.binary(Kind.IMPLIES, B, A)));
+        Assert.assertEquals(LTLParser.parse("letter == \"a\" || letter == \"b\" && X letter == \"a\"", KEYS),
+                            LTLFormula.binary(Kind.OR,
+                                              A,
+                                              LTLFormula.binary(Kind.AND, B, LTLFormula.unary(Kind.NEXT, A))));
+        Assert.assertEquals(LTLParser.parse("!(letter == \"a\" U letter == \"b\")", KEYS),
+                            LTLFormula.unary(Kind.NOT, LTLFormula.binary(Kind.UNTIL, A, B)));
+
+        // printing and re-parsing yields the same formula
+        final LTLFormula formula = LTLParser.parse("[](letter == \"a\" -> X <>letter == \"b\") <-> false", KEYS);
+        Assert.assertEquals(LTLParser.parse(formula.toString(), KEYS), formula);
+    }
+
+    @Test
+    public void testParserErrors() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> LTLParser.parse("", KEYS));
+        Assert.assertThrows(IllegalArgumentException.class, () -> LTLParser.parse("input == \"a\"", KEYS));
+        Assert.assertThrows(IllegalArgumentException.class, () -> LTLParser.parse("letter == \"a", KEYS));
+        Assert.assertThrows(IllegalArgumentException.class, () -> LTLParser.parse("(letter == \"a\"", KEYS));
+        Assert.assertThrows(IllegalArgumentException.class, () -> LTLParser.parse("true true", KEYS));
+    }
+
+    @Test
+    public void testNNF() {
+        final LTLFormula formula = LTLParser.parse("!([] letter == \"a\" -> <> letter == \"b\")", KEYS);
+        final LTLFormula expected = LTLFormula.binary(Kind.AND,
+                                                      LTLFormula.binary(Kind.RELEASE, LTLFormula.FALSE, A),
+                                                      LTLFormula.binary(Kind.RELEASE,
+                                                                        LTLFormula.FALSE,
+                                                                        LTLFormula.unary(Kind.NOT, B)));
+
+        Assert.assertEquals(formula.toNNF(false), expected);
+    }
+
+    @Test
+    public void testTranslation() {
+        // [] a: a single node with a self-loop, no acceptance condition
+        final BuchiAutomaton always = BuchiAutomaton.of(LTLFormula.unary(Kind.ALWAYS, A));
+        Assert.assertEquals(always.size(), 1);
+        Assert.assertEquals(always.getInitialNodes(), new int[] {0});
+        Assert.assertEquals(always.getSuccessors(0), new int[] {0});
+        Assert.assertEquals(always.getPositiveLiterals(0), new LTLFormula[] {A});
+        Assert.assertEquals(always.getNumAcceptanceSets(), 0);
+
+        // <> a: one acceptance set, which contains all nodes but the one that still waits for a
+        final BuchiAutomaton eventually = BuchiAutomaton.of(LTLFormula.unary(Kind.EVENTUALLY, A));
+        Assert.assertEquals(eventually.getNumAcceptanceSets(), 1);
+        int waiting = 0;
+        for (int n = 0; n < eventually.size(); n++) {
+            if (!eventually.getAcceptance(n).get(0)) {
+                Assert.assertEquals(eventually.getPositiveLiterals(n).length, 0);
+                waiting++;
+            }
+        }
+        Assert.assertEquals(waiting, 1);
+
+        // contradicting literals yield an empty automaton
+        Assert.assertEquals(BuchiAutomaton.of(LTLFormula.binary(Kind.AND, A, B)).size(), 0);
+        Assert.assertEquals(BuchiAutomaton.of(LTLFormula.binary(Kind.AND, A, LTLFormula.unary(Kind.NOT, A))).size(),
+                            0);
+        Assert.assertEquals(BuchiAutomaton.of(LTLFormula.FALSE).size(), 0);
+    }
+}
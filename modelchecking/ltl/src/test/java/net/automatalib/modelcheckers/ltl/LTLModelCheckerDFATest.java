@@ -0,0 +1,115 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltl;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.exception.ModelCheckingException;
+import net.automatalib.modelchecking.Lasso.DFALasso;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author agent
+ */
+public class LTLModelCheckerDFATest {
+
+    private static final String RESPONSE = "[](letter == \"a\" -> X <>letter == \"b\")";
+
+    private final Alphabet<String> alphabet = Alphabets.fromArray("a", "b");
+
+    @Test
+    public void testSelfLoop() {
+        final CompactDFA<String> dfa = new CompactDFA<>(alphabet);
+        final int q0 = dfa.addInitialState(true);
+        dfa.addTransition(q0, "a", q0);
+
+        final LTLModelCheckerDFA<String> modelChecker = new LTLModelCheckerDFA<>();
+
+        Assert.assertNull(modelChecker.findCounterExample(dfa, alphabet, "[] letter == \"a\""));
+        Assert.assertNull(modelChecker.findCounterExample(dfa, alphabet, "true"));
+
+        final DFALasso<String> lasso = modelChecker.findCounterExample(dfa, alphabet, "letter == \"b\"");
+        Assert.assertNotNull(lasso);
+        Assert.assertEquals(lasso.getLoop(), Word.fromLetter("a"));
+        Assert.assertFalse(lasso.getWord().asList().contains("b"));
+        Assert.assertEquals(lasso.getUnfolds(), modelChecker.computeUnfolds(dfa.size()));
+        Assert.assertTrue(lasso.getOutput());
+    }
+
+    @Test
+    public void testResponse() {
+        final CompactDFA<String> dfa = createDFA(true);
+        final LTLModelCheckerDFA<String> modelChecker = new LTLModelCheckerDFA<>(1, 0.0);
+
+        final DFALasso<String> lasso = modelChecker.findCounterExample(dfa, alphabet, RESPONSE);
+        Assert.assertNotNull(lasso);
+
+        // the counterexample must reach an "a" and never see a "b" afterwards
+        Assert.assertFalse(lasso.getLoop().asList().contains("b"));
+        Assert.assertTrue(dfa.accepts(lasso.getWord()));
+        Assert.assertTrue(lasso.getPrefix().concat(lasso.getLoop()).asList().contains("a"));
+        Assert.assertEquals(lasso.getUnfolds(), 1);
+
+        // every infinite run either sees infinitely many "a"s or eventually only "b"s
+        Assert.assertNull(modelChecker.findCounterExample(dfa,
+                                                          alphabet,
+                                                          "[]<> letter == \"a\" || <>[] letter == \"b\""));
+    }
+
+    @Test
+    public void testRejectingStates() {
+        // if q1 is rejecting, the only infinite run is b^omega
+        final CompactDFA<String> dfa = createDFA(false);
+        final LTLModelCheckerDFA<String> modelChecker = new LTLModelCheckerDFA<>();
+
+        Assert.assertNull(modelChecker.findCounterExample(dfa, alphabet, RESPONSE));
+        Assert.assertNull(modelChecker.findCounterExample(dfa, alphabet, "[] letter == \"b\""));
+    }
+
+    @Test
+    public void testNoInfiniteRun() {
+        final CompactDFA<String> dfa = new CompactDFA<>(alphabet);
+        final int q0 = dfa.addInitialState(true);
+        final int q1 = dfa.addState(true);
+        dfa.addTransition(q0, "a", q1);
+
+        Assert.assertNull(new LTLModelCheckerDFA<String>().findCounterExample(dfa, alphabet, "false"));
+    }
+
+    @Test(expectedExceptions = ModelCheckingException.class)
+    public void testInvalidProperty() {
+        new LTLModelCheckerDFA<String>().findCounterExample(createDFA(true), alphabet, "input == \"a\"");
+    }
+
+    /**
+     * Creates a DFA where "a" leads to q1, which loops on "a" and returns to q0 on "b".
+     */
+    private CompactDFA<String> createDFA(boolean q1Accepting) {
+        final CompactDFA<String> dfa = new CompactDFA<>(alphabet);
+        final int q0 = dfa.addInitialState(true);
+        final int q1 = dfa.addState(q1Accepting);
+
+        dfa.addTransition(q0, "a", q1);
+        dfa.addTransition(q0, "b", q0);
+        dfa.addTransition(q1, "a", q1);
+        dfa.addTransition(q1, "b", q0);
+
+        return dfa;
+    }
+}
@@ -0,0 +1,91 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltl;
+
+import java.util.Collections;
+
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.modelchecking.Lasso.MealyLasso;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author agent
+ */
+public class LTLModelCheckerMealyTest {
+
+    private final Alphabet<String> alphabet = Alphabets.fromArray("a", "b");
+
+    @Test
+    public void testCounterExample() {
+        final CompactMealy<String, String> mealy = createMealy();
+        final LTLModelCheckerMealy<String, String> modelChecker = new LTLModelCheckerMealy<>();
+
+        Assert.assertNull(modelChecker.findCounterExample(mealy, alphabet, "[](input == \"b\" -> X true)"));
+
+        final MealyLasso<String, String> lasso =
+                modelChecker.findCounterExample(mealy, alphabet, "[](input == \"a\" -> output == \"1\")");
+        Assert.assertNotNull(lasso);
+
+        // the lasso must be a run of the hypothesis and contain a violating step
+        final Word<String> word = lasso.getWord();
+        final Word<String> output = lasso.getOutput();
+        Assert.assertEquals(output, mealy.computeOutput(word));
+
+        boolean violated = false;
+        for (int i = 0; i < word.length(); i++) {
+            violated |= "a".equals(word.getSymbol(i)) && "0".equals(output.getSymbol(i));
+        }
+        Assert.assertTrue(violated);
+        Assert.assertEquals(lasso.getUnfolds(), modelChecker.computeUnfolds(mealy.size()));
+    }
+
+    @Test
+    public void testSkipOutputs() {
+        final CompactMealy<String, String> mealy = createMealy();
+        final LTLModelCheckerMealy<String, String> modelChecker = new LTLModelCheckerMealy<>();
+        final String property = "<>[] input == \"b\"";
+
+        // (aa)^omega alternates between q0 and q1
+        final MealyLasso<String, String> lasso = modelChecker.findCounterExample(mealy, alphabet, property);
+        Assert.assertNotNull(lasso);
+        Assert.assertTrue(lasso.getLoop().asList().contains("a"));
+
+        // without transitions that output "0", every run ends in the b-loop of q1
+        modelChecker.setSkipOutputs(Collections.singleton("0"));
+        Assert.assertNull(modelChecker.findCounterExample(mealy, alphabet, property));
+    }
+
+    /**
+     * Creates a Mealy machine where q0 outputs "0" for "b" and q1 outputs "0" for "a". All other transitions output
+     * "1".
+     */
+    private CompactMealy<String, String> createMealy() {
+        final CompactMealy<String, String> mealy = new CompactMealy<>(alphabet);
+        final int q0 = mealy.addInitialState();
+        final int q1 = mealy.addState();
+
+        mealy.addTransition(q0, "a", q1, "1");
+        mealy.addTransition(q0, "b", q0, "0");
+        mealy.addTransition(q1, "a", q0, "0");
+        mealy.addTransition(q1, "b", q1, "1");
+
+        return mealy;
+    }
+}
@@ -17,22 +17,24 @@ package net.automatalib.modelcheckers.ltsmin;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
 
 import com.google.common.collect.Lists;
+import com.google.common.io.ByteStreams;
 import net.automatalib.AutomataLibSettings;
-import net.automatalib.commons.util.process.ProcessUtil;
+import net.automatalib.commons.util.IOUtil;
 import net.automatalib.exception.ModelCheckingException;
 import net.automatalib.modelchecking.ModelChecker;
 import net.automatalib.serialization.etf.writer.AbstractETFWriter;
 import net.automatalib.serialization.fsm.parser.AbstractFSMParser;
+import net.automatalib.serialization.fsm.parser.FSMFormatException;
 import org.checkerframework.checker.initialization.qual.UnknownInitialization;
 import org.checkerframework.checker.nullness.qual.Nullable;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * An LTL model checker using LTSmin.
@@ -48,6 +50,11 @@ import org.slf4j.LoggerFactory;
  * will write an LTS in GCF format. This LTS will be a subset of the language of the given hypothesis. Next, the GCF is
  * converted to FSM using the ltsmin-convert binary. Lastly, the FSM is read back into an automaton using an {@link
  * AbstractFSMParser}.
+ * <p>
+ * Multiple formulas can be checked on the same hypothesis with {@link #findCounterExamples(Object, Collection, List)},
+ * which serializes the hypothesis only once and checks all formulas with a single invocation of etf2lts-mc if all of
+ * them hold. Optionally, the ETF and FSM can be exchanged via the standard streams of the binaries (see {@link
+ * #setPipelined(boolean)}).
  *
  * @param <I>
  *         the input type.
@@ -64,8 +71,6 @@ import org.slf4j.LoggerFactory;
  */
 public abstract class AbstractLTSmin<I, A, R> implements ModelChecker<I, A, String, R>, LTSmin<I, A, R> {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractLTSmin.class);
-
     /**
      * @see #isKeepFiles()
      */
@@ -76,6 +81,16 @@ public abstract class AbstractLTSmin<I, A, R> implements ModelChecker<I, A, Stri
      */
     private final Function<String, I> string2Input;
 
+    /**
+     * @see #getThreads()
+     */
+    private int threads = 1;
+
+    /**
+     * @see #isPipelined()
+     */
+    private boolean pipelined;
+
     /**
      * Constructs a new AbstractLTSmin.
      *
@@ -135,6 +150,83 @@ public abstract class AbstractLTSmin<I, A, R> implements ModelChecker<I, A, Stri
         return string2Input;
     }
 
+    /**
+     * Returns the number of threads that etf2lts-mc may use for checking a single formula.
+     *
+     * @return the number of threads.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Sets the number of threads that etf2lts-mc may use for checking a single formula. Since hypotheses are usually
+     * small, the default is a single thread.
+     *
+     * @param threads
+     *         the number of threads.
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads must be positive: " + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Returns whether the ETF of a hypothesis and the FSM of a counterexample are exchanged via the standard streams
+     * of the LTSmin binaries instead of temporary files.
+     *
+     * @return the boolean.
+     *
+     * @see #setPipelined(boolean)
+     */
+    public boolean isPipelined() {
+        return pipelined;
+    }
+
+    /**
+     * Sets whether the ETF of a hypothesis and the FSM of a counterexample are exchanged via the standard streams of
+     * the LTSmin binaries instead of temporary files. This requires the standard streams to be accessible as {@code
+     * /dev/stdin} and {@code /dev/stdout}. On systems without these files, temporary files are used regardless of this
+     * setting. The GCF trace of etf2lts-mc is always written to a temporary file, and so is the ETF when checking
+     * several formulas at once, since etf2lts-mc may then be invoked several times.
+     *
+     * @param pipelined
+     *         whether to exchange data via the standard streams.
+     */
+    public void setPipelined(boolean pipelined) {
+        this.pipelined = pipelined;
+    }
+
+    /**
+     * Reads the counterexample from the given FSM. This method is used by {@link #findCounterExample(Object,
+     * Collection, String)} and {@link #findCounterExamples(Object, Collection, List)}.
+     * <p>
+     * For compatibility with subclasses that override {@link #findCounterExample(Object, Collection, String)} based on
+     * the deprecated {@link #findCounterExampleFSM(Object, Collection, String)}, this method is not abstract. The
+     * default implementation throws an {@link UnsupportedOperationException}, i.e., such subclasses do not support
+     * {@link #findCounterExamples(Object, Collection, List)} unless they override this method as well.
+     *
+     * @param hypothesis
+     *         the checked hypothesis
+     * @param inputs
+     *         the inputs which have been regarded for checking
+     * @param fsm
+     *         the stream containing the FSM representation of the counterexample. The stream must not be closed.
+     *
+     * @return the counterexample
+     *
+     * @throws IOException
+     *         when {@code fsm} can not be read.
+     * @throws FSMFormatException
+     *         when {@code fsm} is invalid.
+     */
+    protected R parseCounterExample(A hypothesis, Collection<? extends I> inputs, InputStream fsm)
+            throws IOException {
+        throw new UnsupportedOperationException(getClass().getName() + " does not override parseCounterExample");
+    }
+
     /**
      * Finds a counterexample for the given {@code formula}, and given {@code hypothesis} in FSM format.
      *
@@ -146,131 +238,87 @@ public abstract class AbstractLTSmin<I, A, R> implements ModelChecker<I, A, Stri
      *         the formula that should be checked
      *
      * @return a file containing the FSM representation for the found counterexample, or {@code null} if no such
-     * counterexample could be found.
+     * counterexample could be found. The caller is responsible for deleting the file.
      *
      * @see AbstractLTSmin
+     * @deprecated override {@link #parseCounterExample(Object, Collection, InputStream)} instead, which reads the FSM
+     * without an intermediate file.
      */
+    @Deprecated
     protected final @Nullable File findCounterExampleFSM(A hypothesis, Collection<? extends I> inputs, String formula) {
+        return check(hypothesis, inputs, Collections.singletonList(formula), fsm -> {
+            final File file = File.createTempFile("gcf2fsm", ".fsm");
+            try (OutputStream os = IOUtil.asBufferedOutputStream(file)) {
+                ByteStreams.copy(fsm, os);
+            }
+            return file;
+        }).get(0);
+    }
 
-        try {
-            verifyFormula(formula);
-        } catch (IllegalArgumentException iae) {
-            throw new ModelCheckingException(iae);
-        }
+    @Override
+    public @Nullable R findCounterExample(A hypothesis, Collection<? extends I> inputs, String property) {
+        return findCounterExamples(hypothesis, inputs, Collections.singletonList(property)).get(0);
+    }
 
-        final File etf, gcf;
+    /**
+     * Checks multiple formulas on the same hypothesis. Compared to subsequent calls of {@link
+     * #findCounterExample(Object, Collection, String)}, the hypothesis is only serialized once. Furthermore, the
+     * conjunction of all formulas is checked first, so that only a single invocation of LTSmin is necessary if all
+     * formulas hold.
+     *
+     * @param hypothesis
+     *         the hypothesis to check
+     * @param inputs
+     *         the inputs which should be regarded for checking
+     * @param properties
+     *         the formulas that should be checked
+     *
+     * @return a list containing the counterexample for each of the given formulas (in the same order), or {@code null}
+     * if the respective formula holds.
+     *
+     * @see AbstractLTSmin
+     */
+    public List<@Nullable R> findCounterExamples(A hypothesis,
+                                                 Collection<? extends I> inputs,
+                                                 List<String> properties) {
+        return check(hypothesis, inputs, properties, fsm -> {
+            try {
+                return parseCounterExample(hypothesis, inputs, fsm);
+            } catch (FSMFormatException e) {
+                throw new ModelCheckingException(e);
+            }
+        });
+    }
 
-        try {
-            // create the ETF that will contain the LTS of the hypothesis
-            etf = File.createTempFile("automaton2etf", ".etf");
+    private <T> List<@Nullable T> check(A hypothesis,
+                                        Collection<? extends I> inputs,
+                                        List<String> properties,
+                                        LTSminRunner.FSMReader<T> fsmReader) {
 
+        for (String property : properties) {
             try {
-                // write to the ETF file
-                automaton2ETF(hypothesis, inputs, etf);
-            } catch (ModelCheckingException mce) {
-                if (!keepFiles && !etf.delete()) {
-                    LOGGER.warn("Could not delete file: " + etf.getAbsolutePath());
-                }
-                throw mce;
+                verifyFormula(property);
+            } catch (IllegalArgumentException iae) {
+                throw new ModelCheckingException(iae);
             }
-        } catch (IOException ioe) {
-            throw new ModelCheckingException(ioe);
         }
 
-        try {
-            // create the GCF that will possibly contain the counterexample
-            gcf = File.createTempFile("etf2gcf", ".gcf");
-        } catch (IOException ioe) {
-            if (!keepFiles && !etf.delete()) {
-                LOGGER.warn("Could not delete file: " + etf.getAbsolutePath());
-            }
-            throw new ModelCheckingException(ioe);
-        }
+        final List<String> options = Lists.newArrayList(// use the configured number of threads
+                                                        "--threads=" + threads,
+                                                        // use LTSmin LTL semantics
+                                                        "--ltl-semantics=ltsmin",
+                                                        // do not abort on partial LTSs
+                                                        "--allow-undefined-edges");
 
-        // the command lines for the ProcessBuilder
-        final List<String> ltsminCommandLine = Lists.newArrayList(// add the etf2lts-mc binary
-                                                                  LTSminUtil.ETF2LTS_MC,
-                                                                  // add the ETF file that contains the hypothesis
-                                                                  etf.getAbsolutePath(),
-                                                                  // add the LTL formula
-                                                                  "--ltl=" + formula,
-                                                                  // write the trace to this file
-                                                                  "--trace=" + gcf.getAbsolutePath(),
-                                                                  // use only one thread (hypotheses are always small)
-                                                                  "--threads=1",
-                                                                  // use LTSmin LTL semantics
-                                                                  "--ltl-semantics=ltsmin",
-                                                                  // do not abort on partial LTSs
-                                                                  "--allow-undefined-edges");
-
-        if (LTSminUtil.isVerbose()) {
-            ltsminCommandLine.add("-v");
-        }
+        options.addAll(getExtraCommandLineOptions());
 
-        ltsminCommandLine.addAll(getExtraCommandLineOptions());
-
-        try {
-            final int ltsminExitValue = runCommandLine(ltsminCommandLine);
-
-            if (ltsminExitValue == 0) {
-                // we have not found a counterexample
-                return null;
-            } else if (ltsminExitValue == 1) {
-                // we have found a counterexample
-
-                // create a file for the FSM
-                final File fsm;
-                try {
-                    fsm = File.createTempFile("gcf2fsm", ".fsm");
-                } catch (IOException ioe) {
-                    throw new ModelCheckingException(ioe);
-                }
-
-                final List<String> convertCommandLine = Lists.newArrayList(// add the ltsmin-convert binary
-                                                                           LTSminUtil.LTSMIN_CONVERT,
-                                                                           // use the GCF as input
-                                                                           gcf.getAbsolutePath(),
-                                                                           // use the FSM as output
-                                                                           fsm.getAbsolutePath(),
-                                                                           // required option
-                                                                           "--rdwr");
-
-                if (LTSminUtil.isVerbose()) {
-                    convertCommandLine.add("-v");
-                }
-
-                final int convertExitValue = runCommandLine(convertCommandLine);
-
-                // check the conversion is successful
-                if (convertExitValue != 0) {
-                    throw new ModelCheckingException(
-                            "Could not convert GCF to FSM. Enable debug logging to see LTSmin's debug information.");
-                }
-
-                return fsm;
-            } else {
-                throw new ModelCheckingException(
-                        "Could not model check ETF. Enable debug logging to see LTSmin's debug information.");
-            }
-        } finally {
-            if (!keepFiles) {
-                if (!etf.delete()) {
-                    LOGGER.warn("Could not delete file: " + etf.getAbsolutePath());
-                }
-                if (!gcf.delete()) {
-                    LOGGER.warn("Could not delete file: " + gcf.getAbsolutePath());
-                }
-            }
-        }
-    }
+        final LTSminRunner runner =
+                new LTSminRunner(LTSminUtil.ETF2LTS_MC, LTSminUtil.LTSMIN_CONVERT, keepFiles, pipelined);
 
-    static int runCommandLine(List<String> commandLine) {
-        try {
-            LOGGER.debug("Invoking LTSmin binary as: {}", String.join(" ", commandLine));
-            return ProcessUtil.invokeProcess(commandLine, LOGGER::debug);
-        } catch (IOException | InterruptedException e) {
-            throw new ModelCheckingException(e);
-        }
+        return runner.findCounterExamples(etf -> automaton2ETF(hypothesis, inputs, etf),
+                                          properties,
+                                          options,
+                                          fsmReader);
     }
 
     public static final class BuilderDefaults {
@@ -17,9 +17,11 @@ package net.automatalib.modelcheckers.ltsmin;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Collection;
 import java.util.function.Function;
 
+import net.automatalib.commons.util.IOUtil;
 import net.automatalib.exception.ModelCheckingException;
 import net.automatalib.modelchecking.ModelChecker;
 
@@ -49,7 +51,28 @@ public interface LTSmin<I, A, R> extends ModelChecker<I, A, String, R> {
      * @throws ModelCheckingException
      *         when the given {@code automaton} cannot be transformed into a valid LTS.
      */
-    void automaton2ETF(A automaton, Collection<? extends I> inputs, File etf) throws IOException;
+    default void automaton2ETF(A automaton, Collection<? extends I> inputs, File etf) throws IOException {
+        try (OutputStream os = IOUtil.asBufferedOutputStream(etf)) {
+            automaton2ETF(automaton, inputs, os);
+        }
+    }
+
+    /**
+     * Writes the given {@code automaton} to the given {@code etf} stream. The stream is not closed.
+     *
+     * @param automaton
+     *         the automaton to write.
+     * @param inputs
+     *         the alphabet.
+     * @param etf
+     *         the stream to write to.
+     *
+     * @throws IOException
+     *         when the given {@code automaton} can not be written to {@code etf}.
+     * @throws ModelCheckingException
+     *         when the given {@code automaton} cannot be transformed into a valid LTS.
+     */
+    void automaton2ETF(A automaton, Collection<? extends I> inputs, OutputStream etf) throws IOException;
 
     /**
      * Returns whether intermediate files should be kept, e.g. etfs, gcfs, etc.
@@ -15,8 +15,9 @@
  */
 package net.automatalib.modelcheckers.ltsmin;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Collection;
 
 import net.automatalib.automata.transducers.MealyMachine;
@@ -47,7 +48,7 @@ public interface LTSminAlternating<I, O, R> extends LTSminMealy<I, O, R> {
     boolean requiresOriginalAutomaton();
 
     @Override
-    default CompactMealy<I, O> fsm2Mealy(File fsm,
+    default CompactMealy<I, O> fsm2Mealy(InputStream fsm,
                                          MealyMachine<?, I, ?, O> originalAutomaton,
                                          Collection<? extends I> inputs) throws IOException {
 
@@ -62,7 +63,7 @@ public interface LTSminAlternating<I, O, R> extends LTSminMealy<I, O, R> {
     }
 
     @Override
-    default void mealy2ETF(MealyMachine<?, I, ?, O> automaton, Collection<? extends I> inputs, File etf)
+    default void mealy2ETF(MealyMachine<?, I, ?, O> automaton, Collection<? extends I> inputs, OutputStream etf)
             throws IOException {
         Mealy2ETFWriterAlternating.<I, O>getInstance().writeModel(etf, automaton, Alphabets.fromCollection(inputs));
     }
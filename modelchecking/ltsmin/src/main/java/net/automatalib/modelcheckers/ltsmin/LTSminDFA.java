@@ -17,11 +17,13 @@ package net.automatalib.modelcheckers.ltsmin;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Collection;
 
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.fsa.MutableDFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.commons.util.IOUtil;
 import net.automatalib.exception.ModelCheckingException;
 import net.automatalib.modelchecking.ModelChecker;
 import net.automatalib.serialization.etf.writer.DFA2ETFWriter;
@@ -60,7 +62,8 @@ public interface LTSminDFA<I, R> extends LTSmin<I, DFA<?, I>, R>, ModelChecker.D
     String LABEL_VALUE = "accept";
 
     @Override
-    default void automaton2ETF(DFA<?, I> automaton, Collection<? extends I> inputs, File etf) throws IOException {
+    default void automaton2ETF(DFA<?, I> automaton, Collection<? extends I> inputs, OutputStream etf)
+            throws IOException {
         dfa2ETF(automaton, inputs, etf);
     }
 
@@ -80,6 +83,28 @@ public interface LTSminDFA<I, R> extends LTSmin<I, DFA<?, I>, R>, ModelChecker.D
      * @throws ModelCheckingException if the dfa cannot be transformed into a valid LTS.
      */
     default <S> void dfa2ETF(DFA<S, I> dfa, Collection<? extends I> inputs, File etf) throws IOException {
+        try (OutputStream os = IOUtil.asBufferedOutputStream(etf)) {
+            dfa2ETF(dfa, inputs, os);
+        }
+    }
+
+    /**
+     * Writes the given {@code dfa} to the {@code etf} stream, while skipping rejecting states. The stream is not
+     * closed.
+     *
+     * @param dfa
+     *         the DFA to write.
+     * @param inputs
+     *         the alphabet.
+     * @param etf
+     *         the stream to write to.
+     * @param <S>
+     *         the state type
+     *
+     * @throws IOException if the dfa couldn't be written to the provided stream.
+     * @throws ModelCheckingException if the dfa cannot be transformed into a valid LTS.
+     */
+    default <S> void dfa2ETF(DFA<S, I> dfa, Collection<? extends I> inputs, OutputStream etf) throws IOException {
         // check that the DFA rejects the empty language
         if (DFAs.acceptsEmptyLanguage(dfa)) {
             throw new ModelCheckingException("DFA accepts the empty language, the LTS for such a DFA is not defined.");
@@ -17,11 +17,14 @@ package net.automatalib.modelcheckers.ltsmin;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Collection;
 import java.util.function.Function;
 
 import net.automatalib.automata.transducers.MealyMachine;
 import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.commons.util.IOUtil;
 import net.automatalib.modelchecking.ModelChecker;
 import net.automatalib.serialization.fsm.parser.FSMFormatException;
 import net.automatalib.util.automata.transducers.MealyFilter;
@@ -59,8 +62,34 @@ public interface LTSminMealy<I, O, R>
      * @throws FSMFormatException
      *         when {@code fsm} is invalid.
      */
-    CompactMealy<I, O> fsm2Mealy(File fsm, MealyMachine<?, I, ?, O> originalAutomaton, Collection<? extends I> inputs)
-            throws IOException;
+    default CompactMealy<I, O> fsm2Mealy(File fsm,
+                                         MealyMachine<?, I, ?, O> originalAutomaton,
+                                         Collection<? extends I> inputs) throws IOException {
+        try (InputStream is = IOUtil.asBufferedInputStream(fsm)) {
+            return fsm2Mealy(is, originalAutomaton, inputs);
+        }
+    }
+
+    /**
+     * Converts the FSM read from the given {@code fsm} stream to a {@link CompactMealy}. The stream is not closed.
+     *
+     * @param fsm
+     *         the stream containing the FSM to convert.
+     * @param originalAutomaton
+     *         the original automaton on which the property is checked.
+     * @param inputs
+     *         the alphabet for the returned automaton.
+     *
+     * @return the {@link CompactMealy}.
+     *
+     * @throws IOException
+     *         when {@code fsm} can not be read.
+     * @throws FSMFormatException
+     *         when {@code fsm} is invalid.
+     */
+    CompactMealy<I, O> fsm2Mealy(InputStream fsm,
+                                 MealyMachine<?, I, ?, O> originalAutomaton,
+                                 Collection<? extends I> inputs) throws IOException;
 
     /**
      * Writes the given {@link MealyMachine} to the {@code etf} file.
@@ -75,7 +104,28 @@ public interface LTSminMealy<I, O, R>
      * @throws IOException
      *         when {@code etf} can not be read.
      */
-    void mealy2ETF(MealyMachine<?, I, ?, O> automaton, Collection<? extends I> inputs, File etf) throws IOException;
+    default void mealy2ETF(MealyMachine<?, I, ?, O> automaton, Collection<? extends I> inputs, File etf)
+            throws IOException {
+        try (OutputStream os = IOUtil.asBufferedOutputStream(etf)) {
+            mealy2ETF(automaton, inputs, os);
+        }
+    }
+
+    /**
+     * Writes the given {@link MealyMachine} to the {@code etf} stream. The stream is not closed.
+     *
+     * @param automaton
+     *         the {@link MealyMachine} to write.
+     * @param inputs
+     *         the alphabet.
+     * @param etf
+     *         the stream to write to.
+     *
+     * @throws IOException
+     *         when {@code etf} can not be written.
+     */
+    void mealy2ETF(MealyMachine<?, I, ?, O> automaton, Collection<? extends I> inputs, OutputStream etf)
+            throws IOException;
 
     /**
      * Writes the {@link MealyMachine} to the {@code etf} file while pruning way the outputs given in {@link
@@ -85,11 +135,12 @@ public interface LTSminMealy<I, O, R>
      *         the {@link MealyMachine} to write.
      *
      * @throws IOException
-     *         see {@link #mealy2ETF(MealyMachine, Collection, File)}.
+     *         see {@link #mealy2ETF(MealyMachine, Collection, OutputStream)}.
      */
     @Override
-    default void automaton2ETF(MealyMachine<?, I, ?, O> mealyMachine, Collection<? extends I> inputs, File etf)
-            throws IOException {
+    default void automaton2ETF(MealyMachine<?, I, ?, O> mealyMachine,
+                               Collection<? extends I> inputs,
+                               OutputStream etf) throws IOException {
         final Alphabet<I> alphabet = Alphabets.fromCollection(inputs);
         mealy2ETF(MealyFilter.pruneTransitionsWithOutput(mealyMachine, alphabet, getSkipOutputs()), inputs, etf);
     }
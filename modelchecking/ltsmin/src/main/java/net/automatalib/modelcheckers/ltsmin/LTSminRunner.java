@@ -0,0 +1,442 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.io.ByteStreams;
+import net.automatalib.commons.util.IOUtil;
+import net.automatalib.commons.util.process.ProcessUtil;
+import net.automatalib.exception.ModelCheckingException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the LTSmin binaries for checking a batch of formulas on a single hypothesis.
+ * <p>
+ * The ETF of the hypothesis is only serialized once per batch. If more than one formula is checked, etf2lts-mc is
+ * first invoked once for the conjunction of all formulas. Only if the conjunction is violated, the formulas are checked
+ * (and their counterexamples are extracted) individually.
+ * <p>
+ * In pipelined mode, the FSM of a counterexample is read directly from the standard output of ltsmin-convert. If only
+ * a single formula is checked, the ETF is also written directly to the standard input of etf2lts-mc, so neither of
+ * them is stored in the file system. Batches of formulas may require several invocations of etf2lts-mc and hence still
+ * write the ETF to a temporary file once. Since the LTSmin binaries determine the format of their input and output by
+ * the file extension, this mode uses symbolic links to {@code /dev/stdin} and {@code /dev/stdout} and falls back to
+ * temporary files on systems that do not provide them. The GCF trace of etf2lts-mc is always written to a temporary
+ * file, because GCF is a random-access archive format.
+ *
+ * @author agent
+ */
+final class LTSminRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LTSminRunner.class);
+
+    private static final Path STDIN = Paths.get("/dev/stdin");
+    private static final Path STDOUT = Paths.get("/dev/stdout");
+
+    private final String etf2ltsMc;
+    private final String ltsminConvert;
+    private final boolean keepFiles;
+    private final boolean pipelined;
+
+    /**
+     * Constructor.
+     *
+     * @param etf2ltsMc
+     *         the path to the etf2lts-mc binary
+     * @param ltsminConvert
+     *         the path to the ltsmin-convert binary
+     * @param keepFiles
+     *         whether to keep intermediate files
+     * @param pipelined
+     *         whether to exchange the ETF and FSM via the standard streams of the binaries, if supported
+     */
+    LTSminRunner(String etf2ltsMc, String ltsminConvert, boolean keepFiles, boolean pipelined) {
+        this.etf2ltsMc = etf2ltsMc;
+        this.ltsminConvert = ltsminConvert;
+        this.keepFiles = keepFiles;
+        this.pipelined = pipelined;
+    }
+
+    /**
+     * Returns whether the current system supports the pipelined mode.
+     *
+     * @return {@code true} if the pipelined mode is supported, {@code false} otherwise
+     */
+    static boolean supportsPipes() {
+        return Files.exists(STDIN) && Files.exists(STDOUT);
+    }
+
+    /**
+     * Checks the given formulas.
+     *
+     * @param etfWriter
+     *         the writer for the ETF of the hypothesis
+     * @param formulas
+     *         the formulas to check
+     * @param options
+     *         additional command line options for the etf2lts-mc binary
+     * @param fsmReader
+     *         the reader for the FSM of a counterexample
+     * @param <T>
+     *         the type of a counterexample
+     *
+     * @return a list containing the counterexample for each of the given formulas, or {@code null} if the respective
+     * formula holds
+     */
+    <T> List<@Nullable T> findCounterExamples(ETFWriter etfWriter,
+                                              List<String> formulas,
+                                              List<String> options,
+                                              FSMReader<T> fsmReader) {
+
+        if (formulas.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final boolean usePipes = pipelined && supportsPipes();
+
+        if (pipelined && !usePipes) {
+            LOGGER.debug("Standard streams are not accessible via the file system, falling back to temporary files");
+        }
+
+        // intermediate files and links to the standard streams, deleted in reverse order of creation
+        final List<File> links = new ArrayList<>(3);
+        final List<File> files = new ArrayList<>(1);
+
+        try {
+            final String etfPath;
+            final @Nullable ETFWriter etfInput;
+            final @Nullable File fsmLink;
+
+            if (usePipes) {
+                final File dir = Files.createTempDirectory("ltsmin").toFile();
+                links.add(dir);
+
+                fsmLink = new File(dir, "trace.fsm");
+                Files.createSymbolicLink(fsmLink.toPath(), STDOUT);
+                links.add(fsmLink);
+
+                // the standard input can only be consumed once, hence a batch still requires a temporary file
+                if (formulas.size() == 1) {
+                    final File etfLink = new File(dir, "automaton.etf");
+                    Files.createSymbolicLink(etfLink.toPath(), STDIN);
+                    links.add(etfLink);
+
+                    etfInput = etfWriter;
+                    etfPath = etfLink.getAbsolutePath();
+                } else {
+                    etfInput = null;
+                    etfPath = writeETF(etfWriter, files);
+                }
+            } else {
+                fsmLink = null;
+                etfInput = null;
+                etfPath = writeETF(etfWriter, files);
+            }
+
+            final List<@Nullable T> result = new ArrayList<>(Collections.nCopies(formulas.size(), null));
+
+            // if all formulas hold, a single invocation suffices
+            if (formulas.size() > 1 && !modelCheck(etfPath, null, conjunction(formulas), null, options)) {
+                return result;
+            }
+
+            for (int i = 0; i < formulas.size(); i++) {
+                final File gcf = File.createTempFile("etf2gcf", ".gcf");
+
+                try {
+                    if (modelCheck(etfPath, etfInput, formulas.get(i), gcf, options)) {
+                        result.set(i, convert(gcf, fsmLink, fsmReader));
+                    }
+                } finally {
+                    delete(gcf, keepFiles);
+                }
+            }
+
+            return result;
+        } catch (IOException ioe) {
+            throw new ModelCheckingException(ioe);
+        } finally {
+            for (int i = files.size() - 1; i >= 0; i--) {
+                delete(files.get(i), keepFiles);
+            }
+            // links to the standard streams are of no use after checking
+            for (int i = links.size() - 1; i >= 0; i--) {
+                delete(links.get(i), false);
+            }
+        }
+    }
+
+    private static String writeETF(ETFWriter etfWriter, List<File> files) throws IOException {
+        final File etf = File.createTempFile("automaton2etf", ".etf");
+        files.add(etf);
+
+        try (OutputStream os = IOUtil.asBufferedOutputStream(etf)) {
+            etfWriter.write(os);
+        }
+
+        return etf.getAbsolutePath();
+    }
+
+    /**
+     * Runs etf2lts-mc for a single formula. If {@code etfInput} is non-null, the ETF is written to the standard input
+     * of the process.
+     *
+     * @return {@code true} if the formula is violated, {@code false} otherwise
+     */
+    private boolean modelCheck(String etf,
+                               @Nullable ETFWriter etfInput,
+                               String formula,
+                               @Nullable File gcf,
+                               List<String> options) {
+
+        final List<String> commandLine = new ArrayList<>(options.size() + 5);
+        // add the etf2lts-mc binary
+        commandLine.add(etf2ltsMc);
+        // add the ETF file that contains the hypothesis
+        commandLine.add(etf);
+        // add the LTL formula
+        commandLine.add("--ltl=" + formula);
+
+        if (gcf != null) {
+            // write the trace to this file
+            commandLine.add("--trace=" + gcf.getAbsolutePath());
+        }
+
+        if (LTSminUtil.isVerbose()) {
+            commandLine.add("-v");
+        }
+
+        commandLine.addAll(options);
+
+        final int exitValue;
+
+        try {
+            LOGGER.debug("Invoking LTSmin binary as: {}", String.join(" ", commandLine));
+            if (etfInput == null) {
+                exitValue = ProcessUtil.invokeProcess(commandLine, LOGGER::debug);
+            } else {
+                exitValue = invokeProcess(commandLine, etfInput);
+            }
+        } catch (IOException | InterruptedException e) {
+            throw new ModelCheckingException(e);
+        }
+
+        if (exitValue == 0) {
+            // we have not found a counterexample
+            return false;
+        } else if (exitValue == 1) {
+            // we have found a counterexample
+            return true;
+        } else {
+            throw new ModelCheckingException(
+                    "Could not model check ETF. Enable debug logging to see LTSmin's debug information.");
+        }
+    }
+
+    /**
+     * Invokes the given command line and writes the ETF directly to the standard input of the process, while its
+     * (merged) output is logged.
+     */
+    private static int invokeProcess(List<String> commandLine, ETFWriter etfInput)
+            throws IOException, InterruptedException {
+
+        final Process process = new ProcessBuilder(commandLine).redirectErrorStream(true).start();
+        final Thread gobbler = new Thread(() -> {
+            try (BufferedReader reader = new BufferedReader(IOUtil.asUTF8Reader(process.getInputStream()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    LOGGER.debug(line);
+                }
+            } catch (IOException ioe) {
+                LOGGER.debug("Could not read process output", ioe);
+            }
+        });
+        gobbler.start();
+
+        try {
+            try (OutputStream os = IOUtil.asBufferedOutputStream(process.getOutputStream())) {
+                etfInput.write(os);
+            } catch (IOException ioe) {
+                // a process that terminates without consuming its input is reported by its exit value
+                final int exitValue = process.waitFor();
+                if (exitValue == 0 || exitValue == 1) {
+                    throw ioe;
+                }
+                return exitValue;
+            }
+
+            return process.waitFor();
+        } finally {
+            process.destroy();
+            gobbler.join();
+        }
+    }
+
+    /**
+     * Runs ltsmin-convert for the given GCF and reads the resulting FSM.
+     */
+    private <T> T convert(File gcf, @Nullable File fsmLink, FSMReader<T> fsmReader) throws IOException {
+
+        if (fsmLink == null) {
+            final File fsm = File.createTempFile("gcf2fsm", ".fsm");
+
+            try {
+                final List<String> commandLine = convertCommandLine(gcf, fsm);
+                final int exitValue;
+
+                try {
+                    LOGGER.debug("Invoking LTSmin binary as: {}", String.join(" ", commandLine));
+                    exitValue = ProcessUtil.invokeProcess(commandLine, LOGGER::debug);
+                } catch (InterruptedException ie) {
+                    throw new ModelCheckingException(ie);
+                }
+
+                checkConversion(exitValue);
+
+                try (InputStream is = IOUtil.asBufferedInputStream(fsm)) {
+                    return fsmReader.read(is);
+                }
+            } finally {
+                delete(fsm, keepFiles);
+            }
+        }
+
+        final List<String> commandLine = convertCommandLine(gcf, fsmLink);
+        LOGGER.debug("Invoking LTSmin binary as: {}", String.join(" ", commandLine));
+
+        // the FSM is written to the standard output, hence only log the error output
+        final Process process = ProcessUtil.buildProcess(commandLine.toArray(new String[0]), null, null, LOGGER::debug);
+
+        try (InputStream is = process.getInputStream()) {
+            final T result;
+
+            try {
+                result = fsmReader.read(is);
+            } catch (IOException | RuntimeException e) {
+                // a failed conversion is reported in favor of the resulting parse error
+                ByteStreams.exhaust(is);
+                checkConversion(process.waitFor());
+                throw e;
+            }
+
+            // prevent the process from blocking on a full buffer if the reader did not consume all output
+            ByteStreams.exhaust(is);
+            checkConversion(process.waitFor());
+
+            return result;
+        } catch (InterruptedException ie) {
+            throw new ModelCheckingException(ie);
+        } finally {
+            process.destroy();
+        }
+    }
+
+    private List<String> convertCommandLine(File gcf, File fsm) {
+        final List<String> commandLine = new ArrayList<>(5);
+        // add the ltsmin-convert binary
+        commandLine.add(ltsminConvert);
+        // use the GCF as input
+        commandLine.add(gcf.getAbsolutePath());
+        // use the FSM as output
+        commandLine.add(fsm.getAbsolutePath());
+        // required option
+        commandLine.add("--rdwr");
+
+        if (LTSminUtil.isVerbose()) {
+            commandLine.add("-v");
+        }
+
+        return commandLine;
+    }
+
+    private static void checkConversion(int exitValue) {
+        if (exitValue != 0) {
+            throw new ModelCheckingException(
+                    "Could not convert GCF to FSM. Enable debug logging to see LTSmin's debug information.");
+        }
+    }
+
+    private static String conjunction(List<String> formulas) {
+        final StringBuilder sb = new StringBuilder();
+        for (String f : formulas) {
+            if (sb.length() > 0) {
+                sb.append(" && ");
+            }
+            sb.append('(').append(f).append(')');
+        }
+        return sb.toString();
+    }
+
+    private static void delete(File file, boolean keep) {
+        if (!keep && !file.delete()) {
+            LOGGER.warn("Could not delete file: " + file.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Writes the ETF of a hypothesis.
+     */
+    @FunctionalInterface
+    interface ETFWriter {
+
+        /**
+         * Writes the ETF to the given stream. The stream is not closed.
+         *
+         * @param etf
+         *         the stream to write to
+         *
+         * @throws IOException
+         *         if writing to the stream fails
+         */
+        void write(OutputStream etf) throws IOException;
+    }
+
+    /**
+     * Reads the FSM of a counterexample.
+     *
+     * @param <T>
+     *         the type of a counterexample
+     */
+    @FunctionalInterface
+    interface FSMReader<T> {
+
+        /**
+         * Reads a counterexample from the given stream. The stream is not closed.
+         *
+         * @param fsm
+         *         the stream containing the FSM
+         *
+         * @return the counterexample
+         *
+         * @throws IOException
+         *         if reading from the stream fails
+         */
+        T read(InputStream fsm) throws IOException;
+    }
+}
@@ -15,23 +15,18 @@
  */
 package net.automatalib.modelcheckers.ltsmin.ltl;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collection;
 import java.util.function.Function;
 
 import net.automatalib.automata.transducers.MealyMachine;
 import net.automatalib.automata.transducers.impl.compact.CompactMealy;
-import net.automatalib.exception.ModelCheckingException;
 import net.automatalib.modelcheckers.ltsmin.LTSminLTLParser;
 import net.automatalib.modelcheckers.ltsmin.LTSminMealy;
 import net.automatalib.modelchecking.Lasso.MealyLasso;
 import net.automatalib.modelchecking.ModelCheckerLasso.MealyModelCheckerLasso;
 import net.automatalib.modelchecking.lasso.MealyLassoImpl;
-import net.automatalib.serialization.fsm.parser.FSMFormatException;
-import org.checkerframework.checker.nullness.qual.Nullable;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * An LTL model checker using LTSmin for Mealy machines.
@@ -47,8 +42,6 @@ public abstract class AbstractLTSminLTLMealy<I, O>
         extends AbstractLTSminLTL<I, MealyMachine<?, I, ?, O>, MealyLasso<I, O>>
         implements MealyModelCheckerLasso<I, O, String>, LTSminMealy<I, O, MealyLasso<I, O>> {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractLTSminLTLMealy.class);
-
     /**
      * @see #getString2Output()
      */
@@ -115,26 +108,11 @@ public abstract class AbstractLTSminLTLMealy<I, O>
     }
 
     @Override
-    public @Nullable MealyLasso<I, O> findCounterExample(MealyMachine<?, I, ?, O> automaton,
-                                               Collection<? extends I> inputs,
-                                               String property) {
-        final File fsm = findCounterExampleFSM(automaton, inputs, property);
-
-        if (fsm == null) {
-            return null;
-        }
-
-        try {
-            final CompactMealy<I, O> mealy = fsm2Mealy(fsm, automaton, inputs);
+    protected MealyLasso<I, O> parseCounterExample(MealyMachine<?, I, ?, O> automaton,
+                                                   Collection<? extends I> inputs,
+                                                   InputStream fsm) throws IOException {
+        final CompactMealy<I, O> mealy = fsm2Mealy(fsm, automaton, inputs);
 
-            return new MealyLassoImpl<>(mealy, inputs, computeUnfolds(automaton.size()));
-        } catch (IOException | FSMFormatException e) {
-            throw new ModelCheckingException(e);
-        } finally {
-            // check if we must keep the FSM
-            if (!isKeepFiles() && !fsm.delete()) {
-                LOGGER.warn("Could not delete file: " + fsm.getAbsolutePath());
-            }
-        }
+        return new MealyLassoImpl<>(mealy, inputs, computeUnfolds(automaton.size()));
     }
 }
@@ -15,8 +15,8 @@
  */
 package net.automatalib.modelcheckers.ltsmin.monitor;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collection;
 import java.util.function.Function;
 
@@ -28,11 +28,8 @@ import net.automatalib.modelcheckers.ltsmin.AbstractLTSmin;
 import net.automatalib.modelcheckers.ltsmin.LTSminLTLParser;
 import net.automatalib.modelcheckers.ltsmin.LTSminMealy;
 import net.automatalib.modelcheckers.ltsmin.ltl.AbstractLTSminLTL;
-import net.automatalib.serialization.fsm.parser.FSMFormatException;
 import net.automatalib.words.Word;
 import org.checkerframework.checker.nullness.qual.Nullable;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * An monitor model checker using LTSmin for Mealy machines.
@@ -48,8 +45,6 @@ public abstract class AbstractLTSminMonitorMealy<I, O>
         extends AbstractLTSminMonitor<I, MealyMachine<?, I, ?, O>, MealyMachine<?, I, ?, O>>
         implements LTSminMealy<I, O, MealyMachine<?, I, ?, O>> {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractLTSminMonitorMealy.class);
-
     /**
      * @see #getString2Output()
      */
@@ -114,70 +109,55 @@ public abstract class AbstractLTSminMonitorMealy<I, O>
     }
 
     /**
-     * Converts the FSM file to a {@link MealyMachine}.
+     * Converts the FSM to a {@link MealyMachine}.
      *
-     * @see AbstractLTSmin#findCounterExample(Object, Collection, Object)
+     * @see AbstractLTSmin#findCounterExample(Object, Collection, String)
      */
     @Override
-    public @Nullable MealyMachine<?, I, ?, O> findCounterExample(MealyMachine<?, I, ?, O> automaton,
-                                                       Collection<? extends I> inputs,
-                                                       String property) {
-        final File fsm = findCounterExampleFSM(automaton, inputs, property);
-
-        if (fsm == null) {
-            return null;
-        }
-
-        try {
-            final CompactMealy<I, O> result = fsm2Mealy(fsm, automaton, inputs);
-            final Integer deadlock = result.getStates()
-                                           .stream()
-                                           .filter(s -> inputs.stream()
-                                                              .allMatch(i -> result.getSuccessor(s, i) == null))
-                                           .findFirst()
-                                           .orElseThrow(() -> new ModelCheckingException("No deadlock found"));
-
-            return new MealyMachine<Integer, I, CompactTransition<O>, O>() {
-
-                @Override
-                public Word<O> computeStateOutput(Integer state, Iterable<? extends I> input) {
-                    final Integer succ = getSuccessor(state, input);
-
-                    return deadlock.equals(succ) ? MealyMachine.super.computeStateOutput(state, input) : Word.epsilon();
-                }
-
-                @Override
-                public @Nullable Integer getInitialState() {
-                    return result.getInitialState();
-                }
-
-                @Override
-                public Integer getSuccessor(CompactTransition<O> transition) {
-                    return result.getSuccessor(transition);
-                }
-
-                @Override
-                public @Nullable CompactTransition<O> getTransition(Integer state, I input) {
-                    return result.getTransition(state, input);
-                }
-
-                @Override
-                public O getTransitionOutput(CompactTransition<O> transition) {
-                    return result.getTransitionOutput(transition);
-                }
-
-                @Override
-                public Collection<Integer> getStates() {
-                    return result.getStates();
-                }
-            };
-        } catch (IOException | FSMFormatException e) {
-            throw new ModelCheckingException(e);
-        } finally {
-            // check if we must keep the FSM
-            if (!isKeepFiles() && !fsm.delete()) {
-                LOGGER.warn("Could not delete file: " + fsm.getAbsolutePath());
+    protected MealyMachine<?, I, ?, O> parseCounterExample(MealyMachine<?, I, ?, O> automaton,
+                                                           Collection<? extends I> inputs,
+                                                           InputStream fsm) throws IOException {
+        final CompactMealy<I, O> result = fsm2Mealy(fsm, automaton, inputs);
+        final Integer deadlock = result.getStates()
+                                       .stream()
+                                       .filter(s -> inputs.stream()
+                                                          .allMatch(i -> result.getSuccessor(s, i) == null))
+                                       .findFirst()
+                                       .orElseThrow(() -> new ModelCheckingException("No deadlock found"));
+
+        return new MealyMachine<Integer, I, CompactTransition<O>, O>() {
+
+            @Override
+            public Word<O> computeStateOutput(Integer state, Iterable<? extends I> input) {
+                final Integer succ = getSuccessor(state, input);
+
+                return deadlock.equals(succ) ? MealyMachine.super.computeStateOutput(state, input) : Word.epsilon();
+            }
+
+            @Override
+            public @Nullable Integer getInitialState() {
+                return result.getInitialState();
+            }
+
+            @Override
+            public Integer getSuccessor(CompactTransition<O> transition) {
+                return result.getSuccessor(transition);
+            }
+
+            @Override
+            public @Nullable CompactTransition<O> getTransition(Integer state, I input) {
+                return result.getTransition(state, input);
+            }
+
+            @Override
+            public O getTransitionOutput(CompactTransition<O> transition) {
+                return result.getTransitionOutput(transition);
+            }
+
+            @Override
+            public Collection<Integer> getStates() {
+                return result.getStates();
             }
-        }
+        };
     }
 }
@@ -15,23 +15,18 @@
  */
 package net.automatalib.modelcheckers.ltsmin.monitor;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collection;
 import java.util.function.Function;
 
 import com.github.misberner.buildergen.annotations.GenerateBuilder;
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
-import net.automatalib.exception.ModelCheckingException;
 import net.automatalib.modelcheckers.ltsmin.AbstractLTSmin;
 import net.automatalib.modelcheckers.ltsmin.LTSminDFA;
 import net.automatalib.modelcheckers.ltsmin.LTSminLTLParser;
 import net.automatalib.serialization.fsm.parser.FSM2DFAParser;
-import net.automatalib.serialization.fsm.parser.FSMFormatException;
-import org.checkerframework.checker.nullness.qual.Nullable;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * A monitor model checker using LTSmin for DFAs.
@@ -44,8 +39,6 @@ import org.slf4j.LoggerFactory;
 public class LTSminMonitorDFA<I> extends AbstractLTSminMonitor<I, DFA<?, I>, DFA<?, I>>
         implements LTSminDFA<I, DFA<?, I>> {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(LTSminMonitorDFA.class);
-
     @GenerateBuilder(defaults = BuilderDefaults.class)
     public LTSminMonitorDFA(boolean keepFiles, Function<String, I> string2Input) {
         super(keepFiles, string2Input);
@@ -57,35 +50,21 @@ public class LTSminMonitorDFA<I> extends AbstractLTSminMonitor<I, DFA<?, I>, DFA
     }
 
     /**
-     * Converts the FSM file to a {@link DFA}.
+     * Converts the FSM to a {@link DFA}.
      *
-     * @see AbstractLTSmin#findCounterExample(Object, Collection, Object)
+     * @see AbstractLTSmin#findCounterExample(Object, Collection, String)
      */
     @Override
-    public @Nullable DFA<?, I> findCounterExample(DFA<?, I> automaton, Collection<? extends I> inputs, String property) {
-        final File fsm = findCounterExampleFSM(automaton, inputs, property);
+    protected DFA<?, I> parseCounterExample(DFA<?, I> automaton, Collection<? extends I> inputs, InputStream fsm)
+            throws IOException {
+        final CompactDFA<I> result =
+                FSM2DFAParser.getParser(inputs, getString2Input(), LABEL_NAME, LABEL_VALUE).readModel(fsm);
 
-        if (fsm == null) {
-            return null;
+        for (Integer state : result) {
+            final boolean deadlocks = inputs.stream().noneMatch(i -> result.getSuccessor(state, i) != null);
+            result.setAccepting(state, deadlocks);
         }
 
-        try {
-            final CompactDFA<I> result =
-                    FSM2DFAParser.getParser(inputs, getString2Input(), LABEL_NAME, LABEL_VALUE).readModel(fsm);
-
-            for (Integer state : result) {
-                final boolean deadlocks = inputs.stream().noneMatch(i -> result.getSuccessor(state, i) != null);
-                result.setAccepting(state, deadlocks);
-            }
-
-            return result;
-        } catch (IOException | FSMFormatException e) {
-            throw new ModelCheckingException(e);
-        } finally {
-            // check if we must keep the FSM
-            if (!isKeepFiles() && !fsm.delete()) {
-                LOGGER.warn("Could not delete file: " + fsm.getAbsolutePath());
-            }
-        }
+        return result;
     }
 }
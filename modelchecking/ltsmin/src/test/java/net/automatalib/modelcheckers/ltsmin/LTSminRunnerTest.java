@@ -0,0 +1,202 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import net.automatalib.exception.ModelCheckingException;
+import net.automatalib.modelcheckers.ltsmin.LTSminRunner.ETFWriter;
+import net.automatalib.modelcheckers.ltsmin.LTSminRunner.FSMReader;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link LTSminRunner} using shell scripts that stand in for the LTSmin binaries.
+ *
+ * @author agent
+ */
+public class LTSminRunnerTest {
+
+    private static final String ETF = "etf of the hypothesis";
+    private static final String FSM = "fsm of the counterexample";
+
+    private static final ETFWriter ETF_WRITER = os -> os.write(ETF.getBytes(StandardCharsets.UTF_8));
+    private static final FSMReader<String> FSM_READER =
+            is -> new String(ByteStreams.toByteArray(is), StandardCharsets.UTF_8);
+
+    private Path dir;
+    private String etf2ltsMc;
+    private String ltsminConvert;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        if (!new File("/bin/sh").canExecute()) {
+            throw new SkipException("The stand-in binaries require a POSIX shell");
+        }
+
+        dir = Files.createTempDirectory("ltsmin-runner-test");
+
+        Files.write(dir.resolve("trace.fsm"), FSM.getBytes(StandardCharsets.UTF_8));
+
+        // records its arguments and the received ETF, fails for formulas containing "false"
+        etf2ltsMc = script("etf2lts-mc",
+                           "echo \"$@\" >> " + dir + "/invocations",
+                           "formula=''",
+                           "trace=''",
+                           "for arg in \"$@\"; do",
+                           "  case \"$arg\" in",
+                           "    --ltl=*) formula=\"${arg#--ltl=}\" ;;",
+                           "    --trace=*) trace=\"${arg#--trace=}\" ;;",
+                           "  esac",
+                           "done",
+                           "cat \"$1\" > " + dir + "/received.etf || exit 2",
+                           "case \"$formula\" in",
+                           "  *invalid*) exit 255 ;;",
+                           "  *false*) [ -z \"$trace\" ] || printf gcf > \"$trace\"; exit 1 ;;",
+                           "  *) exit 0 ;;",
+                           "esac");
+
+        // writes the canned FSM, if given the trace written by the stand-in etf2lts-mc
+        ltsminConvert = script("ltsmin-convert",
+                               "echo \"$@\" >> " + dir + "/conversions",
+                               "[ \"$(cat \"$1\")\" = gcf ] || exit 1",
+                               "cat " + dir + "/trace.fsm > \"$2\"");
+    }
+
+    @AfterClass
+    public void tearDown() throws IOException {
+        if (dir != null) {
+            MoreFiles.deleteRecursively(dir, RecursiveDeleteOption.ALLOW_INSECURE);
+        }
+    }
+
+    @BeforeMethod
+    public void clearLogs() throws IOException {
+        Files.deleteIfExists(dir.resolve("invocations"));
+        Files.deleteIfExists(dir.resolve("conversions"));
+        Files.deleteIfExists(dir.resolve("received.etf"));
+    }
+
+    @DataProvider(name = "modes")
+    public Object[][] modes() {
+        return new Object[][] {{false}, {true}};
+    }
+
+    @Test(dataProvider = "modes")
+    public void testSingleFormula(boolean pipelined) throws IOException {
+        final LTSminRunner runner = new LTSminRunner(etf2ltsMc, ltsminConvert, false, pipelined);
+
+        Assert.assertEquals(check(runner, "true"), Collections.singletonList(null));
+        Assert.assertEquals(check(runner, "false"), Collections.singletonList(FSM));
+
+        final List<String> invocations = log("invocations");
+        Assert.assertEquals(invocations.size(), 2);
+        Assert.assertEquals(log("conversions").size(), 1);
+        Assert.assertEquals(new String(Files.readAllBytes(dir.resolve("received.etf")), StandardCharsets.UTF_8), ETF);
+
+        for (String invocation : invocations) {
+            final String etf = invocation.split(" ")[0];
+            Assert.assertTrue(etf.endsWith(".etf"));
+            Assert.assertFalse(new File(etf).exists());
+        }
+
+        if (pipelined && LTSminRunner.supportsPipes()) {
+            // the ETF has been passed via a link to the standard input
+            Assert.assertTrue(invocations.get(0).split(" ")[0].endsWith("automaton.etf"));
+        }
+    }
+
+    @Test(dataProvider = "modes")
+    public void testBatch(boolean pipelined) throws IOException {
+        final LTSminRunner runner = new LTSminRunner(etf2ltsMc, ltsminConvert, false, pipelined);
+
+        // all formulas hold, hence a single invocation suffices
+        Assert.assertEquals(check(runner, "true", "a", "b"), Arrays.asList(null, null, null));
+        Assert.assertEquals(log("invocations").size(), 1);
+        Assert.assertTrue(log("invocations").get(0).contains("--ltl=(true) && (a) && (b)"));
+        Assert.assertTrue(log("invocations").get(0).contains("--threads=4"));
+        Assert.assertFalse(log("invocations").get(0).contains("--trace="));
+
+        clearLogs();
+
+        // the conjunction fails, hence each formula is checked individually
+        Assert.assertEquals(check(runner, "a", "false", "b", "!false"), Arrays.asList(null, FSM, null, FSM));
+        Assert.assertEquals(log("invocations").size(), 5);
+        Assert.assertEquals(log("conversions").size(), 2);
+        Assert.assertEquals(new String(Files.readAllBytes(dir.resolve("received.etf")), StandardCharsets.UTF_8), ETF);
+
+        // the ETF is written once and shared by all invocations, even in pipelined mode
+        final String etf = log("invocations").get(0).split(" ")[0];
+        Assert.assertFalse(etf.endsWith("automaton.etf"));
+        for (String invocation : log("invocations")) {
+            Assert.assertEquals(invocation.split(" ")[0], etf);
+        }
+        Assert.assertFalse(new File(etf).exists());
+
+        Assert.assertEquals(check(runner), Collections.emptyList());
+    }
+
+    @Test(dataProvider = "modes", expectedExceptions = ModelCheckingException.class)
+    public void testFailedModelChecking(boolean pipelined) {
+        check(new LTSminRunner(etf2ltsMc, ltsminConvert, false, pipelined), "true", "invalid");
+    }
+
+    @Test(dataProvider = "modes", expectedExceptions = ModelCheckingException.class)
+    public void testFailedSingleModelChecking(boolean pipelined) throws IOException {
+        // terminates without consuming its input
+        final String failingMc = script("failing-mc", "exit 255");
+        check(new LTSminRunner(failingMc, ltsminConvert, false, pipelined), "true");
+    }
+
+    @Test(dataProvider = "modes", expectedExceptions = ModelCheckingException.class)
+    public void testFailedConversion(boolean pipelined) throws IOException {
+        final String failingConvert = script("failing-convert", "exit 1");
+        check(new LTSminRunner(etf2ltsMc, failingConvert, false, pipelined), "false");
+    }
+
+    private List<String> check(LTSminRunner runner, String... formulas) {
+        return runner.findCounterExamples(ETF_WRITER,
+                                          Arrays.asList(formulas),
+                                          Collections.singletonList("--threads=4"),
+                                          FSM_READER);
+    }
+
+    private List<String> log(String name) throws IOException {
+        return Files.readAllLines(dir.resolve(name), StandardCharsets.UTF_8);
+    }
+
+    private String script(String name, String... lines) throws IOException {
+        final File script = dir.resolve(name).toFile();
+        Files.write(script.toPath(), ("#!/bin/sh\n" + String.join("\n", lines) + '\n').getBytes(StandardCharsets.UTF_8));
+        Assert.assertTrue(script.setExecutable(true));
+        return script.getAbsolutePath();
+    }
+}
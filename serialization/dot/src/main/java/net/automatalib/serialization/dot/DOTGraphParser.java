@@ -17,13 +17,14 @@ package net.automatalib.serialization.dot;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.Reader;
-import java.util.Collection;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
-import com.google.common.collect.Maps;
 import net.automatalib.commons.util.IOUtil;
 import net.automatalib.graphs.Graph;
 import net.automatalib.graphs.MutableGraph;
@@ -67,32 +68,56 @@ public class DOTGraphParser<NP, EP, G extends MutableGraph<?, ?, NP, EP>> implem
 
     @Override
     public G readModel(InputStream is) throws IOException {
+        return readModel(Channels.newChannel(IOUtil.asUncompressedBufferedNonClosingInputStream(is)));
+    }
 
-        try (Reader r = IOUtil.asUncompressedBufferedNonClosingUTF8Reader(is)) {
-            InternalDOTParser parser = new InternalDOTParser(r);
-            parser.parse();
-
-            final G graph = creator.get();
+    /**
+     * Reads the (uncompressed, UTF-8 encoded) DOT description of a graph from the given channel. The channel is not
+     * closed.
+     *
+     * @param channel
+     *         the channel to read from
+     *
+     * @return the parsed graph
+     *
+     * @throws IOException
+     *         if reading from the channel fails
+     */
+    public G readModel(ReadableByteChannel channel) throws IOException {
+        final G graph = creator.get();
 
-            parseNodesAndEdges(parser, (MutableGraph<?, ?, NP, EP>) graph);
+        new StreamingDOTParser(channel).parse(new GraphCollector<>((MutableGraph<?, ?, NP, EP>) graph));
 
-            return graph;
-        }
+        return graph;
     }
 
-    private <N> void parseNodesAndEdges(InternalDOTParser parser, MutableGraph<N, ?, NP, EP> graph) {
-        final Collection<Node> nodes = parser.getNodes();
-        final Collection<Edge> edges = parser.getEdges();
+    /**
+     * Directly adds the nodes and edges reported by a {@link StreamingDOTParser} to a graph.
+     */
+    private final class GraphCollector<N> implements DOTParseListener {
+
+        private final MutableGraph<N, ?, NP, EP> graph;
+        private final List<N> nodes;
+
+        GraphCollector(MutableGraph<N, ?, NP, EP> graph) {
+            this.graph = graph;
+            this.nodes = new ArrayList<>();
+        }
 
-        final Map<String, N> stateMap = Maps.newHashMapWithExpectedSize(nodes.size());
+        @Override
+        public void node(int id, String name, Map<String, String> attributes) {
+            final NP property = nodeParser.apply(attributes);
 
-        for (Node node : nodes) {
-            final N n = graph.addNode(nodeParser.apply(node.attributes));
-            stateMap.put(node.id, n);
+            if (id == nodes.size()) {
+                nodes.add(graph.addNode(property));
+            } else {
+                graph.setNodeProperty(nodes.get(id), property);
+            }
         }
 
-        for (Edge edge : edges) {
-            graph.connect(stateMap.get(edge.src), stateMap.get(edge.tgt), edgeParser.apply(edge.attributes));
+        @Override
+        public void edge(int src, int tgt, Map<String, String> attributes) {
+            graph.connect(nodes.get(src), nodes.get(tgt), edgeParser.apply(attributes));
         }
     }
 }
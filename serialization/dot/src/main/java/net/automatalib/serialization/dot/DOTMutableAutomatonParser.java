@@ -17,14 +17,16 @@ package net.automatalib.serialization.dot;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.function.Function;
 
-import com.google.common.collect.Maps;
 import net.automatalib.automata.AutomatonCreator;
 import net.automatalib.automata.MutableAutomaton;
 import net.automatalib.commons.util.IOUtil;
@@ -33,6 +35,7 @@ import net.automatalib.serialization.InputModelData;
 import net.automatalib.serialization.InputModelDeserializer;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * General-purpose DOT parser for {@link MutableAutomaton}s.
@@ -90,56 +93,136 @@ public class DOTMutableAutomatonParser<I, SP, TP, A extends MutableAutomaton<?,
 
     @Override
     public InputModelData<I, A> readModel(InputStream is) throws IOException {
+        return readModel(Channels.newChannel(IOUtil.asUncompressedBufferedNonClosingInputStream(is)));
+    }
+
+    /**
+     * Reads the (uncompressed, UTF-8 encoded) DOT description of an automaton from the given channel. The channel is
+     * not closed.
+     *
+     * @param channel
+     *         the channel to read from
+     *
+     * @return the parsed automaton and its alphabet
+     *
+     * @throws IOException
+     *         if reading from the channel fails
+     */
+    public InputModelData<I, A> readModel(ReadableByteChannel channel) throws IOException {
+        final StreamingDOTParser parser = new StreamingDOTParser(channel);
+        final AutomatonCollector collector = new AutomatonCollector();
 
-        try (Reader r = IOUtil.asUncompressedBufferedNonClosingUTF8Reader(is)) {
-            InternalDOTParser parser = new InternalDOTParser(r);
-            parser.parse();
+        parser.parse(collector);
 
-            assert parser.isDirected();
+        assert parser.isDirected();
 
-            final Set<I> inputs = new HashSet<>();
+        return collector.toModel();
+    }
 
-            for (Edge edge : parser.getEdges()) {
-                if (!fakeInitialNodeIds || !initialNodeIds.contains(edge.src)) {
-                    inputs.add(edgeParser.apply(edge.attributes).getFirst());
+    /**
+     * Collects the state and transition properties reported by a {@link StreamingDOTParser} in (primitive) arrays until
+     * the input alphabet is known and the automaton can be constructed.
+     */
+    private final class AutomatonCollector implements DOTParseListener {
+
+        private static final int INITIAL_CAPACITY = 16;
+        private static final int FAKE = 1;
+        private static final int INITIAL = 2;
+
+        // per node
+        private int[] flags = new int[INITIAL_CAPACITY];
+        private @Nullable Object[] stateProperties = new Object[INITIAL_CAPACITY];
+        private int numNodes;
+
+        // per edge
+        private int[] sources = new int[INITIAL_CAPACITY];
+        private int[] targets = new int[INITIAL_CAPACITY];
+        private int[] inputs = new int[INITIAL_CAPACITY];
+        private @Nullable Object[] transitionProperties = new Object[INITIAL_CAPACITY];
+        private int numEdges;
+
+        private final Map<I, Integer> inputIndices = new LinkedHashMap<>();
+
+        @Override
+        public void node(int id, String name, Map<String, String> attributes) {
+            if (id == numNodes) {
+                if (numNodes == flags.length) {
+                    final int newCapacity = 2 * numNodes;
+                    flags = Arrays.copyOf(flags, newCapacity);
+                    stateProperties = Arrays.copyOf(stateProperties, newCapacity);
                 }
-            }
 
-            final Alphabet<I> alphabet = Alphabets.fromCollection(inputs);
-            final A automaton = creator.createAutomaton(alphabet, parser.getNodes().size());
+                if (initialNodeIds.contains(name)) {
+                    flags[id] = fakeInitialNodeIds ? FAKE : INITIAL;
+                }
 
-            parseNodesAndEdges(parser, (MutableAutomaton<?, I, ?, SP, TP>) automaton);
+                numNodes++;
+            }
 
-            return new InputModelData<>(automaton, alphabet);
+            if (flags[id] != FAKE) {
+                stateProperties[id] = nodeParser.apply(attributes);
+            }
         }
-    }
 
-    private <S> void parseNodesAndEdges(InternalDOTParser parser, MutableAutomaton<S, I, ?, SP, TP> automaton) {
-        final Map<String, S> stateMap = Maps.newHashMapWithExpectedSize(parser.getNodes().size());
+        @Override
+        public void edge(int src, int tgt, Map<String, String> attributes) {
+            if (flags[src] == FAKE) {
+                flags[tgt] |= INITIAL;
+                return;
+            }
 
-        for (Node node : parser.getNodes()) {
-            final S state;
+            if (numEdges == sources.length) {
+                final int newCapacity = 2 * numEdges;
+                sources = Arrays.copyOf(sources, newCapacity);
+                targets = Arrays.copyOf(targets, newCapacity);
+                inputs = Arrays.copyOf(inputs, newCapacity);
+                transitionProperties = Arrays.copyOf(transitionProperties, newCapacity);
+            }
 
-            if (fakeInitialNodeIds && initialNodeIds.contains(node.id)) {
-                continue;
-            } else if (!fakeInitialNodeIds && initialNodeIds.contains(node.id)) {
-                state = automaton.addInitialState(nodeParser.apply(node.attributes));
-            } else {
-                state = automaton.addState(nodeParser.apply(node.attributes));
+            final Pair<I, TP> property = edgeParser.apply(attributes);
+            Integer input = inputIndices.get(property.getFirst());
+            if (input == null) {
+                input = inputIndices.size();
+                inputIndices.put(property.getFirst(), input);
             }
 
-            stateMap.put(node.id, state);
+            sources[numEdges] = src;
+            targets[numEdges] = tgt;
+            inputs[numEdges] = input;
+            transitionProperties[numEdges] = property.getSecond();
+            numEdges++;
+        }
+
+        InputModelData<I, A> toModel() {
+            final List<I> symbols = new ArrayList<>(inputIndices.keySet());
+            final Alphabet<I> alphabet = Alphabets.fromList(symbols);
+            final A automaton = creator.createAutomaton(alphabet, numNodes);
+
+            addStatesAndTransitions(symbols, (MutableAutomaton<?, I, ?, SP, TP>) automaton);
+
+            return new InputModelData<>(automaton, alphabet);
         }
 
-        for (Edge edge : parser.getEdges()) {
-            if (fakeInitialNodeIds && initialNodeIds.contains(edge.src)) {
-                automaton.setInitial(stateMap.get(edge.tgt), true);
-            } else {
-                final Pair<I, TP> property = edgeParser.apply(edge.attributes);
-                automaton.addTransition(stateMap.get(edge.src),
-                                        property.getFirst(),
-                                        stateMap.get(edge.tgt),
-                                        property.getSecond());
+        @SuppressWarnings("unchecked")
+        private <S> void addStatesAndTransitions(List<I> symbols, MutableAutomaton<S, I, ?, SP, TP> automaton) {
+            final S[] states = (S[]) new Object[numNodes];
+
+            for (int i = 0; i < numNodes; i++) {
+                final int flag = flags[i];
+
+                if (flag == FAKE) {
+                    continue;
+                }
+
+                final SP property = (SP) stateProperties[i];
+                states[i] = (flag & INITIAL) != 0 ? automaton.addInitialState(property) : automaton.addState(property);
+            }
+
+            for (int i = 0; i < numEdges; i++) {
+                automaton.addTransition(states[sources[i]],
+                                        symbols.get(inputs[i]),
+                                        states[targets[i]],
+                                        (TP) transitionProperties[i]);
             }
         }
     }
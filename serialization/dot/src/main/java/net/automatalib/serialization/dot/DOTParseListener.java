@@ -0,0 +1,57 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.dot;
+
+import java.util.Map;
+
+/**
+ * A callback interface for the nodes and edges reported by a {@link StreamingDOTParser}.
+ * <p>
+ * Nodes are identified by dense integer ids, which are assigned in the order in which the nodes are reported for the
+ * first time. The attribute maps passed to the callbacks are unmodifiable and re-used by the parser, i.e., their
+ * contents are only valid for the duration of the respective invocation and they must not be stored.
+ *
+ * @author agent
+ */
+public interface DOTParseListener {
+
+    /**
+     * Reports a node. This method is invoked when a node is referenced for the first time (either by a node statement
+     * or as the source or target of an edge) and every time the node is declared again. In the latter case, the given
+     * attributes include the attributes of all previous declarations of the node. The current default node attributes
+     * only contribute the attributes that neither a previous nor the current declaration define explicitly.
+     *
+     * @param id
+     *         the id of the node
+     * @param name
+     *         the name (DOT identifier) of the node
+     * @param attributes
+     *         the (accumulated) attributes of the node
+     */
+    void node(int id, String name, Map<String, String> attributes);
+
+    /**
+     * Reports an edge. Both the source and the target node have been reported before.
+     *
+     * @param src
+     *         the id of the source node
+     * @param tgt
+     *         the id of the target node
+     * @param attributes
+     *         the attributes of the edge
+     */
+    void edge(int src, int tgt, Map<String, String> attributes);
+}
@@ -0,0 +1,826 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.dot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Preconditions;
+import net.automatalib.serialization.FormatException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A streaming parser for the DOT language, which reports the nodes and edges of a graph to a {@link DOTParseListener}
+ * while reading its input.
+ * <p>
+ * In contrast to the (internal) parser used by previous versions of the {@link DOTGraphParser} and the {@link
+ * DOTMutableAutomatonParser}, this parser does not build an intermediate object graph of the parsed nodes and edges.
+ * Instead, the input is tokenized directly from a {@link CharBuffer} (which, for a {@link ReadableByteChannel}, is
+ * refilled by decoding fixed-size chunks of UTF-8 encoded bytes) and edges are reported as soon as their statement has
+ * been parsed, using re-usable attribute maps. Identifiers are canonicalized while tokenizing, so that recurring node
+ * names, attribute keys and attribute values (e.g., the labels of transitions) are only materialized once. The only
+ * data kept per node are its canonical name and its accumulated attributes (which are required for the semantics of
+ * repeated node declarations).
+ * <p>
+ * The accepted language is the same as the one of the previous parser and is based on the official <a
+ * href="http://www.graphviz.org/doc/info/lang.html">language definition</a>. Attribute statements inside subgraphs
+ * modify the global default attributes and HTML strings are not supported.
+ *
+ * @author agent
+ */
+public final class StreamingDOTParser {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final String[] NO_ATTRIBUTES = new String[0];
+
+    // token types
+    private static final int EOF = 0;
+    private static final int ID = 1;
+    private static final int QUOTED_ID = 2;
+    private static final int LBRACK = 3;
+    private static final int RBRACK = 4;
+    private static final int LCURLY = 5;
+    private static final int RCURLY = 6;
+    private static final int COLON = 7;
+    private static final int SEMICOLON = 8;
+    private static final int COMMA = 9;
+    private static final int EQUALS = 10;
+    private static final int EDGEOP = 11;
+
+    private final @Nullable ReadableByteChannel channel;
+    private final @Nullable CharsetDecoder decoder;
+    private final @Nullable ByteBuffer bytes;
+    private final CharBuffer chars;
+    private boolean endOfInput;
+    private boolean flushed;
+    private int line = 1;
+
+    // the current token
+    private int tokenType;
+    private char[] tokenChars = new char[64];
+    private int tokenLength;
+
+    // canonical identifiers, organized in an open-addressing hash table
+    private String[] names = new String[64];
+    private int[] nodeIds = new int[64];
+    private int[] table = new int[128];
+    private int numNames;
+
+    // accumulated attributes of each node, as an array of alternating keys and values
+    private String[][] nodeAttributes = new String[64][];
+    private int numNodes;
+
+    private final Map<String, String> defaultNodeAttrs = new LinkedHashMap<>();
+    private final Map<String, String> defaultEdgeAttrs = new LinkedHashMap<>();
+    private final Map<String, String> nodeAttrs = new LinkedHashMap<>();
+    private final Map<String, String> edgeAttrs = new LinkedHashMap<>();
+    private final Map<String, String> defaultNodeAttrsView = Collections.unmodifiableMap(defaultNodeAttrs);
+    private final Map<String, String> nodeAttrsView = Collections.unmodifiableMap(nodeAttrs);
+    private final Map<String, String> edgeAttrsView = Collections.unmodifiableMap(edgeAttrs);
+    private String @Nullable [] defaultNodeAttrsArray = NO_ATTRIBUTES;
+
+    // re-usable buffers for each nesting depth of (sub-) graphs
+    private final List<Frame> frames = new ArrayList<>();
+
+    private @Nullable DOTParseListener listener;
+    private boolean parsed;
+    private boolean strict;
+    private boolean directed;
+
+    /**
+     * Constructor for parsing the UTF-8 encoded contents of a channel. The channel is read until its end, but not
+     * closed.
+     *
+     * @param channel
+     *         the channel to read from
+     */
+    public StreamingDOTParser(ReadableByteChannel channel) {
+        this.channel = channel;
+        this.decoder = StandardCharsets.UTF_8.newDecoder()
+                                             .onMalformedInput(CodingErrorAction.REPLACE)
+                                             .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        this.chars = CharBuffer.allocate(BUFFER_SIZE);
+        this.chars.flip();
+    }
+
+    /**
+     * Constructor for parsing the (remaining) contents of a character buffer. The position of the given buffer is not
+     * modified.
+     *
+     * @param buffer
+     *         the buffer to read from
+     */
+    public StreamingDOTParser(CharBuffer buffer) {
+        this.channel = null;
+        this.decoder = null;
+        this.bytes = null;
+        this.chars = buffer.duplicate();
+        this.endOfInput = true;
+    }
+
+    /**
+     * Parses the input and reports its nodes and edges to the given listener. This method may only be invoked once.
+     *
+     * @param listener
+     *         the listener to report the nodes and edges to
+     *
+     * @throws IOException
+     *         if reading from the underlying channel fails
+     * @throws FormatException
+     *         if the input is not a valid DOT graph
+     */
+    public void parse(DOTParseListener listener) throws IOException {
+        Preconditions.checkState(!this.parsed, "parse() has already been called");
+        this.parsed = true;
+        this.listener = listener;
+
+        nextToken();
+        graph();
+    }
+
+    public boolean isStrict() {
+        Preconditions.checkState(this.parsed, "parse() needs to be called first");
+        return this.strict;
+    }
+
+    public boolean isDirected() {
+        Preconditions.checkState(this.parsed, "parse() needs to be called first");
+        return this.directed;
+    }
+
+    // Parsing
+
+    private void graph() throws IOException {
+        if (isKeyword("strict")) {
+            strict = true;
+            nextToken();
+        }
+
+        if (isKeyword("digraph")) {
+            directed = true;
+        } else if (!isKeyword("graph")) {
+            throw error("Expected 'graph' or 'digraph'");
+        }
+        nextToken();
+
+        if (tokenType == ID || tokenType == QUOTED_ID) {
+            nextToken();
+        }
+
+        expect(LCURLY);
+        stmtList(0);
+        expect(RCURLY);
+    }
+
+    private void stmtList(int depth) throws IOException {
+        frame(depth).nodes.clear();
+
+        while (tokenType != RCURLY) {
+            stmt(depth);
+            if (tokenType == SEMICOLON) {
+                nextToken();
+            }
+        }
+    }
+
+    private void stmt(int depth) throws IOException {
+        final Frame frame = frame(depth);
+
+        if (isKeyword("graph") || isKeyword("node") || isKeyword("edge")) {
+            attrStmt();
+        } else if (isKeyword("subgraph") || tokenType == LCURLY) {
+            final IntBuffer nodes = subgraph(depth + 1);
+            if (tokenType == EDGEOP) {
+                frame.srcs.clear();
+                frame.srcs.addAll(nodes);
+                edgeStmt(depth);
+            } else if (depth > 0) {
+                frame.nodes.addAll(nodes);
+            }
+        } else if (tokenType == ID || tokenType == QUOTED_ID) {
+            final int id = intern();
+            nextToken();
+
+            if (tokenType == EQUALS) {
+                // graph attribute
+                nextToken();
+                expectIdentifier();
+            } else {
+                port();
+                if (tokenType == EDGEOP) {
+                    frame.srcs.clear();
+                    frame.srcs.add(id);
+                    edgeStmt(depth);
+                } else {
+                    nodeStmt(depth, id);
+                }
+            }
+        } else {
+            throw error("Expected statement");
+        }
+    }
+
+    private void attrStmt() throws IOException {
+        final Map<String, String> attrs;
+
+        if (isKeyword("node")) {
+            attrs = defaultNodeAttrs;
+            defaultNodeAttrsArray = null;
+        } else if (isKeyword("edge")) {
+            attrs = defaultEdgeAttrs;
+        } else {
+            attrs = null;
+        }
+
+        nextToken();
+
+        if (tokenType != LBRACK) {
+            throw error("Expected '['");
+        }
+        attrList(attrs);
+    }
+
+    private void attrList(@Nullable Map<String, String> attrs) throws IOException {
+        while (tokenType == LBRACK) {
+            nextToken();
+
+            while (tokenType != RBRACK) {
+                final String key = expectIdentifier();
+                expect(EQUALS);
+                final String value = expectIdentifier();
+
+                if (attrs != null) {
+                    attrs.put(key, value);
+                }
+
+                if (tokenType == SEMICOLON || tokenType == COMMA) {
+                    nextToken();
+                }
+            }
+
+            nextToken();
+        }
+    }
+
+    private void nodeStmt(int depth, int id) throws IOException {
+        final Frame frame = frame(depth);
+
+        frame.attrs.clear();
+        attrList(frame.attrs);
+
+        declareNode(id, frame.attrs);
+
+        if (depth > 0) {
+            frame.nodes.add(id);
+        }
+    }
+
+    private void edgeStmt(int depth) throws IOException {
+        final Frame frame = frame(depth);
+        final boolean collect = depth > 0;
+
+        frame.pairs.clear();
+
+        if (collect) {
+            frame.nodes.addAll(frame.srcs);
+        }
+
+        while (tokenType == EDGEOP) {
+            nextToken();
+
+            frame.tgts.clear();
+
+            if (isKeyword("subgraph") || tokenType == LCURLY) {
+                frame.tgts.addAll(subgraph(depth + 1));
+            } else {
+                frame.tgts.add(expectIdentifierId());
+                port();
+            }
+
+            for (int i = 0; i < frame.srcs.size; i++) {
+                for (int j = 0; j < frame.tgts.size; j++) {
+                    frame.pairs.add(frame.srcs.data[i]);
+                    frame.pairs.add(frame.tgts.data[j]);
+                }
+            }
+
+            if (collect) {
+                frame.nodes.addAll(frame.tgts);
+            }
+
+            final IntBuffer tmp = frame.srcs;
+            frame.srcs = frame.tgts;
+            frame.tgts = tmp;
+        }
+
+        frame.attrs.clear();
+        attrList(frame.attrs);
+
+        edgeAttrs.clear();
+        edgeAttrs.putAll(defaultEdgeAttrs);
+        edgeAttrs.putAll(frame.attrs);
+
+        final DOTParseListener listener = getListener();
+
+        for (int i = 0; i < frame.pairs.size; i += 2) {
+            final int src = ensureNode(frame.pairs.data[i]);
+            final int tgt = ensureNode(frame.pairs.data[i + 1]);
+            listener.edge(src, tgt, edgeAttrsView);
+        }
+    }
+
+    private IntBuffer subgraph(int depth) throws IOException {
+        if (isKeyword("subgraph")) {
+            nextToken();
+            if (tokenType == ID || tokenType == QUOTED_ID) {
+                nextToken();
+            }
+        }
+
+        expect(LCURLY);
+        stmtList(depth);
+        expect(RCURLY);
+
+        return frame(depth).nodes;
+    }
+
+    private void port() throws IOException {
+        if (tokenType == COLON) {
+            nextToken();
+            expectIdentifier();
+            if (tokenType == COLON) {
+                nextToken();
+                expectIdentifier();
+            }
+        }
+    }
+
+    private void expect(int type) throws IOException {
+        if (tokenType != type) {
+            throw error("Unexpected token");
+        }
+        nextToken();
+    }
+
+    private String expectIdentifier() throws IOException {
+        return names[expectIdentifierId()];
+    }
+
+    /**
+     * Returns the index of the canonical string of the current (identifier) token and advances to the next token.
+     */
+    private int expectIdentifierId() throws IOException {
+        if (tokenType != ID && tokenType != QUOTED_ID) {
+            throw error("Expected identifier");
+        }
+        final int id = intern();
+        nextToken();
+        return id;
+    }
+
+    private Frame frame(int depth) {
+        while (frames.size() <= depth) {
+            frames.add(new Frame());
+        }
+        return frames.get(depth);
+    }
+
+    private DOTParseListener getListener() {
+        assert listener != null;
+        return listener;
+    }
+
+    // Nodes
+
+    private void declareNode(int id, Map<String, String> attrs) {
+        int node = nodeIds[id];
+
+        nodeAttrs.clear();
+        if (node < 0) {
+            node = newNode(id);
+        } else {
+            final String[] prev = nodeAttributes[node];
+            for (int i = 0; i < prev.length; i += 2) {
+                nodeAttrs.put(prev[i], prev[i + 1]);
+            }
+        }
+
+        // the default attributes only fill in the attributes that a redeclared node does not define yet
+        for (Map.Entry<String, String> e : defaultNodeAttrs.entrySet()) {
+            nodeAttrs.putIfAbsent(e.getKey(), e.getValue());
+        }
+        nodeAttrs.putAll(attrs);
+        nodeAttributes[node] = toArray(nodeAttrs);
+
+        getListener().node(node, names[id], nodeAttrsView);
+    }
+
+    private int ensureNode(int id) {
+        int node = nodeIds[id];
+
+        if (node < 0) {
+            node = newNode(id);
+
+            if (defaultNodeAttrsArray == null) {
+                defaultNodeAttrsArray = toArray(defaultNodeAttrs);
+            }
+            // nodes that are implicitly declared by edges share the array of the current default attributes
+            nodeAttributes[node] = defaultNodeAttrsArray;
+
+            getListener().node(node, names[id], defaultNodeAttrsView);
+        }
+
+        return node;
+    }
+
+    private int newNode(int id) {
+        if (numNodes == nodeAttributes.length) {
+            nodeAttributes = Arrays.copyOf(nodeAttributes, 2 * numNodes);
+        }
+
+        final int node = numNodes++;
+        nodeIds[id] = node;
+        return node;
+    }
+
+    private static String[] toArray(Map<String, String> attrs) {
+        if (attrs.isEmpty()) {
+            return NO_ATTRIBUTES;
+        }
+
+        final String[] result = new String[2 * attrs.size()];
+        int idx = 0;
+        for (Map.Entry<String, String> e : attrs.entrySet()) {
+            result[idx++] = e.getKey();
+            result[idx++] = e.getValue();
+        }
+        return result;
+    }
+
+    // Identifiers
+
+    /**
+     * Returns the index of the canonical string of the current token, adding it if necessary.
+     */
+    private int intern() {
+        final int hash = hash(tokenChars, tokenLength);
+        int slot = hash & (table.length - 1);
+
+        int entry;
+        while ((entry = table[slot]) != 0) {
+            if (matchesToken(names[entry - 1])) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & (table.length - 1);
+        }
+
+        if (numNames == names.length) {
+            names = Arrays.copyOf(names, 2 * numNames);
+            nodeIds = Arrays.copyOf(nodeIds, 2 * numNames);
+        }
+
+        final int id = numNames++;
+        names[id] = new String(tokenChars, 0, tokenLength);
+        nodeIds[id] = -1;
+        table[slot] = id + 1;
+
+        if (2 * numNames > table.length) {
+            rehash();
+        }
+
+        return id;
+    }
+
+    private void rehash() {
+        final int[] newTable = new int[2 * table.length];
+        final int mask = newTable.length - 1;
+
+        for (int i = 0; i < numNames; i++) {
+            int slot = spread(names[i].hashCode()) & mask;
+            while (newTable[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newTable[slot] = i + 1;
+        }
+
+        table = newTable;
+    }
+
+    private boolean matchesToken(String name) {
+        if (name.length() != tokenLength) {
+            return false;
+        }
+        for (int i = 0; i < tokenLength; i++) {
+            if (name.charAt(i) != tokenChars[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // computes the same value as String#hashCode, so that canonical strings can be re-hashed cheaply
+    private static int hash(char[] chars, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + chars[i];
+        }
+        return spread(h);
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private boolean isKeyword(String keyword) {
+        if (tokenType != ID || tokenLength != keyword.length()) {
+            return false;
+        }
+        for (int i = 0; i < tokenLength; i++) {
+            if (Character.toLowerCase(tokenChars[i]) != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Tokenizing
+
+    private void nextToken() throws IOException {
+        int c = skipWhitespaceAndComments();
+        tokenLength = 0;
+
+        switch (c) {
+            case -1:
+                tokenType = EOF;
+                return;
+            case '[':
+                tokenType = LBRACK;
+                read();
+                return;
+            case ']':
+                tokenType = RBRACK;
+                read();
+                return;
+            case '{':
+                tokenType = LCURLY;
+                read();
+                return;
+            case '}':
+                tokenType = RCURLY;
+                read();
+                return;
+            case ':':
+                tokenType = COLON;
+                read();
+                return;
+            case ';':
+                tokenType = SEMICOLON;
+                read();
+                return;
+            case ',':
+                tokenType = COMMA;
+                read();
+                return;
+            case '=':
+                tokenType = EQUALS;
+                read();
+                return;
+            case '"':
+                read();
+                quotedIdentifier();
+                return;
+            case '-':
+                read();
+                c = peek();
+                if (c == '>' || c == '-') {
+                    read();
+                    tokenType = EDGEOP;
+                } else {
+                    append('-');
+                    numeral();
+                }
+                return;
+            default:
+                if (isDigit(c) || c == '.') {
+                    numeral();
+                } else if (isLetter(c)) {
+                    identifier();
+                } else {
+                    throw error("Unexpected character '" + (char) c + "'");
+                }
+        }
+    }
+
+    private int skipWhitespaceAndComments() throws IOException {
+        while (true) {
+            final int c = peek();
+
+            if (c == ' ' || c == '\t' || c == '\r' || c == '\n' || c == '\f') {
+                read();
+            } else if (c == '#') {
+                skipLine();
+            } else if (c == '/') {
+                read();
+                final int next = read();
+                if (next == '/') {
+                    skipLine();
+                } else if (next == '*') {
+                    skipBlockComment();
+                } else {
+                    throw error("Unexpected character '/'");
+                }
+            } else {
+                return c;
+            }
+        }
+    }
+
+    private void skipLine() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c != '\n' && c != -1);
+    }
+
+    private void skipBlockComment() throws IOException {
+        int c = read();
+        while (c != -1) {
+            final int next = read();
+            if (c == '*' && next == '/') {
+                return;
+            }
+            c = next;
+        }
+        throw error("Unterminated comment");
+    }
+
+    private void identifier() throws IOException {
+        tokenType = ID;
+        int c;
+        while (isLetter(c = peek()) || isDigit(c)) {
+            append((char) read());
+        }
+    }
+
+    private void numeral() throws IOException {
+        tokenType = ID;
+        int c;
+        while (isDigit(c = peek()) || c == '.') {
+            append((char) read());
+        }
+    }
+
+    private void quotedIdentifier() throws IOException {
+        tokenType = QUOTED_ID;
+
+        while (true) {
+            int c = read();
+
+            if (c == -1) {
+                throw error("Unterminated string");
+            } else if (c == '"') {
+                return;
+            } else if (c == '\\') {
+                c = read();
+                if (c == -1) {
+                    throw error("Unterminated string");
+                } else if (c != '"' && c != '\\') {
+                    append('\\');
+                }
+            }
+
+            append((char) c);
+        }
+    }
+
+    private void append(char c) {
+        if (tokenLength == tokenChars.length) {
+            tokenChars = Arrays.copyOf(tokenChars, 2 * tokenLength);
+        }
+        tokenChars[tokenLength++] = c;
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c >= '\u0080';
+    }
+
+    private FormatException error(String message) {
+        return new FormatException(message + " in line " + line);
+    }
+
+    // Reading
+
+    private int peek() throws IOException {
+        if (!chars.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return chars.get(chars.position());
+    }
+
+    private int read() throws IOException {
+        if (!chars.hasRemaining() && !fill()) {
+            return -1;
+        }
+        final char c = chars.get();
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    @SuppressWarnings("nullness") // channel, decoder and bytes are non-null if flushed has not been set
+    private boolean fill() throws IOException {
+        if (channel == null || flushed) {
+            return false;
+        }
+
+        chars.clear();
+
+        do {
+            if (!endOfInput && channel.read(bytes) < 0) {
+                endOfInput = true;
+            }
+
+            bytes.flip();
+            final CoderResult result = decoder.decode(bytes, chars, endOfInput);
+            bytes.compact();
+
+            if (result.isError()) {
+                result.throwException();
+            }
+
+            if (endOfInput && result.isUnderflow()) {
+                decoder.flush(chars);
+                flushed = true;
+            }
+        } while (chars.position() == 0 && !flushed);
+
+        chars.flip();
+        return chars.hasRemaining();
+    }
+
+    private static final class Frame {
+
+        // the nodes referenced by the statements of the (sub-) graph of this depth
+        final IntBuffer nodes = new IntBuffer();
+        // the sources and targets of the current segment of an edge statement
+        IntBuffer srcs = new IntBuffer();
+        IntBuffer tgts = new IntBuffer();
+        // the (source, target) pairs of an edge statement
+        final IntBuffer pairs = new IntBuffer();
+        final Map<String, String> attrs = new LinkedHashMap<>();
+    }
+
+    private static final class IntBuffer {
+
+        int[] data = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, 2 * size);
+            }
+            data[size++] = value;
+        }
+
+        void addAll(IntBuffer other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.data[i]);
+            }
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
@@ -17,8 +17,10 @@ package net.automatalib.serialization.dot;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.Reader;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -29,9 +31,12 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 /**
+ * Checks the nodes and edges reported by the {@link StreamingDOTParser} for the {@link
+ * DOTSerializationUtil#PARSER_RESOURCE parser resource}.
+ *
  * @author frohme
  */
-public class InternalDOTParserTest {
+public class StreamingDOTParserResourceTest {
 
     private List<Node> nodes;
     private List<Edge> edges;
@@ -40,15 +45,33 @@ public class InternalDOTParserTest {
 
     @BeforeMethod
     public void setUp() throws IOException {
-        try (InputStream is = InternalDOTParserTest.class.getResourceAsStream(DOTSerializationUtil.PARSER_RESOURCE);
-             Reader r = IOUtil.asUncompressedBufferedNonClosingUTF8Reader(is)) {
+        final List<Node> nodes = new ArrayList<>();
+        final List<Edge> edges = new LinkedList<>();
+
+        try (InputStream resource = DOTSerializationUtil.getResource(DOTSerializationUtil.PARSER_RESOURCE).openStream();
+             InputStream is = IOUtil.asUncompressedBufferedNonClosingInputStream(resource)) {
 
-            final InternalDOTParser parser = new InternalDOTParser(r);
-            parser.parse();
+            new StreamingDOTParser(Channels.newChannel(is)).parse(new DOTParseListener() {
 
-            this.nodes = parser.getNodes();
-            this.edges = new LinkedList<>(parser.getEdges());
+                @Override
+                public void node(int id, String name, Map<String, String> attributes) {
+                    final Node node = new Node(name, new LinkedHashMap<>(attributes));
+                    if (id == nodes.size()) {
+                        nodes.add(node);
+                    } else {
+                        nodes.set(id, node);
+                    }
+                }
+
+                @Override
+                public void edge(int src, int tgt, Map<String, String> attributes) {
+                    edges.add(new Edge(nodes.get(src).id, nodes.get(tgt).id, new LinkedHashMap<>(attributes)));
+                }
+            });
         }
+
+        this.nodes = nodes;
+        this.edges = edges;
     }
 
     @Test
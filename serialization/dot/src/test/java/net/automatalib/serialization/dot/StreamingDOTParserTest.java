@@ -0,0 +1,231 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.dot;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.io.ByteStreams;
+import net.automatalib.commons.util.IOUtil;
+import net.automatalib.serialization.FormatException;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Checks the {@link StreamingDOTParser}, in particular that it reports the same nodes and edges regardless of how its
+ * input is provided.
+ *
+ * @author agent
+ */
+public class StreamingDOTParserTest {
+
+    @DataProvider
+    public static Object[][] resources() {
+        return new Object[][] {{DOTSerializationUtil.PARSER_RESOURCE},
+                               {DOTSerializationUtil.DFA_RESOURCE},
+                               {DOTSerializationUtil.NFA_RESOURCE},
+                               {DOTSerializationUtil.NFA2_RESOURCE},
+                               {DOTSerializationUtil.MEALY_RESOURCE},
+                               {DOTSerializationUtil.MOORE_RESOURCE},
+                               {DOTSerializationUtil.SST_RESOURCE},
+                               {DOTSerializationUtil.GRAPH_RESOURCE}};
+    }
+
+    @Test(dataProvider = "resources")
+    public void testResource(String resource) throws IOException {
+        final byte[] content;
+        try (InputStream is = IOUtil.asUncompressedBufferedNonClosingInputStream(DOTSerializationUtil.getResource(
+                resource).openStream())) {
+            content = ByteStreams.toByteArray(is);
+        }
+
+        // regular channel
+        final StreamingDOTParser expected =
+                new StreamingDOTParser(Channels.newChannel(new ByteArrayInputStream(content)));
+        final Recorder expectedRecorder = new Recorder();
+        expected.parse(expectedRecorder);
+
+        Assert.assertFalse(expectedRecorder.names.isEmpty());
+
+        // channel that delivers its contents in tiny chunks, so that tokens span several buffer refills
+        final StreamingDOTParser chunkedParser = new StreamingDOTParser(new ChunkedChannel(content, 3));
+        checkParser(chunkedParser, expected, expectedRecorder);
+
+        // char buffer
+        final CharBuffer buffer = CharBuffer.wrap(new String(content, StandardCharsets.UTF_8));
+        final StreamingDOTParser bufferParser = new StreamingDOTParser(buffer);
+        checkParser(bufferParser, expected, expectedRecorder);
+        Assert.assertEquals(buffer.position(), 0);
+    }
+
+    @Test
+    public void testSyntax() throws IOException {
+        final String dot = "strict digraph \"g\" {\n" +
+                           "  rankdir = LR\n" +
+                           "  node [shape=circle];\n" +
+                           "  a:p1:ne -> b -- c [label=\"say \\\"hi\\\" \\\\ \\n\", weight=-1.5]\n" +
+                           "  // comment\n" +
+                           "  b [shape=doublecircle] /* block\n comment */ c; \"\"\n" +
+                           "}";
+
+        final Recorder recorder = new Recorder();
+        final StreamingDOTParser parser = new StreamingDOTParser(CharBuffer.wrap(dot));
+        parser.parse(recorder);
+
+        Assert.assertTrue(parser.isStrict());
+        Assert.assertTrue(parser.isDirected());
+
+        Assert.assertEquals(recorder.names, Arrays.asList("a", "b", "c", ""));
+        Assert.assertEquals(recorder.nodes.get(1), attributes("shape", "doublecircle"));
+        Assert.assertEquals(recorder.nodes.get(2), attributes("shape", "circle"));
+
+        Assert.assertEquals(recorder.edges.size(), 2);
+        Assert.assertEquals(recorder.edges.get(0).src, "a");
+        Assert.assertEquals(recorder.edges.get(0).tgt, "b");
+        Assert.assertEquals(recorder.edges.get(1).src, "b");
+        Assert.assertEquals(recorder.edges.get(1).tgt, "c");
+        Assert.assertEquals(recorder.edges.get(1).attributes,
+                            attributes("label", "say \"hi\" \\ \\n", "weight", "-1.5"));
+    }
+
+    @Test
+    public void testRedeclaration() throws IOException {
+        final String dot = "digraph g {\n" +
+                           "  a [shape=box, label=\"A\"];\n" +
+                           "  a -> b;\n" +
+                           "  node [shape=circle, color=red];\n" +
+                           "  a [style=dashed];\n" +
+                           "  b [label=\"B\"];\n" +
+                           "  c;\n" +
+                           "}";
+
+        final Recorder recorder = new Recorder();
+        new StreamingDOTParser(CharBuffer.wrap(dot)).parse(recorder);
+
+        // explicit attributes of previous declarations take precedence over the later default attributes
+        Assert.assertEquals(recorder.names, Arrays.asList("a", "b", "c"));
+        Assert.assertEquals(recorder.nodes.get(0),
+                            attributes("shape", "box", "label", "A", "color", "red", "style", "dashed"));
+        Assert.assertEquals(recorder.nodes.get(1), attributes("shape", "circle", "color", "red", "label", "B"));
+        Assert.assertEquals(recorder.nodes.get(2), attributes("shape", "circle", "color", "red"));
+    }
+
+    @Test(expectedExceptions = FormatException.class)
+    public void testFaultyInput() throws IOException {
+        new StreamingDOTParser(CharBuffer.wrap("digraph { a -> }")).parse(new Recorder());
+    }
+
+    @Test(expectedExceptions = FormatException.class)
+    public void testUnterminatedInput() throws IOException {
+        new StreamingDOTParser(CharBuffer.wrap("digraph { a -> b [label=\"x]")).parse(new Recorder());
+    }
+
+    private static void checkParser(StreamingDOTParser parser, StreamingDOTParser expected, Recorder expectedRecorder)
+            throws IOException {
+        final Recorder recorder = new Recorder();
+        parser.parse(recorder);
+
+        Assert.assertEquals(parser.isDirected(), expected.isDirected());
+        Assert.assertEquals(parser.isStrict(), expected.isStrict());
+
+        Assert.assertEquals(recorder.names, expectedRecorder.names);
+        Assert.assertEquals(recorder.nodes, expectedRecorder.nodes);
+        Assert.assertEquals(recorder.edges.size(), expectedRecorder.edges.size());
+
+        for (int i = 0; i < expectedRecorder.edges.size(); i++) {
+            final Edge actual = recorder.edges.get(i);
+            final Edge expectedEdge = expectedRecorder.edges.get(i);
+            Assert.assertEquals(actual.src, expectedEdge.src);
+            Assert.assertEquals(actual.tgt, expectedEdge.tgt);
+            Assert.assertEquals(actual.attributes, expectedEdge.attributes);
+        }
+    }
+
+    private static Map<String, String> attributes(String... keysAndValues) {
+        final Map<String, String> result = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            result.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return result;
+    }
+
+    private static final class Recorder implements DOTParseListener {
+
+        private final List<String> names = new ArrayList<>();
+        private final List<Map<String, String>> nodes = new ArrayList<>();
+        private final List<Edge> edges = new ArrayList<>();
+
+        @Override
+        public void node(int id, String name, Map<String, String> attributes) {
+            if (id == names.size()) {
+                names.add(name);
+                nodes.add(new LinkedHashMap<>(attributes));
+            } else {
+                Assert.assertEquals(names.get(id), name);
+                nodes.set(id, new LinkedHashMap<>(attributes));
+            }
+        }
+
+        @Override
+        public void edge(int src, int tgt, Map<String, String> attributes) {
+            edges.add(new Edge(names.get(src), names.get(tgt), new LinkedHashMap<>(attributes)));
+        }
+    }
+
+    private static final class ChunkedChannel implements ReadableByteChannel {
+
+        private final byte[] content;
+        private final int chunkSize;
+        private int position;
+
+        ChunkedChannel(byte[] content, int chunkSize) {
+            this.content = content;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            if (position == content.length) {
+                return -1;
+            }
+
+            final int length = Math.min(Math.min(chunkSize, dst.remaining()), content.length - position);
+            dst.put(content, position, length);
+            position += length;
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {}
+    }
+}
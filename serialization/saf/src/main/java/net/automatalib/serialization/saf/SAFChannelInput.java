@@ -0,0 +1,290 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.ReadableByteChannel;
+
+import net.automatalib.automata.base.compact.AbstractCompact;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.serialization.FormatException;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Deserializer for the SAF (simple automaton format) which reads its data from a {@link ReadableByteChannel}.
+ * <p>
+ * In contrast to {@link SAFInput}, this deserializer is specialized for the compact automaton implementations: the
+ * (big-endian) data of the channel is decoded directly into the primitive storage of a {@link CompactDFA} or {@link
+ * CompactNFA}, whose capacity is allocated up-front. Hence, neither intermediate state lists nor boxed state objects
+ * are created. Optionally, the data of a {@link FileChannel} can be memory-mapped (in windows of fixed size) instead of
+ * being copied into an intermediate buffer.
+ *
+ * @author agent
+ */
+final class SAFChannelInput {
+
+    static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+
+    private static final AutomatonType[] TYPES = AutomatonType.values();
+    private static final int HEADER_SIZE = 4;
+    private static final int INT_SIZE = Integer.BYTES;
+    private static final int BLOCK_SIZE = Integer.SIZE;
+    private static final int INVALID_STATE = -1;
+
+    private final @Nullable ReadableByteChannel channel;
+    private final @Nullable FileChannel mappedChannel;
+    private final int windowSize;
+
+    private ByteBuffer buffer;
+    private long windowStart;
+
+    SAFChannelInput(ReadableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    SAFChannelInput(ReadableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.mappedChannel = null;
+        this.windowSize = 0;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.buffer.flip();
+    }
+
+    private SAFChannelInput(FileChannel mappedChannel, int windowSize) throws IOException {
+        if (windowSize < HEADER_SIZE) {
+            throw new IllegalArgumentException("Window size must be at least " + HEADER_SIZE);
+        }
+        this.channel = null;
+        this.mappedChannel = mappedChannel;
+        this.windowSize = windowSize;
+        this.buffer = ByteBuffer.allocate(0);
+        this.windowStart = mappedChannel.position();
+    }
+
+    /**
+     * Creates a deserializer that memory-maps the contents of the given channel (starting at its current position)
+     * instead of reading them into an intermediate buffer. Note that the mapped memory is only released once the
+     * respective buffers are garbage collected.
+     *
+     * @param channel
+     *         the channel to map
+     * @param windowSize
+     *         the (maximum) number of bytes that are mapped at once
+     *
+     * @return the deserializer
+     *
+     * @throws IOException
+     *         if the position of the channel cannot be determined
+     */
+    static SAFChannelInput mapped(FileChannel channel, int windowSize) throws IOException {
+        return new SAFChannelInput(channel, windowSize);
+    }
+
+    /**
+     * Checks (without modifying its position) whether the given channel starts with an SAF header. This allows one to
+     * distinguish plain SAF files from, e.g., compressed ones.
+     *
+     * @param channel
+     *         the channel to check
+     *
+     * @return {@code true} if the channel starts with an SAF header, {@code false} otherwise
+     *
+     * @throws IOException
+     *         if reading from the channel fails
+     */
+    static boolean hasHeader(FileChannel channel) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        final long position = channel.position();
+
+        while (header.hasRemaining()) {
+            if (channel.read(header, position + header.position()) < 0) {
+                return false;
+            }
+        }
+
+        return header.get(0) == 'S' && header.get(1) == 'A' && header.get(2) == 'F';
+    }
+
+    public <I> CompactDFA<I> readDFA(Alphabet<I> alphabet) throws IOException {
+        checkAlphabetSize(readAlphabetSize(AutomatonType.DFA), alphabet);
+        return readDFABody(alphabet);
+    }
+
+    public CompactDFA<Integer> readNativeDFA() throws IOException {
+        return readDFABody(Alphabets.integers(0, readAlphabetSize(AutomatonType.DFA) - 1));
+    }
+
+    public <I> CompactNFA<I> readNFA(Alphabet<I> alphabet) throws IOException {
+        checkAlphabetSize(readAlphabetSize(AutomatonType.NFA), alphabet);
+        return readNFABody(alphabet);
+    }
+
+    public CompactNFA<Integer> readNativeNFA() throws IOException {
+        return readNFABody(Alphabets.integers(0, readAlphabetSize(AutomatonType.NFA) - 1));
+    }
+
+    private int readAlphabetSize(AutomatonType expectedType) throws IOException {
+        ensureAvailable(HEADER_SIZE);
+        if (buffer.get() != 'S' || buffer.get() != 'A' || buffer.get() != 'F') {
+            throw new FormatException();
+        }
+        final byte type = buffer.get();
+        if (type < 0 || type >= TYPES.length || TYPES[type] != expectedType) {
+            throw new FormatException();
+        }
+
+        final int alphabetSize = readInt();
+        if (alphabetSize <= 0) {
+            throw new FormatException();
+        }
+        return alphabetSize;
+    }
+
+    private <I> CompactDFA<I> readDFABody(Alphabet<I> alphabet) throws IOException {
+        final int numStates = readNumStates();
+        final int init = readStateId(numStates);
+
+        final CompactDFA<I> result = new CompactDFA<>(alphabet, numStates);
+        readAcceptance(result, numStates);
+        result.setInitialState(init);
+
+        final int numInputs = alphabet.size();
+        for (int s = 0; s < numStates; s++) {
+            for (int i = 0; i < numInputs; i++) {
+                final int succ = readInt();
+                if (succ != INVALID_STATE) {
+                    result.setTransition(s, i, checkStateId(succ, numStates));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private <I> CompactNFA<I> readNFABody(Alphabet<I> alphabet) throws IOException {
+        final int numStates = readNumStates();
+        final CompactNFA<I> result = new CompactNFA<>(alphabet, numStates);
+
+        // the initial states precede the state properties, so the states have to be added afterwards
+        final int numInitials = readInt();
+        if (numInitials < 0 || numInitials > numStates) {
+            throw new FormatException();
+        }
+        final int[] initials = new int[numInitials];
+        for (int i = 0; i < numInitials; i++) {
+            initials[i] = readStateId(numStates);
+        }
+
+        readAcceptance(result, numStates);
+        for (int init : initials) {
+            result.setInitial(init, true);
+        }
+
+        final int numInputs = alphabet.size();
+        for (int s = 0; s < numStates; s++) {
+            for (int i = 0; i < numInputs; i++) {
+                final int numSuccs = readInt();
+                if (numSuccs < 0) {
+                    throw new FormatException();
+                }
+                for (int j = 0; j < numSuccs; j++) {
+                    result.addTransition(s, i, readStateId(numStates));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private void readAcceptance(AbstractCompact<?, ?, Boolean, ?> automaton, int numStates) throws IOException {
+        // the encoding always contains at least one block
+        int block = readInt();
+        for (int s = 0; s < numStates; s++) {
+            final int bit = s % BLOCK_SIZE;
+            if (bit == 0 && s > 0) {
+                block = readInt();
+            }
+            automaton.addIntState((block & (1 << bit)) != 0 ? Boolean.TRUE : Boolean.FALSE);
+        }
+    }
+
+    private int readNumStates() throws IOException {
+        final int numStates = readInt();
+        if (numStates < 0) {
+            throw new FormatException();
+        }
+        return numStates;
+    }
+
+    private int readStateId(int numStates) throws IOException {
+        return checkStateId(readInt(), numStates);
+    }
+
+    private static int checkStateId(int id, int numStates) {
+        if (id < 0 || id >= numStates) {
+            throw new FormatException("Invalid state id: " + id);
+        }
+        return id;
+    }
+
+    private static void checkAlphabetSize(int alphabetSize, Alphabet<?> alphabet) {
+        if (alphabetSize != alphabet.size()) {
+            throw new FormatException();
+        }
+    }
+
+    private int readInt() throws IOException {
+        if (buffer.remaining() < INT_SIZE) {
+            ensureAvailable(INT_SIZE);
+        }
+        return buffer.getInt();
+    }
+
+    private void ensureAvailable(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+
+        if (mappedChannel != null) {
+            final long position = windowStart + buffer.position();
+            final long length = Math.min(windowSize, mappedChannel.size() - position);
+
+            if (length < bytes) {
+                throw new EOFException();
+            }
+
+            buffer = mappedChannel.map(MapMode.READ_ONLY, position, length);
+            windowStart = position;
+        } else {
+            assert channel != null;
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException();
+                }
+            }
+            buffer.flip();
+        }
+    }
+}
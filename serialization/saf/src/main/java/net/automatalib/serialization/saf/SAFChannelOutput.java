@@ -0,0 +1,202 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collection;
+import java.util.Objects;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton.FullIntAbstraction;
+import net.automatalib.automata.base.compact.AbstractCompactSimpleNondet;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.fsa.NFA;
+import net.automatalib.words.Alphabet;
+
+/**
+ * Serializer for the SAF (simple automaton format) which writes its data to a {@link WritableByteChannel}.
+ * <p>
+ * In contrast to {@link SAFOutput}, this serializer addresses states by their (primitive) ids. For the compact automaton
+ * implementations, the data is therefore directly taken from their primitive storage. For these implementations, the
+ * produced data is identical to the one produced by {@link SAFOutput}.
+ *
+ * @author agent
+ */
+final class SAFChannelOutput {
+
+    private static final int BLOCK_SIZE = Integer.SIZE;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+
+    SAFChannelOutput(WritableByteChannel channel) {
+        this(channel, SAFChannelInput.DEFAULT_BUFFER_SIZE);
+    }
+
+    SAFChannelOutput(WritableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    public <I> void writeDFA(DFA<?, I> automaton, Alphabet<I> alphabet) throws IOException {
+        final FullIntAbstraction<?, Boolean, ?> abs = automaton.fullIntAbstraction(alphabet);
+        final int numStates = abs.size();
+        final int numInputs = alphabet.size();
+        final int init = abs.getIntInitialState();
+
+        if (init == FullIntAbstraction.INVALID_STATE) {
+            throw new IllegalArgumentException();
+        }
+
+        writeHeader(AutomatonType.DFA, numInputs);
+        writeInt(numStates);
+        writeInt(init);
+
+        writeAcceptance(abs::getStateProperty, numStates);
+
+        for (int s = 0; s < numStates; s++) {
+            for (int i = 0; i < numInputs; i++) {
+                writeInt(abs.getSuccessor(s, i));
+            }
+        }
+
+        flush();
+    }
+
+    public <I> void writeNFA(NFA<?, I> automaton, Alphabet<I> alphabet) throws IOException {
+        if (automaton instanceof AbstractCompactSimpleNondet) {
+            @SuppressWarnings("unchecked")
+            final AbstractCompactSimpleNondet<I, Boolean> compact = (AbstractCompactSimpleNondet<I, Boolean>) automaton;
+            if (Objects.equals(compact.getInputAlphabet(), alphabet)) {
+                writeCompactNFA(compact);
+                return;
+            }
+        }
+        writeGenericNFA(automaton, alphabet);
+    }
+
+    private <I> void writeCompactNFA(AbstractCompactSimpleNondet<I, Boolean> automaton) throws IOException {
+        final int numStates = automaton.size();
+        final int numInputs = automaton.numInputs();
+
+        writeHeader(AutomatonType.NFA, numInputs);
+        writeInt(numStates);
+
+        final Collection<Integer> initials = automaton.getInitialStates();
+        writeInt(initials.size());
+        for (Integer init : initials) {
+            writeInt(init);
+        }
+
+        writeAcceptance(automaton::getStateProperty, numStates);
+
+        for (int s = 0; s < numStates; s++) {
+            for (int i = 0; i < numInputs; i++) {
+                final int numSuccs = automaton.numSuccessors(s, i);
+                writeInt(numSuccs);
+                for (int j = 0; j < numSuccs; j++) {
+                    writeInt(automaton.getSuccessor(s, i, j));
+                }
+            }
+        }
+
+        flush();
+    }
+
+    private <S, I> void writeGenericNFA(NFA<S, I> automaton, Alphabet<I> alphabet) throws IOException {
+        final StateIDs<S> ids = automaton.stateIDs();
+        final int numStates = automaton.size();
+        final int numInputs = alphabet.size();
+
+        writeHeader(AutomatonType.NFA, numInputs);
+        writeInt(numStates);
+
+        final Collection<S> initials = automaton.getInitialStates();
+        writeInt(initials.size());
+        for (S init : initials) {
+            writeInt(ids.getStateId(init));
+        }
+
+        writeAcceptance(s -> automaton.isAccepting(ids.getState(s)), numStates);
+
+        for (int s = 0; s < numStates; s++) {
+            final S state = ids.getState(s);
+            for (int i = 0; i < numInputs; i++) {
+                final Collection<S> succs = automaton.getTransitions(state, alphabet.getSymbol(i));
+                writeInt(succs.size());
+                for (S succ : succs) {
+                    writeInt(ids.getStateId(succ));
+                }
+            }
+        }
+
+        flush();
+    }
+
+    private void writeHeader(AutomatonType type, int alphabetSize) throws IOException {
+        ensureCapacity(Integer.BYTES);
+        buffer.put((byte) 'S');
+        buffer.put((byte) 'A');
+        buffer.put((byte) 'F');
+        buffer.put((byte) type.ordinal());
+        writeInt(alphabetSize);
+    }
+
+    /**
+     * Writes the acceptance of the states in blocks of 32 bits, as done by the {@link AcceptanceEncoder}.
+     */
+    private void writeAcceptance(AcceptanceFunction acceptance, int numStates) throws IOException {
+        int block = 0;
+        for (int s = 0; s < numStates; s++) {
+            final int bit = s % BLOCK_SIZE;
+            if (bit == 0 && s > 0) {
+                writeInt(block);
+                block = 0;
+            }
+            if (acceptance.isAccepting(s)) {
+                block |= 1 << bit;
+            }
+        }
+        writeInt(block);
+    }
+
+    private void writeInt(int value) throws IOException {
+        ensureCapacity(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @FunctionalInterface
+    private interface AcceptanceFunction {
+
+        boolean isAccepting(int state);
+    }
+}
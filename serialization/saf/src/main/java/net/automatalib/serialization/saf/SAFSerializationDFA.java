@@ -15,9 +15,14 @@
  */
 package net.automatalib.serialization.saf;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.function.IntFunction;
 
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
@@ -51,4 +56,104 @@ public final class SAFSerializationDFA
         SAFOutput out = new SAFOutput(os);
         out.writeDFA(model, alphabet);
     }
+
+    /**
+     * Reads the contents of the given file and de-serializes it into a model instance. Uncompressed files are decoded
+     * via a {@link FileChannel} directly into the storage of a {@link CompactDFA}. Compressed files are decoded via {@link
+     * #readModel(InputStream)}.
+     *
+     * @param f
+     *         the file to read data from
+     *
+     * @return the de-serialized model
+     *
+     * @throws IOException
+     *         if an error occurred while reading from the file
+     */
+    @Override
+    public InputModelData<Integer, DFA<Integer, Integer>> readModel(File f) throws IOException {
+        return readModel(f, false);
+    }
+
+    /**
+     * Reads the contents of the given file and de-serializes it into a model instance. Uncompressed files are decoded
+     * via a {@link FileChannel} directly into the storage of a {@link CompactDFA}. Compressed files are decoded via {@link
+     * #readModel(InputStream)}.
+     *
+     * @param f
+     *         the file to read data from
+     * @param memoryMapped
+     *         whether the contents of (uncompressed) files should be memory-mapped instead of being read into an
+     *         intermediate buffer
+     *
+     * @return the de-serialized model
+     *
+     * @throws IOException
+     *         if an error occurred while reading from the file
+     */
+    public InputModelData<Integer, DFA<Integer, Integer>> readModel(File f, boolean memoryMapped) throws IOException {
+        try (FileChannel channel = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+            if (SAFChannelInput.hasHeader(channel)) {
+                final SAFChannelInput in = memoryMapped ?
+                        SAFChannelInput.mapped(channel, SAFChannelInput.DEFAULT_WINDOW_SIZE) :
+                        new SAFChannelInput(channel);
+                final CompactDFA<Integer> automaton = in.readNativeDFA();
+                return new InputModelData<>(automaton, automaton.getInputAlphabet());
+            }
+        }
+
+        return InputModelSerializationProvider.super.readModel(f);
+    }
+
+    /**
+     * Writes the model to the given file. The data is written via a {@link FileChannel} and, for {@link CompactDFA}s,
+     * directly taken from their primitive storage.
+     *
+     * @param f
+     *         the file to write to
+     * @param model
+     *         the model to write
+     * @param alphabet
+     *         the input alphabet of the model
+     *
+     * @throws IOException
+     *         if an error occurred while writing to the file
+     */
+    @Override
+    public void writeModel(File f, DFA<?, Integer> model, Alphabet<Integer> alphabet) throws IOException {
+        try (FileChannel channel = FileChannel.open(f.toPath(),
+                                                    StandardOpenOption.CREATE,
+                                                    StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            new SAFChannelOutput(channel).writeDFA(model, alphabet);
+        }
+    }
+
+    /**
+     * Writes a corpus of models to individual files. The models are requested from the given iterator one at a time
+     * and each model is written (via {@link #writeModel(File, DFA, Alphabet)}) before the next one is requested. If the
+     * iterator generates its models lazily, only a single model needs to be kept in memory at any time.
+     *
+     * @param models
+     *         the models to write
+     * @param alphabet
+     *         the (common) input alphabet of the models
+     * @param files
+     *         a function that maps the index of a model (starting at 0) to the file the model should be written to
+     *
+     * @return the number of written models
+     *
+     * @throws IOException
+     *         if an error occurred while writing to one of the files
+     */
+    public int writeModels(Iterator<? extends DFA<?, Integer>> models,
+                           Alphabet<Integer> alphabet,
+                           IntFunction<File> files) throws IOException {
+        int count = 0;
+        while (models.hasNext()) {
+            writeModel(files.apply(count), models.next(), alphabet);
+            count++;
+        }
+        return count;
+    }
 }
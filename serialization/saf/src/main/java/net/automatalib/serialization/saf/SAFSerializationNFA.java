@@ -15,9 +15,12 @@
  */
 package net.automatalib.serialization.saf;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 
 import net.automatalib.automata.fsa.NFA;
 import net.automatalib.automata.fsa.impl.compact.CompactNFA;
@@ -51,4 +54,76 @@ public final class SAFSerializationNFA
         SAFOutput out = new SAFOutput(os);
         out.writeNFA(model, alphabet);
     }
+
+    /**
+     * Reads the contents of the given file and de-serializes it into a model instance. Uncompressed files are decoded
+     * via a {@link FileChannel} directly into the storage of a {@link CompactNFA}. Compressed files are decoded via {@link
+     * #readModel(InputStream)}.
+     *
+     * @param f
+     *         the file to read data from
+     *
+     * @return the de-serialized model
+     *
+     * @throws IOException
+     *         if an error occurred while reading from the file
+     */
+    @Override
+    public InputModelData<Integer, NFA<Integer, Integer>> readModel(File f) throws IOException {
+        return readModel(f, false);
+    }
+
+    /**
+     * Reads the contents of the given file and de-serializes it into a model instance. Uncompressed files are decoded
+     * via a {@link FileChannel} directly into the storage of a {@link CompactNFA}. Compressed files are decoded via {@link
+     * #readModel(InputStream)}.
+     *
+     * @param f
+     *         the file to read data from
+     * @param memoryMapped
+     *         whether the contents of (uncompressed) files should be memory-mapped instead of being read into an
+     *         intermediate buffer
+     *
+     * @return the de-serialized model
+     *
+     * @throws IOException
+     *         if an error occurred while reading from the file
+     */
+    public InputModelData<Integer, NFA<Integer, Integer>> readModel(File f, boolean memoryMapped) throws IOException {
+        try (FileChannel channel = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+            if (SAFChannelInput.hasHeader(channel)) {
+                final SAFChannelInput in = memoryMapped ?
+                        SAFChannelInput.mapped(channel, SAFChannelInput.DEFAULT_WINDOW_SIZE) :
+                        new SAFChannelInput(channel);
+                final CompactNFA<Integer> automaton = in.readNativeNFA();
+                return new InputModelData<>(automaton, automaton.getInputAlphabet());
+            }
+        }
+
+        return InputModelSerializationProvider.super.readModel(f);
+    }
+
+    /**
+     * Writes the model to the given file. The data is written via a {@link FileChannel} and, for {@link CompactNFA}s,
+     * directly taken from their primitive storage.
+     *
+     * @param f
+     *         the file to write to
+     * @param model
+     *         the model to write
+     * @param alphabet
+     *         the input alphabet of the model
+     *
+     * @throws IOException
+     *         if an error occurred while writing to the file
+     */
+    @Override
+    public void writeModel(File f, NFA<?, Integer> model, Alphabet<Integer> alphabet) throws IOException {
+        try (FileChannel channel = FileChannel.open(f.toPath(),
+                                                    StandardOpenOption.CREATE,
+                                                    StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            new SAFChannelOutput(channel).writeNFA(model, alphabet);
+        }
+    }
 }
\ No newline at end of file
@@ -17,13 +17,26 @@ package net.automatalib.serialization.saf;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPOutputStream;
 
 import net.automatalib.automata.UniversalAutomaton;
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.fsa.NFA;
+import net.automatalib.automata.fsa.impl.FastNFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.fsa.impl.compact.CompactNFA;
 import net.automatalib.commons.util.io.UnclosableInputStream;
@@ -31,7 +44,10 @@ import net.automatalib.commons.util.io.UnclosableOutputStream;
 import net.automatalib.serialization.InputModelDeserializer;
 import net.automatalib.serialization.InputModelSerializer;
 import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.copy.AutomatonCopyMethod;
+import net.automatalib.util.automata.copy.AutomatonLowLevelCopy;
 import net.automatalib.util.automata.fsa.NFAs;
+import net.automatalib.util.automata.random.ParallelRandomAutomata;
 import net.automatalib.util.automata.random.RandomAutomata;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.impl.Alphabets;
@@ -120,6 +136,143 @@ public class SAFSerializationTest {
         serializer.readModel(new UnclosableInputStream(is));
     }
 
+    @Test
+    public void testDFAFileSerialization() throws IOException {
+        final SAFSerializationDFA serializer = SAFSerializationDFA.getInstance();
+        final File file = createTempFile();
+
+        serializer.writeModel(file, this.dfa, ALPHABET);
+
+        final DFA<Integer, Integer> buffered = serializer.readModel(file, false).model;
+        final DFA<Integer, Integer> mapped = serializer.readModel(file, true).model;
+
+        Assert.assertEquals(buffered.size(), this.dfa.size());
+        Assert.assertEquals(mapped.size(), this.dfa.size());
+        Assert.assertTrue(Automata.testEquivalence(this.dfa, buffered, ALPHABET));
+        Assert.assertTrue(Automata.testEquivalence(this.dfa, mapped, ALPHABET));
+    }
+
+    @Test
+    public void testNFAFileSerialization() throws IOException {
+        final SAFSerializationNFA serializer = SAFSerializationNFA.getInstance();
+        final File file = createTempFile();
+
+        serializer.writeModel(file, this.nfa, ALPHABET);
+
+        final NFA<Integer, Integer> buffered = serializer.readModel(file, false).model;
+        final NFA<Integer, Integer> mapped = serializer.readModel(file, true).model;
+
+        checkNFA(buffered);
+        checkNFA(mapped);
+    }
+
+    @Test
+    public void testChannelOutputCompatibility() throws IOException {
+        final ByteArrayOutputStream streamDFA = new ByteArrayOutputStream();
+        final ByteArrayOutputStream channelDFA = new ByteArrayOutputStream();
+        new SAFOutput(streamDFA).writeDFA(this.dfa, ALPHABET);
+        new SAFChannelOutput(Channels.newChannel(channelDFA)).writeDFA(this.dfa, ALPHABET);
+
+        Assert.assertEquals(channelDFA.toByteArray(), streamDFA.toByteArray());
+
+        final ByteArrayOutputStream streamNFA = new ByteArrayOutputStream();
+        final ByteArrayOutputStream channelNFA = new ByteArrayOutputStream();
+        new SAFOutput(streamNFA).writeNFA(this.nfa, ALPHABET);
+        new SAFChannelOutput(Channels.newChannel(channelNFA)).writeNFA(this.nfa, ALPHABET);
+
+        Assert.assertEquals(channelNFA.toByteArray(), streamNFA.toByteArray());
+
+        // the generic (non-compact) code path
+        final FastNFA<Integer> fastNFA = new FastNFA<>(ALPHABET);
+        AutomatonLowLevelCopy.copy(AutomatonCopyMethod.STATE_BY_STATE, this.nfa, ALPHABET, fastNFA);
+
+        final ByteArrayOutputStream streamGeneric = new ByteArrayOutputStream();
+        final ByteArrayOutputStream channelGeneric = new ByteArrayOutputStream();
+        new SAFOutput(streamGeneric).writeNFA(fastNFA, ALPHABET);
+        new SAFChannelOutput(Channels.newChannel(channelGeneric)).writeNFA(fastNFA, ALPHABET);
+
+        Assert.assertEquals(channelGeneric.toByteArray(), streamGeneric.toByteArray());
+    }
+
+    @Test
+    public void testSmallMappedWindows() throws IOException {
+        final File dfaFile = createTempFile();
+        final File nfaFile = createTempFile();
+
+        SAFSerializationDFA.getInstance().writeModel(dfaFile, this.dfa, ALPHABET);
+        SAFSerializationNFA.getInstance().writeModel(nfaFile, this.nfa, ALPHABET);
+
+        try (FileChannel channel = FileChannel.open(dfaFile.toPath(), StandardOpenOption.READ)) {
+            final DFA<Integer, Integer> result = SAFChannelInput.mapped(channel, 16).readDFA(ALPHABET);
+            Assert.assertTrue(Automata.testEquivalence(this.dfa, result, ALPHABET));
+        }
+
+        try (FileChannel channel = FileChannel.open(nfaFile.toPath(), StandardOpenOption.READ)) {
+            checkNFA(SAFChannelInput.mapped(channel, 16).readNFA(ALPHABET));
+        }
+    }
+
+    @Test
+    public void testCompressedFileFallback() throws IOException {
+        final SAFSerializationDFA serializer = SAFSerializationDFA.getInstance();
+        final File file = createTempFile();
+
+        try (OutputStream os = new GZIPOutputStream(Files.newOutputStream(file.toPath()))) {
+            serializer.writeModel(os, this.dfa, ALPHABET);
+        }
+
+        final DFA<Integer, Integer> result = serializer.readModel(file, true).model;
+        Assert.assertTrue(Automata.testEquivalence(this.dfa, result, ALPHABET));
+    }
+
+    @Test
+    public void testCorpusSerialization() throws IOException {
+        final SAFSerializationDFA serializer = SAFSerializationDFA.getInstance();
+        final List<File> files = new ArrayList<>();
+        final ForkJoinPool pool = new ForkJoinPool(2);
+
+        try {
+            final Iterator<CompactDFA<Integer>> corpus =
+                    ParallelRandomAutomata.randomICDFAs(new SplittableRandom(0), 3, AUTOMATON_SIZE, ALPHABET, pool);
+
+            final int count = serializer.writeModels(corpus, ALPHABET, i -> {
+                try {
+                    final File file = createTempFile();
+                    files.add(file);
+                    return file;
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            Assert.assertEquals(count, 3);
+            Assert.assertEquals(files.size(), 3);
+
+            final Iterator<CompactDFA<Integer>> expected =
+                    ParallelRandomAutomata.randomICDFAs(new SplittableRandom(0), 3, AUTOMATON_SIZE, ALPHABET, pool);
+
+            for (File file : files) {
+                final DFA<Integer, Integer> result = serializer.readModel(file).model;
+                Assert.assertTrue(Automata.testEquivalence(expected.next(), result, ALPHABET));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void checkNFA(NFA<Integer, Integer> deserializedModel) {
+        Assert.assertEquals(deserializedModel.size(), this.nfa.size());
+        Assert.assertTrue(Automata.testEquivalence(NFAs.determinize(this.nfa, ALPHABET),
+                                                   NFAs.determinize(deserializedModel, ALPHABET),
+                                                   ALPHABET));
+    }
+
+    private static File createTempFile() throws IOException {
+        final File file = File.createTempFile("automatalib-saf", ".saf");
+        file.deleteOnExit();
+        return file;
+    }
+
     private <I, IN extends UniversalAutomaton<?, I, ?, ?, ?>, OUT extends UniversalAutomaton<?, I, ?, ?, ?>> OUT writeAndReadModel(
             IN source,
             Alphabet<I> alphabet,
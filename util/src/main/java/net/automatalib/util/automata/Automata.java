@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import net.automatalib.automata.Automaton;
 import net.automatalib.automata.DeterministicAutomaton;
@@ -39,9 +40,15 @@ import net.automatalib.util.minimizer.Block;
 import net.automatalib.util.minimizer.BlockMap;
 import net.automatalib.util.minimizer.MinimizationResult;
 import net.automatalib.util.minimizer.Minimizer;
+import net.automatalib.util.partitionrefinement.AutomatonInitialPartitioning;
+import net.automatalib.util.partitionrefinement.PaigeTarjan;
+import net.automatalib.util.partitionrefinement.PaigeTarjanExtractors;
+import net.automatalib.util.partitionrefinement.PaigeTarjanInitializers;
 import net.automatalib.util.ts.TS;
+import net.automatalib.words.Alphabet;
 import net.automatalib.words.VPDAlphabet;
 import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class Automata extends TS {
@@ -96,6 +103,81 @@ public class Automata extends TS {
         return output;
     }
 
+    /**
+     * Minimizes the given automaton into the given output automaton, computing the state equivalences in parallel using
+     * the threads of the given pool. This is the parallel counterpart of {@link
+     * #minimize(UniversalDeterministicAutomaton, Collection, MutableDeterministic)}: states are distinguished by their
+     * state properties and transition properties, partially defined automata are supported (undefined transitions are
+     * treated as transitions into an implicit sink that is not part of the output), and only the states reachable from
+     * the initial state are contained in the output.
+     * <p>
+     * The state equivalences are computed via {@link PaigeTarjan#computeCoarsestStablePartition(ForkJoinPool)}. The
+     * states of the output automaton are numbered in breadth-first order, independent of the number of threads. Note
+     * that this numbering may differ from the one of {@link #minimize(UniversalDeterministicAutomaton, Collection,
+     * MutableDeterministic)}.
+     *
+     * @param automaton
+     *         the automaton to minimize
+     * @param inputs
+     *         the input symbols to consider
+     * @param output
+     *         the (mutable) automaton to write the minimized automaton to. The automaton is cleared beforehand
+     * @param pool
+     *         the pool whose threads are used for computing the state equivalences
+     * @param <I>
+     *         input symbol type
+     * @param <SP>
+     *         state property type
+     * @param <TP>
+     *         transition property type
+     * @param <SO>
+     *         state type of the output automaton
+     * @param <TO>
+     *         transition type of the output automaton
+     * @param <A>
+     *         output automaton type
+     *
+     * @return {@code output}, containing the minimized automaton
+     */
+    public static <I, SP, TP, SO, TO, A extends MutableDeterministic<SO, ? super I, TO, ? super SP, ? super TP>> A minimize(
+            UniversalDeterministicAutomaton<?, I, ?, SP, TP> automaton,
+            Collection<? extends I> inputs,
+            A output,
+            ForkJoinPool pool) {
+
+        output.clear();
+
+        final Alphabet<I> alphabet = Alphabets.fromCollection(inputs);
+        final UniversalDeterministicAutomaton.FullIntAbstraction<?, SP, TP> abs =
+                automaton.fullIntAbstraction(alphabet);
+
+        if (abs.getIntInitialState() == UniversalDeterministicAutomaton.FullIntAbstraction.INVALID_STATE) {
+            return output;
+        }
+
+        final PaigeTarjan pt = new PaigeTarjan();
+        PaigeTarjanInitializers.initDeterministic(pt,
+                                                  abs,
+                                                  AutomatonInitialPartitioning.BY_FULL_SIGNATURE.initialClassifier(abs),
+                                                  new Object());
+        pt.computeCoarsestStablePartition(pool);
+
+        // the output only consumes symbols and properties of the given types
+        @SuppressWarnings("unchecked")
+        final MutableDeterministic<SO, I, TO, SP, TP> target = (MutableDeterministic<SO, I, TO, SP, TP>) output;
+
+        // the extractor writes into the (cleared) output automaton
+        PaigeTarjanExtractors.toDeterministic(pt,
+                                              alph -> target,
+                                              alphabet,
+                                              abs,
+                                              abs::getStateProperty,
+                                              abs::getTransitionProperty,
+                                              true);
+
+        return output;
+    }
+
     public static <S, I, T, SP, TP> UniversalGraph<S, TransitionEdge<I, T>, SP, TransitionEdge.Property<I, TP>> asUniversalGraph(
             UniversalAutomaton<S, I, T, SP, TP> automaton,
             Collection<? extends I> inputs) {
@@ -179,6 +261,13 @@ public class Automata extends TS {
         return DeterministicEquivalenceTest.findSeparatingWordLarge(reference, other, inputs);
     }
 
+    public static <I> @Nullable Word<I> findShortestSeparatingWord(UniversalDeterministicAutomaton<?, I, ?, ?, ?> reference,
+                                                                   UniversalDeterministicAutomaton<?, I, ?, ?, ?> other,
+                                                                   Collection<? extends I> inputs,
+                                                                   ForkJoinPool pool) {
+        return DeterministicEquivalenceTest.findSeparatingWord(reference, other, inputs, pool);
+    }
+
     public static <I> boolean testEquivalence(UniversalDeterministicAutomaton<?, I, ?, ?, ?> reference,
                                               UniversalDeterministicAutomaton<?, I, ?, ?, ?> other,
                                               Collection<? extends I> inputs) {
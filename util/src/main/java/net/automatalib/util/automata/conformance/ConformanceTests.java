@@ -0,0 +1,245 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.cover.Covers;
+import net.automatalib.util.automata.equivalence.CharacterizingSets;
+import net.automatalib.words.Word;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Stream-based variants of the test suites generated by {@link WMethodTestsIterator} and {@link
+ * WpMethodTestsIterator}.
+ * <p>
+ * The returned streams are backed by {@link Spliterator}s which split the (prefix x middle) space of the respective test
+ * suite in constant time, and which decode the middle parts on-the-fly rather than storing them. Hence, the streams can
+ * be efficiently processed in parallel (see {@link Stream#parallel()}), and their memory consumption only depends on the
+ * size of the covers and characterizing sets, but not on the number of generated test words. For the Wp method, the
+ * state-local characterizing sets are lazily computed by the threads that process the respective test words.
+ * <p>
+ * The streams contain the same test words as their iterator-based counterparts, however, possibly in a different order.
+ * The automaton must not be modified while its test words are generated.
+ *
+ * @author agent
+ */
+public final class ConformanceTests {
+
+    private ConformanceTests() {
+        // prevent instantiation
+    }
+
+    /**
+     * Returns a (sequential) stream of the test words generated by the W method.
+     *
+     * @param automaton
+     *         the automaton for which the testing sequences should be generated
+     * @param inputs
+     *         the input symbols that should be considered for test sequence generation
+     * @param maxDepth
+     *         the maximum number of symbols that are appended to the transition-cover part of the test sequences
+     * @param <I>
+     *         input symbol type
+     *
+     * @return a stream of the test words
+     *
+     * @see WMethodTestsIterator
+     */
+    public static <I> Stream<Word<I>> wMethodTests(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                                   Collection<? extends I> inputs,
+                                                   int maxDepth) {
+        final List<? extends I> inputList = new ArrayList<>(inputs);
+        final List<Word<I>> transitionCover = new ArrayList<>(automaton.size() * inputs.size());
+        Covers.transitionCover(automaton, inputs, transitionCover);
+
+        final List<Word<I>> characterizingSet = globalSuffixes(automaton, inputs);
+
+        return StreamSupport.stream(new TestCellSpliterator<>(transitionCover,
+                                                              inputList,
+                                                              maxDepth,
+                                                              (prefix, middle) -> characterizingSet), false);
+    }
+
+    /**
+     * Returns a (sequential) stream of the test words generated by the partial W method.
+     *
+     * @param automaton
+     *         the automaton for which the testing sequences should be generated
+     * @param inputs
+     *         the input symbols that should be considered for test sequence generation
+     * @param maxDepth
+     *         the maximum number of symbols that are appended to the transition-cover part of the test sequences
+     * @param <I>
+     *         input symbol type
+     *
+     * @return a stream of the test words
+     *
+     * @see WpMethodTestsIterator
+     */
+    public static <I> Stream<Word<I>> wpMethodTests(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                                    Collection<? extends I> inputs,
+                                                    int maxDepth) {
+        return wpMethodTestsInternal(automaton, inputs, maxDepth);
+    }
+
+    private static <S, I> Stream<Word<I>> wpMethodTestsInternal(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton,
+                                                                Collection<? extends I> inputs,
+                                                                int maxDepth) {
+        final List<? extends I> inputList = new ArrayList<>(inputs);
+        final Set<Word<I>> stateCover = new LinkedHashSet<>();
+        final Set<Word<I>> transitionCover = new LinkedHashSet<>();
+
+        Covers.cover(automaton, inputs, stateCover, transitionCover);
+        transitionCover.removeAll(stateCover);
+
+        final List<Word<I>> characterizingSet = globalSuffixes(automaton, inputs);
+
+        // Phase 1: state cover * middle part * global suffixes
+        final Spliterator<Word<I>> firstPhase = new TestCellSpliterator<>(new ArrayList<>(stateCover),
+                                                                          inputList,
+                                                                          maxDepth,
+                                                                          (prefix, middle) -> characterizingSet);
+
+        // Phase 2: transitions (not in state cover) * middle part * local suffixes
+        final StateIDs<S> stateIds = automaton.stateIDs();
+        final AtomicReferenceArray<@Nullable List<Word<I>>> localSuffixSets =
+                new AtomicReferenceArray<>(automaton.size());
+
+        final Spliterator<Word<I>> secondPhase =
+                new TestCellSpliterator<>(new ArrayList<>(transitionCover), inputList, maxDepth, (prefix, middle) -> {
+                    @SuppressWarnings("nullness") // input sequences have been computed on defined transitions
+                    final @NonNull S tmp = automaton.getState(prefix);
+                    @SuppressWarnings("nullness") // input sequences have been computed on defined transitions
+                    final @NonNull S state = automaton.getSuccessor(tmp, middle);
+                    final int id = stateIds.getStateId(state);
+
+                    List<Word<I>> localSuffixes = localSuffixSets.get(id);
+
+                    if (localSuffixes == null) {
+                        // concurrent computations yield the same result, so there is no need for synchronization
+                        localSuffixes = Automata.stateCharacterizingSet(automaton, inputs, state);
+                        if (localSuffixes.isEmpty()) {
+                            localSuffixes = Collections.singletonList(Word.epsilon());
+                        }
+                        localSuffixSets.set(id, localSuffixes);
+                    }
+
+                    return localSuffixes;
+                });
+
+        return Stream.concat(StreamSupport.stream(firstPhase, false), StreamSupport.stream(secondPhase, false));
+    }
+
+    /**
+     * Passes the words of the given stream in batches to the given consumer. This allows to, e.g., pipeline the
+     * generation of test words with their execution on a system under learning. If the given stream is parallel, the
+     * batches are formed and passed to the consumer concurrently by the threads processing the stream, in which case
+     * the consumer needs to be thread-safe.
+     *
+     * @param tests
+     *         the stream of test words, e.g., as returned by {@link #wMethodTests(UniversalDeterministicAutomaton,
+     *         Collection, int)}
+     * @param batchSize
+     *         the (maximum) number of words per batch
+     * @param consumer
+     *         the consumer of the batches
+     * @param <I>
+     *         input symbol type
+     */
+    public static <I> void forEachBatch(Stream<Word<I>> tests,
+                                        int batchSize,
+                                        Consumer<? super List<Word<I>>> consumer) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+
+        final boolean parallel = tests.isParallel();
+        StreamSupport.stream(new BatchSpliterator<>(tests.spliterator(), batchSize), parallel).forEach(consumer);
+    }
+
+    private static <I> List<Word<I>> globalSuffixes(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                                    Collection<? extends I> inputs) {
+        final List<Word<I>> result = new ArrayList<>();
+        CharacterizingSets.findCharacterizingSet(automaton, inputs, result);
+
+        // Special case: List of characterizing suffixes may be empty,
+        // but in this case we still need to iterate over the prefixes!
+        if (result.isEmpty()) {
+            return Collections.singletonList(Word.epsilon());
+        }
+
+        return result;
+    }
+
+    private static final class BatchSpliterator<T> implements Spliterator<List<T>> {
+
+        private final Spliterator<T> delegate;
+        private final int batchSize;
+
+        BatchSpliterator(Spliterator<T> delegate, int batchSize) {
+            this.delegate = delegate;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super List<T>> action) {
+            final List<T> batch = new ArrayList<>(batchSize);
+
+            while (batch.size() < batchSize && delegate.tryAdvance(batch::add)) {
+                // accumulate
+            }
+
+            if (batch.isEmpty()) {
+                return false;
+            }
+
+            action.accept(batch);
+            return true;
+        }
+
+        @Override
+        public @Nullable Spliterator<List<T>> trySplit() {
+            final Spliterator<T> split = delegate.trySplit();
+            return split == null ? null : new BatchSpliterator<>(split, batchSize);
+        }
+
+        @Override
+        public long estimateSize() {
+            final long size = delegate.estimateSize();
+            return size == Long.MAX_VALUE ? size : (size + batchSize - 1) / batchSize;
+        }
+
+        @Override
+        public int characteristics() {
+            return delegate.characteristics() & (ORDERED | IMMUTABLE | CONCURRENT) | NONNULL;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A {@link Spliterator} over the test words of a (prefix x middle x suffix) test suite.
+ * <p>
+ * The (middle x prefix) space is addressed by a single {@code long} cell index, which allows to split the space in
+ * constant time. The middle parts (all words over the inputs up to a maximum length) are never materialized but decoded
+ * from the cell index, using the same order as {@link net.automatalib.commons.util.collections.CollectionsUtil#allTuples(
+ * Iterable, int, int)}. For each cell, the suffixes are provided by a (thread-safe) function, so that both global and
+ * state-local characterizing sets can be used.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author agent
+ */
+final class TestCellSpliterator<I> implements Spliterator<Word<I>> {
+
+    private final List<Word<I>> prefixes;
+    private final List<? extends I> inputs;
+    private final long[] numMiddlesUpTo;
+    private final BiFunction<Word<I>, Word<I>, List<Word<I>>> suffixes;
+
+    private long index;
+    private final long end;
+
+    private Word<I> pendingPrefix;
+    private List<Word<I>> pendingSuffixes;
+    private int pendingIdx;
+
+    private long middleIdx;
+    private Word<I> middle;
+
+    /**
+     * Constructor.
+     *
+     * @param prefixes
+     *         the prefixes of the test words
+     * @param inputs
+     *         the inputs of the middle parts
+     * @param maxDepth
+     *         the maximum length of the middle parts
+     * @param suffixes
+     *         a function that provides the suffixes for a given prefix and middle part
+     */
+    TestCellSpliterator(List<Word<I>> prefixes,
+                        List<? extends I> inputs,
+                        int maxDepth,
+                        BiFunction<Word<I>, Word<I>, List<Word<I>>> suffixes) {
+        this(prefixes, inputs, computeNumMiddles(inputs.size(), maxDepth), suffixes, 0, -1);
+    }
+
+    private TestCellSpliterator(List<Word<I>> prefixes,
+                                List<? extends I> inputs,
+                                long[] numMiddlesUpTo,
+                                BiFunction<Word<I>, Word<I>, List<Word<I>>> suffixes,
+                                long index,
+                                long end) {
+        this.prefixes = prefixes;
+        this.inputs = inputs;
+        this.numMiddlesUpTo = numMiddlesUpTo;
+        this.suffixes = suffixes;
+        this.index = index;
+        this.end = end < 0 ? Math.multiplyExact(numMiddlesUpTo[numMiddlesUpTo.length - 1], prefixes.size()) : end;
+        this.pendingPrefix = Word.epsilon();
+        this.pendingSuffixes = Collections.emptyList();
+        this.middleIdx = -1;
+        this.middle = Word.epsilon();
+    }
+
+    /**
+     * Computes the (cumulative) number of middle parts, i.e., the entry at index {@code i} contains the number of words
+     * whose length is less than or equal to {@code i}.
+     */
+    private static long[] computeNumMiddles(int numInputs, int maxDepth) {
+        final long[] result = new long[maxDepth + 1];
+        long numOfLength = 1;
+        result[0] = 1;
+        for (int i = 1; i <= maxDepth; i++) {
+            numOfLength = Math.multiplyExact(numOfLength, numInputs);
+            result[i] = Math.addExact(result[i - 1], numOfLength);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Word<I>> action) {
+        while (pendingIdx >= pendingSuffixes.size()) {
+            if (index >= end) {
+                return false;
+            }
+            advanceCell();
+        }
+
+        action.accept(pendingPrefix.concat(pendingSuffixes.get(pendingIdx++)));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Word<I>> action) {
+        do {
+            final int numPending = pendingSuffixes.size();
+            while (pendingIdx < numPending) {
+                action.accept(pendingPrefix.concat(pendingSuffixes.get(pendingIdx++)));
+            }
+            if (index >= end) {
+                return;
+            }
+            advanceCell();
+        } while (true);
+    }
+
+    private void advanceCell() {
+        final int numPrefixes = prefixes.size();
+        final long cell = index++;
+        final long mIdx = cell / numPrefixes;
+
+        if (mIdx != middleIdx) {
+            middle = decodeMiddle(mIdx);
+            middleIdx = mIdx;
+        }
+
+        final Word<I> prefix = prefixes.get((int) (cell % numPrefixes));
+
+        pendingPrefix = prefix.concat(middle);
+        pendingSuffixes = suffixes.apply(prefix, middle);
+        pendingIdx = 0;
+    }
+
+    private Word<I> decodeMiddle(long idx) {
+        int length = 0;
+        while (numMiddlesUpTo[length] <= idx) {
+            length++;
+        }
+
+        long offset = length == 0 ? idx : idx - numMiddlesUpTo[length - 1];
+        final int numInputs = inputs.size();
+        final WordBuilder<I> wb = new WordBuilder<>(length);
+
+        // the first symbol changes most frequently (see AllTuplesIterator)
+        for (int i = 0; i < length; i++) {
+            wb.append(inputs.get((int) (offset % numInputs)));
+            offset /= numInputs;
+        }
+
+        return wb.toWord();
+    }
+
+    @Override
+    public @Nullable Spliterator<Word<I>> trySplit() {
+        final long remaining = end - index;
+        if (remaining < 2) {
+            return null;
+        }
+
+        final long mid = index + remaining / 2;
+        final TestCellSpliterator<I> result =
+                new TestCellSpliterator<>(prefixes, inputs, numMiddlesUpTo, suffixes, index, mid);
+
+        // hand over the pending words of the current cell to preserve the encounter order
+        result.pendingPrefix = this.pendingPrefix;
+        result.pendingSuffixes = this.pendingSuffixes;
+        result.pendingIdx = this.pendingIdx;
+
+        this.pendingSuffixes = Collections.emptyList();
+        this.pendingIdx = 0;
+        this.index = mid;
+
+        return result;
+    }
+
+    @Override
+    public long estimateSize() {
+        return end - index + pendingSuffixes.size() - pendingIdx;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+}
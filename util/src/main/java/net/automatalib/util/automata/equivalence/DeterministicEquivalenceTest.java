@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
 
 import net.automatalib.automata.UniversalDeterministicAutomaton;
 import net.automatalib.automata.concepts.StateIDs;
@@ -275,6 +276,30 @@ public class DeterministicEquivalenceTest<I> {
         return sep.toWord();
     }
 
+    /**
+     * Searches for a shortest separating word of the two given automata using a level-synchronous, parallel
+     * breadth-first search over the state pairs. The returned word coincides with the one returned by {@link
+     * #findSeparatingWordLarge(UniversalDeterministicAutomaton, UniversalDeterministicAutomaton, Collection)}.
+     *
+     * @param reference
+     *         the one automaton to consider
+     * @param other
+     *         the other automaton to consider
+     * @param inputs
+     *         the input symbols to consider
+     * @param pool
+     *         the pool whose threads are used for expanding the state pairs of a level
+     *
+     * @return a shortest separating word, or {@code null} if no such word exists
+     */
+    public static <I, S, T, SP, TP, S2, T2, SP2, TP2> @Nullable Word<I> findSeparatingWord(
+            UniversalDeterministicAutomaton<S, I, T, SP, TP> reference,
+            UniversalDeterministicAutomaton<S2, I, T2, SP2, TP2> other,
+            Collection<? extends I> inputs,
+            ForkJoinPool pool) {
+        return ParallelDeterministicEquivalenceTest.findSeparatingWord(reference, other, inputs, pool);
+    }
+
     private static final class StatePair<S, S2> {
 
         public final S ref;
@@ -0,0 +1,368 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.commons.smartcollections.ArrayUtil;
+import net.automatalib.commons.util.concurrent.ParallelUtil;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A level-synchronous, parallel breadth-first exploration of the product of two deterministic automata, which searches
+ * for a shortest separating word.
+ * <p>
+ * Each state pair is encoded as a single {@code long} (the upper half containing the state id of the reference
+ * automaton, the lower half the state id of the other automaton). The pairs of a BFS level are expanded in parallel and
+ * the discovered pairs are stored in a lock-free, open-addressing hash table. Since at most {@code |level| *
+ * |inputs|} pairs can be discovered per level, the table is resized only in between levels.
+ * <p>
+ * Every expanded transition is identified by the code {@code index(pred) * |inputs| + index(input)}, where {@code
+ * index(pred)} denotes the position of the source pair in the global BFS order. For every pair, the table stores the
+ * minimal code of all transitions reaching it, which coincides with the transition that a sequential BFS would have
+ * used to discover it. Sorting the codes of each new level therefore reproduces the sequential BFS order and, by
+ * choosing the minimal code among all differences of a level, the separating word coincides with the one of {@link
+ * DeterministicEquivalenceTest#findSeparatingWordLarge(UniversalDeterministicAutomaton,
+ * UniversalDeterministicAutomaton, Collection)}, independent of the scheduling of the threads.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author agent
+ */
+final class ParallelDeterministicEquivalenceTest<I, S, T, SP, TP, S2, T2, SP2, TP2> {
+
+    private static final long EMPTY = -1L;
+    private static final long NO_CONFLICT = Long.MAX_VALUE;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    // return values of the insert operation
+    private static final int INSERTED = 0;
+    private static final int DISCOVERED_IN_LEVEL = 1;
+    private static final int DISCOVERED_BEFORE = 2;
+
+    private final UniversalDeterministicAutomaton<S, I, T, SP, TP> reference;
+    private final UniversalDeterministicAutomaton<S2, I, T2, SP2, TP2> other;
+    private final StateIDs<S> refIds;
+    private final StateIDs<S2> otherIds;
+    private final List<I> inputs;
+    private final int numInputs;
+    private final ForkJoinPool pool;
+
+    // open-addressing hash table mapping pair keys to the minimal code of their discovering transitions
+    private AtomicLongArray keys;
+    private AtomicLongArray codes;
+    private int mask;
+    private long numPairs;
+
+    private ParallelDeterministicEquivalenceTest(UniversalDeterministicAutomaton<S, I, T, SP, TP> reference,
+                                                 UniversalDeterministicAutomaton<S2, I, T2, SP2, TP2> other,
+                                                 Collection<? extends I> inputs,
+                                                 ForkJoinPool pool) {
+        this.reference = reference;
+        this.other = other;
+        this.refIds = reference.stateIDs();
+        this.otherIds = other.stateIDs();
+        this.inputs = new ArrayList<>(inputs);
+        this.numInputs = this.inputs.size();
+        this.pool = pool;
+        this.keys = new AtomicLongArray(0);
+        this.codes = new AtomicLongArray(0);
+    }
+
+    static <I, S, T, SP, TP, S2, T2, SP2, TP2> @Nullable Word<I> findSeparatingWord(
+            UniversalDeterministicAutomaton<S, I, T, SP, TP> reference,
+            UniversalDeterministicAutomaton<S2, I, T2, SP2, TP2> other,
+            Collection<? extends I> inputs,
+            ForkJoinPool pool) {
+        final S refInit = reference.getInitialState();
+        final S2 otherInit = other.getInitialState();
+
+        if (refInit == null || otherInit == null) {
+            return refInit == null && otherInit == null ? null : Word.epsilon();
+        }
+
+        if (!Objects.equals(reference.getStateProperty(refInit), other.getStateProperty(otherInit))) {
+            return Word.epsilon();
+        }
+
+        return new ParallelDeterministicEquivalenceTest<>(reference, other, inputs, pool).run(refInit, otherInit);
+    }
+
+    private @Nullable Word<I> run(S refInit, S2 otherInit) {
+        final long maxPairs = (long) reference.size() * other.size();
+
+        // levelCodes.get(l)[i] is the code of the transition that discovered the i-th pair of level l + 1
+        final List<long[]> levelCodes = new ArrayList<>();
+        final AtomicLong conflict = new AtomicLong(NO_CONFLICT);
+
+        long[] frontier = {encode(refIds.getStateId(refInit), otherIds.getStateId(otherInit))};
+        long levelOffset = 0;
+
+        ensureCapacity(Math.min(1 + numInputs, maxPairs));
+        insert(frontier[0], -1L, 0L);
+        numPairs = 1;
+
+        while (frontier.length > 0) {
+            ensureCapacity(Math.min(numPairs + (long) frontier.length * numInputs, maxPairs));
+
+            final long[] currFrontier = frontier;
+            final long currOffset = levelOffset;
+            final ConcurrentLinkedQueue<int[]> discovered = new ConcurrentLinkedQueue<>();
+
+            ParallelUtil.forEachChunk(pool, 0, currFrontier.length, (low, high) -> {
+                final int[] slots = expand(currFrontier, currOffset, low, high, conflict);
+                if (slots.length > 0) {
+                    discovered.add(slots);
+                }
+            });
+
+            final long conflictCode = conflict.get();
+            if (conflictCode != NO_CONFLICT) {
+                return buildWord(conflictCode, levelCodes, levelOffset);
+            }
+
+            final long[] nextCodes = collectCodes(discovered);
+            numPairs += nextCodes.length;
+            levelOffset += currFrontier.length;
+
+            frontier = new long[nextCodes.length];
+            final long[] nextFrontier = frontier;
+
+            ParallelUtil.forEach(pool, 0, nextCodes.length, i -> {
+                final long code = nextCodes[i];
+                nextFrontier[i] = successor(currFrontier[(int) (code / numInputs - currOffset)],
+                                            inputs.get((int) (code % numInputs)));
+            });
+
+            levelCodes.add(nextCodes);
+        }
+
+        return null;
+    }
+
+    /**
+     * Expands the pairs of the given range of the current level and returns the hash table slots of the newly
+     * discovered pairs.
+     */
+    private int[] expand(long[] frontier, long offset, int low, int high, AtomicLong conflict) {
+        int[] slots = new int[0];
+        int numSlots = 0;
+
+        for (int i = low; i < high; i++) {
+            final long codeBase = (offset + i) * numInputs;
+
+            // all codes of this (and every subsequent) pair of the chunk are greater than the known conflict
+            if (conflict.get() < codeBase) {
+                break;
+            }
+
+            final long key = frontier[i];
+            final S refState = refIds.getState(decodeRef(key));
+            final S2 otherState = otherIds.getState(decodeOther(key));
+
+            for (int j = 0; j < numInputs; j++) {
+                final I in = inputs.get(j);
+                final long code = codeBase + j;
+
+                final T refTrans = reference.getTransition(refState, in);
+                final T2 otherTrans = other.getTransition(otherState, in);
+
+                if (refTrans == null || otherTrans == null) {
+                    if (refTrans != null || otherTrans != null) {
+                        conflict.accumulateAndGet(code, Math::min);
+                    }
+                    continue;
+                }
+
+                if (!Objects.equals(reference.getTransitionProperty(refTrans),
+                                    other.getTransitionProperty(otherTrans))) {
+                    conflict.accumulateAndGet(code, Math::min);
+                    continue;
+                }
+
+                final S refSucc = reference.getSuccessor(refTrans);
+                final S2 otherSucc = other.getSuccessor(otherTrans);
+                final long succKey = encode(refIds.getStateId(refSucc), otherIds.getStateId(otherSucc));
+                final long slot = insert(succKey, code, offset * numInputs);
+                final int status = (int) (slot >>> 32);
+
+                // pairs of previous levels have already been checked
+                if (status != DISCOVERED_BEFORE &&
+                    !Objects.equals(reference.getStateProperty(refSucc), other.getStateProperty(otherSucc))) {
+                    conflict.accumulateAndGet(code, Math::min);
+                }
+
+                if (status == INSERTED) {
+                    if (numSlots == slots.length) {
+                        slots = Arrays.copyOf(slots, ArrayUtil.computeNewCapacity(slots.length, numSlots + 1));
+                    }
+                    slots[numSlots++] = (int) slot;
+                }
+            }
+        }
+
+        return Arrays.copyOf(slots, numSlots);
+    }
+
+    private long[] collectCodes(Collection<int[]> discovered) {
+        int size = 0;
+        for (int[] slots : discovered) {
+            size += slots.length;
+        }
+
+        final long[] result = new long[size];
+        int idx = 0;
+        for (int[] slots : discovered) {
+            for (int slot : slots) {
+                result[idx++] = codes.get(slot);
+            }
+        }
+
+        // restore the order in which a sequential BFS would have discovered the pairs
+        Arrays.sort(result);
+        return result;
+    }
+
+    private long successor(long key, I input) {
+        final T refTrans = reference.getTransition(refIds.getState(decodeRef(key)), input);
+        final T2 otherTrans = other.getTransition(otherIds.getState(decodeOther(key)), input);
+
+        assert refTrans != null && otherTrans != null;
+
+        return encode(refIds.getStateId(reference.getSuccessor(refTrans)),
+                      otherIds.getStateId(other.getSuccessor(otherTrans)));
+    }
+
+    private Word<I> buildWord(long conflictCode, List<long[]> levelCodes, long levelOffset) {
+        final int length = levelCodes.size() + 1;
+
+        @SuppressWarnings("nullness") // we make sure to set each index to a value of type I
+        final WordBuilder<I> wb = new WordBuilder<>(null, length);
+
+        long code = conflictCode;
+        // the global offset of the level that contains the source pair of the current code
+        long offset = levelOffset;
+
+        for (int level = length - 1; level >= 0; level--) {
+            wb.setSymbol(level, inputs.get((int) (code % numInputs)));
+
+            if (level > 0) {
+                code = levelCodes.get(level - 1)[(int) (code / numInputs - offset)];
+                offset -= level > 1 ? levelCodes.get(level - 2).length : 1;
+            }
+        }
+
+        return wb.toWord();
+    }
+
+    /**
+     * Inserts the given pair (or lowers the code of an existing pair) and returns the slot of the pair in the lower half
+     * and the status of the insertion in the upper half of the result.
+     */
+    private long insert(long key, long code, long levelCodeBase) {
+        int slot = hash(key) & mask;
+
+        for (int probes = 0; probes <= mask; probes++) {
+            long curr = keys.get(slot);
+
+            if (curr == EMPTY) {
+                if (keys.compareAndSet(slot, EMPTY, key)) {
+                    lowerCode(codes, slot, code);
+                    return slot | ((long) INSERTED << 32);
+                }
+                curr = keys.get(slot);
+            }
+
+            if (curr == key) {
+                final long prev = lowerCode(codes, slot, code);
+                final int status = prev < levelCodeBase ? DISCOVERED_BEFORE : DISCOVERED_IN_LEVEL;
+                return slot | ((long) status << 32);
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        throw new IllegalStateException("Too many state pairs");
+    }
+
+    /**
+     * Lowers the code stored in the given slot and returns the previous code.
+     */
+    private static long lowerCode(AtomicLongArray codes, int slot, long code) {
+        long prev;
+        do {
+            prev = codes.get(slot);
+        } while (code < prev && !codes.compareAndSet(slot, prev, code));
+        return prev;
+    }
+
+    private void ensureCapacity(long maxNumPairs) {
+        final long required = Math.min(Long.highestOneBit(Math.max(2 * maxNumPairs - 1, 1)) << 1, MAX_CAPACITY);
+
+        if (required <= keys.length()) {
+            return;
+        }
+
+        final AtomicLongArray oldKeys = this.keys;
+        final AtomicLongArray oldCodes = this.codes;
+
+        final long[] emptyKeys = new long[(int) required];
+        Arrays.fill(emptyKeys, EMPTY);
+        final long[] emptyCodes = new long[(int) required];
+        Arrays.fill(emptyCodes, Long.MAX_VALUE);
+
+        this.keys = new AtomicLongArray(emptyKeys);
+        this.codes = new AtomicLongArray(emptyCodes);
+        this.mask = (int) required - 1;
+
+        ParallelUtil.forEach(pool, 0, oldKeys.length(), i -> {
+            final long key = oldKeys.get(i);
+            if (key != EMPTY) {
+                insert(key, oldCodes.get(i), 0L);
+            }
+        });
+    }
+
+    private static int hash(long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static long encode(int refId, int otherId) {
+        return ((long) refId << 32) | otherId;
+    }
+
+    private static int decodeRef(long key) {
+        return (int) (key >>> 32);
+    }
+
+    private static int decodeOther(long key) {
+        return (int) key;
+    }
+}
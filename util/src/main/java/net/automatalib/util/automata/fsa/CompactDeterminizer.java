@@ -0,0 +1,383 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.fsa;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.fsa.NFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.commons.util.collections.CollectionsUtil;
+import net.automatalib.words.Alphabet;
+
+/**
+ * A subset construction for {@link CompactNFA}s that writes its result directly into a {@link CompactDFA}.
+ * <p>
+ * Subsets are represented by sorted {@code int} arrays of NFA state ids, which are stored contiguously in a single pool
+ * and interned (hash-consed) by an open-addressing hash table. The id of an interned subset directly corresponds to the
+ * id of its state in the constructed DFA. As subsets are interned in the order in which they are discovered, the
+ * (implicit) work list of the construction is simply the range of subset ids that have not yet been expanded. Hence,
+ * apart from growing the pool and the table, no objects are allocated per explored subset.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author agent
+ */
+final class CompactDeterminizer<I> implements IntConsumer {
+
+    private final CompactNFA<I> nfa;
+    private final boolean[] accepting;
+    private final int[] nfaInputs;
+    private final int[] dfaInputs;
+
+    private final SubsetTable subsets;
+
+    // scratch space for computing successor subsets
+    private final int[] stamps;
+    private int stamp;
+    private final int[] buffer;
+    private int bufferSize;
+
+    private CompactDeterminizer(CompactNFA<I> nfa, int[] nfaInputs, int[] dfaInputs) {
+        this.nfa = nfa;
+        this.nfaInputs = nfaInputs;
+        this.dfaInputs = dfaInputs;
+
+        final int numStates = nfa.size();
+        this.accepting = new boolean[numStates];
+        for (int i = 0; i < numStates; i++) {
+            accepting[i] = nfa.isAccepting(i);
+        }
+
+        this.subsets = new SubsetTable();
+        this.stamps = new int[numStates];
+        this.buffer = new int[Math.max(numStates, 1)];
+    }
+
+    /**
+     * Determinizes the given NFA and writes the result into the given DFA.
+     *
+     * @param nfa
+     *         the NFA to determinize
+     * @param inputs
+     *         the inputs to consider, which must be contained in the input alphabets of both automata
+     * @param out
+     *         the DFA to write the result to
+     * @param partial
+     *         whether the empty subset should be omitted, i.e., whether the result should be a partial DFA
+     * @param <I>
+     *         input symbol type
+     */
+    static <I> void determinize(CompactNFA<I> nfa,
+                                Collection<? extends I> inputs,
+                                CompactDFA<I> out,
+                                boolean partial) {
+        final List<? extends I> inputList = CollectionsUtil.randomAccessList(inputs);
+        final Alphabet<I> nfaAlphabet = nfa.getInputAlphabet();
+        final Alphabet<I> dfaAlphabet = out.getInputAlphabet();
+        final int numInputs = inputList.size();
+
+        final int[] nfaInputs = new int[numInputs];
+        final int[] dfaInputs = new int[numInputs];
+
+        for (int i = 0; i < numInputs; i++) {
+            final I sym = inputList.get(i);
+            nfaInputs[i] = nfaAlphabet.getSymbolIndex(sym);
+            dfaInputs[i] = dfaAlphabet.getSymbolIndex(sym);
+        }
+
+        new CompactDeterminizer<>(nfa, nfaInputs, dfaInputs).run(out, partial);
+    }
+
+    private void run(CompactDFA<I> out, boolean partial) {
+        final int offset = out.size();
+
+        nextStamp();
+        for (Integer init : nfa.getInitialStates()) {
+            accept(init);
+        }
+        sortBuffer();
+        subsets.intern(buffer, bufferSize);
+        out.setInitial(out.addIntState(isAccepting()), true);
+
+        for (int curr = 0; curr < subsets.size(); curr++) {
+            final int low = subsets.getLow(curr);
+            final int high = subsets.getHigh(curr);
+
+            for (int i = 0; i < nfaInputs.length; i++) {
+                final int nfaInput = nfaInputs[i];
+
+                nextStamp();
+                for (int j = low; j < high; j++) {
+                    nfa.forEachSuccessor(subsets.getElement(j), nfaInput, this);
+                }
+
+                if (partial && bufferSize == 0) {
+                    continue;
+                }
+
+                sortBuffer();
+
+                final int numSubsets = subsets.size();
+                final int succ = subsets.intern(buffer, bufferSize);
+                if (succ == numSubsets) {
+                    out.addIntState(isAccepting());
+                }
+
+                out.setTransition(offset + curr, dfaInputs[i], offset + succ);
+            }
+        }
+    }
+
+    /**
+     * Adds the given NFA state to the currently computed subset.
+     */
+    @Override
+    public void accept(int state) {
+        if (stamps[state] != stamp) {
+            stamps[state] = stamp;
+            buffer[bufferSize++] = state;
+        }
+    }
+
+    private void nextStamp() {
+        bufferSize = 0;
+        if (++stamp == 0) {
+            // overflow, reset all stamps
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+    }
+
+    /**
+     * Sorts the currently computed subset. Large subsets are sorted by scanning the stamps of all NFA states, which is
+     * linear in the number of NFA states, whereas small subsets are sorted by comparison.
+     */
+    private void sortBuffer() {
+        if (bufferSize > stamps.length >>> 4) {
+            int idx = 0;
+            for (int s = 0; idx < bufferSize; s++) {
+                if (stamps[s] == stamp) {
+                    buffer[idx++] = s;
+                }
+            }
+        } else {
+            Arrays.sort(buffer, 0, bufferSize);
+        }
+    }
+
+    private boolean isAccepting() {
+        for (int i = 0; i < bufferSize; i++) {
+            if (accepting[buffer[i]]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Copies the given NFA into a {@link CompactNFA} over the given alphabet, optionally reversing it. The reverse of an
+     * NFA is the NFA whose transitions are reversed and whose initial (accepting) states are the accepting (initial)
+     * states of the original NFA. In both cases, the state ids of the given NFA (with respect to its {@link
+     * NFA#stateIDs() state IDs}) are preserved.
+     *
+     * @param nfa
+     *         the NFA to copy
+     * @param alphabet
+     *         the inputs to consider
+     * @param reverse
+     *         whether the NFA should be reversed
+     * @param <S>
+     *         state type
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the (reversed) copy of the NFA
+     */
+    static <S, I> CompactNFA<I> toCompactNFA(NFA<S, I> nfa, Alphabet<I> alphabet, boolean reverse) {
+        final int numStates = nfa.size();
+        final int numInputs = alphabet.size();
+        final StateIDs<S> ids = nfa.stateIDs();
+        final CompactNFA<I> result = new CompactNFA<>(alphabet, numStates);
+
+        for (int s = 0; s < numStates; s++) {
+            final S state = ids.getState(s);
+            final boolean accepting = nfa.isAccepting(state);
+            result.addIntState(!reverse && accepting);
+            if (reverse && accepting) {
+                result.setInitial(s, true);
+            }
+        }
+
+        for (S init : nfa.getInitialStates()) {
+            final int id = ids.getStateId(init);
+            if (reverse) {
+                result.setAccepting(id, true);
+            } else {
+                result.setInitial(id, true);
+            }
+        }
+
+        for (int s = 0; s < numStates; s++) {
+            final S state = ids.getState(s);
+            for (int i = 0; i < numInputs; i++) {
+                for (S succ : nfa.getSuccessors(state, alphabet.getSymbol(i))) {
+                    final int t = ids.getStateId(succ);
+                    if (reverse) {
+                        result.addTransition(t, i, s);
+                    } else {
+                        result.addTransition(s, i, t);
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * An open-addressing hash table for interning sorted {@code int} arrays. The contents of all interned arrays are
+     * stored in a single pool, and each array is identified by the (dense) index in which it has been interned.
+     */
+    private static final class SubsetTable {
+
+        private static final int INITIAL_CAPACITY = 1 << 10;
+        private static final int EMPTY = -1;
+
+        private int[] pool;
+        private int poolSize;
+
+        // offsets[id] denotes the start of subset id in the pool, offsets[id + 1] its end
+        private int[] offsets;
+        private int[] hashes;
+        private int size;
+
+        private int[] table;
+        private int mask;
+
+        SubsetTable() {
+            this.pool = new int[INITIAL_CAPACITY];
+            this.offsets = new int[INITIAL_CAPACITY + 1];
+            this.hashes = new int[INITIAL_CAPACITY];
+            this.table = new int[INITIAL_CAPACITY * 2];
+            this.mask = table.length - 1;
+            Arrays.fill(table, EMPTY);
+        }
+
+        int size() {
+            return size;
+        }
+
+        int getLow(int id) {
+            return offsets[id];
+        }
+
+        int getHigh(int id) {
+            return offsets[id + 1];
+        }
+
+        int getElement(int poolIdx) {
+            return pool[poolIdx];
+        }
+
+        /**
+         * Returns the id of the given subset, interning it if necessary. A newly interned subset receives the id
+         * {@link #size()} (before the call).
+         */
+        int intern(int[] elements, int length) {
+            final int hash = hash(elements, length);
+
+            int pos = hash & mask;
+            int id;
+            while ((id = table[pos]) != EMPTY) {
+                if (hashes[id] == hash && contentEquals(id, elements, length)) {
+                    return id;
+                }
+                pos = (pos + 1) & mask;
+            }
+
+            id = size++;
+            ensureCapacity(length);
+
+            System.arraycopy(elements, 0, pool, poolSize, length);
+            poolSize += length;
+            offsets[size] = poolSize;
+            hashes[id] = hash;
+            table[pos] = id;
+
+            // keep the load factor below 1/2
+            if (size * 2 > table.length) {
+                rehash();
+            }
+
+            return id;
+        }
+
+        private boolean contentEquals(int id, int[] elements, int length) {
+            final int low = offsets[id];
+            if (offsets[id + 1] - low != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (pool[low + i] != elements[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void ensureCapacity(int length) {
+            if (size >= hashes.length) {
+                final int newCapacity = hashes.length * 2;
+                hashes = Arrays.copyOf(hashes, newCapacity);
+                offsets = Arrays.copyOf(offsets, newCapacity + 1);
+            }
+
+            final int required = poolSize + length;
+            if (required > pool.length) {
+                pool = Arrays.copyOf(pool, Math.max(required, pool.length * 2));
+            }
+        }
+
+        private void rehash() {
+            table = new int[table.length * 2];
+            mask = table.length - 1;
+            Arrays.fill(table, EMPTY);
+
+            for (int id = 0; id < size; id++) {
+                int pos = hashes[id] & mask;
+                while (table[pos] != EMPTY) {
+                    pos = (pos + 1) & mask;
+                }
+                table[pos] = id;
+            }
+        }
+
+        private static int hash(int[] elements, int length) {
+            int hash = 1;
+            for (int i = 0; i < length; i++) {
+                hash = 31 * hash + elements[i];
+            }
+            // spread the bits, since the table uses the lower bits only
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
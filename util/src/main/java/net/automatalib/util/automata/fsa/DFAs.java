@@ -27,6 +27,7 @@ import net.automatalib.util.automata.copy.AutomatonLowLevelCopy;
 import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization;
 import net.automatalib.util.ts.acceptors.AcceptanceCombiner;
 import net.automatalib.util.ts.acceptors.Acceptors;
+import net.automatalib.util.ts.acceptors.ProductSearchResult;
 import net.automatalib.util.ts.copy.TSCopy;
 import net.automatalib.util.ts.traversal.TSTraversal;
 import net.automatalib.util.ts.traversal.TSTraversalMethod;
@@ -97,6 +98,54 @@ public final class DFAs {
         return out;
     }
 
+    /**
+     * Searches for a word that is accepted by the combination of two DFAs, without constructing the combined DFA. The
+     * product of the given DFAs is explored on-the-fly in breadth-first order, and the exploration stops as soon as the
+     * first state pair is discovered whose combined acceptance value is {@code true}. Hence, the returned witness (if
+     * any) is a shortest word accepted by the combination, and the search may terminate long before the product has been
+     * fully explored. Undefined transitions of the given DFAs are treated as transitions into a rejecting sink.
+     * <p>
+     * For example, {@code searchProduct(dfa1, dfa2, alphabet, AcceptanceCombiner.XOR)} searches for a separating word
+     * of the two DFAs, and {@code searchProduct(dfa1, dfa2, alphabet, AcceptanceCombiner.AND)} checks the intersection of
+     * the two languages for emptiness.
+     *
+     * @param dfa1
+     *         the first DFA
+     * @param dfa2
+     *         the second DFA
+     * @param inputAlphabet
+     *         the input alphabet
+     * @param combiner
+     *         combination method for acceptance values
+     *
+     * @return the result of the search, containing the witness (if any) and the number of explored state pairs
+     */
+    public static <I> ProductSearchResult<I> searchProduct(DFA<?, I> dfa1,
+                                                           DFA<?, I> dfa2,
+                                                           Alphabet<I> inputAlphabet,
+                                                           AcceptanceCombiner combiner) {
+        return LazyDFAProduct.findWitness(dfa1, dfa2, inputAlphabet, combiner);
+    }
+
+    /**
+     * Checks whether the language of the first DFA is included in the language of the second DFA. The check explores
+     * the product of the given DFAs on-the-fly and stops at the first counterexample, see {@link #searchProduct(DFA,
+     * DFA, Alphabet, AcceptanceCombiner)}.
+     *
+     * @param dfa1
+     *         the first DFA
+     * @param dfa2
+     *         the second DFA
+     * @param inputAlphabet
+     *         the input alphabet
+     *
+     * @return the result of the search, whose witness (if any) is a shortest word that is accepted by the first DFA but
+     * rejected by the second DFA
+     */
+    public static <I> ProductSearchResult<I> checkInclusion(DFA<?, I> dfa1, DFA<?, I> dfa2, Alphabet<I> inputAlphabet) {
+        return searchProduct(dfa1, dfa2, inputAlphabet, (a1, a2) -> a1 && !a2);
+    }
+
     /**
      * Calculates the conjunction ("and") of two DFA, and returns the result as a new DFA.
      *
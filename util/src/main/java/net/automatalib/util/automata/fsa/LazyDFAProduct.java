@@ -0,0 +1,176 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.fsa;
+
+import java.util.Arrays;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton.FullIntAbstraction;
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.commons.smartcollections.ArrayUtil;
+import net.automatalib.commons.smartcollections.LongIndexer;
+import net.automatalib.commons.smartcollections.ResizingArrayStorage;
+import net.automatalib.util.ts.acceptors.AcceptanceCombiner;
+import net.automatalib.util.ts.acceptors.ProductSearchResult;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.WordBuilder;
+
+/**
+ * An on-the-fly breadth-first exploration of the product of two {@link DFA}s, which stops as soon as it discovers a
+ * state pair that is accepting with respect to a given {@link AcceptanceCombiner}.
+ * <p>
+ * The product is never materialized. Instead, each state pair is encoded as a single {@code long} (the upper half
+ * containing the state id of the first DFA, the lower half the state id of the second DFA) and the discovered pairs are
+ * indexed by a {@link LongIndexer}, whose insertion order directly serves as the work list of the search. Undefined
+ * transitions of partial DFAs lead to an implicit, rejecting sink, so that the language semantics of the product do not
+ * depend on whether the given DFAs are complete.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author agent
+ */
+final class LazyDFAProduct<I> {
+
+    // encodes the implicit sink of a DFA (which is shifted to 0 in the pair encoding)
+    private static final int SINK = -1;
+
+    private final FullIntAbstraction<?, Boolean, Void> abs1;
+    private final FullIntAbstraction<?, Boolean, Void> abs2;
+    private final Alphabet<I> alphabet;
+    private final AcceptanceCombiner combiner;
+
+    private final LongIndexer pairs;
+    // pred[i] denotes the index of the pair from which pair i has been discovered, inputs[i] the corresponding input
+    private int[] preds;
+    private int[] inputs;
+
+    private LazyDFAProduct(DFA<?, I> dfa1, DFA<?, I> dfa2, Alphabet<I> alphabet, AcceptanceCombiner combiner) {
+        this.abs1 = dfa1.fullIntAbstraction(alphabet);
+        this.abs2 = dfa2.fullIntAbstraction(alphabet);
+        this.alphabet = alphabet;
+        this.combiner = combiner;
+        this.pairs = new LongIndexer();
+        this.preds = new int[ResizingArrayStorage.DEFAULT_INITIAL_CAPACITY];
+        this.inputs = new int[ResizingArrayStorage.DEFAULT_INITIAL_CAPACITY];
+    }
+
+    /**
+     * Searches for a (shortest) word that is accepted by the product of the given DFAs.
+     *
+     * @param dfa1
+     *         the first DFA
+     * @param dfa2
+     *         the second DFA
+     * @param alphabet
+     *         the input symbols to consider
+     * @param combiner
+     *         combination method for acceptance values
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the result of the search
+     */
+    static <I> ProductSearchResult<I> findWitness(DFA<?, I> dfa1,
+                                                  DFA<?, I> dfa2,
+                                                  Alphabet<I> alphabet,
+                                                  AcceptanceCombiner combiner) {
+        return new LazyDFAProduct<>(dfa1, dfa2, alphabet, combiner).run();
+    }
+
+    private ProductSearchResult<I> run() {
+        final int numInputs = alphabet.size();
+
+        final int init1 = normalize(abs1.getIntInitialState(), abs1);
+        final int init2 = normalize(abs2.getIntInitialState(), abs2);
+
+        pairs.add(encode(init1, init2));
+        preds[0] = -1;
+
+        if (isAccepting(init1, init2)) {
+            return result(0);
+        }
+
+        for (int curr = 0; curr < pairs.size(); curr++) {
+            final long key = pairs.getKey(curr);
+            final int s1 = decodeFirst(key);
+            final int s2 = decodeSecond(key);
+
+            for (int i = 0; i < numInputs; i++) {
+                final int succ1 = s1 == SINK ? SINK : normalize(abs1.getSuccessor(s1, i), abs1);
+                final int succ2 = s2 == SINK ? SINK : normalize(abs2.getSuccessor(s2, i), abs2);
+
+                final int numPairs = pairs.size();
+                final int succ = pairs.add(encode(succ1, succ2));
+
+                if (succ == numPairs) {
+                    ensureCapacity(succ + 1);
+                    preds[succ] = curr;
+                    inputs[succ] = i;
+
+                    if (isAccepting(succ1, succ2)) {
+                        return result(succ);
+                    }
+                }
+            }
+        }
+
+        return new ProductSearchResult<>(null, pairs.size());
+    }
+
+    private boolean isAccepting(int s1, int s2) {
+        return combiner.combine(s1 != SINK && abs1.getStateProperty(s1), s2 != SINK && abs2.getStateProperty(s2));
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > preds.length) {
+            final int newCapacity = ArrayUtil.computeNewCapacity(preds.length, capacity);
+            preds = Arrays.copyOf(preds, newCapacity);
+            inputs = Arrays.copyOf(inputs, newCapacity);
+        }
+    }
+
+    private ProductSearchResult<I> result(int witness) {
+        int length = 0;
+        for (int idx = witness; preds[idx] >= 0; idx = preds[idx]) {
+            length++;
+        }
+
+        @SuppressWarnings("nullness") // we make sure to set each index to a value of type I
+        final WordBuilder<I> wb = new WordBuilder<>(null, length);
+        int pos = length;
+        for (int idx = witness; preds[idx] >= 0; idx = preds[idx]) {
+            wb.setSymbol(--pos, alphabet.getSymbol(inputs[idx]));
+        }
+
+        return new ProductSearchResult<>(wb.toWord(), pairs.size());
+    }
+
+    private static int normalize(int state, FullIntAbstraction<?, ?, ?> abs) {
+        return state < 0 || state >= abs.size() ? SINK : state;
+    }
+
+    private static long encode(int s1, int s2) {
+        return ((long) (s1 + 1) << 32) | (s2 + 1);
+    }
+
+    private static int decodeFirst(long key) {
+        return (int) (key >>> 32) - 1;
+    }
+
+    private static int decodeSecond(long key) {
+        return (int) key - 1;
+    }
+}
@@ -23,14 +23,17 @@ import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import net.automatalib.automata.concepts.InputAlphabetHolder;
 import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.automata.fsa.MutableDFA;
 import net.automatalib.automata.fsa.NFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
 import net.automatalib.util.automata.Automata;
 import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
 
 public final class NFAs {
 
@@ -49,12 +52,56 @@ public final class NFAs {
         return result;
     }
 
+    /**
+     * Determinizes the given NFA using the threads of the given {@link ForkJoinPool}. The subsets of the subset
+     * construction are explored in breadth-first rounds, in which the subsets of the current frontier are expanded in
+     * parallel. The states of the resulting DFA are numbered in a final, sequential pass, such that the result is
+     * identical to the result of {@link #determinize(NFA, Alphabet, boolean, boolean)}.
+     *
+     * @param nfa
+     *         the NFA to determinize
+     * @param inputAlphabet
+     *         the input alphabet
+     * @param partial
+     *         whether the result should be a partial DFA, i.e., whether the empty subset should be omitted
+     * @param minimize
+     *         whether the result should be minimized
+     * @param pool
+     *         the pool whose threads are used for expanding the subsets
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the determinized NFA
+     */
+    public static <I> CompactDFA<I> determinize(NFA<?, I> nfa,
+                                                Alphabet<I> inputAlphabet,
+                                                boolean partial,
+                                                boolean minimize,
+                                                ForkJoinPool pool) {
+        final CompactDFA<I> result = new CompactDFA<>(inputAlphabet);
+        ParallelCompactDeterminizer.determinize(toCompactNFA(nfa, inputAlphabet), inputAlphabet, result, partial, pool);
+        if (minimize) {
+            Automata.invasiveMinimize(result, inputAlphabet);
+        }
+        return result;
+    }
+
     public static <I> void determinize(NFA<?, I> nfa,
                                        Collection<? extends I> inputs,
                                        MutableDFA<?, I> out,
                                        boolean partial,
                                        boolean minimize) {
-        doDeterminize(nfa, inputs, out, partial);
+        if (out instanceof CompactDFA) {
+            @SuppressWarnings("unchecked") // input type is fixed by the MutableDFA<?, I> parameter
+            final CompactDFA<I> compactDFA = (CompactDFA<I>) out;
+            CompactDeterminizer.determinize(toCompactNFA(nfa, inputs), inputs, compactDFA, partial);
+        } else if (nfa instanceof CompactNFA) {
+            @SuppressWarnings("unchecked") // input type is fixed by the NFA<?, I> parameter
+            final CompactNFA<I> compactNFA = (CompactNFA<I>) nfa;
+            doDeterminize(compactNFA, inputs, out, partial);
+        } else {
+            doDeterminize(nfa, inputs, out, partial);
+        }
         if (minimize) {
             Automata.invasiveMinimize(out, inputs);
         }
@@ -74,6 +121,49 @@ public final class NFAs {
         determinize(nfa, inputs, out, false, true);
     }
 
+    /**
+     * Determinizes and minimizes the given NFA using Brzozowski's algorithm, i.e., by determinizing the reversal of the
+     * determinized reversal of the NFA. Depending on the structure of the NFA, this may be more efficient than a subset
+     * construction followed by a partition refinement, as the (potentially large) non-minimal DFA is never constructed.
+     * However, the intermediate DFA of the reversed language may also be significantly larger than the non-minimal DFA.
+     *
+     * @param nfa
+     *         the NFA to determinize
+     * @param inputAlphabet
+     *         the input alphabet
+     * @param partial
+     *         whether the result should be a partial DFA. If {@code true}, the result contains only states from which an
+     *         accepting state is reachable. Otherwise, the result is a complete DFA
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the minimal DFA accepting the language of the given NFA
+     */
+    public static <I> CompactDFA<I> determinizeBrzozowski(NFA<?, I> nfa, Alphabet<I> inputAlphabet, boolean partial) {
+        final CompactDFA<I> reversed = new CompactDFA<>(inputAlphabet);
+        CompactDeterminizer.determinize(CompactDeterminizer.toCompactNFA(nfa, inputAlphabet, true),
+                                        inputAlphabet,
+                                        reversed,
+                                        true);
+
+        final CompactDFA<I> result = new CompactDFA<>(inputAlphabet);
+        CompactDeterminizer.determinize(CompactDeterminizer.toCompactNFA(reversed, inputAlphabet, true),
+                                        inputAlphabet,
+                                        result,
+                                        partial);
+
+        return result;
+    }
+
+    private static <I> CompactNFA<I> toCompactNFA(NFA<?, I> nfa, Collection<? extends I> inputs) {
+        if (nfa instanceof CompactNFA) {
+            @SuppressWarnings("unchecked") // input type is fixed by the NFA<?, I> parameter
+            final CompactNFA<I> compactNFA = (CompactNFA<I>) nfa;
+            return compactNFA;
+        }
+        return CompactDeterminizer.toCompactNFA(nfa, Alphabets.fromCollection(inputs), false);
+    }
+
     private static <I, SI, SO> void doDeterminize(NFA<SI, I> nfa,
                                                   Collection<? extends I> inputs,
                                                   MutableDFA<SO, I> out,
@@ -82,7 +172,7 @@ public final class NFAs {
         Map<BitSet, SO> outStateMap = new HashMap<>();
         StateIDs<SI> stateIds = nfa.stateIDs();
 
-        Deque<DeterminizeRecord<SI, SO>> stack = new ArrayDeque<>();
+        Deque<DeterminizeRecord<List<SI>, SO>> stack = new ArrayDeque<>();
 
         List<SI> initList = new ArrayList<>(nfa.getInitialStates());
         BitSet initBs = new BitSet();
@@ -98,7 +188,7 @@ public final class NFAs {
         stack.push(new DeterminizeRecord<>(initList, initOut));
 
         while (!stack.isEmpty()) {
-            DeterminizeRecord<SI, SO> curr = stack.pop();
+            DeterminizeRecord<List<SI>, SO> curr = stack.pop();
 
             List<SI> inStates = curr.inputStates;
             SO outState = curr.outputState;
@@ -131,12 +221,77 @@ public final class NFAs {
 
     }
 
-    private static final class DeterminizeRecord<SI, SO> {
+    /**
+     * Variant of {@link #doDeterminize(NFA, Collection, MutableDFA, boolean)} for {@link CompactNFA}s, which operates on
+     * the primitive successor representation of the NFA.
+     */
+    private static <I, SO> void doDeterminize(CompactNFA<I> nfa,
+                                              Collection<? extends I> inputs,
+                                              MutableDFA<SO, I> out,
+                                              boolean partial) {
+
+        final Alphabet<I> alphabet = nfa.getInputAlphabet();
+        final List<I> inputList = new ArrayList<>(inputs);
+        final int[] inputIndices = new int[inputList.size()];
+        for (int i = 0; i < inputIndices.length; i++) {
+            inputIndices[i] = alphabet.getSymbolIndex(inputList.get(i));
+        }
+
+        Map<BitSet, SO> outStateMap = new HashMap<>();
+        Deque<DeterminizeRecord<BitSet, SO>> stack = new ArrayDeque<>();
+
+        BitSet initBs = new BitSet();
+        for (Integer init : nfa.getInitialStates()) {
+            initBs.set(init);
+        }
+
+        SO initOut = out.addInitialState(isAccepting(nfa, initBs));
+
+        outStateMap.put(initBs, initOut);
+
+        stack.push(new DeterminizeRecord<>(initBs, initOut));
+
+        while (!stack.isEmpty()) {
+            DeterminizeRecord<BitSet, SO> curr = stack.pop();
+
+            BitSet inStates = curr.inputStates;
+            SO outState = curr.outputState;
+
+            for (int i = 0; i < inputIndices.length; i++) {
+                BitSet succBs = new BitSet();
+
+                for (int s = inStates.nextSetBit(0); s >= 0; s = inStates.nextSetBit(s + 1)) {
+                    nfa.forEachSuccessor(s, inputIndices[i], succBs::set);
+                }
+
+                if (!partial || !succBs.isEmpty()) {
+                    SO outSucc = outStateMap.get(succBs);
+                    if (outSucc == null) {
+                        outSucc = out.addState(isAccepting(nfa, succBs));
+                        outStateMap.put(succBs, outSucc);
+                        stack.push(new DeterminizeRecord<>(succBs, outSucc));
+                    }
+                    out.setTransition(outState, inputList.get(i), outSucc);
+                }
+            }
+        }
+    }
+
+    private static boolean isAccepting(CompactNFA<?> nfa, BitSet states) {
+        for (int s = states.nextSetBit(0); s >= 0; s = states.nextSetBit(s + 1)) {
+            if (nfa.isAccepting(s)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class DeterminizeRecord<C, SO> {
 
-        private final List<SI> inputStates;
+        private final C inputStates;
         private final SO outputState;
 
-        DeterminizeRecord(List<SI> inputStates, SO outputState) {
+        DeterminizeRecord(C inputStates, SO outputState) {
             this.inputStates = inputStates;
             this.outputState = outputState;
         }
@@ -0,0 +1,413 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.fsa;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntConsumer;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.commons.util.collections.CollectionsUtil;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A parallel subset construction for {@link CompactNFA}s that writes its result into a {@link CompactDFA}.
+ * <p>
+ * The subsets are explored in breadth-first rounds. In each round, the subsets of the current frontier are expanded by
+ * the (work-stealing) threads of a {@link ForkJoinPool}, which intern the successor subsets in a concurrent map. As the
+ * order in which threads discover subsets is non-deterministic, the DFA states are numbered in a final, sequential
+ * breadth-first pass. Hence, the result is reproducible and identical to the result of the sequential {@link
+ * CompactDeterminizer}.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author agent
+ */
+final class ParallelCompactDeterminizer<I> {
+
+    /**
+     * The number of subsets below which a part of the frontier is expanded sequentially.
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 64;
+
+    private final CompactNFA<I> nfa;
+    private final boolean[] accepting;
+    private final int[] nfaInputs;
+    private final boolean partial;
+
+    private final ConcurrentMap<SubsetKey, Subset> subsets;
+    private final ThreadLocal<Scratch> scratch;
+
+    private ParallelCompactDeterminizer(CompactNFA<I> nfa, int[] nfaInputs, boolean partial) {
+        this.nfa = nfa;
+        this.nfaInputs = nfaInputs;
+        this.partial = partial;
+
+        final int numStates = nfa.size();
+        this.accepting = new boolean[numStates];
+        for (int i = 0; i < numStates; i++) {
+            accepting[i] = nfa.isAccepting(i);
+        }
+
+        this.subsets = new ConcurrentHashMap<>();
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(numStates));
+    }
+
+    /**
+     * Determinizes the given NFA and writes the result into the given DFA.
+     *
+     * @param nfa
+     *         the NFA to determinize
+     * @param inputs
+     *         the inputs to consider, which must be contained in the input alphabets of both automata
+     * @param out
+     *         the DFA to write the result to
+     * @param partial
+     *         whether the empty subset should be omitted, i.e., whether the result should be a partial DFA
+     * @param pool
+     *         the pool whose threads are used for expanding the subsets
+     * @param <I>
+     *         input symbol type
+     */
+    static <I> void determinize(CompactNFA<I> nfa,
+                                Collection<? extends I> inputs,
+                                CompactDFA<I> out,
+                                boolean partial,
+                                ForkJoinPool pool) {
+        final List<? extends I> inputList = CollectionsUtil.randomAccessList(inputs);
+        final Alphabet<I> nfaAlphabet = nfa.getInputAlphabet();
+        final Alphabet<I> dfaAlphabet = out.getInputAlphabet();
+        final int numInputs = inputList.size();
+
+        final int[] nfaInputs = new int[numInputs];
+        final int[] dfaInputs = new int[numInputs];
+
+        for (int i = 0; i < numInputs; i++) {
+            final I sym = inputList.get(i);
+            nfaInputs[i] = nfaAlphabet.getSymbolIndex(sym);
+            dfaInputs[i] = dfaAlphabet.getSymbolIndex(sym);
+        }
+
+        final ParallelCompactDeterminizer<I> determinizer = new ParallelCompactDeterminizer<>(nfa, nfaInputs, partial);
+        final Subset init = determinizer.explore(pool);
+
+        renumber(init, out, dfaInputs);
+    }
+
+    private Subset explore(ForkJoinPool pool) {
+        final Scratch s = scratch.get();
+        s.reset();
+        for (Integer init : nfa.getInitialStates()) {
+            s.accept(init);
+        }
+        s.sort();
+
+        final Subset init = s.toSubset(accepting, nfaInputs.length);
+        subsets.put(init, init);
+
+        List<Subset> frontier = new ArrayList<>();
+        frontier.add(init);
+
+        while (!frontier.isEmpty()) {
+            frontier = pool.invoke(new ExpandTask(frontier, 0, frontier.size()));
+        }
+
+        return init;
+    }
+
+    /**
+     * Computes the successors of the given subset and adds newly discovered subsets to the given list.
+     */
+    private void expand(Subset subset, Scratch s, List<Subset> discovered) {
+        final int[] states = subset.states;
+
+        for (int i = 0; i < nfaInputs.length; i++) {
+            final int nfaInput = nfaInputs[i];
+
+            s.reset();
+            for (int state : states) {
+                nfa.forEachSuccessor(state, nfaInput, s);
+            }
+
+            if (partial && s.size == 0) {
+                continue;
+            }
+
+            s.sort();
+
+            Subset succ = subsets.get(s.probe());
+            if (succ == null) {
+                final Subset candidate = s.toSubset(accepting, nfaInputs.length);
+                succ = subsets.putIfAbsent(candidate, candidate);
+                if (succ == null) {
+                    succ = candidate;
+                    discovered.add(candidate);
+                }
+            }
+
+            subset.successors[i] = succ;
+        }
+    }
+
+    /**
+     * Numbers the explored subsets in breadth-first order and writes the corresponding states and transitions to the
+     * given DFA.
+     */
+    private static void renumber(Subset init, CompactDFA<?> out, int[] dfaInputs) {
+        final Deque<Subset> queue = new ArrayDeque<>();
+
+        init.id = out.addIntState(init.accepting);
+        out.setInitial(init.id, true);
+        queue.add(init);
+
+        Subset curr;
+        while ((curr = queue.poll()) != null) {
+            final @Nullable Subset[] successors = curr.successors;
+            for (int i = 0; i < successors.length; i++) {
+                final Subset succ = successors[i];
+                if (succ == null) {
+                    continue;
+                }
+                if (succ.id < 0) {
+                    succ.id = out.addIntState(succ.accepting);
+                    queue.add(succ);
+                }
+                out.setTransition(curr.id, dfaInputs[i], succ.id);
+            }
+        }
+    }
+
+    private final class ExpandTask extends RecursiveTask<List<Subset>> {
+
+        private final List<Subset> frontier;
+        private final int low;
+        private final int high;
+
+        ExpandTask(List<Subset> frontier, int low, int high) {
+            this.frontier = frontier;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected List<Subset> compute() {
+            if (high - low <= SEQUENTIAL_THRESHOLD) {
+                final Scratch s = scratch.get();
+                final List<Subset> discovered = new ArrayList<>();
+                for (int i = low; i < high; i++) {
+                    expand(frontier.get(i), s, discovered);
+                }
+                return discovered;
+            }
+
+            final int mid = (low + high) >>> 1;
+            final ExpandTask left = new ExpandTask(frontier, low, mid);
+            final ExpandTask right = new ExpandTask(frontier, mid, high);
+
+            right.fork();
+            final List<Subset> result = left.compute();
+            result.addAll(right.join());
+
+            return result;
+        }
+    }
+
+    /**
+     * A key for looking up (sorted) subsets of NFA states. Equality and hash codes are determined by the contained states
+     * only.
+     */
+    private abstract static class SubsetKey {
+
+        abstract int length();
+
+        abstract int get(int idx);
+
+        abstract int hash();
+
+        @Override
+        public final int hashCode() {
+            return hash();
+        }
+
+        @Override
+        public final boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof SubsetKey)) {
+                return false;
+            }
+
+            final SubsetKey that = (SubsetKey) obj;
+            final int length = this.length();
+
+            if (this.hash() != that.hash() || length != that.length()) {
+                return false;
+            }
+
+            for (int i = 0; i < length; i++) {
+                if (this.get(i) != that.get(i)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * An interned subset of NFA states, which also stores the successors and the (final) state id of the subset.
+     */
+    private static final class Subset extends SubsetKey {
+
+        final int[] states;
+        final int hash;
+        final boolean accepting;
+        final @Nullable Subset[] successors;
+        int id = -1;
+
+        Subset(int[] states, int hash, boolean accepting, int numInputs) {
+            this.states = states;
+            this.hash = hash;
+            this.accepting = accepting;
+            this.successors = new Subset[numInputs];
+        }
+
+        @Override
+        int length() {
+            return states.length;
+        }
+
+        @Override
+        int get(int idx) {
+            return states[idx];
+        }
+
+        @Override
+        int hash() {
+            return hash;
+        }
+    }
+
+    /**
+     * A view on the scratch buffer of a thread, which allows to look up subsets without allocating a new key.
+     */
+    private static final class Probe extends SubsetKey {
+
+        private final Scratch scratch;
+
+        Probe(Scratch scratch) {
+            this.scratch = scratch;
+        }
+
+        @Override
+        int length() {
+            return scratch.size;
+        }
+
+        @Override
+        int get(int idx) {
+            return scratch.buffer[idx];
+        }
+
+        @Override
+        int hash() {
+            return scratch.hash;
+        }
+    }
+
+    /**
+     * Thread-local scratch space for computing successor subsets.
+     */
+    private static final class Scratch implements IntConsumer {
+
+        private final int[] stamps;
+        private final int[] buffer;
+        private final Probe probe;
+        private int stamp;
+        private int size;
+        private int hash;
+
+        Scratch(int numStates) {
+            this.stamps = new int[numStates];
+            this.buffer = new int[numStates];
+            this.probe = new Probe(this);
+        }
+
+        @Override
+        public void accept(int state) {
+            if (stamps[state] != stamp) {
+                stamps[state] = stamp;
+                buffer[size++] = state;
+            }
+        }
+
+        void reset() {
+            size = 0;
+            if (++stamp == 0) {
+                // overflow, reset all stamps
+                Arrays.fill(stamps, 0);
+                stamp = 1;
+            }
+        }
+
+        void sort() {
+            if (size > stamps.length >>> 4) {
+                int idx = 0;
+                for (int s = 0; idx < size; s++) {
+                    if (stamps[s] == stamp) {
+                        buffer[idx++] = s;
+                    }
+                }
+            } else {
+                Arrays.sort(buffer, 0, size);
+            }
+
+            int h = 1;
+            for (int i = 0; i < size; i++) {
+                h = 31 * h + buffer[i];
+            }
+            hash = h;
+        }
+
+        SubsetKey probe() {
+            return probe;
+        }
+
+        Subset toSubset(boolean[] accepting, int numInputs) {
+            boolean acc = false;
+            for (int i = 0; i < size; i++) {
+                if (accepting[buffer[i]]) {
+                    acc = true;
+                    break;
+                }
+            }
+
+            return new Subset(Arrays.copyOf(buffer, size), hash, acc, numInputs);
+        }
+    }
+}
@@ -15,6 +15,8 @@
  */
 package net.automatalib.util.automata.minimizer.hopcroft;
 
+import java.util.concurrent.ForkJoinPool;
+
 import net.automatalib.automata.AutomatonCreator;
 import net.automatalib.automata.MutableDeterministic;
 import net.automatalib.automata.UniversalDeterministicAutomaton;
@@ -32,6 +34,7 @@ import net.automatalib.util.partitionrefinement.PaigeTarjan;
 import net.automatalib.util.partitionrefinement.PaigeTarjanExtractors;
 import net.automatalib.util.partitionrefinement.PaigeTarjanInitializers;
 import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Versions of Hopcroft's minimization algorithm for deterministic finite automata.
@@ -52,6 +55,14 @@ import net.automatalib.words.Alphabet;
  * Otherwise, pruning can be chosen to be performed on the automaton to be minimized ({@link PruningMode#PRUNE_BEFORE}),
  * or on the calculated state partition ({@link PruningMode#PRUNE_AFTER}). For methods that do not provide a {@code
  * pruningMode} parameter, the default is {@link PruningMode#PRUNE_AFTER}.
+ * <p>
+ * Methods that additionally accept a {@link ForkJoinPool} compute the state equivalences in parallel, using the threads
+ * of the given pool (see {@link PaigeTarjan#computeCoarsestStablePartition(ForkJoinPool)}). If pruning is performed
+ * after computing the state equivalences ({@link PruningMode#PRUNE_AFTER}), their results are identical to the ones of
+ * the sequential methods, because the states of the result are numbered in breadth-first order. For {@link
+ * PruningMode#PRUNE_BEFORE} and {@link PruningMode#DONT_PRUNE}, the states of the result are numbered in the order in
+ * which the refinement creates the equivalence classes. Since the parallel refinement splits classes in a different
+ * order than the sequential one, the results are equivalent but may differ in the numbering of their states.
  *
  * @author Malte Isberner
  */
@@ -141,6 +152,52 @@ public final class HopcroftMinimization {
         return minimizeUniversal(dfa, alphabet, creator, AutomatonInitialPartitioning.BY_STATE_PROPERTY, pruningMode);
     }
 
+    /**
+     * Minimizes the given DFA in parallel. The result is returned in the form of a {@link CompactDFA}, and pruning (see
+     * above) is performed after computing state equivalences.
+     *
+     * @param dfa
+     *         the DFA to minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the returned DFA)
+     * @param pool
+     *         the pool whose threads are used for computing the state equivalences
+     *
+     * @return a minimized version of the specified DFA
+     */
+    public static <I> CompactDFA<I> minimizeDFA(DFA<?, I> dfa, Alphabet<I> alphabet, ForkJoinPool pool) {
+        return minimizeDFA(dfa, alphabet, PruningMode.PRUNE_AFTER, new CompactDFA.Creator<>(), pool);
+    }
+
+    /**
+     * Minimizes the given DFA in parallel.
+     *
+     * @param dfa
+     *         the DFA to minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the returned DFA)
+     * @param pruningMode
+     *         the pruning mode (see above)
+     * @param creator
+     *         the creator for constructing the automata instance to return
+     * @param pool
+     *         the pool whose threads are used for computing the state equivalences
+     *
+     * @return a minimized version of the specified DFA
+     */
+    public static <A extends MutableDFA<?, I>, I> A minimizeDFA(DFA<?, I> dfa,
+                                                                Alphabet<I> alphabet,
+                                                                PruningMode pruningMode,
+                                                                AutomatonCreator<A, I> creator,
+                                                                ForkJoinPool pool) {
+        return minimizeUniversal(dfa,
+                                 alphabet,
+                                 creator,
+                                 AutomatonInitialPartitioning.BY_STATE_PROPERTY,
+                                 pruningMode,
+                                 pool);
+    }
+
     /**
      * Minimizes the given Mealy machine. The result is returned in the form of a {@link CompactMealy}, using the
      * alphabet obtained via <code>mealy.{@link InputAlphabetHolder#getInputAlphabet() getInputAlphabet()}</code>.
@@ -231,6 +288,54 @@ public final class HopcroftMinimization {
                                  pruningMode);
     }
 
+    /**
+     * Minimizes the given Mealy machine in parallel. The result is returned in the form of a {@link CompactMealy}, and
+     * pruning (see above) is performed after computing state equivalences.
+     *
+     * @param mealy
+     *         the Mealy machine to minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the resulting Mealy machine)
+     * @param pool
+     *         the pool whose threads are used for computing the state equivalences
+     *
+     * @return a minimized version of the specified Mealy machine
+     */
+    public static <I, O> CompactMealy<I, O> minimizeMealy(MealyMachine<?, I, ?, O> mealy,
+                                                          Alphabet<I> alphabet,
+                                                          ForkJoinPool pool) {
+        return minimizeMealy(mealy, alphabet, PruningMode.PRUNE_AFTER, new CompactMealy.Creator<>(), pool);
+    }
+
+    /**
+     * Minimizes the given Mealy machine in parallel.
+     *
+     * @param mealy
+     *         the Mealy machine to minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the resulting Mealy machine)
+     * @param pruningMode
+     *         the pruning mode (see above)
+     * @param creator
+     *         the creator for constructing the automata instance to return
+     * @param pool
+     *         the pool whose threads are used for computing the state equivalences
+     *
+     * @return a minimized version of the specified Mealy machine
+     */
+    public static <A extends MutableMealyMachine<?, I, ?, O>, I, O> A minimizeMealy(MealyMachine<?, I, ?, O> mealy,
+                                                                                    Alphabet<I> alphabet,
+                                                                                    PruningMode pruningMode,
+                                                                                    AutomatonCreator<A, I> creator,
+                                                                                    ForkJoinPool pool) {
+        return minimizeUniversal(mealy,
+                                 alphabet,
+                                 creator,
+                                 AutomatonInitialPartitioning.BY_TRANSITION_PROPERTIES,
+                                 pruningMode,
+                                 pool);
+    }
+
     /**
      * Minimizes the given automaton depending on the given partitioning function.
      *
@@ -255,14 +360,59 @@ public final class HopcroftMinimization {
             AutomatonCreator<A, I> creator,
             AutomatonInitialPartitioning ap,
             PruningMode pruningMode) {
+        return doMinimizeUniversal(automaton, alphabet, creator, ap, pruningMode, null);
+    }
+
+    /**
+     * Minimizes the given automaton depending on the given partitioning function. State equivalences are computed in
+     * parallel, using the threads of the given pool.
+     *
+     * @param automaton
+     *         the automaton to minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the resulting Mealy machine)
+     * @param creator
+     *         the creator for constructing the automata instance to return
+     * @param ap
+     *         the initial partitioning function, determining how states will be distinguished
+     * @param pruningMode
+     *         the pruning mode (see above)
+     * @param pool
+     *         the pool whose threads are used for computing the state equivalences
+     *
+     * @return the minimized automaton, initially constructed from the given {@code creator}.
+     *
+     * @see AutomatonInitialPartitioning
+     */
+    public static <I, T, SP, TP, A extends MutableDeterministic<?, I, ?, SP, TP>> A minimizeUniversal(
+            UniversalDeterministicAutomaton<?, I, T, SP, TP> automaton,
+            Alphabet<I> alphabet,
+            AutomatonCreator<A, I> creator,
+            AutomatonInitialPartitioning ap,
+            PruningMode pruningMode,
+            ForkJoinPool pool) {
+        return doMinimizeUniversal(automaton, alphabet, creator, ap, pruningMode, pool);
+    }
+
+    private static <I, T, SP, TP, A extends MutableDeterministic<?, I, ?, SP, TP>> A doMinimizeUniversal(
+            UniversalDeterministicAutomaton<?, I, T, SP, TP> automaton,
+            Alphabet<I> alphabet,
+            AutomatonCreator<A, I> creator,
+            AutomatonInitialPartitioning ap,
+            PruningMode pruningMode,
+            @Nullable ForkJoinPool pool) {
 
         final PaigeTarjan pt = new PaigeTarjan();
         final FullIntAbstraction<T, SP, TP> abs = automaton.fullIntAbstraction(alphabet);
 
         PaigeTarjanInitializers.initCompleteDeterministic(pt, abs, ap, pruningMode == PruningMode.PRUNE_BEFORE);
 
-        pt.initWorklist(false);
-        pt.computeCoarsestStablePartition();
+        if (pool == null) {
+            pt.initWorklist(false);
+            pt.computeCoarsestStablePartition();
+        } else {
+            pt.computeCoarsestStablePartition(pool);
+        }
 
         @SuppressWarnings("nullness") // getTransitionProperty will only be called for defined transitions
         final A result = PaigeTarjanExtractors.toDeterministic(pt,
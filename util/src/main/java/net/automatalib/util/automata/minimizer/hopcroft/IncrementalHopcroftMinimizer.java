@@ -0,0 +1,1049 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.minimizer.hopcroft;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton.FullIntAbstraction;
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.simple.SimpleDeterministicAutomaton;
+import net.automatalib.commons.smartcollections.ArrayUtil;
+import net.automatalib.util.partitionrefinement.PaigeTarjan;
+import net.automatalib.util.partitionrefinement.PaigeTarjanInitializers;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An incremental variant of Hopcroft's minimization algorithm for (complete) {@link DFA}s that are modified over time,
+ * e.g., hypotheses of an active learning process.
+ * <p>
+ * The minimizer keeps the partition of the states of the observed DFA into equivalence classes (blocks). After the DFA
+ * has been modified, {@link #update(int...)} re-establishes the coarsest partition in two phases:
+ * <ol>
+ * <li>In the <i>split</i> phase, Hopcroft's partition refinement is resumed on the previous partition. New states are
+ * added as singleton blocks, and only the blocks that contain a previous or a new target of a changed transition (as
+ * well as the blocks that are split subsequently) are used as splitters. Hence, the cost of this phase depends on the
+ * number of changes and the resulting splits, but not on the size of the DFA.</li>
+ * <li>In the <i>merge</i> phase, blocks that have become equivalent (e.g., because a change removed the
+ * distinguishing behavior of two states, or because a new state is equivalent to an existing one) are merged. As only
+ * the blocks that can reach a changed or a new state may have changed their behavior, only these (affected) blocks are
+ * considered: First, each affected block is matched against the equivalent unaffected block (if any), which is looked
+ * up in a register of the signatures of all blocks (or, if the affected blocks contain cycles, found among the
+ * predecessors of their successors). Afterwards, the quotient automaton of the remaining affected blocks is minimized,
+ * in which their unaffected successors are represented by pairwise distinct atoms. Only if some affected blocks cannot
+ * reach any unaffected block, the quotient automaton of the complete partition is minimized. Hence, the cost of this
+ * phase usually depends on the number of affected blocks rather than the size of the DFA, and it is skipped entirely
+ * if no state has actually changed.</li>
+ * </ol>
+ * In contrast to {@link HopcroftMinimization}, the minimizer therefore does not re-compute the partition from scratch
+ * for every modification of the DFA. Note that the minimizer reads the DFA via its {@link
+ * DFA#fullIntAbstraction(Alphabet) integer abstraction}, i.e., states are identified by their integer ids, and states
+ * must not be removed from the DFA.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author agent
+ */
+public final class IncrementalHopcroftMinimizer<I> {
+
+    private static final int NO_ELEMENT = -1;
+
+    private final DFA<?, I> dfa;
+    private final Alphabet<I> alphabet;
+    private final int numInputs;
+
+    // the acceptance and the transitions of the observed states, on which the current partition is based
+    private int numStates;
+    private boolean[] accepting;
+    private int[] successors;
+
+    // doubly-linked predecessor lists: the transition t = s * numInputs + a with successor q is contained in the list
+    // that starts at predHead[q * numInputs + a]
+    private int[] predHead;
+    private int[] predNext;
+    private int[] predPrev;
+
+    // the partition: the states of block b are stored in blockData[blockLow[b]] to blockData[blockHigh[b] - 1]. Merged
+    // blocks are moved to the end of the used part of blockData, which is compacted once it is exhausted. The ids of
+    // removed (i.e., empty) blocks are re-used
+    private int[] blockData;
+    private int dataSize;
+    private int[] posData;
+    private int[] blockForState;
+    private int[] blockLow;
+    private int[] blockHigh;
+    private int numBlocks;
+    private int[] freeBlocks;
+    private int numFreeBlocks;
+
+    // refinement data
+    private int[] blockPtr;
+    private boolean[] inWorklist;
+    private int[] worklist;
+    private int worklistSize;
+    private int[] touched;
+    private int numTouched;
+    private int[] splitter;
+
+    // the blocks that have been created or whose successor blocks have (possibly) been split during the current update
+    private boolean[] dirty;
+    private int[] dirtyBlocks;
+    private int numDirtyBlocks;
+
+    // the signatures of all blocks, which are unique because the partition is the coarsest stable one
+    private final Map<Signature, Integer> register;
+    private @Nullable Signature[] blockSignature;
+
+    // merge data: the blocks of the currently considered sub-quotient and their indices in it
+    private int[] closure;
+    private int[] closureIndex;
+    private int[] candidateStamp;
+    private int stamp;
+
+    /**
+     * Constructor. Initially computes the coarsest partition of the given DFA.
+     *
+     * @param dfa
+     *         the (complete) DFA to observe
+     * @param alphabet
+     *         the input symbols to consider
+     *
+     * @throws IllegalArgumentException
+     *         if the DFA is partial
+     */
+    public IncrementalHopcroftMinimizer(DFA<?, I> dfa, Alphabet<I> alphabet) {
+        this.dfa = dfa;
+        this.alphabet = alphabet;
+        this.numInputs = alphabet.size();
+
+        this.accepting = new boolean[0];
+        this.successors = new int[0];
+        this.predHead = new int[0];
+        this.predNext = new int[0];
+        this.predPrev = new int[0];
+        this.blockData = new int[0];
+        this.posData = new int[0];
+        this.blockForState = new int[0];
+        this.blockLow = new int[0];
+        this.blockHigh = new int[0];
+        this.freeBlocks = new int[0];
+        this.blockPtr = new int[0];
+        this.inWorklist = new boolean[0];
+        this.worklist = new int[0];
+        this.touched = new int[0];
+        this.splitter = new int[0];
+        this.closure = new int[0];
+        this.closureIndex = new int[0];
+        this.candidateStamp = new int[0];
+        this.dirty = new boolean[0];
+        this.dirtyBlocks = new int[0];
+        this.register = new HashMap<>();
+        this.blockSignature = new Signature[0];
+
+        final FullIntAbstraction<?, Boolean, Void> abs = dfa.fullIntAbstraction(alphabet);
+        final int size = abs.size();
+
+        ensureCapacity(size);
+        for (int s = 0; s < size; s++) {
+            readState(abs, s, size);
+        }
+        numStates = size;
+
+        initPartition();
+        refine();
+
+        clearDirty();
+        for (int b = 0; b < numBlocks; b++) {
+            addToRegister(b);
+        }
+    }
+
+    private void initPartition() {
+        int numAccepting = 0;
+        for (int s = 0; s < numStates; s++) {
+            if (accepting[s]) {
+                numAccepting++;
+            }
+        }
+
+        // accepting states are stored in the front, rejecting states in the back
+        allocate(numStates);
+        int accPtr = 0, rejPtr = numAccepting;
+        for (int s = 0; s < numStates; s++) {
+            final int pos = accepting[s] ? accPtr++ : rejPtr++;
+            blockData[pos] = s;
+            posData[s] = pos;
+        }
+
+        numBlocks = 0;
+        final int accBlock = numAccepting > 0 ? createBlock(0, numAccepting) : NO_ELEMENT;
+        final int rejBlock = numAccepting < numStates ? createBlock(numAccepting, numStates) : NO_ELEMENT;
+
+        if (accBlock != NO_ELEMENT && rejBlock != NO_ELEMENT) {
+            // the partition is stable w.r.t. the set of all states, so the smaller half suffices as a splitter
+            addToWorklist(numAccepting <= numStates - numAccepting ? accBlock : rejBlock);
+        }
+    }
+
+    /**
+     * Updates the partition after the observed DFA has been modified.
+     * <p>
+     * States that have been added to the DFA since the last update (i.e., whose ids are greater than or equal to the
+     * previous size of the DFA) are detected automatically. States whose acceptance or outgoing transitions have
+     * changed need to be passed explicitly. Passing unchanged states is allowed but causes unnecessary work. Changes of
+     * the initial state need not be reported.
+     *
+     * @param changedStates
+     *         the (ids of the) states whose acceptance or outgoing transitions have changed
+     *
+     * @throws IllegalArgumentException
+     *         if states have been removed from the DFA, or if the DFA has become partial
+     */
+    public void update(int... changedStates) {
+        final FullIntAbstraction<?, Boolean, Void> abs = dfa.fullIntAbstraction(alphabet);
+        final int oldSize = numStates;
+        final int newSize = abs.size();
+
+        if (newSize < oldSize) {
+            throw new IllegalArgumentException("States must not be removed from the DFA");
+        }
+
+        ensureCapacity(newSize);
+
+        // the states whose behavior has actually changed
+        final int[] modified = new int[changedStates.length + newSize - oldSize];
+        int numModified = 0;
+
+        // new states form singleton blocks, which are trivially stable
+        for (int s = oldSize; s < newSize; s++) {
+            readState(abs, s, newSize);
+            final int pos = allocate(1);
+            blockData[pos] = s;
+            posData[s] = pos;
+            addToWorklist(createBlock(pos, pos + 1));
+            modified[numModified++] = s;
+        }
+        numStates = newSize;
+
+        // the partition remains stable w.r.t. all blocks that contain neither an old nor a new target of a changed
+        // transition
+        for (int s : changedStates) {
+            if (s < oldSize) {
+                boolean changed = false;
+                for (int i = 0; i < numInputs; i++) {
+                    final int t = s * numInputs + i;
+                    final int succ = getSuccessor(abs, s, i, newSize);
+                    final int oldSucc = successors[t];
+
+                    if (succ != oldSucc) {
+                        removePredecessor(t, oldSucc, i);
+                        addPredecessor(t, succ, i);
+                        successors[t] = succ;
+                        addToWorklist(blockForState[oldSucc]);
+                        addToWorklist(blockForState[succ]);
+                        changed = true;
+                    }
+                }
+                if (changed) {
+                    modified[numModified++] = s;
+                }
+            }
+        }
+
+        // split blocks whose states no longer agree on acceptance. As the partition is stable w.r.t. all blocks that are
+        // not contained in the worklist (w.r.t. the new transitions), the smaller halves suffice as splitters
+        for (int s : changedStates) {
+            if (s < oldSize) {
+                final boolean acc = abs.getStateProperty(s);
+                if (acc != accepting[s]) {
+                    accepting[s] = acc;
+                    mark(s);
+                    modified[numModified++] = s;
+                }
+            }
+        }
+        processTouched();
+
+        refine();
+        merge(modified, numModified);
+    }
+
+    /**
+     * Returns the minimal DFA of the current partition, pruned to the states that are reachable from the initial
+     * state.
+     *
+     * @return the minimal DFA
+     */
+    public CompactDFA<I> toMinimalDFA() {
+        final CompactDFA<I> result = new CompactDFA<>(alphabet, numBlocks);
+        final int init = dfa.fullIntAbstraction(alphabet).getIntInitialState();
+
+        if (init == SimpleDeterministicAutomaton.IntAbstraction.INVALID_STATE) {
+            return result;
+        }
+
+        final int[] stateMap = new int[numBlocks];
+        final int[] repMap = new int[numBlocks];
+        Arrays.fill(stateMap, NO_ELEMENT);
+
+        stateMap[blockForState[init]] = result.addIntInitialState(accepting[init]);
+        repMap[0] = init;
+
+        int numResultStates = 1;
+        for (int curr = 0; curr < numResultStates; curr++) {
+            final int rep = repMap[curr];
+            for (int i = 0; i < numInputs; i++) {
+                final int succ = successors[rep * numInputs + i];
+                final int succBlock = blockForState[succ];
+                int resSucc = stateMap[succBlock];
+                if (resSucc == NO_ELEMENT) {
+                    resSucc = result.addIntState(accepting[succ]);
+                    stateMap[succBlock] = resSucc;
+                    repMap[resSucc] = succ;
+                    numResultStates++;
+                }
+                result.setTransition(curr, i, resSucc);
+            }
+        }
+
+        return result;
+    }
+
+    private void readState(FullIntAbstraction<?, Boolean, Void> abs, int state, int size) {
+        accepting[state] = abs.getStateProperty(state);
+        for (int i = 0; i < numInputs; i++) {
+            final int t = state * numInputs + i;
+            final int succ = getSuccessor(abs, state, i, size);
+            successors[t] = succ;
+            addPredecessor(t, succ, i);
+        }
+    }
+
+    private static int getSuccessor(FullIntAbstraction<?, Boolean, Void> abs, int state, int input, int size) {
+        final int succ = abs.getSuccessor(state, input);
+        if (succ < 0 || succ >= size) {
+            throw new IllegalArgumentException("Automaton must not be partial");
+        }
+        return succ;
+    }
+
+    private void addPredecessor(int transition, int succ, int input) {
+        final int key = succ * numInputs + input;
+        final int head = predHead[key];
+
+        predNext[transition] = head;
+        predPrev[transition] = NO_ELEMENT;
+        if (head != NO_ELEMENT) {
+            predPrev[head] = transition;
+        }
+        predHead[key] = transition;
+    }
+
+    private void removePredecessor(int transition, int succ, int input) {
+        final int next = predNext[transition];
+        final int prev = predPrev[transition];
+
+        if (prev == NO_ELEMENT) {
+            predHead[succ * numInputs + input] = next;
+        } else {
+            predNext[prev] = next;
+        }
+        if (next != NO_ELEMENT) {
+            predPrev[next] = prev;
+        }
+    }
+
+    private int createBlock(int low, int high) {
+        final int block = numFreeBlocks > 0 ? freeBlocks[--numFreeBlocks] : numBlocks++;
+        blockLow[block] = low;
+        blockHigh[block] = high;
+        blockPtr[block] = NO_ELEMENT;
+        inWorklist[block] = false;
+        blockSignature[block] = null;
+        markDirty(block);
+        for (int i = low; i < high; i++) {
+            blockForState[blockData[i]] = block;
+        }
+        return block;
+    }
+
+    private void addToWorklist(int block) {
+        if (!inWorklist[block]) {
+            inWorklist[block] = true;
+            worklist[worklistSize++] = block;
+        }
+    }
+
+    /**
+     * Refines the partition until it is stable w.r.t. all blocks.
+     */
+    private void refine() {
+        while (worklistSize > 0) {
+            final int block = worklist[--worklistSize];
+            inWorklist[block] = false;
+
+            // copy the splitter, because splitting may re-arrange the block data
+            final int low = blockLow[block];
+            final int length = blockHigh[block] - low;
+            System.arraycopy(blockData, low, splitter, 0, length);
+
+            for (int i = 0; i < numInputs; i++) {
+                for (int j = 0; j < length; j++) {
+                    for (int t = predHead[splitter[j] * numInputs + i]; t != NO_ELEMENT; t = predNext[t]) {
+                        mark(t / numInputs);
+                    }
+                }
+                processTouched();
+            }
+        }
+    }
+
+    /**
+     * Moves the given state to the marked front part of its block.
+     */
+    private void mark(int state) {
+        final int block = blockForState[state];
+        final int pos = posData[state];
+        int ptr = blockPtr[block];
+
+        // the signature of the block changes if the marked state or the states of the splitter are moved to new blocks
+        markDirty(block);
+
+        if (ptr == NO_ELEMENT) {
+            touched[numTouched++] = block;
+            ptr = blockLow[block];
+        }
+
+        if (ptr <= pos) {
+            if (ptr < pos) {
+                final int other = blockData[ptr];
+                blockData[ptr] = state;
+                blockData[pos] = other;
+                posData[state] = ptr;
+                posData[other] = pos;
+            }
+            ptr++;
+        }
+
+        blockPtr[block] = ptr;
+    }
+
+    /**
+     * Splits all touched blocks into their marked and unmarked parts. The smaller part forms the new block, which is
+     * added to the worklist.
+     */
+    private void processTouched() {
+        for (int i = 0; i < numTouched; i++) {
+            final int block = touched[i];
+            final int ptr = blockPtr[block];
+            final int low = blockLow[block];
+            final int high = blockHigh[block];
+
+            blockPtr[block] = NO_ELEMENT;
+
+            if (ptr < high) {
+                if (ptr - low <= high - ptr) {
+                    blockLow[block] = ptr;
+                    addToWorklist(createBlock(low, ptr));
+                } else {
+                    blockHigh[block] = ptr;
+                    addToWorklist(createBlock(ptr, high));
+                }
+            }
+        }
+        numTouched = 0;
+    }
+
+    /**
+     * Merges equivalent blocks. Only the blocks that can reach one of the given (modified or new) states may have
+     * changed their behavior. All other blocks are unaffected, i.e., they are still pairwise inequivalent and their
+     * successors are unaffected as well.
+     */
+    private void merge(int[] modified, int numModified) {
+        if (numModified == 0) {
+            return;
+        }
+
+        int numAffected = 0;
+        for (int i = 0; i < numModified; i++) {
+            numAffected = addToClosure(blockForState[modified[i]], numAffected);
+        }
+        for (int c = 0; c < numAffected; c++) {
+            final int block = closure[c];
+            for (int p = blockLow[block]; p < blockHigh[block]; p++) {
+                final int state = blockData[p];
+                for (int i = 0; i < numInputs; i++) {
+                    for (int t = predHead[state * numInputs + i]; t != NO_ELEMENT; t = predNext[t]) {
+                        numAffected = addToClosure(blockForState[t / numInputs], numAffected);
+                    }
+                }
+            }
+        }
+
+        // afterwards, the register only contains the (current) signatures of the unaffected blocks
+        for (int d = 0; d < numDirtyBlocks; d++) {
+            removeFromRegister(dirtyBlocks[d]);
+        }
+        for (int c = 0; c < numAffected; c++) {
+            removeFromRegister(closure[c]);
+        }
+        for (int d = 0; d < numDirtyBlocks; d++) {
+            if (closureIndex[dirtyBlocks[d]] == NO_ELEMENT) {
+                addToRegister(dirtyBlocks[d]);
+            }
+        }
+        clearDirty();
+
+        int[] affected = Arrays.copyOf(closure, numAffected);
+        int[] targets = new int[numAffected];
+        Arrays.fill(targets, NO_ELEMENT);
+
+        if (numAffected < numBlocks - numFreeBlocks && !matchByRegister(affected, targets) &&
+            !matchUnaffected(affected, targets)) {
+            // fall back to the quotient automaton of the complete partition
+            clearClosure(numAffected);
+            register.clear();
+            numAffected = 0;
+            for (int b = 0; b < numBlocks; b++) {
+                if (blockLow[b] < blockHigh[b]) {
+                    blockSignature[b] = null;
+                    numAffected = addToClosure(b, numAffected);
+                }
+            }
+            affected = Arrays.copyOf(closure, numAffected);
+            targets = new int[numAffected];
+            Arrays.fill(targets, NO_ELEMENT);
+        }
+
+        mergeAffected(affected, targets);
+
+        for (int c = 0; c < affected.length; c++) {
+            if (targets[c] != affected[c]) {
+                mergeInto(affected[c], targets[c]);
+            }
+        }
+        for (int c = 0; c < affected.length; c++) {
+            if (targets[c] == affected[c]) {
+                addToRegister(affected[c]);
+            }
+        }
+    }
+
+    private int addToClosure(int block, int numClosure) {
+        if (closureIndex[block] != NO_ELEMENT) {
+            return numClosure;
+        }
+        closure[numClosure] = block;
+        closureIndex[block] = numClosure;
+        return numClosure + 1;
+    }
+
+    private void clearClosure(int numClosure) {
+        for (int c = 0; c < numClosure; c++) {
+            closureIndex[closure[c]] = NO_ELEMENT;
+        }
+    }
+
+    /**
+     * Determines for each affected block the equivalent unaffected block (if any) by looking up its signature in the
+     * register. This requires to process the successors of a block first, i.e., the affected blocks must not contain
+     * cycles.
+     *
+     * @return {@code true} if the affected blocks could be processed, {@code false} if they contain a cycle
+     */
+    private boolean matchByRegister(int[] affected, int[] targets) {
+        final int numAffected = affected.length;
+        final int[] order = new int[numAffected];
+        final int[] stack = new int[numAffected];
+        final int[] nextInput = new int[numAffected];
+        final boolean[] visited = new boolean[numAffected];
+        int numOrdered = 0;
+
+        // compute a post-order of the affected blocks
+        for (int root = 0; root < numAffected; root++) {
+            if (visited[root]) {
+                continue;
+            }
+            int stackSize = 0;
+            stack[stackSize++] = root;
+            visited[root] = true;
+
+            while (stackSize > 0) {
+                final int c = stack[stackSize - 1];
+                final int input = nextInput[c]++;
+
+                if (input < numInputs) {
+                    final int rep = blockData[blockLow[affected[c]]];
+                    final int succIdx = closureIndex[blockForState[successors[rep * numInputs + input]]];
+                    if (succIdx != NO_ELEMENT) {
+                        if (!visited[succIdx]) {
+                            stack[stackSize++] = succIdx;
+                            visited[succIdx] = true;
+                        } else if (nextInput[succIdx] <= numInputs) {
+                            // the successor is still on the stack
+                            return false;
+                        }
+                    }
+                } else {
+                    stackSize--;
+                    order[numOrdered++] = c;
+                }
+            }
+        }
+
+        for (int c : order) {
+            final int rep = blockData[blockLow[affected[c]]];
+            final int[] signature = new int[numInputs + 1];
+            boolean matchable = true;
+
+            signature[0] = accepting[rep] ? 1 : 0;
+            for (int i = 0; i < numInputs && matchable; i++) {
+                final int succ = blockForState[successors[rep * numInputs + i]];
+                final int succIdx = closureIndex[succ];
+                if (succIdx == NO_ELEMENT) {
+                    signature[i + 1] = succ;
+                } else {
+                    // an unmatched successor is inequivalent to all unaffected blocks
+                    signature[i + 1] = targets[succIdx];
+                    matchable = targets[succIdx] != NO_ELEMENT;
+                }
+            }
+
+            if (matchable) {
+                final Integer target = register.get(new Signature(signature));
+                if (target != null) {
+                    targets[c] = target;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Determines for each affected block the equivalent unaffected block (if any). An unaffected block is equivalent to
+     * an affected block only if its successors are the unaffected successors of (or are equivalent to the affected
+     * successors of) the affected block, hence the candidates can be found among the predecessors of the latter.
+     *
+     * @return {@code true} if the candidates of all affected blocks could be determined, {@code false} if some of the
+     * affected blocks cannot reach any unaffected block
+     */
+    private boolean matchUnaffected(int[] affected, int[] targets) {
+        final int numAffected = affected.length;
+        final int[][] candidates = new int[numAffected][];
+        final boolean[] resolved = new boolean[numAffected];
+        int numUnresolved = numAffected;
+
+        Arrays.fill(candidates, new int[0]);
+
+        boolean progress = true;
+        while (progress && numUnresolved > 0) {
+            progress = false;
+            for (int c = 0; c < numAffected; c++) {
+                if (resolved[c]) {
+                    continue;
+                }
+                final int rep = blockData[blockLow[affected[c]]];
+                for (int i = 0; i < numInputs; i++) {
+                    final int succ = blockForState[successors[rep * numInputs + i]];
+                    final int succIdx = closureIndex[succ];
+                    if (succIdx == NO_ELEMENT) {
+                        candidates[c] = collectCandidates(new int[] {succ}, i, accepting[rep]);
+                        resolved[c] = true;
+                        break;
+                    } else if (resolved[succIdx]) {
+                        candidates[c] = collectCandidates(candidates[succIdx], i, accepting[rep]);
+                        resolved[c] = true;
+                        break;
+                    }
+                }
+                if (resolved[c]) {
+                    progress = true;
+                    numUnresolved--;
+                }
+            }
+        }
+
+        if (numUnresolved > 0) {
+            return false;
+        }
+
+        // remove candidates whose successors do not match until the relation is a bisimulation
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int c = 0; c < numAffected; c++) {
+                final int rep = blockData[blockLow[affected[c]]];
+                final int[] oldCandidates = candidates[c];
+                int numCandidates = 0;
+                for (int candidate : oldCandidates) {
+                    if (isMatch(rep, candidate, candidates)) {
+                        oldCandidates[numCandidates++] = candidate;
+                    }
+                }
+                if (numCandidates < oldCandidates.length) {
+                    candidates[c] = Arrays.copyOf(oldCandidates, numCandidates);
+                    changed = true;
+                }
+            }
+        }
+
+        // as the unaffected blocks are pairwise inequivalent, at most one candidate remains
+        for (int c = 0; c < numAffected; c++) {
+            if (candidates[c].length > 0) {
+                targets[c] = candidates[c][0];
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Collects the unaffected blocks that have the given acceptance and whose successors for the given input are
+     * contained in one of the given blocks. The result is sorted.
+     */
+    private int[] collectCandidates(int[] succBlocks, int input, boolean acc) {
+        final int currStamp = ++stamp;
+        int[] result = new int[4];
+        int size = 0;
+
+        for (int succBlock : succBlocks) {
+            for (int p = blockLow[succBlock]; p < blockHigh[succBlock]; p++) {
+                for (int t = predHead[blockData[p] * numInputs + input]; t != NO_ELEMENT; t = predNext[t]) {
+                    final int pred = t / numInputs;
+                    final int block = blockForState[pred];
+                    if (closureIndex[block] == NO_ELEMENT && accepting[pred] == acc &&
+                        candidateStamp[block] != currStamp) {
+                        candidateStamp[block] = currStamp;
+                        if (size == result.length) {
+                            result = Arrays.copyOf(result, size * 2);
+                        }
+                        result[size++] = block;
+                    }
+                }
+            }
+        }
+
+        result = Arrays.copyOf(result, size);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private boolean isMatch(int rep, int candidate, int[][] candidates) {
+        final int candidateRep = blockData[blockLow[candidate]];
+        for (int i = 0; i < numInputs; i++) {
+            final int succ = blockForState[successors[rep * numInputs + i]];
+            final int succIdx = closureIndex[succ];
+            final int candidateSucc = blockForState[successors[candidateRep * numInputs + i]];
+
+            if (succIdx == NO_ELEMENT ? candidateSucc != succ :
+                    Arrays.binarySearch(candidates[succIdx], candidateSucc) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Merges the affected blocks that have not been matched with an unaffected block by minimizing their quotient
+     * automaton. Their (matched or unaffected) successors are represented by pairwise inequivalent atoms, because an
+     * unmatched block is inequivalent to all unaffected blocks.
+     */
+    private void mergeAffected(int[] affected, int[] targets) {
+        final int numAffected = affected.length;
+
+        // the successors of the affected blocks, where matched blocks are replaced by their targets
+        final int[] succBlocks = new int[numAffected * numInputs];
+        final int[] unmatched = new int[numAffected];
+        int numUnmatched = 0;
+
+        for (int c = 0; c < numAffected; c++) {
+            if (targets[c] == NO_ELEMENT) {
+                final int rep = blockData[blockLow[affected[c]]];
+                for (int i = 0; i < numInputs; i++) {
+                    final int succ = blockForState[successors[rep * numInputs + i]];
+                    final int succIdx = closureIndex[succ];
+                    succBlocks[c * numInputs + i] =
+                            succIdx == NO_ELEMENT || targets[succIdx] == NO_ELEMENT ? succ : targets[succIdx];
+                }
+                unmatched[numUnmatched++] = c;
+            }
+        }
+
+        clearClosure(numAffected);
+
+        int numClosure = 0;
+        for (int u = 0; u < numUnmatched; u++) {
+            numClosure = addToClosure(affected[unmatched[u]], numClosure);
+        }
+        for (int u = 0; u < numUnmatched; u++) {
+            for (int i = 0; i < numInputs; i++) {
+                numClosure = addToClosure(succBlocks[unmatched[u] * numInputs + i], numClosure);
+            }
+        }
+
+        final QuotientAbstraction quotient = new QuotientAbstraction(succBlocks, unmatched, numUnmatched, numClosure);
+        final PaigeTarjan pt = new PaigeTarjan();
+        PaigeTarjanInitializers.initCompleteDeterministic(pt, quotient, quotient::getInitialClass, false);
+        pt.initWorklist(false);
+        pt.computeCoarsestStablePartition();
+
+        final int[] classTarget = new int[pt.getNumBlocks()];
+        Arrays.fill(classTarget, NO_ELEMENT);
+        for (int u = 0; u < numUnmatched; u++) {
+            final int cls = pt.getBlockForState(u).id;
+            if (classTarget[cls] == NO_ELEMENT) {
+                classTarget[cls] = closure[u];
+            }
+            targets[unmatched[u]] = classTarget[cls];
+        }
+
+        clearClosure(numClosure);
+    }
+
+    /**
+     * Merges the given block into the given target block. The states of the target block are moved to the end of the
+     * used part of the block data (unless they are already located there), followed by the states of the given block.
+     */
+    private void mergeInto(int block, int target) {
+        final int size = blockHigh[block] - blockLow[block];
+
+        if (blockHigh[target] == dataSize && dataSize + size <= blockData.length) {
+            allocate(size);
+        } else {
+            final int targetSize = blockHigh[target] - blockLow[target];
+            final int low = allocate(targetSize + size);
+            int pos = low;
+            for (int p = blockLow[target]; p < blockHigh[target]; p++) {
+                final int state = blockData[p];
+                blockData[pos] = state;
+                posData[state] = pos++;
+            }
+            blockLow[target] = low;
+            blockHigh[target] = pos;
+        }
+
+        int pos = blockHigh[target];
+        for (int p = blockLow[block]; p < blockHigh[block]; p++) {
+            final int state = blockData[p];
+            blockData[pos] = state;
+            posData[state] = pos++;
+            blockForState[state] = target;
+        }
+        blockHigh[target] = pos;
+
+        blockLow[block] = 0;
+        blockHigh[block] = 0;
+        blockSignature[block] = null;
+        freeBlocks[numFreeBlocks++] = block;
+    }
+
+    /**
+     * Reserves the given number of positions at the end of the used part of the block data.
+     *
+     * @return the first reserved position
+     */
+    private int allocate(int size) {
+        if (dataSize + size > blockData.length) {
+            // compact the block data
+            int numPlaced = 0;
+            for (int b = 0; b < numBlocks; b++) {
+                numPlaced += blockHigh[b] - blockLow[b];
+            }
+
+            final int[] newData = new int[2 * (numPlaced + size)];
+            int pos = 0;
+            for (int b = 0; b < numBlocks; b++) {
+                final int low = pos;
+                for (int p = blockLow[b]; p < blockHigh[b]; p++) {
+                    final int state = blockData[p];
+                    newData[pos] = state;
+                    posData[state] = pos++;
+                }
+                blockLow[b] = low;
+                blockHigh[b] = pos;
+            }
+
+            blockData = newData;
+            dataSize = pos;
+        }
+
+        final int low = dataSize;
+        dataSize += size;
+        return low;
+    }
+
+    private void markDirty(int block) {
+        if (!dirty[block]) {
+            dirty[block] = true;
+            dirtyBlocks[numDirtyBlocks++] = block;
+        }
+    }
+
+    private void clearDirty() {
+        for (int d = 0; d < numDirtyBlocks; d++) {
+            dirty[dirtyBlocks[d]] = false;
+        }
+        numDirtyBlocks = 0;
+    }
+
+    private void addToRegister(int block) {
+        final int rep = blockData[blockLow[block]];
+        final int[] signature = new int[numInputs + 1];
+
+        signature[0] = accepting[rep] ? 1 : 0;
+        for (int i = 0; i < numInputs; i++) {
+            signature[i + 1] = blockForState[successors[rep * numInputs + i]];
+        }
+
+        final Signature key = new Signature(signature);
+        blockSignature[block] = key;
+        register.put(key, block);
+    }
+
+    private void removeFromRegister(int block) {
+        final Signature key = blockSignature[block];
+        if (key != null) {
+            register.remove(key, block);
+            blockSignature[block] = null;
+        }
+    }
+
+    private void ensureCapacity(int size) {
+        final int capacity = accepting.length;
+        if (size <= capacity) {
+            return;
+        }
+
+        final int newCapacity = ArrayUtil.computeNewCapacity(capacity, size);
+        final int newTransCapacity = newCapacity * numInputs;
+
+        accepting = Arrays.copyOf(accepting, newCapacity);
+        successors = Arrays.copyOf(successors, newTransCapacity);
+        predNext = Arrays.copyOf(predNext, newTransCapacity);
+        predPrev = Arrays.copyOf(predPrev, newTransCapacity);
+        predHead = Arrays.copyOf(predHead, newTransCapacity);
+        Arrays.fill(predHead, capacity * numInputs, newTransCapacity, NO_ELEMENT);
+
+        posData = Arrays.copyOf(posData, newCapacity);
+        blockForState = Arrays.copyOf(blockForState, newCapacity);
+        blockLow = Arrays.copyOf(blockLow, newCapacity);
+        blockHigh = Arrays.copyOf(blockHigh, newCapacity);
+        blockPtr = Arrays.copyOf(blockPtr, newCapacity);
+        inWorklist = Arrays.copyOf(inWorklist, newCapacity);
+        worklist = Arrays.copyOf(worklist, newCapacity);
+        touched = Arrays.copyOf(touched, newCapacity);
+        splitter = Arrays.copyOf(splitter, newCapacity);
+        closure = Arrays.copyOf(closure, newCapacity);
+        closureIndex = Arrays.copyOf(closureIndex, newCapacity);
+        Arrays.fill(closureIndex, capacity, newCapacity, NO_ELEMENT);
+        candidateStamp = Arrays.copyOf(candidateStamp, newCapacity);
+        freeBlocks = Arrays.copyOf(freeBlocks, newCapacity);
+        dirty = Arrays.copyOf(dirty, newCapacity);
+        dirtyBlocks = Arrays.copyOf(dirtyBlocks, newCapacity);
+        blockSignature = Arrays.copyOf(blockSignature, newCapacity);
+    }
+
+    /**
+     * The quotient automaton of the unmatched affected blocks and the atoms, i.e., the first {@code numUnmatched}
+     * blocks of the closure and the remaining ones. As the partition is stable, the successors of a block can be
+     * determined by any of its states. Atoms only have self-loops.
+     */
+    private final class QuotientAbstraction implements SimpleDeterministicAutomaton.FullIntAbstraction {
+
+        private final int[] succBlocks;
+        private final int[] unmatched;
+        private final int numUnmatched;
+        private final int size;
+
+        QuotientAbstraction(int[] succBlocks, int[] unmatched, int numUnmatched, int size) {
+            this.succBlocks = succBlocks;
+            this.unmatched = unmatched;
+            this.numUnmatched = numUnmatched;
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int numInputs() {
+            return numInputs;
+        }
+
+        @Override
+        public int getSuccessor(int state, int input) {
+            if (state >= numUnmatched) {
+                return state;
+            }
+            return closureIndex[succBlocks[unmatched[state] * numInputs + input]];
+        }
+
+        /**
+         * Unmatched blocks are initially classified by their acceptance, whereas each atom forms a class of its own.
+         */
+        Object getInitialClass(int state) {
+            if (state >= numUnmatched) {
+                return state;
+            }
+            return accepting[blockData[blockLow[closure[state]]]];
+        }
+
+        @Override
+        public int getIntInitialState() {
+            // the quotient is not pruned, so the initial state is irrelevant
+            return 0;
+        }
+    }
+
+    /**
+     * The signature of a block, i.e., its acceptance and its successor blocks.
+     */
+    private static final class Signature {
+
+        private final int[] data;
+        private final int hash;
+
+        Signature(int[] data) {
+            this.data = data;
+            this.hash = Arrays.hashCode(data);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Signature)) {
+                return false;
+            }
+
+            final Signature that = (Signature) o;
+            return hash == that.hash && Arrays.equals(data, that.data);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
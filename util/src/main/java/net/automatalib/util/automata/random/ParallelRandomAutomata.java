@@ -0,0 +1,460 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.random;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.commons.util.concurrent.ParallelUtil;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Generators for large, random, initially connected {@link CompactDFA}s and {@link CompactMealy}s, which fill the
+ * transition storage of the automata in parallel.
+ * <p>
+ * The generators use a {@link SplittableRandom} as their source of randomness. A random spanning tree (which makes
+ * every state reachable from the initial state) is drawn sequentially. The remaining state and transition properties
+ * are drawn in chunks of consecutive states, where every chunk uses its own generator that is {@link
+ * SplittableRandom#split() split} off the given one. As the chunks are independent of the number of threads, a
+ * generator that is initialized with a fixed seed always yields the same automaton, regardless of whether (and in
+ * which pool) the automaton is generated in parallel.
+ * <p>
+ * In addition, this class provides lazy iterators over a corpus of random automata, which generate one automaton at a
+ * time and therefore allow to stream large corpora to disk (e.g., via the {@code SAFSerializationDFA#writeModels}
+ * method of the SAF serialization module).
+ *
+ * @author agent
+ */
+public final class ParallelRandomAutomata {
+
+    /**
+     * The number of consecutive states that are generated by the same generator. Must be a multiple of 64 so that
+     * different chunks write to different words of the acceptance bit vector.
+     */
+    private static final int CHUNK_SIZE = 1 << 12;
+
+    private ParallelRandomAutomata() {
+        // prevent instantiation
+    }
+
+    /**
+     * Sequentially generates a random, initially connected DFA. See {@link #randomICDFA(SplittableRandom, int,
+     * Alphabet, ForkJoinPool)}.
+     *
+     * @param random
+     *         the randomness source
+     * @param numStates
+     *         the number of states of the generated automaton
+     * @param inputs
+     *         the input alphabet
+     * @param <I>
+     *         input symbol type
+     *
+     * @return a randomly generated, initially connected DFA
+     */
+    public static <I> CompactDFA<I> randomICDFA(SplittableRandom random,
+                                                @NonNegative int numStates,
+                                                Alphabet<I> inputs) {
+        return generateDFA(random, numStates, inputs, null);
+    }
+
+    /**
+     * Generates a random, initially connected DFA in parallel. Each state is accepting with probability 0.5. The
+     * generated automaton only depends on the state of the given randomness source (which is advanced by this method)
+     * but not on the parallelism of the given pool.
+     *
+     * @param random
+     *         the randomness source
+     * @param numStates
+     *         the number of states of the generated automaton
+     * @param inputs
+     *         the input alphabet
+     * @param pool
+     *         the pool whose threads are used for generating the automaton
+     * @param <I>
+     *         input symbol type
+     *
+     * @return a randomly generated, initially connected DFA
+     */
+    public static <I> CompactDFA<I> randomICDFA(SplittableRandom random,
+                                                @NonNegative int numStates,
+                                                Alphabet<I> inputs,
+                                                ForkJoinPool pool) {
+        return generateDFA(random, numStates, inputs, pool);
+    }
+
+    /**
+     * Sequentially generates a random, initially connected Mealy machine. See {@link
+     * #randomICMealy(SplittableRandom, int, Alphabet, Collection, ForkJoinPool)}.
+     *
+     * @param random
+     *         the randomness source
+     * @param numStates
+     *         the number of states of the generated automaton
+     * @param inputs
+     *         the input alphabet
+     * @param outputs
+     *         the possible outputs of the transitions
+     * @param <I>
+     *         input symbol type
+     * @param <O>
+     *         output symbol type
+     *
+     * @return a randomly generated, initially connected Mealy machine
+     */
+    public static <I, O> CompactMealy<I, O> randomICMealy(SplittableRandom random,
+                                                          @NonNegative int numStates,
+                                                          Alphabet<I> inputs,
+                                                          Collection<? extends O> outputs) {
+        return generateMealy(random, numStates, inputs, outputs, null);
+    }
+
+    /**
+     * Generates a random, initially connected Mealy machine in parallel. The output of each transition is chosen
+     * uniformly from the given outputs. The generated automaton only depends on the state of the given randomness
+     * source (which is advanced by this method) but not on the parallelism of the given pool.
+     *
+     * @param random
+     *         the randomness source
+     * @param numStates
+     *         the number of states of the generated automaton
+     * @param inputs
+     *         the input alphabet
+     * @param outputs
+     *         the possible outputs of the transitions
+     * @param pool
+     *         the pool whose threads are used for generating the automaton
+     * @param <I>
+     *         input symbol type
+     * @param <O>
+     *         output symbol type
+     *
+     * @return a randomly generated, initially connected Mealy machine
+     */
+    public static <I, O> CompactMealy<I, O> randomICMealy(SplittableRandom random,
+                                                          @NonNegative int numStates,
+                                                          Alphabet<I> inputs,
+                                                          Collection<? extends O> outputs,
+                                                          ForkJoinPool pool) {
+        return generateMealy(random, numStates, inputs, outputs, pool);
+    }
+
+    /**
+     * Returns an iterator over a corpus of random, initially connected DFAs. The automata are generated lazily (one
+     * per invocation of {@link Iterator#next()}) using {@link #randomICDFA(SplittableRandom, int, Alphabet,
+     * ForkJoinPool)} and a generator that is split off the given one. Hence, the corpus only depends on the initial
+     * state of the given randomness source.
+     *
+     * @param random
+     *         the randomness source
+     * @param numModels
+     *         the number of automata in the corpus
+     * @param numStates
+     *         the number of states of each automaton
+     * @param inputs
+     *         the input alphabet
+     * @param pool
+     *         the pool whose threads are used for generating each automaton
+     * @param <I>
+     *         input symbol type
+     *
+     * @return an iterator over the corpus
+     */
+    public static <I> Iterator<CompactDFA<I>> randomICDFAs(SplittableRandom random,
+                                                          @NonNegative int numModels,
+                                                          @NonNegative int numStates,
+                                                          Alphabet<I> inputs,
+                                                          ForkJoinPool pool) {
+        return new CorpusIterator<>(random, numModels, r -> generateDFA(r, numStates, inputs, pool));
+    }
+
+    /**
+     * Returns an iterator over a corpus of random, initially connected Mealy machines. The automata are generated
+     * lazily (one per invocation of {@link Iterator#next()}) using {@link #randomICMealy(SplittableRandom, int,
+     * Alphabet, Collection, ForkJoinPool)} and a generator that is split off the given one. Hence, the corpus only
+     * depends on the initial state of the given randomness source.
+     *
+     * @param random
+     *         the randomness source
+     * @param numModels
+     *         the number of automata in the corpus
+     * @param numStates
+     *         the number of states of each automaton
+     * @param inputs
+     *         the input alphabet
+     * @param outputs
+     *         the possible outputs of the transitions
+     * @param pool
+     *         the pool whose threads are used for generating each automaton
+     * @param <I>
+     *         input symbol type
+     * @param <O>
+     *         output symbol type
+     *
+     * @return an iterator over the corpus
+     */
+    public static <I, O> Iterator<CompactMealy<I, O>> randomICMealies(SplittableRandom random,
+                                                                     @NonNegative int numModels,
+                                                                     @NonNegative int numStates,
+                                                                     Alphabet<I> inputs,
+                                                                     Collection<? extends O> outputs,
+                                                                     ForkJoinPool pool) {
+        return new CorpusIterator<>(random, numModels, r -> generateMealy(r, numStates, inputs, outputs, pool));
+    }
+
+    private static <I> CompactDFA<I> generateDFA(SplittableRandom random,
+                                                 int numStates,
+                                                 Alphabet<I> inputs,
+                                                 @Nullable ForkJoinPool pool) {
+        final CompactDFA<I> result = new CompactDFA<>(inputs, numStates);
+
+        for (int i = 0; i < numStates; i++) {
+            result.addIntState(false);
+        }
+        if (numStates > 0) {
+            result.setInitialState(0);
+        }
+
+        // the acceptance of the states, encoded in the same way as by BitSet#toLongArray
+        final long[] acceptance = new long[(numStates + Long.SIZE - 1) / Long.SIZE];
+
+        generate(random, numStates, inputs.size(), pool, new Filler() {
+
+            @Override
+            public void fillState(SplittableRandom r, int state) {
+                if (r.nextBoolean()) {
+                    acceptance[state / Long.SIZE] |= 1L << state;
+                }
+            }
+
+            @Override
+            public void fillTransition(SplittableRandom r, int state, int input, int successor) {
+                result.setTransition(state, input, successor);
+            }
+        });
+
+        final BitSet accepting = BitSet.valueOf(acceptance);
+        for (int i = accepting.nextSetBit(0); i >= 0; i = accepting.nextSetBit(i + 1)) {
+            result.setAccepting(i, true);
+        }
+
+        return result;
+    }
+
+    private static <I, O> CompactMealy<I, O> generateMealy(SplittableRandom random,
+                                                           int numStates,
+                                                           Alphabet<I> inputs,
+                                                           Collection<? extends O> outputs,
+                                                           @Nullable ForkJoinPool pool) {
+        if (outputs.isEmpty()) {
+            throw new IllegalArgumentException("At least one output is required");
+        }
+
+        final List<? extends O> outputList = new ArrayList<>(outputs);
+        final int numOutputs = outputList.size();
+        final CompactMealy<I, O> result = new CompactMealy<>(inputs, numStates);
+
+        for (int i = 0; i < numStates; i++) {
+            result.addIntState(null);
+        }
+        if (numStates > 0) {
+            result.setInitialState(0);
+        }
+
+        generate(random, numStates, inputs.size(), pool, new Filler() {
+
+            @Override
+            public void fillState(SplittableRandom r, int state) {}
+
+            @Override
+            public void fillTransition(SplittableRandom r, int state, int input, int successor) {
+                result.setTransition(state, input, successor, outputList.get(r.nextInt(numOutputs)));
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Generates the structure of an initially connected automaton with the states {@code 0} (initial) to {@code
+     * numStates - 1} and passes it to the given filler. The filler is invoked exactly once for each state and each
+     * transition, concurrently for states of different chunks.
+     */
+    private static void generate(SplittableRandom random,
+                                 int numStates,
+                                 int numInputs,
+                                 @Nullable ForkJoinPool pool,
+                                 Filler filler) {
+        if (numStates == 0) {
+            return;
+        }
+        if (numInputs == 0 && numStates > 1) {
+            throw new IllegalArgumentException("Cannot connect " + numStates + " states without any inputs");
+        }
+
+        final int numChunks = (numStates + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        // split off all generators before using any of them so that they do not depend on the order of execution
+        final SplittableRandom treeRandom = random.split();
+        final SplittableRandom[] chunkRandoms = new SplittableRandom[numChunks];
+        for (int c = 0; c < numChunks; c++) {
+            chunkRandoms[c] = random.split();
+        }
+
+        final int[] treeSlots = spanningTree(treeRandom, numStates, numInputs);
+
+        // group the (non-initial) states by the chunk of their parent in the spanning tree
+        final int[] chunkOffsets = new int[numChunks + 1];
+        for (int i = 1; i < numStates; i++) {
+            chunkOffsets[treeSlots[i] / numInputs / CHUNK_SIZE + 1]++;
+        }
+        for (int c = 0; c < numChunks; c++) {
+            chunkOffsets[c + 1] += chunkOffsets[c];
+        }
+
+        final int[] children = new int[Math.max(numStates - 1, 0)];
+        final int[] positions = chunkOffsets.clone();
+        for (int i = 1; i < numStates; i++) {
+            children[positions[treeSlots[i] / numInputs / CHUNK_SIZE]++] = i;
+        }
+
+        if (pool == null) {
+            for (int c = 0; c < numChunks; c++) {
+                generateChunk(c, chunkRandoms[c], numStates, numInputs, treeSlots, children, chunkOffsets, filler);
+            }
+        } else {
+            ParallelUtil.forEachChunk(pool, 0, numChunks, 1, (low, high) -> {
+                for (int c = low; c < high; c++) {
+                    generateChunk(c, chunkRandoms[c], numStates, numInputs, treeSlots, children, chunkOffsets, filler);
+                }
+            });
+        }
+    }
+
+    /**
+     * Draws a random spanning tree rooted in state {@code 0}, in which the parent of every state {@code i > 0} is a
+     * state {@code j < i}. The transition leading to state {@code i} is chosen uniformly among all unused transitions
+     * of the states {@code 0} to {@code i - 1}.
+     *
+     * @return an array, containing at index {@code i > 0} the transition ({@code parent * numInputs + input}) that
+     * leads to state {@code i}
+     */
+    private static int[] spanningTree(SplittableRandom random, int numStates, int numInputs) {
+        final int[] result = new int[numStates];
+
+        if (numInputs == 1) {
+            // there is no choice but a chain
+            for (int i = 1; i < numStates; i++) {
+                result[i] = i - 1;
+            }
+            return result;
+        }
+
+        final BitSet used = new BitSet(numStates * numInputs);
+
+        for (int i = 1; i < numStates; i++) {
+            int slot;
+            do {
+                // at least half of the transitions are unused, so we expect at most two attempts
+                slot = random.nextInt(i * numInputs);
+            } while (used.get(slot));
+
+            used.set(slot);
+            result[i] = slot;
+        }
+
+        return result;
+    }
+
+    private static void generateChunk(int chunk,
+                                      SplittableRandom random,
+                                      int numStates,
+                                      int numInputs,
+                                      int[] treeSlots,
+                                      int[] children,
+                                      int[] chunkOffsets,
+                                      Filler filler) {
+        final int low = chunk * CHUNK_SIZE;
+        final int high = Math.min(low + CHUNK_SIZE, numStates);
+
+        // the successors of the spanning tree transitions of this chunk (or -1 for the remaining transitions)
+        final int[] treeSuccessors = new int[(high - low) * numInputs];
+        Arrays.fill(treeSuccessors, -1);
+        for (int j = chunkOffsets[chunk]; j < chunkOffsets[chunk + 1]; j++) {
+            final int child = children[j];
+            treeSuccessors[treeSlots[child] - low * numInputs] = child;
+        }
+
+        int slot = 0;
+        for (int state = low; state < high; state++) {
+            filler.fillState(random, state);
+            for (int input = 0; input < numInputs; input++, slot++) {
+                final int treeSucc = treeSuccessors[slot];
+                final int succ = treeSucc < 0 ? random.nextInt(numStates) : treeSucc;
+                filler.fillTransition(random, state, input, succ);
+            }
+        }
+    }
+
+    /**
+     * Receives the properties of the generated states and transitions.
+     */
+    private interface Filler {
+
+        void fillState(SplittableRandom r, int state);
+
+        void fillTransition(SplittableRandom r, int state, int input, int successor);
+    }
+
+    private static final class CorpusIterator<A> implements Iterator<A> {
+
+        private final SplittableRandom random;
+        private final Function<SplittableRandom, A> generator;
+        private int remaining;
+
+        CorpusIterator(SplittableRandom random, int numModels, Function<SplittableRandom, A> generator) {
+            this.random = random;
+            this.remaining = numModels;
+            this.generator = generator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public A next() {
+            if (remaining <= 0) {
+                throw new NoSuchElementException();
+            }
+            remaining--;
+            return generator.apply(random.split());
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.transducers;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton.FullIntAbstraction;
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.commons.util.concurrent.ParallelUtil;
+import net.automatalib.exception.UndefinedPropertyAccessException;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Computes the outputs of a Mealy machine for a batch of input words.
+ * <p>
+ * The words are evaluated on the {@link FullIntAbstraction} of the Mealy machine, whose successors and outputs are
+ * accessed by state and input index. For compact Mealy machines (e.g., {@link CompactMealy}), these accesses read the
+ * transition arrays of the automaton directly and do not allocate transition objects. Consecutive words of the batch
+ * share the work for their common prefix: the states (and outputs) along the path of the previous word are kept, and
+ * the evaluation of the next word resumes at the end of its longest common prefix with the previous word. A word that
+ * is a prefix of the previous word shares the storage of the previous output word. Hence, batches whose words are
+ * ordered such that words with common prefixes are adjacent (e.g., the words of a prefix tree in depth-first order)
+ * benefit most.
+ * <p>
+ * Consistent with {@link MealyMachine#computeOutput(Iterable)}, the output of a word stops at its first undefined
+ * transition, and the evaluation of a (non-empty) batch throws an {@link UndefinedPropertyAccessException} if the
+ * Mealy machine has no initial state.
+ *
+ * @param <O>
+ *         output symbol type
+ *
+ * @author agent
+ */
+final class BatchOutputEvaluator<O> {
+
+    private static final int INVALID_STATE = FullIntAbstraction.INVALID_STATE;
+
+    private final FullIntAbstraction<?, ?, O> abs;
+    private final int numInputs;
+    private final int initial;
+
+    <I> BatchOutputEvaluator(MealyMachine<?, I, ?, O> mealy, Alphabet<I> alphabet) {
+        this.abs = mealy.fullIntAbstraction(alphabet);
+        this.numInputs = abs.numInputs();
+        this.initial = abs.getIntInitialState();
+    }
+
+    <I> List<Word<O>> computeOutputs(List<? extends Word<? extends I>> words,
+                                     Alphabet<I> alphabet,
+                                     @Nullable ForkJoinPool pool) {
+        @SuppressWarnings("unchecked")
+        final Word<O>[] result = new Word[words.size()];
+
+        checkInitialState(result.length);
+
+        if (pool == null) {
+            computeOutputs(words, alphabet, result, 0, result.length);
+        } else {
+            ParallelUtil.forEachChunk(pool,
+                                      0,
+                                      result.length,
+                                      (low, high) -> computeOutputs(words, alphabet, result, low, high));
+        }
+
+        return Arrays.asList(result);
+    }
+
+    private <I> void computeOutputs(List<? extends Word<? extends I>> words,
+                                    Alphabet<I> alphabet,
+                                    Word<O>[] result,
+                                    int low,
+                                    int high) {
+        final Walker walker = new Walker();
+
+        for (int w = low; w < high; w++) {
+            final Word<? extends I> word = words.get(w);
+            final int length = word.length();
+            final int[] input = walker.freeBuffer(length);
+
+            for (int i = 0; i < length; i++) {
+                input[i] = alphabet.getSymbolIndex(word.getSymbol(i));
+            }
+
+            result[w] = walker.walk(input, length);
+        }
+    }
+
+    List<Word<O>> computeOutputs(int[][] words, @Nullable ForkJoinPool pool) {
+        @SuppressWarnings("unchecked")
+        final Word<O>[] result = new Word[words.length];
+
+        checkInitialState(result.length);
+
+        if (pool == null) {
+            computeOutputs(words, result, 0, result.length);
+        } else {
+            ParallelUtil.forEachChunk(pool, 0, result.length, (low, high) -> computeOutputs(words, result, low, high));
+        }
+
+        return Arrays.asList(result);
+    }
+
+    private void computeOutputs(int[][] words, Word<O>[] result, int low, int high) {
+        final Walker walker = new Walker();
+
+        for (int w = low; w < high; w++) {
+            final int[] word = words[w];
+            for (int sym : word) {
+                if (sym < 0 || sym >= numInputs) {
+                    throw new IllegalArgumentException("Invalid symbol index " + sym + " in word " + w);
+                }
+            }
+            result[w] = walker.walk(word, word.length);
+        }
+    }
+
+    private void checkInitialState(int numWords) {
+        if (numWords > 0 && initial == INVALID_STATE) {
+            throw new UndefinedPropertyAccessException("No initial state defined");
+        }
+    }
+
+    /**
+     * Evaluates a sequence of words and keeps the path of the previously evaluated word. Not thread-safe.
+     */
+    private final class Walker {
+
+        // states[i] is the state reached after the first i symbols of the previous word
+        private int[] states = {initial};
+        // outs[i] is the output of the i-th transition of the previous word
+        private Object[] outs = new Object[0];
+
+        private int[] previous = new int[0];
+        // the number of (defined) transitions on the path of the previous word
+        private int valid;
+        // the output of the previous word
+        private Word<O> output = Word.epsilon();
+
+        // buffers for the symbol indices of words that are not available as arrays
+        private int[] buffer1 = new int[0];
+        private int[] buffer2 = new int[0];
+
+        /**
+         * Returns a buffer for the symbol indices of the next word, which does not overlap with the previous word.
+         */
+        int[] freeBuffer(int length) {
+            if (previous == buffer1) {
+                if (buffer2.length < length) {
+                    buffer2 = new int[Math.max(length, buffer2.length * 2)];
+                }
+                return buffer2;
+            }
+
+            if (buffer1.length < length) {
+                buffer1 = new int[Math.max(length, buffer1.length * 2)];
+            }
+            return buffer1;
+        }
+
+        Word<O> walk(int[] input, int length) {
+            if (states.length <= length) {
+                final int newCapacity = Math.max(length + 1, states.length * 2);
+                states = Arrays.copyOf(states, newCapacity);
+                outs = Arrays.copyOf(outs, newCapacity);
+            }
+
+            final int limit = Math.min(length, valid);
+            int i = 0;
+            while (i < limit && input[i] == previous[i]) {
+                i++;
+            }
+
+            if (i == length) {
+                // the word is a prefix of the previous one, whose path we keep for the next words
+                return output.prefix(length);
+            }
+
+            int state = states[i];
+            for (; i < length; i++) {
+                final int succ = abs.getSuccessor(state, input[i]);
+
+                if (succ == INVALID_STATE) {
+                    break;
+                }
+
+                outs[i] = abs.getTransitionProperty(state, input[i]);
+                states[i + 1] = succ;
+                state = succ;
+            }
+
+            this.previous = input;
+            this.valid = i;
+            this.output = toWord(outs, i);
+
+            return output;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <O> Word<O> toWord(Object[] outputs, int length) {
+        return Word.fromArray((O[]) outputs, 0, length);
+    }
+}
@@ -16,11 +16,14 @@
 package net.automatalib.util.automata.transducers;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import net.automatalib.automata.transducers.MealyMachine;
 import net.automatalib.automata.transducers.MutableMealyMachine;
 import net.automatalib.automata.transducers.impl.compact.CompactMealy;
 import net.automatalib.commons.util.Pair;
+import net.automatalib.exception.UndefinedPropertyAccessException;
 import net.automatalib.ts.output.MealyTransitionSystem;
 import net.automatalib.util.automata.copy.AutomatonCopyMethod;
 import net.automatalib.util.automata.copy.AutomatonLowLevelCopy;
@@ -29,6 +32,7 @@ import net.automatalib.util.ts.transducers.Transducers;
 import net.automatalib.util.ts.traversal.TSTraversal;
 import net.automatalib.util.ts.traversal.TSTraversalMethod;
 import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
 
 public final class MealyMachines {
 
@@ -151,4 +155,109 @@ public final class MealyMachines {
         MutableMealyMachines.complete(out, inputs, undefinedOutput);
         return out;
     }
+
+    /**
+     * Computes the outputs of the given Mealy machine for a batch of input words. The result is the same as calling
+     * {@link MealyMachine#computeOutput(Iterable)} for each word, i.e., the output of a word is truncated at its first
+     * undefined transition, and an {@link UndefinedPropertyAccessException} is thrown if the Mealy machine has no
+     * initial state (and the batch is not empty).
+     * <p>
+     * The words are evaluated on the {@link MealyMachine#fullIntAbstraction(Alphabet) integer abstraction} of the Mealy
+     * machine, which reads the transition arrays of compact Mealy machines directly. Adjacent words share the
+     * evaluation of their common prefix, so ordering the words such that words with common prefixes are adjacent (e.g.,
+     * in lexicographic or prefix-tree order) reduces the number of evaluated transitions.
+     *
+     * @param mealy
+     *         the Mealy machine
+     * @param alphabet
+     *         the alphabet containing all symbols of the input words
+     * @param words
+     *         the input words
+     * @param <I>
+     *         input symbol type
+     * @param <O>
+     *         output symbol type
+     *
+     * @return the list of output words, in the order of the input words
+     */
+    public static <I, O> List<Word<O>> computeOutputs(MealyMachine<?, I, ?, O> mealy,
+                                                      Alphabet<I> alphabet,
+                                                      List<? extends Word<? extends I>> words) {
+        return new BatchOutputEvaluator<>(mealy, alphabet).computeOutputs(words, alphabet, null);
+    }
+
+    /**
+     * Computes the outputs of the given Mealy machine for a batch of input words in parallel. See {@link
+     * #computeOutputs(MealyMachine, Alphabet, List)}.
+     *
+     * @param mealy
+     *         the Mealy machine
+     * @param alphabet
+     *         the alphabet containing all symbols of the input words
+     * @param words
+     *         the input words
+     * @param pool
+     *         the pool whose threads are used for evaluating (chunks of) the input words
+     * @param <I>
+     *         input symbol type
+     * @param <O>
+     *         output symbol type
+     *
+     * @return the list of output words, in the order of the input words
+     */
+    public static <I, O> List<Word<O>> computeOutputs(MealyMachine<?, I, ?, O> mealy,
+                                                      Alphabet<I> alphabet,
+                                                      List<? extends Word<? extends I>> words,
+                                                      ForkJoinPool pool) {
+        return new BatchOutputEvaluator<>(mealy, alphabet).computeOutputs(words, alphabet, pool);
+    }
+
+    /**
+     * Computes the outputs of the given Mealy machine for a batch of input words, whose symbols are given by their
+     * index in the given alphabet. See {@link #computeOutputs(MealyMachine, Alphabet, List)}.
+     *
+     * @param mealy
+     *         the Mealy machine
+     * @param alphabet
+     *         the alphabet that determines the symbol indices
+     * @param words
+     *         the input words, as arrays of symbol indices
+     * @param <I>
+     *         input symbol type
+     * @param <O>
+     *         output symbol type
+     *
+     * @return the list of output words, in the order of the input words
+     */
+    public static <I, O> List<Word<O>> computeOutputs(MealyMachine<?, I, ?, O> mealy,
+                                                      Alphabet<I> alphabet,
+                                                      int[][] words) {
+        return new BatchOutputEvaluator<>(mealy, alphabet).computeOutputs(words, null);
+    }
+
+    /**
+     * Computes the outputs of the given Mealy machine for a batch of input words in parallel, whose symbols are given
+     * by their index in the given alphabet. See {@link #computeOutputs(MealyMachine, Alphabet, List)}.
+     *
+     * @param mealy
+     *         the Mealy machine
+     * @param alphabet
+     *         the alphabet that determines the symbol indices
+     * @param words
+     *         the input words, as arrays of symbol indices
+     * @param pool
+     *         the pool whose threads are used for evaluating (chunks of) the input words
+     * @param <I>
+     *         input symbol type
+     * @param <O>
+     *         output symbol type
+     *
+     * @return the list of output words, in the order of the input words
+     */
+    public static <I, O> List<Word<O>> computeOutputs(MealyMachine<?, I, ?, O> mealy,
+                                                      Alphabet<I> alphabet,
+                                                      int[][] words,
+                                                      ForkJoinPool pool) {
+        return new BatchOutputEvaluator<>(mealy, alphabet).computeOutputs(words, pool);
+    }
 }
@@ -0,0 +1,225 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.vpda;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.automatalib.automata.vpda.OneSEVPA;
+import net.automatalib.commons.smartcollections.LongIndexer;
+import net.automatalib.util.ts.acceptors.AcceptanceCombiner;
+import net.automatalib.util.ts.acceptors.ProductSearchResult;
+import net.automatalib.words.VPDAlphabet;
+import net.automatalib.words.Word;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An on-the-fly exploration of the product of two {@link OneSEVPA}s, which stops as soon as it discovers a location
+ * pair that is accepting with respect to a given {@link AcceptanceCombiner}.
+ * <p>
+ * The exploration follows {@link OneSEVPAUtil#computeAccessSequences(OneSEVPA, VPDAlphabet, boolean,
+ * java.util.function.Predicate)}, but in contrast to the exploration of a {@link ProductOneSEVPA}, neither {@link
+ * net.automatalib.commons.util.Pair} objects nor storage for all potential location pairs is allocated. Instead, each
+ * location pair is encoded as a single {@code long} and the discovered pairs are indexed by a {@link LongIndexer}.
+ * Undefined transitions lead to an implicit, rejecting sink, so that the language semantics of the product do not
+ * depend on whether the given 1-SEVPAs are complete.
+ *
+ * @param <L1>
+ *         location type of the first 1-SEVPA
+ * @param <L2>
+ *         location type of the second 1-SEVPA
+ * @param <I>
+ *         input symbol type
+ *
+ * @author agent
+ */
+final class LazyOneSEVPAProduct<L1, L2, I> {
+
+    // encodes the implicit sink (and its stack symbols), which is shifted to 0 in the pair encoding
+    private static final int SINK = -1;
+
+    private final OneSEVPA<L1, I> sevpa1;
+    private final OneSEVPA<L2, I> sevpa2;
+    private final VPDAlphabet<I> alphabet;
+    private final AcceptanceCombiner combiner;
+
+    private final LongIndexer pairs;
+    private final List<Word<I>> accessSequences;
+
+    private LazyOneSEVPAProduct(OneSEVPA<L1, I> sevpa1,
+                                OneSEVPA<L2, I> sevpa2,
+                                VPDAlphabet<I> alphabet,
+                                AcceptanceCombiner combiner) {
+        this.sevpa1 = sevpa1;
+        this.sevpa2 = sevpa2;
+        this.alphabet = alphabet;
+        this.combiner = combiner;
+        this.pairs = new LongIndexer();
+        this.accessSequences = new ArrayList<>();
+    }
+
+    /**
+     * Searches for a (well-matched) word that is accepted by the product of the given 1-SEVPAs.
+     *
+     * @param sevpa1
+     *         the first 1-SEVPA
+     * @param sevpa2
+     *         the second 1-SEVPA
+     * @param alphabet
+     *         the input alphabet
+     * @param combiner
+     *         combination method for acceptance values
+     * @param <L1>
+     *         location type of the first 1-SEVPA
+     * @param <L2>
+     *         location type of the second 1-SEVPA
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the result of the search
+     */
+    static <L1, L2, I> ProductSearchResult<I> findWitness(OneSEVPA<L1, I> sevpa1,
+                                                          OneSEVPA<L2, I> sevpa2,
+                                                          VPDAlphabet<I> alphabet,
+                                                          AcceptanceCombiner combiner) {
+        return new LazyOneSEVPAProduct<>(sevpa1, sevpa2, alphabet, combiner).run();
+    }
+
+    private ProductSearchResult<I> run() {
+        final int init1 = sevpa1.getLocationId(sevpa1.getInitialLocation());
+        final int init2 = sevpa2.getLocationId(sevpa2.getInitialLocation());
+
+        if (discover(init1, init2) && register(init1, init2, Word.epsilon())) {
+            return result();
+        }
+
+        int queuePtr = 0;
+        while (queuePtr < pairs.size()) {
+            final int curr = queuePtr++;
+            final long currKey = pairs.getKey(curr);
+            final int curr1 = decodeFirst(currKey);
+            final int curr2 = decodeSecond(currKey);
+            final Word<I> currAs = accessSequences.get(curr);
+
+            for (I intSym : alphabet.getInternalAlphabet()) {
+                final int succ1 = internalSuccessor(sevpa1, curr1, intSym);
+                final int succ2 = internalSuccessor(sevpa2, curr2, intSym);
+
+                if (discover(succ1, succ2) && register(succ1, succ2, currAs.append(intSym))) {
+                    return result();
+                }
+            }
+
+            for (I callSym : alphabet.getCallAlphabet()) {
+                for (I retSym : alphabet.getReturnAlphabet()) {
+                    for (int src = 0; src < queuePtr; src++) {
+                        final long srcKey = pairs.getKey(src);
+                        final int src1 = decodeFirst(srcKey);
+                        final int src2 = decodeSecond(srcKey);
+
+                        // src -call-> (well-matched word to) curr -return->
+                        int succ1 = returnSuccessor(sevpa1, curr1, retSym, stackSymbol(sevpa1, src1, callSym));
+                        int succ2 = returnSuccessor(sevpa2, curr2, retSym, stackSymbol(sevpa2, src2, callSym));
+
+                        if (discover(succ1, succ2) && register(succ1,
+                                                               succ2,
+                                                               accessSequences.get(src)
+                                                                              .append(callSym)
+                                                                              .concat(currAs.append(retSym)))) {
+                            return result();
+                        }
+
+                        if (src == curr) {
+                            continue;
+                        }
+
+                        // curr -call-> (well-matched word to) src -return->
+                        succ1 = returnSuccessor(sevpa1, src1, retSym, stackSymbol(sevpa1, curr1, callSym));
+                        succ2 = returnSuccessor(sevpa2, src2, retSym, stackSymbol(sevpa2, curr2, callSym));
+
+                        if (discover(succ1, succ2) && register(succ1,
+                                                               succ2,
+                                                               currAs.append(callSym)
+                                                                     .concat(accessSequences.get(src)
+                                                                                            .append(retSym)))) {
+                            return result();
+                        }
+                    }
+                }
+            }
+        }
+
+        return new ProductSearchResult<>(null, pairs.size());
+    }
+
+    /**
+     * Adds the given location pair and returns whether it has not been discovered before. The access sequence of a
+     * newly discovered pair needs to be {@link #register(int, int, Word) registered} subsequently.
+     */
+    private boolean discover(int l1, int l2) {
+        final int numPairs = pairs.size();
+        return pairs.add(encode(l1, l2)) == numPairs;
+    }
+
+    /**
+     * Registers the access sequence of the most recently discovered location pair and returns whether the pair is
+     * accepting.
+     */
+    private boolean register(int l1, int l2, Word<I> as) {
+        accessSequences.add(as);
+
+        final boolean acc1 = l1 != SINK && sevpa1.isAcceptingLocation(sevpa1.getLocation(l1));
+        final boolean acc2 = l2 != SINK && sevpa2.isAcceptingLocation(sevpa2.getLocation(l2));
+
+        return combiner.combine(acc1, acc2);
+    }
+
+    private ProductSearchResult<I> result() {
+        // the witness is always the most recently discovered pair
+        return new ProductSearchResult<>(accessSequences.get(accessSequences.size() - 1), pairs.size());
+    }
+
+    private static <L, I> int internalSuccessor(OneSEVPA<L, I> sevpa, int loc, I intSym) {
+        return loc == SINK ? SINK : getId(sevpa, sevpa.getInternalSuccessor(sevpa.getLocation(loc), intSym));
+    }
+
+    private static <L, I> int stackSymbol(OneSEVPA<L, I> sevpa, int loc, I callSym) {
+        return loc == SINK ? SINK : sevpa.encodeStackSym(sevpa.getLocation(loc), callSym);
+    }
+
+    private static <L, I> int returnSuccessor(OneSEVPA<L, I> sevpa, int loc, I retSym, int stackSym) {
+        if (loc == SINK || stackSym == SINK) {
+            return SINK;
+        }
+        return getId(sevpa, sevpa.getReturnSuccessor(sevpa.getLocation(loc), retSym, stackSym));
+    }
+
+    private static <L> int getId(OneSEVPA<L, ?> sevpa, @Nullable L loc) {
+        return loc == null ? SINK : sevpa.getLocationId(loc);
+    }
+
+    private static long encode(int l1, int l2) {
+        return ((long) (l1 + 1) << 32) | (l2 + 1);
+    }
+
+    private static int decodeFirst(long key) {
+        return (int) (key >>> 32) - 1;
+    }
+
+    private static int decodeSecond(long key) {
+        return (int) key - 1;
+    }
+}
@@ -20,6 +20,7 @@ import net.automatalib.automata.vpda.OneSEVPA;
 import net.automatalib.commons.util.Pair;
 import net.automatalib.util.minimizer.OneSEVPAMinimizer;
 import net.automatalib.util.ts.acceptors.AcceptanceCombiner;
+import net.automatalib.util.ts.acceptors.ProductSearchResult;
 import net.automatalib.words.VPDAlphabet;
 
 /**
@@ -146,6 +147,52 @@ public final class OneSEVPAs {
         return combine(sevpa1, sevpa2, alphabet, AcceptanceCombiner.IMPL);
     }
 
+    /**
+     * Searches for a (well-matched) word that is accepted by the combination of two SEVPAs, without constructing the
+     * combined SEVPA. In contrast to analyzing the result of {@link #combine(OneSEVPA, OneSEVPA, VPDAlphabet,
+     * AcceptanceCombiner)}, the product is explored on-the-fly and the exploration stops as soon as the first location
+     * pair is discovered whose combined acceptance value is {@code true}. Undefined transitions of the given SEVPAs are
+     * treated as transitions into a rejecting sink.
+     *
+     * @param sevpa1
+     *         the first SEVPA
+     * @param sevpa2
+     *         the second SEVPA
+     * @param alphabet
+     *         the input alphabet
+     * @param combiner
+     *         combination method for acceptance values
+     *
+     * @return the result of the search, containing the witness (if any) and the number of explored location pairs
+     */
+    public static <L1, L2, I> ProductSearchResult<I> searchProduct(final OneSEVPA<L1, I> sevpa1,
+                                                                   final OneSEVPA<L2, I> sevpa2,
+                                                                   final VPDAlphabet<I> alphabet,
+                                                                   final AcceptanceCombiner combiner) {
+        return LazyOneSEVPAProduct.findWitness(sevpa1, sevpa2, alphabet, combiner);
+    }
+
+    /**
+     * Checks whether the language of the first SEVPA is included in the language of the second SEVPA. The check
+     * explores the product of the given SEVPAs on-the-fly and stops at the first counterexample, see {@link
+     * #searchProduct(OneSEVPA, OneSEVPA, VPDAlphabet, AcceptanceCombiner)}.
+     *
+     * @param sevpa1
+     *         the first SEVPA
+     * @param sevpa2
+     *         the second SEVPA
+     * @param alphabet
+     *         the input alphabet
+     *
+     * @return the result of the search, whose witness (if any) is accepted by the first SEVPA but rejected by the second
+     * SEVPA
+     */
+    public static <L1, L2, I> ProductSearchResult<I> checkInclusion(final OneSEVPA<L1, I> sevpa1,
+                                                                    final OneSEVPA<L2, I> sevpa2,
+                                                                    final VPDAlphabet<I> alphabet) {
+        return searchProduct(sevpa1, sevpa2, alphabet, (a1, a2) -> a1 && !a2);
+    }
+
     /**
      * Minimizes the given SEVPA over the given alphabet. This method does not modify the given SEVPA, but returns the
      * minimized version as a new instance. <b>Note:</b> the SEVPA must be completely specified.
@@ -0,0 +1,272 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.apsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+
+import net.automatalib.commons.util.concurrent.ParallelUtil;
+import net.automatalib.graphs.Graph;
+import net.automatalib.graphs.concepts.EdgeWeights;
+import net.automatalib.graphs.concepts.NodeIDs;
+import net.automatalib.util.graphs.Graphs;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A blocked (tiled) implementation of the Floyd-Warshall dynamic programming algorithm for the all pairs shortest paths
+ * problem, which operates on the {@link NodeIDs node ids} of a graph.
+ * <p>
+ * In contrast to {@link FloydWarshallAPSP}, this implementation does not allocate a record object per pair of nodes,
+ * but stores the distances in {@code float} arrays and the shortest paths in the form of {@code int} arrays of
+ * next-hop node ids, i.e., it requires eight bytes per pair of nodes. The edges of a shortest path are re-computed
+ * when the path is requested.
+ * <p>
+ * The distance matrix is processed in square blocks whose size is chosen such that the blocks involved in an update
+ * fit into the processor caches. For each block of intermediate nodes, the diagonal block is updated first, followed by
+ * the remaining blocks of its row and column, followed by all other blocks. The blocks of the latter two phases are
+ * independent of each other, which allows to update them in parallel (see {@link #findAPSP(ForkJoinPool)}). As the
+ * blocks are updated in a fixed order, the results of the sequential and the parallel computation are identical. The
+ * computed distances coincide with the ones of {@link FloydWarshallAPSP} (up to floating point rounding), except for
+ * the choice between multiple shortest paths of equal length.
+ *
+ * @param <N>
+ *         node class
+ * @param <E>
+ *         edge class
+ *
+ * @author agent
+ */
+public class BlockedFloydWarshallAPSP<N, E> implements APSPResult<N, E> {
+
+    /**
+     * The default size of the (square) blocks.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 64;
+
+    private static final int NO_PATH = -1;
+
+    private final Graph<N, E> graph;
+    private final EdgeWeights<E> edgeWeights;
+    private final NodeIDs<N> ids;
+    private final int size;
+    private final int blockSize;
+
+    // dist[i][j] contains the distance from i to j (or +infinity if there is no path)
+    private final float[][] dist;
+    // next[i][j] contains the node following i on the shortest path from i to j
+    private final int[][] next;
+
+    public BlockedFloydWarshallAPSP(Graph<N, E> graph, EdgeWeights<E> edgeWeights) {
+        this(graph, edgeWeights, DEFAULT_BLOCK_SIZE);
+    }
+
+    public BlockedFloydWarshallAPSP(Graph<N, E> graph, EdgeWeights<E> edgeWeights, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+
+        this.graph = graph;
+        this.edgeWeights = edgeWeights;
+        this.ids = graph.nodeIDs();
+        this.size = graph.size();
+        this.blockSize = blockSize;
+        this.dist = new float[size][size];
+        this.next = new int[size][size];
+
+        initialize();
+    }
+
+    private void initialize() {
+        for (int i = 0; i < size; i++) {
+            final float[] distRow = dist[i];
+            final int[] nextRow = next[i];
+
+            Arrays.fill(distRow, Float.POSITIVE_INFINITY);
+            Arrays.fill(nextRow, NO_PATH);
+
+            final N src = ids.getNode(i);
+
+            for (E edge : graph.getOutgoingEdges(src)) {
+                final int j = ids.getNodeId(graph.getTarget(edge));
+                if (j == i) {
+                    continue;
+                }
+
+                final float w = edgeWeights.getEdgeWeight(edge);
+                if (w < distRow[j]) {
+                    distRow[j] = w;
+                    nextRow[j] = j;
+                }
+            }
+        }
+    }
+
+    public static <N, E> APSPResult<N, E> findAPSP(Graph<N, E> graph, EdgeWeights<E> edgeWeights) {
+        BlockedFloydWarshallAPSP<N, E> fw = new BlockedFloydWarshallAPSP<>(graph, edgeWeights);
+        fw.findAPSP();
+        return fw;
+    }
+
+    public static <N, E> APSPResult<N, E> findAPSP(Graph<N, E> graph,
+                                                   EdgeWeights<E> edgeWeights,
+                                                   ForkJoinPool pool) {
+        BlockedFloydWarshallAPSP<N, E> fw = new BlockedFloydWarshallAPSP<>(graph, edgeWeights);
+        fw.findAPSP(pool);
+        return fw;
+    }
+
+    /**
+     * Computes the shortest paths sequentially.
+     */
+    public void findAPSP() {
+        findAPSPInternal(null);
+    }
+
+    /**
+     * Computes the shortest paths in parallel.
+     *
+     * @param pool
+     *         the pool whose threads are used for updating independent blocks
+     */
+    public void findAPSP(ForkJoinPool pool) {
+        findAPSPInternal(pool);
+    }
+
+    private void findAPSPInternal(@Nullable ForkJoinPool pool) {
+        final int numBlocks = (size + blockSize - 1) / blockSize;
+
+        for (int kb = 0; kb < numBlocks; kb++) {
+            final int k = kb;
+
+            // phase 1: the diagonal block depends only on itself
+            updateBlock(k, k, k);
+
+            // phase 2: the remaining blocks of row k and column k depend on themselves and the diagonal block
+            forEachBlock(pool, numBlocks, b -> {
+                if (b != k) {
+                    updateBlock(k, b, k);
+                    updateBlock(b, k, k);
+                }
+            });
+
+            // phase 3: all other blocks depend only on the blocks of row k and column k
+            forEachBlock(pool, numBlocks, ib -> {
+                if (ib != k) {
+                    for (int jb = 0; jb < numBlocks; jb++) {
+                        if (jb != k) {
+                            updateBlock(ib, jb, k);
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    private static void forEachBlock(@Nullable ForkJoinPool pool, int numBlocks, IntConsumer action) {
+        if (pool == null) {
+            for (int b = 0; b < numBlocks; b++) {
+                action.accept(b);
+            }
+        } else {
+            ParallelUtil.forEachChunk(pool, 0, numBlocks, 1, (low, high) -> {
+                for (int b = low; b < high; b++) {
+                    action.accept(b);
+                }
+            });
+        }
+    }
+
+    /**
+     * Relaxes the distances of block ({@code ib}, {@code jb}) via the intermediate nodes of block {@code kb}.
+     */
+    private void updateBlock(int ib, int jb, int kb) {
+        final int iLow = ib * blockSize, iHigh = Math.min(iLow + blockSize, size);
+        final int jLow = jb * blockSize, jHigh = Math.min(jLow + blockSize, size);
+        final int kLow = kb * blockSize, kHigh = Math.min(kLow + blockSize, size);
+
+        for (int k = kLow; k < kHigh; k++) {
+            final float[] distK = dist[k];
+
+            for (int i = iLow; i < iHigh; i++) {
+                final float[] distI = dist[i];
+                final float distIK = distI[k];
+
+                if (distIK == Float.POSITIVE_INFINITY) {
+                    continue;
+                }
+
+                final int[] nextI = next[i];
+                final int nextIK = nextI[k];
+
+                for (int j = jLow; j < jHigh; j++) {
+                    final float total = distIK + distK[j];
+                    // paths from a node to itself are not considered (see FloydWarshallAPSP)
+                    if (total < distI[j] && j != i) {
+                        distI[j] = total;
+                        nextI[j] = nextIK;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public float getShortestPathDistance(N src, N tgt) {
+        final float d = dist[ids.getNodeId(src)][ids.getNodeId(tgt)];
+        return d == Float.POSITIVE_INFINITY ? Graphs.INVALID_DISTANCE : d;
+    }
+
+    @Override
+    public @Nullable List<E> getShortestPath(N src, N tgt) {
+        final int srcId = ids.getNodeId(src), tgtId = ids.getNodeId(tgt);
+
+        if (next[srcId][tgtId] == NO_PATH) {
+            return null;
+        }
+
+        final List<E> result = new ArrayList<>();
+
+        int curr = srcId;
+        while (curr != tgtId) {
+            final int succ = next[curr][tgtId];
+            result.add(findCheapestEdge(curr, succ));
+            curr = succ;
+        }
+
+        return result;
+    }
+
+    @SuppressWarnings("nullness") // a (cheapest) edge is guaranteed to exist for every next-hop
+    private E findCheapestEdge(int src, int tgt) {
+        E result = null;
+        float weight = Float.POSITIVE_INFINITY;
+
+        for (E edge : graph.getOutgoingEdges(ids.getNode(src))) {
+            if (ids.getNodeId(graph.getTarget(edge)) == tgt) {
+                final float w = edgeWeights.getEdgeWeight(edge);
+                if (result == null || w < weight) {
+                    result = edge;
+                    weight = w;
+                }
+            }
+        }
+
+        return result;
+    }
+}
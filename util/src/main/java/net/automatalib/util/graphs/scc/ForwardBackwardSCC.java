@@ -0,0 +1,277 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.scc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A parallel implementation of the forward-backward (FB) algorithm for finding all strongly-connected components (SCCs)
+ * of an {@link IntAdjacency adjacency structure}.
+ * <p>
+ * Each sub-problem of the algorithm is identified by a color. The forward-reachable and the backward-reachable nodes of
+ * a (randomly chosen) pivot node within a sub-problem intersect in the SCC of the pivot, and the three remaining parts
+ * (forward-only, backward-only, unreachable) form independent sub-problems, which are processed in parallel. Before the
+ * recursion, nodes that (transitively) have no predecessors or no successors are trimmed as trivial SCCs. Sub-problems
+ * below a certain size are solved sequentially by a color-restricted {@link PearceSCC}.
+ * <p>
+ * As the node sets of concurrently processed sub-problems are disjoint and fresh colors are never reused, each task
+ * only writes the array entries of its own nodes and never mistakes a node of another task for one of its own.
+ *
+ * @author agent
+ */
+final class ForwardBackwardSCC {
+
+    /**
+     * The default size of sub-problems below which the SCCs are computed sequentially.
+     */
+    static final int DEFAULT_SEQUENTIAL_THRESHOLD = 1 << 14;
+
+    private static final int DONE = -1;
+
+    private final IntAdjacency forward;
+    private final IntAdjacency backward;
+    private final int sequentialThreshold;
+
+    private final int[] colors;
+    private final int[] rindex;
+    private final boolean[] root;
+    private final int[] sccIds;
+    private final AtomicInteger colorCounter;
+    private final AtomicInteger sccCounter;
+
+    private ForwardBackwardSCC(IntAdjacency forward, int[] sccIds, int sequentialThreshold) {
+        final int size = forward.size;
+
+        this.forward = forward;
+        this.backward = forward.transpose();
+        this.sequentialThreshold = sequentialThreshold;
+        this.colors = new int[size];
+        this.rindex = new int[size];
+        this.root = new boolean[size];
+        this.sccIds = sccIds;
+        this.colorCounter = new AtomicInteger();
+        this.sccCounter = new AtomicInteger();
+    }
+
+    /**
+     * Computes the strongly-connected components of the given adjacency structure.
+     *
+     * @param adjacency
+     *         the adjacency structure
+     * @param sccIds
+     *         the array to store the component ids of the nodes in
+     * @param pool
+     *         the pool whose threads are used for processing independent sub-problems
+     * @param sequentialThreshold
+     *         the size of sub-problems below which the SCCs are computed sequentially
+     *
+     * @return the number of components
+     */
+    static int computeSCCs(IntAdjacency adjacency, int[] sccIds, ForkJoinPool pool, int sequentialThreshold) {
+        final ForwardBackwardSCC fb = new ForwardBackwardSCC(adjacency, sccIds, sequentialThreshold);
+        final int[] remaining = fb.trim();
+
+        if (remaining.length > 0) {
+            pool.invoke(fb.new FBTask(remaining, 0));
+        }
+
+        return fb.sccCounter.get();
+    }
+
+    /**
+     * Iteratively removes all nodes without (remaining) predecessors or successors, each of which forms a trivial SCC.
+     *
+     * @return the nodes that have not been trimmed
+     */
+    private int[] trim() {
+        final int size = forward.size;
+        final int[] inDegree = new int[size];
+        final int[] outDegree = new int[size];
+        final int[] queue = new int[size];
+        int head = 0, tail = 0;
+
+        for (int v = 0; v < size; v++) {
+            for (int e = forward.offsets[v]; e < forward.offsets[v + 1]; e++) {
+                final int w = forward.targets[e];
+                if (w != v) {
+                    outDegree[v]++;
+                    inDegree[w]++;
+                }
+            }
+        }
+
+        for (int v = 0; v < size; v++) {
+            if (inDegree[v] == 0 || outDegree[v] == 0) {
+                colors[v] = DONE;
+                queue[tail++] = v;
+            }
+        }
+
+        while (head < tail) {
+            final int v = queue[head++];
+            sccIds[v] = sccCounter.getAndIncrement();
+
+            for (int e = forward.offsets[v]; e < forward.offsets[v + 1]; e++) {
+                final int w = forward.targets[e];
+                if (colors[w] != DONE && --inDegree[w] == 0) {
+                    colors[w] = DONE;
+                    queue[tail++] = w;
+                }
+            }
+            for (int e = backward.offsets[v]; e < backward.offsets[v + 1]; e++) {
+                final int u = backward.targets[e];
+                if (colors[u] != DONE && --outDegree[u] == 0) {
+                    colors[u] = DONE;
+                    queue[tail++] = u;
+                }
+            }
+        }
+
+        final int[] remaining = new int[size - tail];
+        int idx = 0;
+        for (int v = 0; v < size; v++) {
+            if (colors[v] != DONE) {
+                remaining[idx++] = v;
+            }
+        }
+
+        return remaining;
+    }
+
+    private final class FBTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private int @Nullable [] nodes;
+        private final int color;
+
+        FBTask(int[] nodes, int color) {
+            this.nodes = nodes;
+            this.color = color;
+        }
+
+        @Override
+        @SuppressWarnings("nullness") // tasks are only computed once
+        protected void compute() {
+            if (nodes.length <= sequentialThreshold) {
+                final int[] taskNodes = nodes;
+                nodes = null;
+                new PearceSCC(forward, colors, color, rindex, root, sccIds, sccCounter, taskNodes.length).computeSCCs(
+                        taskNodes);
+            } else {
+                invokeAll(split());
+            }
+        }
+
+        @SuppressWarnings("nullness") // tasks are only computed once
+        private List<FBTask> split() {
+            final int[] taskNodes = nodes;
+            // release the node set, so that it does not stay reachable during the recursion
+            nodes = null;
+
+            final int pivot = taskNodes[ThreadLocalRandom.current().nextInt(taskNodes.length)];
+            final int fwColor = colorCounter.incrementAndGet();
+            final int bwColor = colorCounter.incrementAndGet();
+            final int[] queue = new int[taskNodes.length];
+
+            // forward search: mark all reachable nodes of this sub-problem with fwColor
+            int head = 0, tail = 0;
+            colors[pivot] = fwColor;
+            queue[tail++] = pivot;
+
+            while (head < tail) {
+                final int v = queue[head++];
+                for (int e = forward.offsets[v]; e < forward.offsets[v + 1]; e++) {
+                    final int w = forward.targets[e];
+                    if (colors[w] == color) {
+                        colors[w] = fwColor;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+
+            // backward search: nodes that are both forward- and backward-reachable form the SCC of the pivot
+            final int scc = sccCounter.getAndIncrement();
+            head = 0;
+            tail = 0;
+            colors[pivot] = DONE;
+            sccIds[pivot] = scc;
+            queue[tail++] = pivot;
+
+            while (head < tail) {
+                final int v = queue[head++];
+                for (int e = backward.offsets[v]; e < backward.offsets[v + 1]; e++) {
+                    final int u = backward.targets[e];
+                    final int c = colors[u];
+                    if (c == fwColor) {
+                        colors[u] = DONE;
+                        sccIds[u] = scc;
+                        queue[tail++] = u;
+                    } else if (c == color) {
+                        colors[u] = bwColor;
+                        queue[tail++] = u;
+                    }
+                }
+            }
+
+            int numFw = 0, numBw = 0, numRest = 0;
+            for (int v : taskNodes) {
+                final int c = colors[v];
+                if (c == fwColor) {
+                    numFw++;
+                } else if (c == bwColor) {
+                    numBw++;
+                } else if (c == color) {
+                    numRest++;
+                }
+            }
+
+            final int[] fw = new int[numFw], bw = new int[numBw], rest = new int[numRest];
+            numFw = 0;
+            numBw = 0;
+            numRest = 0;
+            for (int v : taskNodes) {
+                final int c = colors[v];
+                if (c == fwColor) {
+                    fw[numFw++] = v;
+                } else if (c == bwColor) {
+                    bw[numBw++] = v;
+                } else if (c == color) {
+                    rest[numRest++] = v;
+                }
+            }
+
+            final List<FBTask> result = new ArrayList<>(3);
+            if (fw.length > 0) {
+                result.add(new FBTask(fw, fwColor));
+            }
+            if (bw.length > 0) {
+                result.add(new FBTask(bw, bwColor));
+            }
+            if (rest.length > 0) {
+                result.add(new FBTask(rest, color));
+            }
+            return result;
+        }
+    }
+}
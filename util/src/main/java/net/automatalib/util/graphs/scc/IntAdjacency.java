@@ -0,0 +1,115 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.scc;
+
+import java.util.Arrays;
+
+import net.automatalib.automata.simple.SimpleDeterministicAutomaton.FullIntAbstraction;
+import net.automatalib.automata.simple.SimpleDeterministicAutomaton.IntAbstraction;
+import net.automatalib.commons.smartcollections.ArrayUtil;
+import net.automatalib.graphs.Graph;
+import net.automatalib.graphs.concepts.NodeIDs;
+
+/**
+ * An immutable adjacency structure over the integer nodes {@code [0, size - 1]} in compressed sparse row format: the
+ * successors of node {@code v} are stored in {@code targets[offsets[v]]} to {@code targets[offsets[v + 1] - 1]}.
+ *
+ * @author agent
+ */
+final class IntAdjacency {
+
+    final int size;
+    final int[] offsets;
+    final int[] targets;
+
+    private IntAdjacency(int size, int[] offsets, int[] targets) {
+        this.size = size;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    static <N, E> IntAdjacency of(Graph<N, E> graph) {
+        final NodeIDs<N> ids = graph.nodeIDs();
+        final int size = graph.size();
+        final int[] offsets = new int[size + 1];
+        int[] targets = new int[size];
+        int numEdges = 0;
+
+        for (int i = 0; i < size; i++) {
+            offsets[i] = numEdges;
+            for (E edge : graph.getOutgoingEdges(ids.getNode(i))) {
+                if (numEdges == targets.length) {
+                    targets = Arrays.copyOf(targets, ArrayUtil.computeNewCapacity(targets.length, numEdges + 1));
+                }
+                targets[numEdges++] = ids.getNodeId(graph.getTarget(edge));
+            }
+        }
+        offsets[size] = numEdges;
+
+        return new IntAdjacency(size, offsets, targets);
+    }
+
+    static IntAdjacency of(FullIntAbstraction abs) {
+        final int size = abs.size();
+        final int numInputs = abs.numInputs();
+        final int[] offsets = new int[size + 1];
+        int[] targets = new int[size];
+        int numEdges = 0;
+
+        for (int i = 0; i < size; i++) {
+            offsets[i] = numEdges;
+            for (int j = 0; j < numInputs; j++) {
+                final int succ = abs.getSuccessor(i, j);
+                if (succ != IntAbstraction.INVALID_STATE) {
+                    if (numEdges == targets.length) {
+                        targets = Arrays.copyOf(targets, ArrayUtil.computeNewCapacity(targets.length, numEdges + 1));
+                    }
+                    targets[numEdges++] = succ;
+                }
+            }
+        }
+        offsets[size] = numEdges;
+
+        return new IntAdjacency(size, offsets, targets);
+    }
+
+    /**
+     * Computes the adjacency structure of the transposed graph, i.e., the graph with all edges reversed.
+     *
+     * @return the transposed adjacency structure
+     */
+    IntAdjacency transpose() {
+        final int numEdges = offsets[size];
+        final int[] revOffsets = new int[size + 1];
+        final int[] revTargets = new int[numEdges];
+
+        for (int e = 0; e < numEdges; e++) {
+            revOffsets[targets[e] + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            revOffsets[i + 1] += revOffsets[i];
+        }
+
+        final int[] pos = Arrays.copyOf(revOffsets, size);
+        for (int v = 0; v < size; v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                revTargets[pos[targets[e]]++] = v;
+            }
+        }
+
+        return new IntAdjacency(size, revOffsets, revTargets);
+    }
+}
@@ -0,0 +1,219 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.scc;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An iterative implementation of Pearce's variant of Tarjan's algorithm for finding all strongly-connected components
+ * (SCCs) of an {@link IntAdjacency adjacency structure}.
+ * <p>
+ * The depth-first search is realized via explicit stacks (of node ids and edge positions) and hence does not recurse.
+ * Apart from the {@code int} stacks, the algorithm only requires a single {@code int} index and a single root flag per
+ * node (see: D. J. Pearce, "A space-efficient algorithm for finding strongly connected components", Information
+ * Processing Letters, 2016). Components are reported in reverse topological order, i.e., no component has an edge to
+ * a component that has been found later.
+ * <p>
+ * The search may be restricted to the nodes of a specific color (see {@link ForwardBackwardSCC}). In this case, the
+ * shared arrays are only accessed at positions of the respective nodes, which allows to run multiple (differently
+ * colored) searches concurrently.
+ *
+ * @author agent
+ */
+final class PearceSCC {
+
+    private static final int UNVISITED = 0;
+    private static final int FINISHED = Integer.MAX_VALUE;
+
+    private final IntAdjacency adjacency;
+    private final int @Nullable [] colors;
+    private final int color;
+    private final int[] rindex;
+    private final boolean[] root;
+    private final int[] sccIds;
+    private final AtomicInteger sccCounter;
+
+    // call stack
+    private final int[] callNodes;
+    private final int[] callEdges;
+    // stack of visited nodes whose component has not been finished yet
+    private final int[] stack;
+    private int stackSize;
+    private int index;
+
+    /**
+     * Constructor.
+     *
+     * @param adjacency
+     *         the adjacency structure
+     * @param colors
+     *         the node colors, or {@code null} if the search should not be restricted
+     * @param color
+     *         the color of the nodes to consider, ignored if {@code colors} is {@code null}
+     * @param rindex
+     *         the (shared) index array, must contain {@code 0} for all nodes of the search
+     * @param root
+     *         the (shared) root flag array
+     * @param sccIds
+     *         the (shared) array to store the component ids of the nodes in
+     * @param sccCounter
+     *         the (shared) counter for assigning component ids
+     * @param capacity
+     *         the maximum number of nodes of the search
+     */
+    PearceSCC(IntAdjacency adjacency,
+              int @Nullable [] colors,
+              int color,
+              int[] rindex,
+              boolean[] root,
+              int[] sccIds,
+              AtomicInteger sccCounter,
+              int capacity) {
+        this.adjacency = adjacency;
+        this.colors = colors;
+        this.color = color;
+        this.rindex = rindex;
+        this.root = root;
+        this.sccIds = sccIds;
+        this.sccCounter = sccCounter;
+        this.callNodes = new int[capacity];
+        this.callEdges = new int[capacity];
+        this.stack = new int[capacity];
+        this.index = 1;
+    }
+
+    /**
+     * Computes the strongly-connected components of the complete adjacency structure.
+     *
+     * @param adjacency
+     *         the adjacency structure
+     * @param sccIds
+     *         the array to store the component ids of the nodes in
+     *
+     * @return the number of components
+     */
+    static int computeSCCs(IntAdjacency adjacency, int[] sccIds) {
+        final int size = adjacency.size;
+        final AtomicInteger counter = new AtomicInteger();
+        final PearceSCC pearce =
+                new PearceSCC(adjacency, null, 0, new int[size], new boolean[size], sccIds, counter, size);
+
+        for (int v = 0; v < size; v++) {
+            if (pearce.rindex[v] == UNVISITED) {
+                pearce.visit(v);
+            }
+        }
+
+        return counter.get();
+    }
+
+    /**
+     * Computes the strongly-connected components of the given nodes (which all need to have the color of this search).
+     *
+     * @param nodes
+     *         the nodes
+     */
+    void computeSCCs(int[] nodes) {
+        for (int v : nodes) {
+            if (rindex[v] == UNVISITED) {
+                visit(v);
+            }
+        }
+    }
+
+    private void visit(int start) {
+        final int[] offsets = adjacency.offsets;
+        final int[] targets = adjacency.targets;
+
+        int callSize = 0;
+        beginVisiting(start);
+        callNodes[callSize] = start;
+        callEdges[callSize++] = offsets[start];
+
+        while (callSize > 0) {
+            final int v = callNodes[callSize - 1];
+            final int end = offsets[v + 1];
+            int e = callEdges[callSize - 1];
+            boolean descend = false;
+
+            while (e < end) {
+                final int w = targets[e++];
+
+                if (colors != null && colors[w] != color) {
+                    continue;
+                }
+
+                if (rindex[w] == UNVISITED) {
+                    callEdges[callSize - 1] = e;
+                    beginVisiting(w);
+                    callNodes[callSize] = w;
+                    callEdges[callSize++] = offsets[w];
+                    descend = true;
+                    break;
+                }
+
+                updateIndex(v, w);
+            }
+
+            if (descend) {
+                continue;
+            }
+
+            callSize--;
+            finishVisiting(v);
+
+            if (callSize > 0) {
+                updateIndex(callNodes[callSize - 1], v);
+            }
+        }
+    }
+
+    private void beginVisiting(int v) {
+        rindex[v] = index++;
+        root[v] = true;
+    }
+
+    private void updateIndex(int v, int w) {
+        // finished nodes have maximal index and are therefore ignored
+        if (rindex[w] < rindex[v]) {
+            rindex[v] = rindex[w];
+            root[v] = false;
+        }
+    }
+
+    private void finishVisiting(int v) {
+        if (!root[v]) {
+            stack[stackSize++] = v;
+            return;
+        }
+
+        final int scc = sccCounter.getAndIncrement();
+        final int vIndex = rindex[v];
+
+        index--;
+        while (stackSize > 0 && vIndex <= rindex[stack[stackSize - 1]]) {
+            final int w = stack[--stackSize];
+            rindex[w] = FINISHED;
+            sccIds[w] = scc;
+            index--;
+        }
+
+        rindex[v] = FINISHED;
+        sccIds[v] = scc;
+    }
+}
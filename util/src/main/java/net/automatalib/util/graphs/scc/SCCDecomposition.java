@@ -0,0 +1,97 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.scc;
+
+import java.util.Arrays;
+
+/**
+ * The decomposition of a graph (whose nodes are identified by the integers {@code [0, size - 1]}, see {@link
+ * net.automatalib.graphs.concepts.NodeIDs}) into its strongly-connected components (SCCs). The SCCs are identified by
+ * the integers {@code [0, getNumSCCs() - 1]}.
+ *
+ * @author agent
+ * @see SCCs#computeSCCs(net.automatalib.graphs.Graph)
+ */
+public final class SCCDecomposition {
+
+    private final int[] sccIds;
+    // the nodes of SCC i are stored in members[offsets[i]] to members[offsets[i + 1] - 1]
+    private final int[] offsets;
+    private final int[] members;
+
+    SCCDecomposition(int[] sccIds, int numSCCs) {
+        this.sccIds = sccIds;
+        this.offsets = new int[numSCCs + 1];
+        this.members = new int[sccIds.length];
+
+        for (int id : sccIds) {
+            offsets[id + 1]++;
+        }
+        for (int i = 0; i < numSCCs; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        final int[] pos = Arrays.copyOf(offsets, numSCCs);
+        for (int v = 0; v < sccIds.length; v++) {
+            members[pos[sccIds[v]]++] = v;
+        }
+    }
+
+    /**
+     * Returns the number of SCCs.
+     *
+     * @return the number of SCCs
+     */
+    public int getNumSCCs() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Returns the id of the SCC that contains the given node.
+     *
+     * @param node
+     *         the node id
+     *
+     * @return the id of the SCC of the node
+     */
+    public int getSCCId(int node) {
+        return sccIds[node];
+    }
+
+    /**
+     * Returns the number of nodes of the given SCC.
+     *
+     * @param scc
+     *         the SCC id
+     *
+     * @return the number of nodes of the SCC
+     */
+    public int getSCCSize(int scc) {
+        return offsets[scc + 1] - offsets[scc];
+    }
+
+    /**
+     * Returns the nodes of the given SCC in ascending order.
+     *
+     * @param scc
+     *         the SCC id
+     *
+     * @return the (ids of the) nodes of the SCC
+     */
+    public int[] getSCCNodes(int scc) {
+        return Arrays.copyOfRange(members, offsets[scc], offsets[scc + 1]);
+    }
+}
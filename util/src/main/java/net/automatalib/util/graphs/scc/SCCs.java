@@ -16,9 +16,12 @@
 package net.automatalib.util.graphs.scc;
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
+import net.automatalib.automata.simple.SimpleDeterministicAutomaton;
 import net.automatalib.graphs.Graph;
 import net.automatalib.util.graphs.traversal.GraphTraversal;
+import net.automatalib.words.Alphabet;
 
 /**
  * Algorithms for finding strongly-connected components (SCCs) in a graph.
@@ -69,4 +72,92 @@ public final class SCCs {
         }
     }
 
+    /**
+     * Computes the strongly-connected components of a graph, whose nodes are identified by their {@link
+     * Graph#nodeIDs() node ids}.
+     * <p>
+     * In contrast to {@link #findSCCs(Graph, SCCListener)}, the SCCs are computed by an iterative (i.e.,
+     * non-recursive) variant of Tarjan's algorithm due to Pearce, which operates on primitive arrays only. The SCC ids
+     * of the returned decomposition reflect a reverse topological order, i.e., there exists no edge from a node of an
+     * SCC to a node of an SCC with a greater id.
+     *
+     * @param graph
+     *         the graph
+     *
+     * @return the decomposition of the graph into its SCCs
+     */
+    public static <N, E> SCCDecomposition computeSCCs(Graph<N, E> graph) {
+        return computeSCCs(IntAdjacency.of(graph));
+    }
+
+    /**
+     * Computes the strongly-connected components of a graph, whose nodes are identified by their {@link
+     * Graph#nodeIDs() node ids}, using the threads of the given pool.
+     * <p>
+     * The SCCs are computed by the forward-backward algorithm, which recursively splits the graph into independent
+     * sub-graphs that are processed in parallel. In contrast to {@link #computeSCCs(Graph)}, the SCC ids of the returned
+     * decomposition do not reflect a topological order.
+     *
+     * @param graph
+     *         the graph
+     * @param pool
+     *         the pool whose threads are used for the computation
+     *
+     * @return the decomposition of the graph into its SCCs
+     */
+    public static <N, E> SCCDecomposition computeSCCs(Graph<N, E> graph, ForkJoinPool pool) {
+        return computeSCCs(IntAdjacency.of(graph), pool, ForwardBackwardSCC.DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * Computes the strongly-connected components of the transition graph of a deterministic automaton, whose states are
+     * identified by the state ids of its {@link SimpleDeterministicAutomaton#fullIntAbstraction(Alphabet) integer
+     * abstraction}. See {@link #computeSCCs(Graph)} for details.
+     *
+     * @param automaton
+     *         the automaton
+     * @param alphabet
+     *         the input symbols to consider
+     *
+     * @return the decomposition of the transition graph into its SCCs
+     */
+    public static <I> SCCDecomposition computeSCCs(SimpleDeterministicAutomaton<?, I> automaton,
+                                                   Alphabet<I> alphabet) {
+        return computeSCCs(IntAdjacency.of(automaton.fullIntAbstraction(alphabet)));
+    }
+
+    /**
+     * Computes the strongly-connected components of the transition graph of a deterministic automaton, whose states are
+     * identified by the state ids of its {@link SimpleDeterministicAutomaton#fullIntAbstraction(Alphabet) integer
+     * abstraction}, using the threads of the given pool. See {@link #computeSCCs(Graph, ForkJoinPool)} for details.
+     *
+     * @param automaton
+     *         the automaton
+     * @param alphabet
+     *         the input symbols to consider
+     * @param pool
+     *         the pool whose threads are used for the computation
+     *
+     * @return the decomposition of the transition graph into its SCCs
+     */
+    public static <I> SCCDecomposition computeSCCs(SimpleDeterministicAutomaton<?, I> automaton,
+                                                   Alphabet<I> alphabet,
+                                                   ForkJoinPool pool) {
+        return computeSCCs(IntAdjacency.of(automaton.fullIntAbstraction(alphabet)),
+                           pool,
+                           ForwardBackwardSCC.DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    static SCCDecomposition computeSCCs(IntAdjacency adjacency) {
+        final int[] sccIds = new int[adjacency.size];
+        final int numSCCs = PearceSCC.computeSCCs(adjacency, sccIds);
+        return new SCCDecomposition(sccIds, numSCCs);
+    }
+
+    static SCCDecomposition computeSCCs(IntAdjacency adjacency, ForkJoinPool pool, int sequentialThreshold) {
+        final int[] sccIds = new int[adjacency.size];
+        final int numSCCs = ForwardBackwardSCC.computeSCCs(adjacency, sccIds, pool, sequentialThreshold);
+        return new SCCDecomposition(sccIds, numSCCs);
+    }
+
 }
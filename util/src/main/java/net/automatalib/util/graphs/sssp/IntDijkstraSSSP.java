@@ -0,0 +1,182 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.sssp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import net.automatalib.commons.smartcollections.IndexedFloatHeap;
+import net.automatalib.graphs.Graph;
+import net.automatalib.graphs.concepts.EdgeWeights;
+import net.automatalib.graphs.concepts.NodeIDs;
+import net.automatalib.util.graphs.Graphs;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Implementation of Dijkstras algorithm for the single-source shortest path problem, which operates on the {@link
+ * NodeIDs node ids} of a graph.
+ * <p>
+ * In contrast to {@link DijkstraSSSP}, this implementation does not allocate a record object (and a node mapping entry)
+ * per node, but stores the distances and shortest-path trees in primitive arrays and uses an {@link IndexedFloatHeap}
+ * as its priority queue. The results of both implementations coincide, except for the choice between multiple shortest
+ * paths of equal length.
+ *
+ * @param <N>
+ *         node class
+ * @param <E>
+ *         edge class
+ *
+ * @author agent
+ */
+public class IntDijkstraSSSP<N, E> implements SSSPResult<N, E> {
+
+    private static final int NO_PARENT = -1;
+
+    private final Graph<N, E> graph;
+    private final NodeIDs<N> ids;
+    private final N init;
+    private final EdgeWeights<E> edgeWeights;
+
+    private final float[] dist;
+    private final int[] parents;
+    private final @Nullable E[] reach;
+    private boolean searched;
+
+    /**
+     * Constructor.
+     *
+     * @param graph
+     *         the graph in which to search for shortest paths
+     * @param init
+     *         the initial node
+     * @param edgeWeights
+     *         the edge weights
+     */
+    @SuppressWarnings("unchecked")
+    public IntDijkstraSSSP(Graph<N, E> graph, N init, EdgeWeights<E> edgeWeights) {
+        final int size = graph.size();
+
+        this.graph = graph;
+        this.ids = graph.nodeIDs();
+        this.init = init;
+        this.edgeWeights = edgeWeights;
+        this.dist = new float[size];
+        this.parents = new int[size];
+        this.reach = (E[]) new Object[size];
+
+        Arrays.fill(dist, Graphs.INVALID_DISTANCE);
+        Arrays.fill(parents, NO_PARENT);
+    }
+
+    /**
+     * Search for the shortest paths from a single source node in a graph.
+     *
+     * @param graph
+     *         the graph in which to perform the search
+     * @param init
+     *         the initial (source) node
+     * @param edgeWeights
+     *         the edge weights
+     *
+     * @return the single-source shortest path results
+     */
+    public static <N, E> SSSPResult<N, E> findSSSP(Graph<N, E> graph, N init, EdgeWeights<E> edgeWeights) {
+        IntDijkstraSSSP<N, E> dijkstra = new IntDijkstraSSSP<>(graph, init, edgeWeights);
+        dijkstra.findSSSP();
+        return dijkstra;
+    }
+
+    /**
+     * Start the search. This method may only be invoked once.
+     */
+    public void findSSSP() {
+        if (searched) {
+            throw new IllegalStateException("Search has already been performed!");
+        }
+        searched = true;
+
+        final IndexedFloatHeap pq = new IndexedFloatHeap(dist.length);
+        final int initId = ids.getNodeId(init);
+
+        dist[initId] = 0.0f;
+        pq.insert(initId, 0.0f);
+
+        while (!pq.isEmpty()) {
+            // Remove node with minimum distance
+            final int node = pq.extractMin();
+            final float d = dist[node];
+
+            // edge scanning
+            for (E edge : graph.getOutgoingEdges(ids.getNode(node))) {
+                final float newDist = d + edgeWeights.getEdgeWeight(edge);
+                final int tgt = ids.getNodeId(graph.getTarget(edge));
+
+                // either the node has not been visited before or the current edge decreases its current distance
+                if (dist[tgt] == Graphs.INVALID_DISTANCE || newDist < dist[tgt]) {
+                    dist[tgt] = newDist;
+                    parents[tgt] = node;
+                    reach[tgt] = edge;
+
+                    if (pq.contains(tgt)) {
+                        pq.decreaseKey(tgt, newDist);
+                    } else {
+                        pq.insert(tgt, newDist);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public N getInitialNode() {
+        return init;
+    }
+
+    @Override
+    public float getShortestPathDistance(N target) {
+        return dist[ids.getNodeId(target)];
+    }
+
+    @Override
+    public @Nullable List<E> getShortestPath(N target) {
+        int node = ids.getNodeId(target);
+        if (dist[node] == Graphs.INVALID_DISTANCE) {
+            return null;
+        }
+
+        if (parents[node] == NO_PARENT) {
+            return Collections.emptyList();
+        }
+
+        final List<E> result = new ArrayList<>();
+
+        E edge;
+        while ((edge = reach[node]) != null) {
+            result.add(edge);
+            node = parents[node];
+        }
+
+        Collections.reverse(result);
+        return result;
+    }
+
+    @Override
+    public @Nullable E getShortestPathEdge(N target) {
+        return reach[ids.getNodeId(target)];
+    }
+}
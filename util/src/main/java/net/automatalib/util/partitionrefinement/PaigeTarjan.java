@@ -20,6 +20,7 @@ import java.util.Iterator;
 import java.util.PrimitiveIterator;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -271,6 +272,25 @@ public class PaigeTarjan {
         }
     }
 
+    /**
+     * Refines the partition until it stabilizes, distributing the work among the threads of the given pool.
+     * <p>
+     * The resulting partition is the same as the one computed by {@link #computeCoarsestStablePartition()}. However,
+     * the {@link Block#id IDs} of the blocks and the order of the states within each block may differ. This method does
+     * not make use of the worklist, i.e., it does not need to be initialized via {@link #initWorklist(boolean)}.
+     * <p>
+     * Note that this method requires all blocks to be stored contiguously in the {@link #blockData} array (which is
+     * guaranteed by the methods of {@link PaigeTarjanInitializers}) and requires each state to occur exactly once in
+     * the predecessor lists of every input symbol, i.e., the data structure needs to describe a complete, deterministic
+     * automaton.
+     *
+     * @param pool
+     *         the pool whose threads are used for the (parallel) refinement
+     */
+    public void computeCoarsestStablePartition(ForkJoinPool pool) {
+        ParallelRefinement.refine(this, pool);
+    }
+
     private @Nullable Block poll() {
         if (worklistHead == null) {
             return null;
@@ -342,6 +362,18 @@ public class PaigeTarjan {
         return splt;
     }
 
+    /**
+     * Removes all blocks from the block list and clears the worklist. Subsequently created blocks will start with an
+     * {@link Block#id ID} of zero.
+     */
+    void clearBlocks() {
+        blocklistHead = null;
+        numBlocks = 0;
+        worklistHead = null;
+        worklistTail = null;
+        touchedHead = null;
+    }
+
     /**
      * Creates a new block. The {@link Block#low} and {@link Block#high} fields will be initialized to {@code -1}.
      *
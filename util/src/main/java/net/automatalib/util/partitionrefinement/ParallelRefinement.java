@@ -0,0 +1,274 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.partitionrefinement;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import net.automatalib.commons.util.concurrent.ParallelUtil;
+
+/**
+ * A parallel refinement procedure for the partition of a {@link PaigeTarjan} data structure.
+ * <p>
+ * Instead of processing single splitters from a worklist, this procedure refines all blocks simultaneously in
+ * (bulk-synchronous) rounds: in each round, every state is classified by its current block and the blocks of its
+ * successors. The classification is computed by hashing these values (which can be done for all states in parallel by
+ * traversing the predecessor lists of the data structure) and grouping states with identical hashes. Since hashes may
+ * collide, every round is verified exactly, also in parallel.
+ * <p>
+ * A round-based refinement may require a linear number of rounds for certain automata (e.g., long chains). Hence, as
+ * soon as a round does not make sufficient progress, the current partition is handed over to the sequential
+ * (worklist-based) algorithm of {@link PaigeTarjan#computeCoarsestStablePartition()}, which then only needs to
+ * process the remaining splits. As the coarsest stable partition is unique, the result is the same as for the
+ * sequential algorithm.
+ *
+ * @author agent
+ */
+final class ParallelRefinement {
+
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    /**
+     * A round is considered to make sufficient progress if it increases the number of blocks by at least a factor of
+     * {@code 1 + 1 / RELATIVE_GROWTH_DIVISOR}, ...
+     */
+    private static final int RELATIVE_GROWTH_DIVISOR = 2;
+
+    /**
+     * ... or if it creates at least {@code numStates / ABSOLUTE_GROWTH_DIVISOR} new blocks.
+     */
+    private static final int ABSOLUTE_GROWTH_DIVISOR = 64;
+
+    private final PaigeTarjan pt;
+    private final ForkJoinPool pool;
+    private final int numStates;
+    private final int numInputs;
+
+    private ParallelRefinement(PaigeTarjan pt, ForkJoinPool pool) {
+        this.pt = pt;
+        this.pool = pool;
+        this.numStates = pt.numStates;
+        this.numInputs = pt.numInputs;
+    }
+
+    static void refine(PaigeTarjan pt, ForkJoinPool pool) {
+        new ParallelRefinement(pt, pool).refine();
+    }
+
+    private void refine() {
+        // classification of each state, -1 for states that are not contained in any block
+        int[] cls = new int[numStates];
+        Arrays.fill(cls, -1);
+
+        int numLive = 0;
+        int numClasses = 0;
+        int dataLow = Integer.MAX_VALUE;
+
+        for (Block b : pt.blockList()) {
+            for (int i = b.low; i < b.high; i++) {
+                cls[pt.blockData[i]] = numClasses;
+            }
+            numLive += b.size();
+            numClasses++;
+            dataLow = Math.min(dataLow, b.low);
+        }
+
+        if (numLive == 0) {
+            return;
+        }
+
+        final int[] live = new int[numLive];
+        for (int s = 0, ptr = 0; s < numStates; s++) {
+            if (cls[s] >= 0) {
+                live[ptr++] = s;
+            }
+        }
+
+        final long[] hashes = new long[numStates];
+        final long[] keys = new long[numLive];
+        int[] newCls = new int[numStates];
+
+        while (true) {
+            final int newNumClasses = computeClassification(cls, newCls, live, hashes, keys);
+
+            if (newNumClasses < 0) {
+                // a hash collision was detected; continue sequentially from the last verified partition
+                break;
+            }
+            if (newNumClasses == numClasses) {
+                // no more splits, the current partition is stable
+                rebuildBlocks(cls, numClasses, live, dataLow);
+                return;
+            }
+
+            final long growth = newNumClasses - numClasses;
+            final boolean sufficientProgress =
+                    growth * RELATIVE_GROWTH_DIVISOR >= numClasses || growth * ABSOLUTE_GROWTH_DIVISOR >= numLive;
+
+            final int[] tmp = cls;
+            cls = newCls;
+            newCls = tmp;
+            numClasses = newNumClasses;
+
+            if (!sufficientProgress) {
+                break;
+            }
+        }
+
+        rebuildBlocks(cls, numClasses, live, dataLow);
+        pt.initWorklist(true);
+        pt.computeCoarsestStablePartition();
+    }
+
+    /**
+     * Computes a refined classification of the (live) states, by grouping states whose current classes and whose
+     * successors' classes coincide.
+     *
+     * @return the number of classes of the refined classification (whose class IDs are contiguous and which has been
+     * written to {@code newCls}), or {@code -1} if the exact verification of the hash-based classification failed.
+     */
+    private int computeClassification(int[] cls, int[] newCls, int[] live, long[] hashes, long[] keys) {
+        final int[] predOfsData = pt.predOfsData;
+        final int[] predData = pt.predData;
+
+        ParallelUtil.forEach(pool, 0, live.length, i -> {
+            final int s = live[i];
+            hashes[s] = cls[s];
+        });
+
+        // Every state has exactly one predecessor entry per input symbol, so each hash is only updated by a single
+        // thread in every pass
+        for (int j = 0; j < numInputs; j++) {
+            final int predOfsBase = pt.predOfsDataLow + j * numStates;
+            ParallelUtil.forEach(pool, 0, live.length, i -> {
+                final int t = live[i];
+                final int c = cls[t];
+                for (int k = predOfsData[predOfsBase + t]; k < predOfsData[predOfsBase + t + 1]; k++) {
+                    final int p = predData[k];
+                    hashes[p] = hashes[p] * HASH_MULTIPLIER + c;
+                }
+            });
+        }
+
+        ParallelUtil.forEach(pool, 0, live.length, i -> keys[i] = hashes[live[i]]);
+        pool.submit(() -> Arrays.parallelSort(keys)).join();
+
+        int numKeys = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (i == 0 || keys[i] != keys[numKeys - 1]) {
+                keys[numKeys++] = keys[i];
+            }
+        }
+
+        final int distinctKeys = numKeys;
+
+        ParallelUtil.forEach(pool, 0, live.length, i -> {
+            final int s = live[i];
+            newCls[s] = Arrays.binarySearch(keys, 0, distinctKeys, hashes[s]);
+        });
+
+        return verify(cls, newCls, distinctKeys, live) ? distinctKeys : -1;
+    }
+
+    /**
+     * Checks that all states with the same new class agree in their old class and the old classes of their successors.
+     */
+    private boolean verify(int[] cls, int[] newCls, int numNewClasses, int[] live) {
+        final int[] predOfsData = pt.predOfsData;
+        final int[] predData = pt.predData;
+
+        final int[] reps = new int[numNewClasses];
+        Arrays.fill(reps, -1);
+        for (int s : live) {
+            final int c = newCls[s];
+            if (reps[c] < 0) {
+                reps[c] = s;
+            }
+        }
+
+        final AtomicBoolean collision = new AtomicBoolean();
+
+        ParallelUtil.forEach(pool, 0, live.length, i -> {
+            final int s = live[i];
+            if (cls[s] != cls[reps[newCls[s]]]) {
+                collision.set(true);
+            }
+        });
+
+        final int[] repSuccCls = new int[numNewClasses];
+
+        for (int j = 0; j < numInputs && !collision.get(); j++) {
+            final int predOfsBase = pt.predOfsDataLow + j * numStates;
+
+            ParallelUtil.forEach(pool, 0, live.length, i -> {
+                final int t = live[i];
+                for (int k = predOfsData[predOfsBase + t]; k < predOfsData[predOfsBase + t + 1]; k++) {
+                    final int p = predData[k];
+                    final int c = newCls[p];
+                    if (reps[c] == p) {
+                        repSuccCls[c] = cls[t];
+                    }
+                }
+            });
+
+            ParallelUtil.forEach(pool, 0, live.length, i -> {
+                final int t = live[i];
+                final int c = cls[t];
+                for (int k = predOfsData[predOfsBase + t]; k < predOfsData[predOfsBase + t + 1]; k++) {
+                    if (repSuccCls[newCls[predData[k]]] != c) {
+                        collision.set(true);
+                    }
+                }
+            });
+        }
+
+        return !collision.get();
+    }
+
+    /**
+     * Re-creates the blocks of the partition refinement data structure from the given classification. States are
+     * stored in ascending order within each block.
+     */
+    private void rebuildBlocks(int[] cls, int numClasses, int[] live, int dataLow) {
+        final int[] offsets = new int[numClasses + 1];
+        for (int s : live) {
+            offsets[cls[s] + 1]++;
+        }
+        offsets[0] = dataLow;
+        for (int c = 0; c < numClasses; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+
+        pt.clearBlocks();
+
+        final Block[] blocks = new Block[numClasses];
+        for (int c = 0; c < numClasses; c++) {
+            final Block b = pt.createBlock();
+            b.low = offsets[c];
+            b.high = offsets[c + 1];
+            blocks[c] = b;
+        }
+
+        for (int s : live) {
+            final int c = cls[s];
+            final int pos = offsets[c]++;
+            pt.blockData[pos] = s;
+            pt.posData[pt.posDataLow + s] = pos;
+            pt.blockForState[s] = blocks[c];
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.acceptors;
+
+import net.automatalib.words.Word;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The result of an on-the-fly exploration of the product of two acceptors, which searches for a word that is accepted
+ * by the product with respect to some {@link AcceptanceCombiner}.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author agent
+ */
+public final class ProductSearchResult<I> {
+
+    private final @Nullable Word<I> witness;
+    private final long numVisitedPairs;
+
+    public ProductSearchResult(@Nullable Word<I> witness, long numVisitedPairs) {
+        this.witness = witness;
+        this.numVisitedPairs = numVisitedPairs;
+    }
+
+    /**
+     * Returns the word accepted by the product, if the exploration has found one.
+     *
+     * @return the witness, or {@code null} if the product accepts the empty language
+     */
+    public @Nullable Word<I> getWitness() {
+        return witness;
+    }
+
+    /**
+     * Returns whether the product accepts the empty language, i.e., whether no witness exists.
+     *
+     * @return {@code true} if the product accepts the empty language, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return witness == null;
+    }
+
+    /**
+     * Returns the number of (distinct) state pairs that have been discovered by the exploration until it terminated.
+     * If no witness exists, this is the number of reachable states of the product.
+     *
+     * @return the number of visited state pairs
+     */
+    public long getNumVisitedPairs() {
+        return numVisitedPairs;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductSearchResult{witness=" + witness + ", numVisitedPairs=" + numVisitedPairs + '}';
+    }
+}
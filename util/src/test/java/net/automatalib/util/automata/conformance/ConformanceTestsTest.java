@@ -0,0 +1,131 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Lists;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.commons.util.comparison.CmpUtil;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * @author agent
+ */
+public class ConformanceTestsTest {
+
+    private final Alphabet<Integer> alphabet = Alphabets.integers(0, 3);
+    private final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(new Random(42), 15, alphabet);
+
+    @DataProvider(name = "depths")
+    public static Object[][] depths() {
+        return new Object[][] {{0}, {1}, {3}};
+    }
+
+    @Test(dataProvider = "depths")
+    public void testWMethod(int depth) {
+        final List<Word<Integer>> expected = Lists.newArrayList(new WMethodTestsIterator<>(dfa, alphabet, depth));
+        final List<Word<Integer>> sequential =
+                ConformanceTests.wMethodTests(dfa, alphabet, depth).collect(Collectors.toList());
+        final List<Word<Integer>> parallel =
+                ConformanceTests.wMethodTests(dfa, alphabet, depth).parallel().collect(Collectors.toList());
+
+        // the W method streams preserve the order of the iterator
+        Assert.assertEquals(sequential, expected);
+        Assert.assertEquals(parallel, expected);
+    }
+
+    @Test(dataProvider = "depths")
+    public void testWpMethod(int depth) {
+        final List<Word<Integer>> expected = Lists.newArrayList(new WpMethodTestsIterator<>(dfa, alphabet, depth));
+        final List<Word<Integer>> sequential =
+                ConformanceTests.wpMethodTests(dfa, alphabet, depth).collect(Collectors.toList());
+        final List<Word<Integer>> parallel =
+                ConformanceTests.wpMethodTests(dfa, alphabet, depth).parallel().collect(Collectors.toList());
+
+        Assert.assertEquals(parallel, sequential);
+
+        expected.sort(CmpUtil.lexComparator());
+        sequential.sort(CmpUtil.lexComparator());
+        Assert.assertEquals(sequential, expected);
+    }
+
+    @Test
+    public void testTrivialCharacterizingSet() {
+        final CompactDFA<Integer> trivial = new CompactDFA<>(alphabet);
+        final int init = trivial.addInitialState(true);
+        for (int i = 0; i < alphabet.size(); i++) {
+            trivial.setTransition(init, i, init);
+        }
+
+        final List<Word<Integer>> w = ConformanceTests.wMethodTests(trivial, alphabet, 1).collect(Collectors.toList());
+        final List<Word<Integer>> wp = ConformanceTests.wpMethodTests(trivial, alphabet, 1).collect(Collectors.toList());
+
+        Assert.assertEquals(w, Lists.newArrayList(new WMethodTestsIterator<>(trivial, alphabet, 1)));
+        Assert.assertEquals(wp.size(), Lists.newArrayList(new WpMethodTestsIterator<>(trivial, alphabet, 1)).size());
+    }
+
+    @Test
+    public void testBatches() {
+        final int batchSize = 17;
+        final List<Word<Integer>> expected = ConformanceTests.wMethodTests(dfa, alphabet, 2).collect(Collectors.toList());
+
+        final List<List<Word<Integer>>> batches = new ArrayList<>();
+        ConformanceTests.forEachBatch(ConformanceTests.wMethodTests(dfa, alphabet, 2), batchSize, batches::add);
+
+        final List<Word<Integer>> flattened = new ArrayList<>(expected.size());
+        for (int i = 0; i < batches.size(); i++) {
+            final List<Word<Integer>> batch = batches.get(i);
+            Assert.assertTrue(batch.size() <= batchSize);
+            if (i < batches.size() - 1) {
+                Assert.assertEquals(batch.size(), batchSize);
+            }
+            flattened.addAll(batch);
+        }
+
+        Assert.assertEquals(flattened, expected);
+
+        final ConcurrentLinkedQueue<List<Word<Integer>>> parallelBatches = new ConcurrentLinkedQueue<>();
+        ConformanceTests.forEachBatch(ConformanceTests.wMethodTests(dfa, alphabet, 2).parallel(),
+                                      batchSize,
+                                      parallelBatches::add);
+
+        final List<Word<Integer>> parallelFlattened = new ArrayList<>(expected.size());
+        for (List<Word<Integer>> batch : parallelBatches) {
+            Assert.assertTrue(batch.size() <= batchSize);
+            parallelFlattened.addAll(batch);
+        }
+
+        parallelFlattened.sort(CmpUtil.lexComparator());
+        expected.sort(CmpUtil.lexComparator());
+        Assert.assertEquals(parallelFlattened, expected);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidBatchSize() {
+        ConformanceTests.forEachBatch(ConformanceTests.wMethodTests(dfa, alphabet, 0), 0, batch -> {});
+    }
+}
@@ -17,6 +17,7 @@ package net.automatalib.util.automata.equivalence;
 
 import java.util.Collection;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import net.automatalib.automata.UniversalDeterministicAutomaton;
 import net.automatalib.automata.concepts.Output;
@@ -95,6 +96,54 @@ public class DeterministicEquivalenceTestTest {
         testForEmptySepWord(uninit, empty, alphabet);
     }
 
+    @Test
+    public void testParallel() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final Alphabet<Character> outputAlphabet = Alphabets.characters('a', 'c');
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            for (int i = 0; i < 20; i++) {
+                final CompactDFA<Integer> dfa1 =
+                        RandomAutomata.randomDFA(RANDOM, AUTOMATON_SIZE_LARGE, alphabet, false);
+                final CompactDFA<Integer> dfa2 = new CompactDFA<>(dfa1);
+
+                // modify a random transition, which may or may not change the language
+                final int state = RANDOM.nextInt(AUTOMATON_SIZE_LARGE);
+                final int input = RANDOM.nextInt(alphabet.size());
+                if (i % 4 == 0) {
+                    dfa2.setTransition(state, alphabet.getSymbol(input), null);
+                } else {
+                    final int succ = RANDOM.nextInt(AUTOMATON_SIZE_LARGE);
+                    dfa2.setTransition(state, input, succ);
+                }
+
+                checkParallel(dfa1, dfa1, alphabet, pool);
+                checkParallel(dfa1, dfa2, alphabet, pool);
+                checkParallel(dfa2, dfa1, alphabet, pool);
+
+                final MealyMachine<?, Integer, ?, Character> mealy1 =
+                        RandomAutomata.randomMealy(RANDOM, AUTOMATON_SIZE_LARGE, alphabet, outputAlphabet, false);
+                final MealyMachine<?, Integer, ?, Character> mealy2 =
+                        RandomAutomata.randomMealy(RANDOM, AUTOMATON_SIZE_LARGE, alphabet, outputAlphabet, false);
+
+                checkParallel(mealy1, mealy2, alphabet, pool);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static <I> void checkParallel(UniversalDeterministicAutomaton<?, I, ?, ?, ?> a1,
+                                          UniversalDeterministicAutomaton<?, I, ?, ?, ?> a2,
+                                          Collection<? extends I> inputs,
+                                          ForkJoinPool pool) {
+        final Word<I> expected = DeterministicEquivalenceTest.findSeparatingWordLarge(a1, a2, inputs);
+        final Word<I> actual = DeterministicEquivalenceTest.findSeparatingWord(a1, a2, inputs, pool);
+
+        Assert.assertEquals(actual, expected);
+    }
+
     private static <I> void testForEmptySepWord(UniversalDeterministicAutomaton<?, I, ?, ?, ?> a1,
                                                 UniversalDeterministicAutomaton<?, I, ?, ?, ?> a2,
                                                 Collection<? extends I> inputs) {
@@ -121,6 +170,17 @@ public class DeterministicEquivalenceTestTest {
         final Word<I> sepWord4 = DeterministicEquivalenceTest.findSeparatingWordLarge(a2, a1, inputs);
         Assert.assertEquals(sepWord4, Word.epsilon());
         Assert.assertNotEquals(a1.getState(sepWord4), a2.getState(sepWord4));
+
+        // Parallel version
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            Assert.assertNull(DeterministicEquivalenceTest.findSeparatingWord(a1, a1, inputs, pool));
+            Assert.assertNull(DeterministicEquivalenceTest.findSeparatingWord(a2, a2, inputs, pool));
+            Assert.assertEquals(DeterministicEquivalenceTest.findSeparatingWord(a1, a2, inputs, pool), Word.epsilon());
+            Assert.assertEquals(DeterministicEquivalenceTest.findSeparatingWord(a2, a1, inputs, pool), Word.epsilon());
+        } finally {
+            pool.shutdown();
+        }
     }
 
     private <I, M extends UniversalDeterministicAutomaton<?, I, ?, ?, ?> & Output<I, ?>> void testEquivalenceInternal(M a1,
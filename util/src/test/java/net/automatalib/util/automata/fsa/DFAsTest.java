@@ -15,10 +15,16 @@
  */
 package net.automatalib.util.automata.fsa;
 
+import java.util.Random;
+
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.util.ts.acceptors.AcceptanceCombiner;
+import net.automatalib.util.ts.acceptors.ProductSearchResult;
 import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
 import net.automatalib.words.impl.Alphabets;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
@@ -139,4 +145,90 @@ public class DFAsTest {
 
         Assert.assertFalse(DFAs.acceptsEmptyLanguage(forVector(true)));
     }
+
+    @Test
+    public void testSearchProduct() {
+        final AcceptanceCombiner[] combiners = {AcceptanceCombiner.AND,
+                                                AcceptanceCombiner.OR,
+                                                AcceptanceCombiner.XOR,
+                                                AcceptanceCombiner.EQUIV,
+                                                AcceptanceCombiner.IMPL};
+        final boolean[][] vectors = {VECTOR_1, VECTOR_1_NEG, VECTOR_2, {false, false}, {true}};
+
+        for (boolean[] v1 : vectors) {
+            for (boolean[] v2 : vectors) {
+                final CompactDFA<Integer> dfa1 = forVector(v1);
+                final CompactDFA<Integer> dfa2 = forVector(v2);
+
+                for (AcceptanceCombiner combiner : combiners) {
+                    final ProductSearchResult<Integer> result = DFAs.searchProduct(dfa1, dfa2, testAlphabet, combiner);
+                    final CompactDFA<Integer> product = DFAs.combine(dfa1, dfa2, testAlphabet, combiner);
+
+                    Assert.assertEquals(result.isEmpty(), DFAs.acceptsEmptyLanguage(product));
+                    Assert.assertTrue(result.getNumVisitedPairs() <= product.size());
+
+                    final Word<Integer> witness = result.getWitness();
+                    if (witness != null) {
+                        Assert.assertTrue(product.accepts(witness));
+                        // BFS yields the shortest witness
+                        for (int i = 0; i < witness.length(); i++) {
+                            Assert.assertFalse(product.accepts(witness.prefix(i)));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSearchProductEarlyExit() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 3);
+        final Random random = new Random(42);
+        final CompactDFA<Integer> dfa1 = RandomAutomata.randomDFA(random, 50_000, alphabet);
+        final CompactDFA<Integer> dfa2 = RandomAutomata.randomDFA(random, 50_000, alphabet);
+
+        final ProductSearchResult<Integer> result = DFAs.searchProduct(dfa1, dfa2, alphabet, AcceptanceCombiner.XOR);
+        final Word<Integer> witness = result.getWitness();
+
+        Assert.assertNotNull(witness);
+        Assert.assertNotEquals(dfa1.accepts(witness), dfa2.accepts(witness));
+        Assert.assertEquals(witness.length(), Automata.findSeparatingWord(dfa1, dfa2, alphabet).length());
+        // random DFAs are separated close to the root, so only a tiny part of the product is explored
+        Assert.assertTrue(result.getNumVisitedPairs() < 100);
+
+        final ProductSearchResult<Integer> self = DFAs.checkInclusion(dfa1, dfa1, alphabet);
+        Assert.assertTrue(self.isEmpty());
+        Assert.assertEquals(self.getNumVisitedPairs(), dfa1.size());
+    }
+
+    @Test
+    public void testSearchProductPartial() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+
+        // accepts exactly the word 0 0
+        final CompactDFA<Integer> partial = new CompactDFA<>(alphabet);
+        final int q0 = partial.addInitialState(false);
+        final int q1 = partial.addState(false);
+        final int q2 = partial.addState(true);
+        partial.setTransition(q0, 0, q1);
+        partial.setTransition(q1, 0, q2);
+
+        // accepts all words starting with 1
+        final CompactDFA<Integer> complete = new CompactDFA<>(alphabet);
+        final int p0 = complete.addInitialState(false);
+        final int p1 = complete.addState(true);
+        final int p2 = complete.addState(false);
+        complete.setTransition(p0, 0, p2);
+        complete.setTransition(p0, 1, p1);
+        complete.setTransition(p1, 0, p1);
+        complete.setTransition(p1, 1, p1);
+        complete.setTransition(p2, 0, p2);
+        complete.setTransition(p2, 1, p2);
+
+        Assert.assertEquals(DFAs.searchProduct(partial, complete, alphabet, AcceptanceCombiner.OR).getWitness(),
+                            Word.fromSymbols(1));
+        Assert.assertEquals(DFAs.checkInclusion(partial, complete, alphabet).getWitness(), Word.fromSymbols(0, 0));
+        Assert.assertTrue(DFAs.searchProduct(partial, complete, alphabet, AcceptanceCombiner.AND).isEmpty());
+        Assert.assertEquals(DFAs.checkInclusion(complete, partial, alphabet).getWitness(), Word.fromSymbols(1));
+    }
 }
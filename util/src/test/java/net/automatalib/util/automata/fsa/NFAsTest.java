@@ -15,8 +15,17 @@
  */
 package net.automatalib.util.automata.fsa;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import net.automatalib.automata.fsa.impl.FastDFA;
+import net.automatalib.automata.fsa.impl.FastNFA;
+import net.automatalib.automata.fsa.impl.FastNFAState;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.util.automata.Automata;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
 import net.automatalib.words.impl.Alphabets;
@@ -45,4 +54,158 @@ public class NFAsTest {
 
         Assert.assertEquals(dfa.size(), 2);
     }
+
+    public void testCompactDeterminization() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final Random random = new Random(42);
+
+        final CompactNFA<Integer> compact = new CompactNFA<>(alphabet);
+        final FastNFA<Integer> fast = new FastNFA<>(alphabet);
+
+        final int size = 20;
+        final List<FastNFAState> fastStates = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            final boolean accepting = random.nextInt(4) == 0;
+            compact.addState(accepting);
+            fastStates.add(fast.addState(accepting));
+        }
+
+        compact.setInitial(0, true);
+        fast.setInitial(fastStates.get(0), true);
+
+        for (int s = 0; s < size; s++) {
+            for (int i = 0; i < alphabet.size(); i++) {
+                // sparse transitions, such that some subsets are empty
+                final int numSuccs = random.nextInt(3);
+                for (int k = 0; k < numSuccs; k++) {
+                    final int t = random.nextInt(size);
+                    compact.addTransition(s, i, t);
+                    fast.addTransition(fastStates.get(s), alphabet.getSymbol(i), fastStates.get(t));
+                }
+            }
+        }
+
+        for (boolean partial : new boolean[] {false, true}) {
+            final CompactDFA<Integer> compactDFA = NFAs.determinize(compact, alphabet, partial, false);
+            final CompactDFA<Integer> fastDFA = NFAs.determinize(fast, alphabet, partial, false);
+
+            Assert.assertEquals(compactDFA.size(), fastDFA.size());
+            Assert.assertTrue(Automata.testEquivalence(compactDFA, fastDFA, alphabet));
+        }
+    }
+
+    public void testEngineAgainstGenericConstruction() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+
+        for (int seed = 0; seed < 10; seed++) {
+            final CompactNFA<Integer> nfa = randomNFA(new Random(seed), alphabet, 25);
+
+            for (boolean partial : new boolean[] {false, true}) {
+                final CompactDFA<Integer> compactDFA = NFAs.determinize(nfa, alphabet, partial, false);
+                final FastDFA<Integer> fastDFA = new FastDFA<>(alphabet);
+                NFAs.determinize(nfa, alphabet, fastDFA, partial, false);
+
+                Assert.assertEquals(compactDFA.size(), fastDFA.size());
+                Assert.assertTrue(Automata.testEquivalence(compactDFA, fastDFA, alphabet));
+            }
+        }
+    }
+
+    public void testBrzozowski() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+
+        for (int seed = 0; seed < 10; seed++) {
+            final CompactNFA<Integer> nfa = randomNFA(new Random(seed), alphabet, 15);
+
+            final CompactDFA<Integer> complete = NFAs.determinize(nfa, alphabet, false, true);
+            final CompactDFA<Integer> brzozowski = NFAs.determinizeBrzozowski(nfa, alphabet, false);
+
+            Assert.assertEquals(brzozowski.size(), complete.size());
+            Assert.assertTrue(Automata.testEquivalence(brzozowski, complete, alphabet));
+
+            final CompactDFA<Integer> partialBrzozowski = NFAs.determinizeBrzozowski(nfa, alphabet, true);
+            final boolean hasSink = brzozowski.getStates()
+                                              .stream()
+                                              .anyMatch(s -> !brzozowski.isAccepting(s) &&
+                                                             alphabet.stream()
+                                                                     .allMatch(i -> s.equals(brzozowski.getSuccessor(s,
+                                                                                                                     i))));
+
+            Assert.assertEquals(partialBrzozowski.size(), brzozowski.size() - (hasSink ? 1 : 0));
+            Assert.assertTrue(Automata.testEquivalence(DFAs.complete(partialBrzozowski, alphabet), complete, alphabet));
+        }
+    }
+
+    public void testBrzozowskiEmptyLanguage() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+        final CompactNFA<Integer> nfa = new CompactNFA<>(alphabet);
+
+        final int q0 = nfa.addInitialState(false);
+        final int q1 = nfa.addState(false);
+        nfa.addTransition(q0, 0, q1);
+        nfa.addTransition(q1, 1, q0);
+
+        final CompactDFA<Integer> complete = NFAs.determinizeBrzozowski(nfa, alphabet, false);
+        final CompactDFA<Integer> partial = NFAs.determinizeBrzozowski(nfa, alphabet, true);
+
+        Assert.assertEquals(complete.size(), 1);
+        Assert.assertEquals(partial.size(), 1);
+        Assert.assertFalse(complete.accepts(Word.epsilon()));
+        Assert.assertFalse(complete.accepts(Word.fromSymbols(0, 1)));
+    }
+
+    public void testParallelDeterminization() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            for (int seed = 0; seed < 10; seed++) {
+                final CompactNFA<Integer> nfa = randomNFA(new Random(seed), alphabet, 25);
+
+                for (boolean partial : new boolean[] {false, true}) {
+                    final CompactDFA<Integer> sequential = NFAs.determinize(nfa, alphabet, partial, false);
+                    final CompactDFA<Integer> parallel = NFAs.determinize(nfa, alphabet, partial, false, pool);
+
+                    // the parallel construction should yield the very same automaton
+                    Assert.assertEquals(parallel.size(), sequential.size());
+                    Assert.assertEquals(parallel.getIntInitialState(), sequential.getIntInitialState());
+
+                    for (int s = 0; s < sequential.size(); s++) {
+                        Assert.assertEquals(parallel.isAccepting(s), sequential.isAccepting(s));
+                        for (int i = 0; i < alphabet.size(); i++) {
+                            Assert.assertEquals(parallel.getSuccessor(s, i), sequential.getSuccessor(s, i));
+                        }
+                    }
+                }
+
+                final CompactDFA<Integer> minimal = NFAs.determinize(nfa, alphabet, false, true, pool);
+                Assert.assertEquals(minimal.size(), NFAs.determinize(nfa, alphabet, false, true).size());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static CompactNFA<Integer> randomNFA(Random random, Alphabet<Integer> alphabet, int size) {
+        final CompactNFA<Integer> nfa = new CompactNFA<>(alphabet);
+
+        for (int i = 0; i < size; i++) {
+            nfa.addState(random.nextInt(5) == 0);
+        }
+
+        nfa.setInitial(0, true);
+        nfa.setInitial(random.nextInt(size), true);
+
+        for (int s = 0; s < size; s++) {
+            for (int i = 0; i < alphabet.size(); i++) {
+                final int numSuccs = random.nextInt(3);
+                for (int k = 0; k < numSuccs; k++) {
+                    nfa.addTransition(s, i, random.nextInt(size));
+                }
+            }
+        }
+
+        return nfa;
+    }
 }
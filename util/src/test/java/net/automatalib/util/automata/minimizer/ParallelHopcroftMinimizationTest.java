@@ -0,0 +1,219 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.minimizer;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.fsa.MutableDFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.automata.transducers.MutableMealyMachine;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization;
+import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization.PruningMode;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Factory;
+import org.testng.annotations.Test;
+
+/**
+ * @author agent
+ */
+public class ParallelHopcroftMinimizationTest extends AbstractMinimizationTest {
+
+    private static final int SIZE = 3000;
+
+    private final PruningMode pruningMode;
+    private ForkJoinPool pool;
+
+    @Factory(dataProvider = "pruningModes")
+    public ParallelHopcroftMinimizationTest(PruningMode pruningMode) {
+        this.pruningMode = pruningMode;
+    }
+
+    @DataProvider(name = "pruningModes")
+    public static Object[][] pruningModes() {
+        return new Object[][] {{PruningMode.PRUNE_BEFORE}, {PruningMode.PRUNE_AFTER}, {PruningMode.DONT_PRUNE}};
+    }
+
+    @BeforeClass
+    public void setUp() {
+        this.pool = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    @Test
+    public void testRandomDFA() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 3);
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(new Random(42), SIZE, alphabet, false);
+
+        checkDFA(dfa, alphabet);
+    }
+
+    @Test
+    public void testRandomMealy() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 3);
+        final CompactMealy<Integer, Integer> mealy =
+                RandomAutomata.randomMealy(new Random(42), SIZE, alphabet, Alphabets.integers(0, 1), false);
+
+        final CompactMealy<Integer, Integer> sequential =
+                HopcroftMinimization.minimizeMealy(mealy, alphabet, this.pruningMode);
+        final MealyMachine<?, Integer, ?, Integer> parallel = minimizeMealy(mealy, alphabet);
+
+        Assert.assertEquals(parallel.size(), sequential.size());
+        Assert.assertTrue(Automata.testEquivalence(parallel, sequential, alphabet));
+    }
+
+    /**
+     * A chain of states in which every state is distinguishable from every other state. The number of blocks grows by
+     * only one per refinement round, which forces the parallel refinement to hand over to the sequential algorithm.
+     */
+    @Test
+    public void testChainDFA() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+        final CompactDFA<Integer> dfa = new CompactDFA<>(alphabet);
+
+        int prev = dfa.addInitialState(false);
+        for (int i = 1; i < SIZE; i++) {
+            final int next = dfa.addState(i == SIZE - 1);
+            dfa.setTransition(prev, 0, next);
+            dfa.setTransition(prev, 1, next);
+            prev = next;
+        }
+        dfa.setTransition(prev, 0, prev);
+        dfa.setTransition(prev, 1, prev);
+
+        checkDFA(dfa, alphabet);
+    }
+
+    /**
+     * A cycle of states which collapses to a cycle of three states.
+     */
+    @Test
+    public void testCycleDFA() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+        final CompactDFA<Integer> dfa = new CompactDFA<>(alphabet);
+
+        for (int i = 0; i < SIZE; i++) {
+            dfa.addState(i % 3 == 0);
+        }
+        dfa.setInitial(0, true);
+        for (int i = 0; i < SIZE; i++) {
+            dfa.setTransition(i, 0, (i + 1) % SIZE);
+            dfa.setTransition(i, 1, i);
+        }
+
+        final DFA<?, Integer> result = checkDFA(dfa, alphabet);
+        Assert.assertEquals(result.size(), 3);
+    }
+
+    @Test
+    public void testAutomataMinimize() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 3);
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(new Random(42), SIZE, alphabet, false);
+
+        final CompactDFA<Integer> sequential =
+                HopcroftMinimization.minimizeDFA(dfa, alphabet, PruningMode.PRUNE_AFTER);
+        final CompactDFA<Integer> output = new CompactDFA<>(alphabet);
+        output.addState(); // should be cleared
+
+        final CompactDFA<Integer> parallel = Automata.minimize(dfa, alphabet, output, pool);
+
+        // states are numbered in breadth-first order, so the results must be identical
+        Assert.assertSame(parallel, output);
+        Assert.assertEquals(parallel.size(), sequential.size());
+        Assert.assertEquals(parallel.getIntInitialState(), sequential.getIntInitialState());
+        for (Integer s : sequential) {
+            Assert.assertEquals(parallel.isAccepting(s), sequential.isAccepting(s));
+            for (Integer i : alphabet) {
+                Assert.assertEquals(parallel.getSuccessor(s, i), sequential.getSuccessor(s, i));
+            }
+        }
+    }
+
+    @Test
+    public void testAutomataMinimizePartial() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 3);
+        final CompactMealy<Integer, Integer> mealy =
+                RandomAutomata.randomMealy(random, SIZE, alphabet, Alphabets.integers(0, 1), false);
+
+        for (int i = 0; i < SIZE; i++) {
+            mealy.removeAllTransitions(random.nextInt(SIZE), random.nextInt(alphabet.size()));
+        }
+
+        final CompactMealy<Integer, Integer> sequential =
+                Automata.minimize(mealy, alphabet, new CompactMealy<>(alphabet));
+        // the output may use supertypes of the input symbols and properties
+        final CompactMealy<Integer, Object> parallel =
+                Automata.minimize(mealy, alphabet, new CompactMealy<>(alphabet), pool);
+
+        Assert.assertEquals(parallel.size(), sequential.size());
+        Assert.assertTrue(Automata.testEquivalence(parallel, sequential, alphabet));
+
+        // without an initial state, the result is empty
+        mealy.setInitialState(null);
+        Assert.assertEquals(Automata.minimize(mealy, alphabet, new CompactMealy<>(alphabet), pool).size(), 0);
+        Assert.assertEquals(Automata.minimize(mealy, alphabet, new CompactMealy<>(alphabet)).size(), 0);
+    }
+
+    private DFA<?, Integer> checkDFA(CompactDFA<Integer> dfa, Alphabet<Integer> alphabet) {
+        final CompactDFA<Integer> sequential = HopcroftMinimization.minimizeDFA(dfa, alphabet, this.pruningMode);
+        final DFA<?, Integer> parallel = minimizeDFA(dfa, alphabet);
+
+        Assert.assertEquals(parallel.size(), sequential.size());
+        Assert.assertTrue(Automata.testEquivalence(parallel, sequential, alphabet));
+
+        return parallel;
+    }
+
+    @Override
+    protected <I> DFA<?, I> minimizeDFA(MutableDFA<?, I> dfa, Alphabet<I> alphabet) {
+        return HopcroftMinimization.minimizeDFA(dfa, alphabet, this.pruningMode, new CompactDFA.Creator<>(), pool);
+    }
+
+    @Override
+    protected <I, O> MealyMachine<?, I, ?, O> minimizeMealy(MutableMealyMachine<?, I, ?, O> mealy,
+                                                            Alphabet<I> alphabet) {
+        return HopcroftMinimization.minimizeMealy(mealy,
+                                                  alphabet,
+                                                  this.pruningMode,
+                                                  new CompactMealy.Creator<>(),
+                                                  pool);
+    }
+
+    @Override
+    protected boolean isPruned() {
+        return this.pruningMode != PruningMode.DONT_PRUNE;
+    }
+
+    @Override
+    protected boolean supportsPartial() {
+        return false;
+    }
+}
@@ -0,0 +1,273 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.minimizer.hopcroft;
+
+import java.util.Random;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author agent
+ */
+public class IncrementalHopcroftMinimizerTest {
+
+    @Test
+    public void testRandomModifications() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+
+        for (int run = 0; run < 10; run++) {
+            final CompactDFA<Integer> dfa = createRedundantDFA(random, alphabet, 20, 10);
+            final IncrementalHopcroftMinimizer<Integer> minimizer = new IncrementalHopcroftMinimizer<>(dfa, alphabet);
+
+            checkMinimal(minimizer, dfa, alphabet);
+
+            for (int round = 0; round < 20; round++) {
+                final int[] changed = new int[random.nextInt(4)];
+
+                // add new states, which are initially connected to random existing states
+                final int numNewStates = random.nextInt(3);
+                for (int i = 0; i < numNewStates; i++) {
+                    final int newState = dfa.addIntState(random.nextBoolean());
+                    for (int j = 0; j < alphabet.size(); j++) {
+                        dfa.setTransition(newState, j, random.nextInt(dfa.size()));
+                    }
+                }
+
+                // modify random states, which possibly connects the new states
+                for (int i = 0; i < changed.length; i++) {
+                    final int state = random.nextInt(dfa.size());
+                    if (random.nextInt(4) == 0) {
+                        dfa.setAccepting(state, !dfa.isAccepting(state));
+                    } else {
+                        dfa.setTransition(state, random.nextInt(alphabet.size()), random.nextInt(dfa.size()));
+                    }
+                    changed[i] = state;
+                }
+
+                minimizer.update(changed);
+                checkMinimal(minimizer, dfa, alphabet);
+            }
+        }
+    }
+
+    @Test
+    public void testAcyclicModifications() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final int size = 100;
+
+        for (int run = 0; run < 10; run++) {
+            // a DFA whose transitions only lead to states with a larger id, the last one being the sink
+            final CompactDFA<Integer> dfa = new CompactDFA<>(alphabet, size);
+            for (int s = 0; s < size; s++) {
+                dfa.addIntState(random.nextBoolean() && s < size - 1);
+            }
+            dfa.setInitialState(0);
+            for (int s = 0; s < size; s++) {
+                for (int i = 0; i < alphabet.size(); i++) {
+                    dfa.setTransition(s, i, s < size - 1 ? s + 1 + random.nextInt(Math.min(4, size - 1 - s)) : s);
+                }
+            }
+
+            final IncrementalHopcroftMinimizer<Integer> minimizer = new IncrementalHopcroftMinimizer<>(dfa, alphabet);
+            checkMinimal(minimizer, dfa, alphabet);
+
+            for (int round = 0; round < 50; round++) {
+                final int state = random.nextInt(dfa.size() - 1);
+
+                if (random.nextBoolean()) {
+                    dfa.setAccepting(state, !dfa.isAccepting(state));
+                } else {
+                    // a new state that copies the transitions of a successor, which keeps the DFA acyclic
+                    final int succ = dfa.getSuccessor(state, 0);
+                    final int newState = dfa.addIntState(random.nextBoolean());
+                    for (int i = 0; i < alphabet.size(); i++) {
+                        dfa.setTransition(newState, i, dfa.getSuccessor(succ, i));
+                    }
+                    dfa.setTransition(state, random.nextInt(alphabet.size()), newState);
+                }
+
+                minimizer.update(state);
+                checkMinimal(minimizer, dfa, alphabet);
+            }
+        }
+    }
+
+    @Test
+    public void testMerge() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+        final CompactDFA<Integer> dfa = new CompactDFA<>(alphabet);
+        final int size = 30;
+
+        // a cycle in which only every sixth state is accepting, which collapses to six states
+        for (int i = 0; i < size; i++) {
+            dfa.addIntState(i % 6 == 0);
+        }
+        dfa.setInitialState(0);
+        for (int i = 0; i < size; i++) {
+            dfa.setTransition(i, 0, (i + 1) % size);
+            dfa.setTransition(i, 1, i);
+        }
+
+        final IncrementalHopcroftMinimizer<Integer> minimizer = new IncrementalHopcroftMinimizer<>(dfa, alphabet);
+        Assert.assertEquals(checkMinimal(minimizer, dfa, alphabet), 6);
+
+        // make every third state accepting, which merges pairs of blocks
+        final int[] changed = new int[size / 6];
+        for (int i = 0; i < changed.length; i++) {
+            changed[i] = 6 * i + 3;
+            dfa.setAccepting(changed[i], true);
+        }
+
+        minimizer.update(changed);
+        Assert.assertEquals(checkMinimal(minimizer, dfa, alphabet), 3);
+
+        // a new (equivalent) state does not change the minimal DFA
+        final int newState = dfa.addIntState(true);
+        dfa.setTransition(newState, 0, 1);
+        dfa.setTransition(newState, 1, newState);
+        dfa.setTransition(size - 1, 0, newState);
+
+        minimizer.update(size - 1);
+        Assert.assertEquals(checkMinimal(minimizer, dfa, alphabet), 3);
+    }
+
+    @Test
+    public void testMergeWithUnaffectedBlocks() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+        final CompactDFA<Integer> dfa = new CompactDFA<>(alphabet);
+
+        final int init = dfa.addIntInitialState(true);
+        final int sink = dfa.addIntState(false);
+        dfa.setTransition(init, 0, init);
+        dfa.setTransition(init, 1, sink);
+        dfa.setTransition(sink, 0, sink);
+        dfa.setTransition(sink, 1, sink);
+
+        // an (unreachable) chain that ends in the sink
+        final int x1 = dfa.addIntState(false);
+        final int x2 = dfa.addIntState(true);
+        dfa.setTransition(x1, 0, x2);
+        dfa.setTransition(x1, 1, sink);
+        dfa.setTransition(x2, 0, sink);
+        dfa.setTransition(x2, 1, sink);
+
+        // an (unreachable) cycle that does not reach any other state
+        final int z1 = dfa.addIntState(true);
+        final int z2 = dfa.addIntState(false);
+        dfa.setTransition(z1, 0, z2);
+        dfa.setTransition(z1, 1, z1);
+        dfa.setTransition(z2, 0, z1);
+        dfa.setTransition(z2, 1, z2);
+
+        final IncrementalHopcroftMinimizer<Integer> minimizer = new IncrementalHopcroftMinimizer<>(dfa, alphabet);
+        Assert.assertEquals(checkMinimal(minimizer, dfa, alphabet), 2);
+
+        // a copy of the chain, which can only be matched against the chain via the sink
+        final int n1 = dfa.addIntState(false);
+        final int n2 = dfa.addIntState(true);
+        dfa.setTransition(n1, 0, n2);
+        dfa.setTransition(n1, 1, sink);
+        dfa.setTransition(n2, 0, sink);
+        dfa.setTransition(n2, 1, sink);
+        dfa.setTransition(init, 1, n1);
+
+        minimizer.update(init);
+        Assert.assertEquals(checkMinimal(minimizer, dfa, alphabet), 4);
+
+        // if the copy has not been merged with the chain, the minimal DFA would contain both
+        dfa.setTransition(init, 0, x1);
+
+        minimizer.update(init);
+        Assert.assertEquals(checkMinimal(minimizer, dfa, alphabet), 4);
+
+        // a copy of the cycle, which requires to minimize the complete quotient
+        final int m1 = dfa.addIntState(true);
+        final int m2 = dfa.addIntState(false);
+        dfa.setTransition(m1, 0, m2);
+        dfa.setTransition(m1, 1, m1);
+        dfa.setTransition(m2, 0, m1);
+        dfa.setTransition(m2, 1, m2);
+        dfa.setTransition(x2, 1, m1);
+
+        minimizer.update(x2);
+        Assert.assertEquals(checkMinimal(minimizer, dfa, alphabet), 8);
+
+        // if the copy has not been merged with the cycle, the minimal DFA would contain both
+        dfa.setTransition(x2, 0, z1);
+
+        minimizer.update(x2);
+        Assert.assertEquals(checkMinimal(minimizer, dfa, alphabet), 8);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testPartial() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+        final CompactDFA<Integer> dfa = new CompactDFA<>(alphabet);
+        final int init = dfa.addIntInitialState(true);
+        dfa.setTransition(init, 0, init);
+
+        new IncrementalHopcroftMinimizer<>(dfa, alphabet);
+    }
+
+    /**
+     * Creates a DFA that consists of multiple copies of a random DFA, whose transitions point to random copies.
+     */
+    private static CompactDFA<Integer> createRedundantDFA(Random random,
+                                                          Alphabet<Integer> alphabet,
+                                                          int size,
+                                                          int copies) {
+        final CompactDFA<Integer> base = RandomAutomata.randomDFA(random, size, alphabet, false);
+        final CompactDFA<Integer> result = new CompactDFA<>(alphabet, size * copies);
+
+        for (int c = 0; c < copies; c++) {
+            for (int s = 0; s < size; s++) {
+                result.addIntState(base.isAccepting(s));
+            }
+        }
+
+        for (int c = 0; c < copies; c++) {
+            for (int s = 0; s < size; s++) {
+                for (int i = 0; i < alphabet.size(); i++) {
+                    final int succ = base.getSuccessor(s, alphabet.getSymbol(i));
+                    result.setTransition(c * size + s, i, random.nextInt(copies) * size + succ);
+                }
+            }
+        }
+
+        result.setInitialState(base.getIntInitialState());
+        return result;
+    }
+
+    private static int checkMinimal(IncrementalHopcroftMinimizer<Integer> minimizer,
+                                    CompactDFA<Integer> dfa,
+                                    Alphabet<Integer> alphabet) {
+        final CompactDFA<Integer> expected = HopcroftMinimization.minimizeDFA(dfa, alphabet);
+        final CompactDFA<Integer> actual = minimizer.toMinimalDFA();
+
+        Assert.assertEquals(actual.size(), expected.size());
+        Assert.assertTrue(Automata.testEquivalence(actual, expected, alphabet));
+
+        return actual.size();
+    }
+}
@@ -0,0 +1,178 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.random;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author agent
+ */
+public class ParallelRandomAutomataTest {
+
+    private static final long SEED = 42;
+    // spans several chunks
+    private static final int SIZE = 10000;
+
+    private static final Alphabet<Integer> INPUTS = Alphabets.integers(0, 2);
+    private static final List<String> OUTPUTS = Arrays.asList("o1", "o2", "o3");
+
+    @Test
+    public void testDFA() {
+        final CompactDFA<Integer> expected = ParallelRandomAutomata.randomICDFA(new SplittableRandom(SEED), SIZE, INPUTS);
+
+        checkInitiallyConnected(expected, INPUTS);
+
+        for (int parallelism = 1; parallelism <= 4; parallelism++) {
+            final ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                final CompactDFA<Integer> actual =
+                        ParallelRandomAutomata.randomICDFA(new SplittableRandom(SEED), SIZE, INPUTS, pool);
+                checkIdentical(expected, actual, INPUTS);
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        final CompactDFA<Integer> other = ParallelRandomAutomata.randomICDFA(new SplittableRandom(SEED + 1), SIZE, INPUTS);
+        Assert.assertNotEquals(other.getTransitions(), expected.getTransitions());
+    }
+
+    @Test
+    public void testMealy() {
+        final CompactMealy<Integer, String> expected =
+                ParallelRandomAutomata.randomICMealy(new SplittableRandom(SEED), SIZE, INPUTS, OUTPUTS);
+
+        checkInitiallyConnected(expected, INPUTS);
+
+        for (int parallelism = 1; parallelism <= 4; parallelism++) {
+            final ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                final CompactMealy<Integer, String> actual =
+                        ParallelRandomAutomata.randomICMealy(new SplittableRandom(SEED), SIZE, INPUTS, OUTPUTS, pool);
+                checkIdentical(expected, actual, INPUTS);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testCorpus() {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            final SplittableRandom random = new SplittableRandom(SEED);
+            final SplittableRandom reference = new SplittableRandom(SEED);
+
+            final Iterator<CompactDFA<Integer>> corpus = ParallelRandomAutomata.randomICDFAs(random, 3, 100, INPUTS, pool);
+
+            int count = 0;
+            while (corpus.hasNext()) {
+                final CompactDFA<Integer> expected =
+                        ParallelRandomAutomata.randomICDFA(reference.split(), 100, INPUTS);
+                checkIdentical(expected, corpus.next(), INPUTS);
+                count++;
+            }
+            Assert.assertEquals(count, 3);
+
+            final Iterator<CompactMealy<Integer, String>> mealies =
+                    ParallelRandomAutomata.randomICMealies(random, 2, 100, INPUTS, OUTPUTS, pool);
+            Assert.assertEquals(mealies.next().size(), 100);
+            Assert.assertEquals(mealies.next().size(), 100);
+            Assert.assertFalse(mealies.hasNext());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testCornerCases() {
+        final CompactDFA<Integer> empty = ParallelRandomAutomata.randomICDFA(new SplittableRandom(SEED), 0, INPUTS);
+        Assert.assertEquals(empty.size(), 0);
+        Assert.assertNull(empty.getInitialState());
+
+        final Alphabet<Integer> unary = Alphabets.integers(0, 0);
+        final CompactDFA<Integer> chain = ParallelRandomAutomata.randomICDFA(new SplittableRandom(SEED), SIZE, unary);
+        checkInitiallyConnected(chain, unary);
+
+        final Alphabet<Integer> noInputs = Alphabets.integers(0, -1);
+        final CompactDFA<Integer> single = ParallelRandomAutomata.randomICDFA(new SplittableRandom(SEED), 1, noInputs);
+        Assert.assertEquals(single.size(), 1);
+
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> ParallelRandomAutomata.randomICDFA(new SplittableRandom(SEED), 2, noInputs));
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> ParallelRandomAutomata.randomICMealy(new SplittableRandom(SEED),
+                                                                       2,
+                                                                       INPUTS,
+                                                                       Arrays.asList()));
+    }
+
+    private static <S, I> void checkInitiallyConnected(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton,
+                                                       Alphabet<I> inputs) {
+        final S init = automaton.getInitialState();
+        Assert.assertNotNull(init);
+
+        final BitSet visited = new BitSet();
+        final Deque<S> queue = new ArrayDeque<>();
+        visited.set(automaton.stateIDs().getStateId(init));
+        queue.add(init);
+
+        S curr;
+        while ((curr = queue.poll()) != null) {
+            for (I i : inputs) {
+                final S succ = automaton.getSuccessor(curr, i);
+                Assert.assertNotNull(succ);
+                final int id = automaton.stateIDs().getStateId(succ);
+                if (!visited.get(id)) {
+                    visited.set(id);
+                    queue.add(succ);
+                }
+            }
+        }
+
+        Assert.assertEquals(visited.cardinality(), automaton.size());
+    }
+
+    private static <S, I> void checkIdentical(UniversalDeterministicAutomaton<S, I, ?, ?, ?> expected,
+                                              UniversalDeterministicAutomaton<S, I, ?, ?, ?> actual,
+                                              Alphabet<I> inputs) {
+        Assert.assertEquals(actual.size(), expected.size());
+        Assert.assertEquals(actual.getInitialState(), expected.getInitialState());
+
+        for (S s : expected) {
+            Assert.assertEquals(actual.getStateProperty(s), expected.getStateProperty(s));
+            for (I i : inputs) {
+                Assert.assertEquals(actual.getSuccessor(s, i), expected.getSuccessor(s, i));
+                Assert.assertEquals(actual.getTransitionProperty(s, i), expected.getTransitionProperty(s, i));
+            }
+        }
+    }
+}
@@ -15,11 +15,23 @@
  */
 package net.automatalib.util.automata.transducers;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.automata.transducers.impl.FastMealy;
 import net.automatalib.automata.transducers.impl.compact.CompactMealy;
 import net.automatalib.commons.util.Pair;
+import net.automatalib.exception.UndefinedPropertyAccessException;
 import net.automatalib.util.automata.builders.AutomatonBuilders;
+import net.automatalib.util.automata.copy.AutomatonCopyMethod;
+import net.automatalib.util.automata.copy.AutomatonLowLevelCopy;
+import net.automatalib.util.automata.random.RandomAutomata;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
 import net.automatalib.words.impl.Alphabets;
@@ -91,4 +103,74 @@ public class MealyMachinesTest {
         Assert.assertEquals(partialOutput, Word.fromSymbols(1, 2, 3, -1, -1, -1));
         Assert.assertEquals(undefinedOutput, Word.fromSymbols(-1, -1, -1, -1, -1, -1));
     }
+
+    @Test
+    public void testBatchOutputs() {
+        final Random random = new Random(42);
+        final CompactMealy<Character, Integer> mealy =
+                RandomAutomata.randomMealy(random, 50, alphabet, Arrays.asList(1, 2, 3), false);
+
+        // remove some transitions for partiality
+        for (int i = 0; i < 20; i++) {
+            final Integer state = random.nextInt(mealy.size());
+            mealy.removeAllTransitions(state, alphabet.getSymbol(random.nextInt(alphabet.size())));
+        }
+
+        final List<Word<Character>> words = new ArrayList<>();
+        words.add(Word.epsilon());
+
+        // enough words for several parallel chunks, many of which share (long) prefixes with their predecessor
+        for (int i = 0; i < 3000; i++) {
+            final Word<Character> prev = words.get(words.size() - 1);
+            final Word<Character> prefix = prev.prefix(random.nextInt(prev.length() + 1));
+            final Character[] suffix = new Character[random.nextInt(10)];
+            for (int j = 0; j < suffix.length; j++) {
+                suffix[j] = alphabet.getSymbol(random.nextInt(alphabet.size()));
+            }
+            words.add(prefix.concat(Word.fromSymbols(suffix)));
+        }
+
+        final int[][] indices = new int[words.size()][];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = words.get(i).stream().mapToInt(alphabet::getSymbolIndex).toArray();
+        }
+
+        checkBatchOutputs(mealy, words, indices);
+        checkBatchOutputs(mealy2, words, indices);
+
+        // a non-compact Mealy machine is evaluated via the default int abstraction
+        final FastMealy<Character, Integer> fastMealy = new FastMealy<>(alphabet);
+        AutomatonLowLevelCopy.copy(AutomatonCopyMethod.STATE_BY_STATE, mealy, alphabet, fastMealy);
+        checkBatchOutputs(fastMealy, words, indices);
+
+        // without an initial state, the batch behaves like computeOutput for each word
+        mealy.setInitialState(null);
+        Assert.assertThrows(UndefinedPropertyAccessException.class, () -> mealy.computeOutput(Word.epsilon()));
+        Assert.assertThrows(UndefinedPropertyAccessException.class,
+                            () -> MealyMachines.computeOutputs(mealy, alphabet, words));
+        Assert.assertThrows(UndefinedPropertyAccessException.class,
+                            () -> MealyMachines.computeOutputs(mealy, alphabet, indices));
+        Assert.assertTrue(MealyMachines.computeOutputs(mealy, alphabet, Collections.emptyList()).isEmpty());
+        Assert.assertTrue(MealyMachines.computeOutputs(mealy, alphabet, new int[0][]).isEmpty());
+    }
+
+    private void checkBatchOutputs(MealyMachine<?, Character, ?, Integer> mealy,
+                                   List<Word<Character>> words,
+                                   int[][] indices) {
+        final List<Word<Integer>> expected = new ArrayList<>(words.size());
+        for (Word<Character> w : words) {
+            expected.add(mealy.computeOutput(w));
+        }
+
+        Assert.assertEquals(MealyMachines.computeOutputs(mealy, alphabet, words), expected);
+        Assert.assertEquals(MealyMachines.computeOutputs(mealy, alphabet, indices), expected);
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Assert.assertEquals(MealyMachines.computeOutputs(mealy, alphabet, words, pool), expected);
+            Assert.assertEquals(MealyMachines.computeOutputs(mealy, alphabet, indices, pool), expected);
+        } finally {
+            pool.shutdown();
+        }
+    }
 }
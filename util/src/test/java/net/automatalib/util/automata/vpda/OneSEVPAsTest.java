@@ -0,0 +1,115 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.vpda;
+
+import java.util.Random;
+
+import net.automatalib.automata.vpda.DefaultOneSEVPA;
+import net.automatalib.automata.vpda.Location;
+import net.automatalib.automata.vpda.OneSEVPA;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.util.ts.acceptors.AcceptanceCombiner;
+import net.automatalib.util.ts.acceptors.ProductSearchResult;
+import net.automatalib.words.VPDAlphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import net.automatalib.words.impl.DefaultVPDAlphabet;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author agent
+ */
+public class OneSEVPAsTest {
+
+    private final VPDAlphabet<Character> alphabet = new DefaultVPDAlphabet<>(Alphabets.characters('1', '2'),
+                                                                             Alphabets.characters('a', 'b'),
+                                                                             Alphabets.characters('r', 's'));
+
+    @Test
+    public void testSearchProduct() {
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 10; i++) {
+            final DefaultOneSEVPA<Character> sevpa1 =
+                    RandomAutomata.randomOneSEVPA(random, 8, alphabet, 0.5, 0.1, false);
+            final DefaultOneSEVPA<Character> sevpa2 =
+                    RandomAutomata.randomOneSEVPA(random, 8, alphabet, 0.5, 0.1, false);
+
+            final ProductSearchResult<Character> xor =
+                    OneSEVPAs.searchProduct(sevpa1, sevpa2, alphabet, AcceptanceCombiner.XOR);
+            final Word<Character> sepWord = OneSEVPAUtil.findSeparatingWord(sevpa1, sevpa2, alphabet);
+
+            Assert.assertEquals(xor.isEmpty(), sepWord == null);
+            checkWitness(sevpa1, sevpa2, xor, AcceptanceCombiner.XOR);
+
+            final ProductSearchResult<Character> and =
+                    OneSEVPAs.searchProduct(sevpa1, sevpa2, alphabet, AcceptanceCombiner.AND);
+            Assert.assertEquals(and.isEmpty(),
+                                OneSEVPAUtil.findAcceptedWord(OneSEVPAs.and(sevpa1, sevpa2, alphabet), alphabet) ==
+                                null);
+            checkWitness(sevpa1, sevpa2, and, AcceptanceCombiner.AND);
+
+            final OneSEVPA<?, Character> union = OneSEVPAs.or(sevpa1, sevpa2, alphabet);
+            Assert.assertTrue(OneSEVPAs.checkInclusion(sevpa1, union, alphabet).isEmpty());
+            Assert.assertTrue(OneSEVPAs.checkInclusion(sevpa2, union, alphabet).isEmpty());
+
+            final ProductSearchResult<Character> self = OneSEVPAs.checkInclusion(sevpa1, sevpa1, alphabet);
+            Assert.assertTrue(self.isEmpty());
+            Assert.assertEquals(self.getNumVisitedPairs(), OneSEVPAUtil.findReachableLocations(sevpa1, alphabet).size());
+        }
+    }
+
+    @Test
+    public void testSearchProductPartial() {
+        // accepts exactly the well-matched word a r
+        final DefaultOneSEVPA<Character> partial = new DefaultOneSEVPA<>(alphabet);
+        final Location p0 = partial.addInitialLocation(false);
+        final Location p1 = partial.addLocation(true);
+        partial.setReturnSuccessor(p0, 'r', partial.encodeStackSym(p0, alphabet.getCallSymbolIndex('a')), p1);
+
+        // accepts all non-empty well-matched words
+        final DefaultOneSEVPA<Character> nonEmpty = new DefaultOneSEVPA<>(alphabet);
+        nonEmpty.addInitialLocation(false);
+        final Location n1 = nonEmpty.addLocation(true);
+        for (Location l : nonEmpty.getLocations()) {
+            for (Character i : alphabet.getInternalAlphabet()) {
+                nonEmpty.setInternalSuccessor(l, i, n1);
+            }
+            for (Character r : alphabet.getReturnAlphabet()) {
+                for (int s = 0; s < nonEmpty.getNumStackSymbols(); s++) {
+                    nonEmpty.setReturnSuccessor(l, r, s, n1);
+                }
+            }
+        }
+
+        Assert.assertNull(OneSEVPAs.checkInclusion(partial, nonEmpty, alphabet).getWitness());
+        Assert.assertEquals(OneSEVPAs.searchProduct(partial, nonEmpty, alphabet, AcceptanceCombiner.AND).getWitness(),
+                            Word.fromSymbols('a', 'r'));
+        // the undefined internal transitions of the partial SEVPA lead to its implicit sink
+        Assert.assertEquals(OneSEVPAs.checkInclusion(nonEmpty, partial, alphabet).getWitness(), Word.fromSymbols('1'));
+    }
+
+    private static <I> void checkWitness(OneSEVPA<?, I> sevpa1,
+                                         OneSEVPA<?, I> sevpa2,
+                                         ProductSearchResult<I> result,
+                                         AcceptanceCombiner combiner) {
+        final Word<I> witness = result.getWitness();
+        if (witness != null) {
+            Assert.assertTrue(combiner.combine(sevpa1.accepts(witness), sevpa2.accepts(witness)));
+        }
+    }
+}
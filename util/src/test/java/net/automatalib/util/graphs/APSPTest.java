@@ -17,11 +17,14 @@ package net.automatalib.util.graphs;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import net.automatalib.graphs.base.compact.CompactEdge;
 import net.automatalib.graphs.base.compact.CompactSimpleGraph;
 import net.automatalib.graphs.concepts.EdgeWeights;
 import net.automatalib.util.graphs.apsp.APSPResult;
+import net.automatalib.util.graphs.apsp.BlockedFloydWarshallAPSP;
 import net.automatalib.util.graphs.concepts.PropertyEdgeWeights;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
@@ -59,8 +62,92 @@ public class APSPTest {
 
     @Test
     public void testAPSP() {
-        APSPResult<Integer, CompactEdge<Float>> apsp = Graphs.findAPSP(graph, weights);
+        checkAPSP(Graphs.findAPSP(graph, weights));
+    }
+
+    @Test
+    public void testBlockedAPSP() {
+        checkAPSP(BlockedFloydWarshallAPSP.findAPSP(graph, weights));
+
+        // use a block size that does not divide the number of nodes
+        final BlockedFloydWarshallAPSP<Integer, CompactEdge<Float>> blocked =
+                new BlockedFloydWarshallAPSP<>(graph, weights, 2);
+        blocked.findAPSP();
+        checkAPSP(blocked);
+    }
+
+    @Test
+    public void testParallelBlockedAPSP() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            checkAPSP(BlockedFloydWarshallAPSP.findAPSP(graph, weights, pool));
+
+            final BlockedFloydWarshallAPSP<Integer, CompactEdge<Float>> blocked =
+                    new BlockedFloydWarshallAPSP<>(graph, weights, 1);
+            blocked.findAPSP(pool);
+            checkAPSP(blocked);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testRandomBlockedAPSP() {
+        final Random random = new Random(42);
+        final CompactSimpleGraph<Float> randomGraph = new CompactSimpleGraph<>();
+        final int size = 50;
+
+        for (int i = 0; i < size; i++) {
+            randomGraph.addNode();
+        }
+
+        // integral weights guarantee that the distances are independent of the order of summation
+        for (int i = 0; i < 4 * size; i++) {
+            randomGraph.connect(random.nextInt(size), random.nextInt(size), Float.valueOf(random.nextInt(10)));
+        }
+
+        final EdgeWeights<CompactEdge<Float>> randomWeights = new PropertyEdgeWeights<>(randomGraph);
+        final APSPResult<Integer, CompactEdge<Float>> expected = Graphs.findAPSP(randomGraph, randomWeights);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            for (int blockSize : new int[] {1, 7, 64}) {
+                final BlockedFloydWarshallAPSP<Integer, CompactEdge<Float>> seq =
+                        new BlockedFloydWarshallAPSP<>(randomGraph, randomWeights, blockSize);
+                final BlockedFloydWarshallAPSP<Integer, CompactEdge<Float>> par =
+                        new BlockedFloydWarshallAPSP<>(randomGraph, randomWeights, blockSize);
+                seq.findAPSP();
+                par.findAPSP(pool);
+
+                for (Integer src : randomGraph) {
+                    for (Integer tgt : randomGraph) {
+                        final float dist = expected.getShortestPathDistance(src, tgt);
+                        Assert.assertEquals(seq.getShortestPathDistance(src, tgt), dist);
+                        Assert.assertEquals(par.getShortestPathDistance(src, tgt), dist);
+                        Assert.assertEquals(seq.getShortestPath(src, tgt), par.getShortestPath(src, tgt));
+
+                        final List<CompactEdge<Float>> path = seq.getShortestPath(src, tgt);
+                        if (dist == Graphs.INVALID_DISTANCE) {
+                            Assert.assertNull(path);
+                        } else {
+                            Assert.assertNotNull(path);
+                            float weight = 0;
+                            for (CompactEdge<Float> e : path) {
+                                weight += randomWeights.getEdgeWeight(e);
+                            }
+                            Assert.assertEquals(weight, dist);
+                            Assert.assertEquals(Graphs.toNodeList(path, randomGraph, src).get(path.size()), tgt);
+                        }
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
 
+    private void checkAPSP(APSPResult<Integer, CompactEdge<Float>> apsp) {
         assertSPDist(apsp, n0, n1, 2.3f); // n0 -> n1
         assertSPNodes(apsp, n0, n1, n0, n1);
         assertSPDist(apsp, n0, n2, 5.3f); // n0 -> n1 -> n2
@@ -15,12 +15,16 @@
  */
 package net.automatalib.util.graphs;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.Sets;
 import net.automatalib.graphs.base.compact.CompactSimpleGraph;
+import net.automatalib.util.graphs.scc.SCCDecomposition;
+import net.automatalib.util.graphs.scc.SCCs;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -280,6 +284,27 @@ public class SCCTest {
     }
 
     private Set<Set<Integer>> computeSCCs(CompactSimpleGraph<Void> graph) {
-        return Graphs.collectSCCs(graph).stream().map(HashSet::new).collect(Collectors.toSet());
+        final Set<Set<Integer>> result =
+                Graphs.collectSCCs(graph).stream().map(HashSet::new).collect(Collectors.toSet());
+
+        // check that the primitive implementations compute the same SCCs
+        Assert.assertEquals(toSets(SCCs.computeSCCs(graph)), result);
+
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            Assert.assertEquals(toSets(SCCs.computeSCCs(graph, pool)), result);
+        } finally {
+            pool.shutdown();
+        }
+
+        return result;
+    }
+
+    private static Set<Set<Integer>> toSets(SCCDecomposition decomposition) {
+        final Set<Set<Integer>> result = new HashSet<>();
+        for (int i = 0; i < decomposition.getNumSCCs(); i++) {
+            result.add(Arrays.stream(decomposition.getSCCNodes(i)).boxed().collect(Collectors.toSet()));
+        }
+        return result;
     }
 }
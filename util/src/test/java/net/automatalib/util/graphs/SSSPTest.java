@@ -16,12 +16,14 @@
 package net.automatalib.util.graphs;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import net.automatalib.graphs.base.compact.CompactEdge;
 import net.automatalib.graphs.base.compact.CompactSimpleGraph;
 import net.automatalib.graphs.concepts.EdgeWeights;
 import net.automatalib.util.graphs.concepts.PropertyEdgeWeights;
+import net.automatalib.util.graphs.sssp.IntDijkstraSSSP;
 import net.automatalib.util.graphs.sssp.SSSPResult;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
@@ -61,8 +63,28 @@ public class SSSPTest {
 
     @Test
     public void testSSSP() {
-        SSSPResult<Integer, CompactEdge<Float>> sssp = Graphs.findSSSP(graph, n0, weights);
+        checkSSSP(Graphs.findSSSP(graph, n0, weights));
+    }
+
+    @Test
+    public void testIntSSSP() {
+        final SSSPResult<Integer, CompactEdge<Float>> sssp = IntDijkstraSSSP.findSSSP(graph, n0, weights);
+        checkSSSP(sssp);
+
+        Assert.assertEquals(sssp.getShortestPath(n0), Collections.emptyList());
+        Assert.assertNull(sssp.getShortestPath(n5));
+        Assert.assertNull(sssp.getShortestPathEdge(n0));
+        Assert.assertNull(sssp.getShortestPathEdge(n5));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testIntSSSPRepeatedSearch() {
+        final IntDijkstraSSSP<Integer, CompactEdge<Float>> sssp = new IntDijkstraSSSP<>(graph, n0, weights);
+        sssp.findSSSP();
+        sssp.findSSSP();
+    }
 
+    private void checkSSSP(SSSPResult<Integer, CompactEdge<Float>> sssp) {
         assertSPDist(sssp, n1, 2.3f); // n0 -> n1
         assertSPNodes(sssp, n1, n0, n1);
         assertSPDist(sssp, n2, 5.3f); // n0 -> n1 -> n2
@@ -0,0 +1,149 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.scc;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.graphs.base.compact.CompactSimpleGraph;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author agent
+ */
+public class SCCDecompositionTest {
+
+    private ForkJoinPool pool;
+
+    @BeforeClass
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testRandomGraphs() {
+        final Random random = new Random(42);
+
+        for (int size : new int[] {10, 100, 1000}) {
+            for (int density : new int[] {1, 2, 4}) {
+                final CompactSimpleGraph<Void> graph = new CompactSimpleGraph<>();
+
+                for (int i = 0; i < size; i++) {
+                    graph.addNode();
+                }
+                for (int i = 0; i < density * size; i++) {
+                    graph.connect(random.nextInt(size), random.nextInt(size));
+                }
+
+                final Set<Set<Integer>> expected =
+                        SCCs.collectSCCs(graph).stream().map(HashSet::new).collect(Collectors.toSet());
+                final IntAdjacency adjacency = IntAdjacency.of(graph);
+
+                final SCCDecomposition sequential = SCCs.computeSCCs(adjacency);
+                Assert.assertEquals(toSets(sequential), expected);
+                checkReverseTopologicalOrder(adjacency, sequential);
+
+                // use small thresholds to enforce the splitting of sub-problems
+                for (int threshold : new int[] {0, 8}) {
+                    Assert.assertEquals(toSets(SCCs.computeSCCs(adjacency, pool, threshold)), expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDeepGraph() {
+        final int size = 100_000;
+        final CompactSimpleGraph<Void> graph = new CompactSimpleGraph<>();
+
+        for (int i = 0; i < size; i++) {
+            graph.addNode();
+        }
+
+        // a long chain of two-node SCCs would exceed the call stack of a recursive implementation
+        for (int i = 0; i < size - 1; i++) {
+            graph.connect(i, i + 1);
+            if (i % 2 == 0) {
+                graph.connect(i + 1, i);
+            }
+        }
+
+        final SCCDecomposition sequential = SCCs.computeSCCs(graph);
+        final SCCDecomposition parallel = SCCs.computeSCCs(graph, pool);
+
+        Assert.assertEquals(sequential.getNumSCCs(), size / 2);
+        Assert.assertEquals(parallel.getNumSCCs(), size / 2);
+
+        for (int i = 0; i < size; i += 2) {
+            Assert.assertEquals(sequential.getSCCId(i), sequential.getSCCId(i + 1));
+            Assert.assertEquals(parallel.getSCCId(i), parallel.getSCCId(i + 1));
+            Assert.assertEquals(sequential.getSCCSize(sequential.getSCCId(i)), 2);
+        }
+
+        checkReverseTopologicalOrder(IntAdjacency.of(graph), sequential);
+    }
+
+    @Test
+    public void testAutomaton() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(new Random(42), 100, alphabet, false);
+
+        final Set<Set<Integer>> expected = SCCs.collectSCCs(Automata.asGraph(dfa, alphabet))
+                                               .stream()
+                                               .map(HashSet::new)
+                                               .collect(Collectors.toSet());
+
+        Assert.assertEquals(toSets(SCCs.computeSCCs(dfa, alphabet)), expected);
+        Assert.assertEquals(toSets(SCCs.computeSCCs(dfa, alphabet, pool)), expected);
+    }
+
+    private static void checkReverseTopologicalOrder(IntAdjacency adjacency, SCCDecomposition decomposition) {
+        for (int v = 0; v < adjacency.size; v++) {
+            for (int e = adjacency.offsets[v]; e < adjacency.offsets[v + 1]; e++) {
+                Assert.assertTrue(decomposition.getSCCId(adjacency.targets[e]) <= decomposition.getSCCId(v));
+            }
+        }
+    }
+
+    private static Set<Set<Integer>> toSets(SCCDecomposition decomposition) {
+        final Set<Set<Integer>> result = new HashSet<>();
+
+        for (int i = 0; i < decomposition.getNumSCCs(); i++) {
+            final int[] nodes = decomposition.getSCCNodes(i);
+            Assert.assertEquals(nodes.length, decomposition.getSCCSize(i));
+            result.add(Arrays.stream(nodes).boxed().collect(Collectors.toSet()));
+        }
+
+        return result;
+    }
+}